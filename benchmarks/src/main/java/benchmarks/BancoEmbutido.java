@@ -0,0 +1,230 @@
+package benchmarks;
+
+import bd.ConfiguracaoPool;
+import bd.PoolConexoes;
+import dao.UnidadeDeTrabalho;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import modelo.Avaliacao;
+import modelo.PerfilUsuario;
+import modelo.Projeto;
+import modelo.Solucao;
+import modelo.Tarefa;
+import modelo.Usuario;
+
+/**
+ * Banco H2 em memória, em modo MySQL, com o esquema da aplicação e uma massa de dados gerada.
+ *
+ * A massa é gerada com semente fixa, então duas execuções com os mesmos parâmetros comparam os
+ * mesmos dados. A gravação passa pelos próprios DAOs (UnidadeDeTrabalho e salvarEmLote), pelo
+ * mesmo pool de conexões usado pela aplicação.
+ */
+final class BancoEmbutido implements AutoCloseable {
+
+    private static final AtomicInteger SEQUENCIA = new AtomicInteger();
+    private static final long SEMENTE = 42;
+
+    private static final String[] HABILIDADES = {
+            "Java", "Kotlin", "Swift", "Flutter", "SQL", "MySQL", "Docker", "Kubernetes", "AWS", "Azure",
+            "React", "Angular", "Vue", "Node.js", "Python", "Go", "Rust", "C#", "TypeScript", "GraphQL",
+            "UML", "Scrum", "Kanban", "Figma", "UX", "Testes", "Segurança", "Redes", "Linux", "Git"
+    };
+    private static final String[] STATUS_PROJETO = {"NAO_INICIADO", "EM_ANDAMENTO", "CONCLUIDO"};
+    private static final String[] STATUS_TAREFA = {"PENDENTE", "EM_ANDAMENTO", "CONCLUIDA"};
+    private static final String[] PRIORIDADES = {"BAIXA", "MEDIA", "ALTA"};
+
+    /**
+     * Quantidades da massa de dados; cada nível é multiplicado pelo anterior
+     */
+    record Tamanho(int usuarios, int projetosPorUsuario, int tarefasPorProjeto,
+                   int solucoesPorTarefa, int avaliacoesPorSolucao) {
+    }
+
+    private final PoolConexoes pool;
+    private final Tamanho tamanho;
+    private final Random aleatorio = new Random(SEMENTE);
+
+    private final List<String> usuarioIds = new ArrayList<>();
+    private final List<String> emails = new ArrayList<>();
+    private final List<String> senhas = new ArrayList<>();
+    private final List<String> projetoIds = new ArrayList<>();
+
+    private BancoEmbutido(PoolConexoes pool, Tamanho tamanho) {
+        this.pool = pool;
+        this.tamanho = tamanho;
+    }
+
+    /**
+     * Cria um banco novo, aplica o esquema e grava a massa de dados
+     */
+    static BancoEmbutido criar(Tamanho tamanho) {
+        // DB_CLOSE_DELAY=-1 mantém o banco enquanto o pool renova as conexões
+        String url = "jdbc:h2:mem:plataforma_" + SEQUENCIA.incrementAndGet()
+                + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+        BancoEmbutido banco = new BancoEmbutido(new PoolConexoes(new ConfiguracaoPool(url, "sa", "")), tamanho);
+        banco.aplicarEsquema();
+        banco.gerarMassa();
+        return banco;
+    }
+
+    PoolConexoes getPool() {
+        return pool;
+    }
+
+    int getTotalUsuarios() {
+        return emails.size();
+    }
+
+    String getEmail(int indice) {
+        return emails.get(indice);
+    }
+
+    String getSenha(int indice) {
+        return senhas.get(indice);
+    }
+
+    String getProjetoId(int indice) {
+        return projetoIds.get(indice);
+    }
+
+    int getTotalProjetos() {
+        return projetoIds.size();
+    }
+
+    /**
+     * Grava um projeto completo (tarefas, soluções e avaliações) fora da massa inicial,
+     * para ser excluído pelo benchmark de exclusão em cascata
+     *
+     * @return Id do projeto gravado
+     */
+    String criarProjetoDescartavel() {
+        try (UnidadeDeTrabalho unidade = new UnidadeDeTrabalho(pool)) {
+            String projetoId = registrarProjeto(unidade, usuarioIds.get(aleatorio.nextInt(usuarioIds.size())));
+            unidade.confirmar();
+            return projetoId;
+        }
+    }
+
+    private void aplicarEsquema() {
+        String esquema;
+        try (InputStream entrada = BancoEmbutido.class.getResourceAsStream("/esquema-h2.sql")) {
+            if (entrada == null) {
+                throw new IllegalStateException("Recurso esquema-h2.sql não encontrado");
+            }
+            esquema = new String(entrada.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new RuntimeException("Erro ao ler esquema do banco embutido: " + e.getMessage());
+        }
+
+        try (Connection connection = pool.obterConexao();
+             Statement stmt = connection.createStatement()) {
+            for (String comando : esquema.split(";")) {
+                String sql = comando.replaceAll("(?m)^--.*$", "").trim();
+                if (!sql.isEmpty()) {
+                    stmt.execute(sql);
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao criar esquema do banco embutido: " + e.getMessage());
+        }
+    }
+
+    private void gerarMassa() {
+        // Uma transação por usuário e seus projetos mantém os lotes grandes sem acumular tudo em memória
+        try (UnidadeDeTrabalho unidade = new UnidadeDeTrabalho(pool)) {
+            for (int i = 0; i < tamanho.usuarios(); i++) {
+                Usuario usuario = new Usuario();
+                usuario.setNome("Usuário " + i);
+                usuario.setEmail("usuario" + i + "@benchmark.local");
+                usuario.setSenhaCriptografada("senha-" + i);
+                unidade.registrarNovo(usuario);
+                usuarioIds.add(usuario.getId());
+                emails.add(usuario.getEmail());
+                senhas.add(usuario.getSenhaCriptografada());
+
+                PerfilUsuario perfil = new PerfilUsuario();
+                perfil.setUsuarioId(usuario.getId());
+                perfil.setBiografia("Perfil gerado para benchmark " + i);
+                int quantidadeHabilidades = 2 + aleatorio.nextInt(5);
+                for (int h = 0; h < quantidadeHabilidades; h++) {
+                    perfil.adicionarHabilidade(HABILIDADES[aleatorio.nextInt(HABILIDADES.length)]);
+                }
+                unidade.registrarNovo(perfil);
+            }
+            unidade.confirmar();
+        }
+
+        for (String usuarioId : usuarioIds) {
+            try (UnidadeDeTrabalho unidade = new UnidadeDeTrabalho(pool)) {
+                for (int p = 0; p < tamanho.projetosPorUsuario(); p++) {
+                    projetoIds.add(registrarProjeto(unidade, usuarioId));
+                }
+                unidade.confirmar();
+            }
+        }
+    }
+
+    private String registrarProjeto(UnidadeDeTrabalho unidade, String donoId) {
+        Projeto projeto = new Projeto();
+        projeto.setTitulo("Projeto de " + donoId.substring(0, 8));
+        projeto.setDescricao("Projeto gerado para benchmark");
+        projeto.setUsuarioId(donoId);
+        projeto.setStatus(STATUS_PROJETO[aleatorio.nextInt(STATUS_PROJETO.length)]);
+        unidade.registrarNovo(projeto);
+
+        for (int t = 0; t < tamanho.tarefasPorProjeto(); t++) {
+            Tarefa tarefa = new Tarefa();
+            tarefa.setTitulo("Tarefa " + t);
+            tarefa.setDescricao("Tarefa gerada para benchmark");
+            tarefa.setProjetoId(projeto.getId());
+            tarefa.setUsuarioResponsavelId(usuarioAleatorio());
+            tarefa.setStatus(STATUS_TAREFA[aleatorio.nextInt(STATUS_TAREFA.length)]);
+            tarefa.setPrioridade(PRIORIDADES[aleatorio.nextInt(PRIORIDADES.length)]);
+            unidade.registrarNovo(tarefa);
+
+            for (int s = 0; s < tamanho.solucoesPorTarefa(); s++) {
+                Solucao solucao = new Solucao();
+                solucao.setTitulo("Solução " + s + " da tarefa " + t);
+                solucao.setDescricao("Solução gerada para benchmark");
+                solucao.setTarefaId(tarefa.getId());
+                solucao.setUsuarioId(usuarioAleatorio());
+                solucao.setStatus("PENDENTE");
+                unidade.registrarNovo(solucao);
+
+                for (int a = 0; a < tamanho.avaliacoesPorSolucao(); a++) {
+                    Avaliacao avaliacao = new Avaliacao();
+                    avaliacao.setNota(1 + aleatorio.nextInt(5));
+                    avaliacao.setComentario("Avaliação gerada para benchmark");
+                    avaliacao.setSolucaoId(solucao.getId());
+                    avaliacao.setUsuarioAvaliadorId(usuarioAleatorio());
+                    unidade.registrarNovo(avaliacao);
+                }
+            }
+        }
+        return projeto.getId();
+    }
+
+    private String usuarioAleatorio() {
+        return usuarioIds.get(aleatorio.nextInt(usuarioIds.size()));
+    }
+
+    @Override
+    public void close() {
+        try (Connection connection = pool.obterConexao();
+             Statement stmt = connection.createStatement()) {
+            stmt.execute("SHUTDOWN");
+        } catch (SQLException e) {
+            // O banco já pode ter sido encerrado
+        } finally {
+            pool.close();
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package benchmarks;
+
+import dao.AvaliacaoDAO;
+import dao.PerfilUsuarioDAO;
+import dao.ProjetoDAO;
+import dao.TarefaDAO;
+import dao.UsuarioDAO;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import modelo.PerfilUsuario;
+import modelo.Tarefa;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks dos caminhos mais usados dos DAOs contra o H2 embutido.
+ *
+ * O tamanho da massa é definido pelos parâmetros, por exemplo:
+ * java -jar benchmarks/target/benchmarks.jar DAOBenchmark -p usuarios=10000 -p tarefasPorProjeto=20
+ *
+ * Os números servem para comparar versões do código entre si; o H2 não reproduz o custo de
+ * rede nem o otimizador do MySQL.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DAOBenchmark {
+
+    @Param("1000")
+    public int usuarios;
+
+    @Param("2")
+    public int projetosPorUsuario;
+
+    @Param("5")
+    public int tarefasPorProjeto;
+
+    @Param("2")
+    public int solucoesPorTarefa;
+
+    @Param("3")
+    public int avaliacoesPorSolucao;
+
+    private BancoEmbutido banco;
+    private UsuarioDAO usuarioDAO;
+    private PerfilUsuarioDAO perfilUsuarioDAO;
+    private ProjetoDAO projetoDAO;
+    private TarefaDAO tarefaDAO;
+    private AvaliacaoDAO avaliacaoDAO;
+
+    /**
+     * Projeto gravado antes de cada chamada do benchmark de exclusão, fora do tempo medido
+     */
+    @State(Scope.Thread)
+    public static class ProjetoDescartavel {
+        String id;
+
+        @Setup(Level.Invocation)
+        public void criar(DAOBenchmark estado) {
+            id = estado.banco.criarProjetoDescartavel();
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        banco = BancoEmbutido.criar(new BancoEmbutido.Tamanho(
+                usuarios, projetosPorUsuario, tarefasPorProjeto, solucoesPorTarefa, avaliacoesPorSolucao));
+        usuarioDAO = new UsuarioDAO(banco.getPool());
+        perfilUsuarioDAO = new PerfilUsuarioDAO(banco.getPool());
+        projetoDAO = new ProjetoDAO(banco.getPool());
+        tarefaDAO = new TarefaDAO(banco.getPool());
+        avaliacaoDAO = new AvaliacaoDAO(banco.getPool());
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        banco.close();
+    }
+
+    @Benchmark
+    public boolean autenticar() {
+        int indice = ThreadLocalRandom.current().nextInt(banco.getTotalUsuarios());
+        return usuarioDAO.autenticar(banco.getEmail(indice), banco.getSenha(indice));
+    }
+
+    @Benchmark
+    @SuppressWarnings("deprecation") // Todas as tarefas do projeto, como na medida original
+    public List<Tarefa> buscarTarefasPorProjeto() {
+        return tarefaDAO.buscarPorProjeto(banco.getProjetoId(ThreadLocalRandom.current().nextInt(banco.getTotalProjetos())));
+    }
+
+    /**
+     * O placar é carregado do banco na primeira chamada (no aquecimento); as seguintes medem a leitura em memória
+     */
+    @Benchmark
+    public List<Map<String, Object>> obterRankingSolucoes() {
+        return avaliacaoDAO.obterRankingSolucoes(10);
+    }
+
+    @Benchmark
+    public void excluirProjetoEmCascata(ProjetoDescartavel projeto) {
+        projetoDAO.excluir(projeto.id);
+    }
+
+    /**
+     * Leitura da tabela inteira, a mesma medida desde o início; o método está depreciado para a aplicação
+     */
+    @Benchmark
+    @SuppressWarnings("deprecation")
+    public List<PerfilUsuario> listarPerfis() {
+        return perfilUsuarioDAO.listarTodosLazyLoading();
+    }
+}
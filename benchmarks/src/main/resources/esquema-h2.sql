@@ -0,0 +1,101 @@
+-- Esquema do script.sql adaptado ao H2 em modo MySQL, usado pelos benchmarks.
+-- Diferenças: a coluna gerada usa GENERATED ALWAYS AS e os índices são criados com CREATE INDEX.
+-- Os índices acompanham os da migração 2 (ExecutorMigracoes.INDICES_CONSULTAS).
+
+CREATE TABLE usuario (
+    id BINARY(16) PRIMARY KEY,
+    nome VARCHAR(100) NOT NULL,
+    email VARCHAR(100) NOT NULL UNIQUE,
+    senha_criptografada VARCHAR(100) NOT NULL,
+    data_cadastro TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    ativo BOOLEAN DEFAULT true
+);
+
+CREATE TABLE perfil_usuario (
+    id BINARY(16) PRIMARY KEY,
+    biografia TEXT,
+    foto_perfil_uri VARCHAR(255),
+    habilidades TEXT,
+    usuario_id BINARY(16),
+    FOREIGN KEY (usuario_id) REFERENCES usuario(id)
+);
+
+CREATE TABLE perfil_habilidade (
+    perfil_id BINARY(16) NOT NULL,
+    habilidade VARCHAR(100) NOT NULL,
+    PRIMARY KEY (perfil_id, habilidade),
+    FOREIGN KEY (perfil_id) REFERENCES perfil_usuario(id) ON DELETE CASCADE
+);
+
+CREATE TABLE projetos (
+    id BINARY(16) PRIMARY KEY,
+    titulo VARCHAR(100) NOT NULL,
+    descricao TEXT,
+    data_criacao TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    data_conclusao TIMESTAMP,
+    usuario_id BINARY(16),
+    status VARCHAR(20) DEFAULT 'EM_ANDAMENTO',
+    FOREIGN KEY (usuario_id) REFERENCES usuario(id)
+);
+
+CREATE TABLE tarefas (
+    id BINARY(16) PRIMARY KEY,
+    titulo VARCHAR(100) NOT NULL,
+    descricao TEXT,
+    status VARCHAR(20) DEFAULT 'PENDENTE',
+    data_criacao TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    data_conclusao TIMESTAMP,
+    projeto_id BINARY(16),
+    usuario_responsavel_id BINARY(16),
+    prioridade VARCHAR(20) DEFAULT 'MEDIA',
+    FOREIGN KEY (projeto_id) REFERENCES projetos(id),
+    FOREIGN KEY (usuario_responsavel_id) REFERENCES usuario(id)
+);
+
+CREATE TABLE solucoes (
+    id BINARY(16) PRIMARY KEY,
+    titulo VARCHAR(100) NOT NULL,
+    descricao TEXT,
+    data_submissao TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    tarefa_id BINARY(16),
+    usuario_id BINARY(16),
+    status VARCHAR(20) DEFAULT 'PENDENTE',
+    total_avaliacoes INT NOT NULL DEFAULT 0,
+    soma_notas INT NOT NULL DEFAULT 0,
+    media_avaliacoes DECIMAL(7,4) GENERATED ALWAYS AS
+        (CASE WHEN total_avaliacoes = 0 THEN NULL ELSE CAST(soma_notas AS DECIMAL(7,4)) / total_avaliacoes END),
+    FOREIGN KEY (tarefa_id) REFERENCES tarefas(id),
+    FOREIGN KEY (usuario_id) REFERENCES usuario(id)
+);
+
+CREATE TABLE avaliacoes (
+    id BINARY(16) PRIMARY KEY,
+    nota INT NOT NULL CHECK (nota >= 0 AND nota <= 5),
+    comentario TEXT,
+    data_avaliacao TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    solucao_id BINARY(16),
+    usuario_avaliador_id BINARY(16),
+    FOREIGN KEY (solucao_id) REFERENCES solucoes(id),
+    FOREIGN KEY (usuario_avaliador_id) REFERENCES usuario(id)
+);
+
+CREATE INDEX idx_perfil_usuario_usuario ON perfil_usuario (usuario_id);
+CREATE INDEX idx_perfil_habilidade_habilidade ON perfil_habilidade (habilidade, perfil_id);
+CREATE INDEX idx_solucoes_media_avaliacoes ON solucoes (media_avaliacoes, total_avaliacoes);
+CREATE INDEX idx_usuario_ativo_cadastro ON usuario (ativo, data_cadastro);
+CREATE INDEX idx_projetos_criacao ON projetos (data_criacao);
+CREATE INDEX idx_projetos_status_criacao ON projetos (status, data_criacao);
+CREATE INDEX idx_projetos_usuario_criacao ON projetos (usuario_id, data_criacao);
+CREATE INDEX idx_tarefas_criacao ON tarefas (data_criacao);
+CREATE INDEX idx_tarefas_status_criacao ON tarefas (status, data_criacao);
+CREATE INDEX idx_tarefas_prioridade_criacao ON tarefas (prioridade, data_criacao);
+CREATE INDEX idx_tarefas_conclusao_status ON tarefas (data_conclusao, status);
+CREATE INDEX idx_tarefas_projeto_criacao ON tarefas (projeto_id, data_criacao);
+CREATE INDEX idx_tarefas_responsavel_criacao ON tarefas (usuario_responsavel_id, data_criacao);
+CREATE INDEX idx_solucoes_submissao ON solucoes (data_submissao);
+CREATE INDEX idx_solucoes_status_submissao ON solucoes (status, data_submissao);
+CREATE INDEX idx_solucoes_tarefa_submissao ON solucoes (tarefa_id, data_submissao);
+CREATE INDEX idx_solucoes_usuario_submissao ON solucoes (usuario_id, data_submissao);
+CREATE INDEX idx_avaliacoes_data ON avaliacoes (data_avaliacao);
+CREATE INDEX idx_avaliacoes_solucao_data ON avaliacoes (solucao_id, data_avaliacao);
+CREATE INDEX idx_avaliacoes_avaliador_data ON avaliacoes (usuario_avaliador_id, data_avaliacao);
@@ -4,72 +4,104 @@ USE plataforma_de_solucoes_colaborativas;
 
 -- Criar tabela de usuários
 CREATE TABLE IF NOT EXISTS usuario (
-    id VARCHAR(36) PRIMARY KEY,
+    id BINARY(16) PRIMARY KEY,
     nome VARCHAR(100) NOT NULL,
     email VARCHAR(100) NOT NULL UNIQUE,
     senha_criptografada VARCHAR(100) NOT NULL,
     data_cadastro TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-    ativo BOOLEAN DEFAULT true
+    ativo BOOLEAN DEFAULT true,
+    INDEX idx_usuario_ativo_cadastro (ativo, data_cadastro)
 );
 
 -- Criar tabela de perfis de usuário
 CREATE TABLE IF NOT EXISTS perfil_usuario (
-    id VARCHAR(36) PRIMARY KEY,
+    id BINARY(16) PRIMARY KEY,
     biografia TEXT,
     foto_perfil_uri VARCHAR(255),
     habilidades TEXT,
-    usuario_id VARCHAR(36),
+    usuario_id BINARY(16),
+    INDEX idx_perfil_usuario_usuario (usuario_id),
     FOREIGN KEY (usuario_id) REFERENCES usuario(id)
 );
 
+-- Criar índice de habilidades dos perfis (uma linha por perfil e habilidade)
+CREATE TABLE IF NOT EXISTS perfil_habilidade (
+    perfil_id BINARY(16) NOT NULL,
+    habilidade VARCHAR(100) NOT NULL,
+    PRIMARY KEY (perfil_id, habilidade),
+    INDEX idx_perfil_habilidade_habilidade (habilidade, perfil_id),
+    FOREIGN KEY (perfil_id) REFERENCES perfil_usuario(id) ON DELETE CASCADE
+);
+
 -- Criar tabela de projetos
 CREATE TABLE IF NOT EXISTS projetos (
-    id VARCHAR(36) PRIMARY KEY,
+    id BINARY(16) PRIMARY KEY,
     titulo VARCHAR(100) NOT NULL,
     descricao TEXT,
     data_criacao TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     data_conclusao TIMESTAMP,
-    usuario_id VARCHAR(36),
+    usuario_id BINARY(16),
     status VARCHAR(20) DEFAULT 'EM_ANDAMENTO',
-    FOREIGN KEY (usuario_id) REFERENCES usuario(id)
+    FOREIGN KEY (usuario_id) REFERENCES usuario(id),
+    INDEX idx_projetos_criacao (data_criacao),
+    INDEX idx_projetos_status_criacao (status, data_criacao),
+    INDEX idx_projetos_usuario_criacao (usuario_id, data_criacao)
 );
 
 -- Criar tabela de tarefas
 CREATE TABLE IF NOT EXISTS tarefas (
-    id VARCHAR(36) PRIMARY KEY,
+    id BINARY(16) PRIMARY KEY,
     titulo VARCHAR(100) NOT NULL,
     descricao TEXT,
     status VARCHAR(20) DEFAULT 'PENDENTE',
     data_criacao TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     data_conclusao TIMESTAMP,
-    projeto_id VARCHAR(36),
-    usuario_responsavel_id VARCHAR(36),
+    projeto_id BINARY(16),
+    usuario_responsavel_id BINARY(16),
     prioridade VARCHAR(20) DEFAULT 'MEDIA',
     FOREIGN KEY (projeto_id) REFERENCES projetos(id),
-    FOREIGN KEY (usuario_responsavel_id) REFERENCES usuario(id)
+    FOREIGN KEY (usuario_responsavel_id) REFERENCES usuario(id),
+    INDEX idx_tarefas_criacao (data_criacao),
+    INDEX idx_tarefas_status_criacao (status, data_criacao),
+    INDEX idx_tarefas_prioridade_criacao (prioridade, data_criacao),
+    INDEX idx_tarefas_conclusao_status (data_conclusao, status),
+    INDEX idx_tarefas_projeto_criacao (projeto_id, data_criacao),
+    INDEX idx_tarefas_responsavel_criacao (usuario_responsavel_id, data_criacao)
 );
 
 -- Criar tabela de soluções
 CREATE TABLE IF NOT EXISTS solucoes (
-    id VARCHAR(36) PRIMARY KEY,
+    id BINARY(16) PRIMARY KEY,
     titulo VARCHAR(100) NOT NULL,
     descricao TEXT,
     data_submissao TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-    tarefa_id VARCHAR(36),
-    usuario_id VARCHAR(36),
+    tarefa_id BINARY(16),
+    usuario_id BINARY(16),
     status VARCHAR(20) DEFAULT 'PENDENTE',
+    -- Agregados das avaliações, mantidos pelo AvaliacaoDAO na mesma transação de cada avaliação
+    total_avaliacoes INT NOT NULL DEFAULT 0,
+    soma_notas INT NOT NULL DEFAULT 0,
+    media_avaliacoes DECIMAL(7,4) AS (IF(total_avaliacoes = 0, NULL, soma_notas / total_avaliacoes)) STORED,
     FOREIGN KEY (tarefa_id) REFERENCES tarefas(id),
-    FOREIGN KEY (usuario_id) REFERENCES usuario(id)
+    FOREIGN KEY (usuario_id) REFERENCES usuario(id),
+    INDEX idx_solucoes_media_avaliacoes (media_avaliacoes, total_avaliacoes),
+    INDEX idx_solucoes_submissao (data_submissao),
+    INDEX idx_solucoes_status_submissao (status, data_submissao),
+    INDEX idx_solucoes_tarefa_submissao (tarefa_id, data_submissao),
+    INDEX idx_solucoes_usuario_submissao (usuario_id, data_submissao)
 );
 
 -- Criar tabela de avaliações
 CREATE TABLE IF NOT EXISTS avaliacoes (
-    id VARCHAR(36) PRIMARY KEY,
+    id BINARY(16) PRIMARY KEY,
     nota INT NOT NULL CHECK (nota >= 0 AND nota <= 5),
     comentario TEXT,
     data_avaliacao TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-    solucao_id VARCHAR(36),
-    usuario_avaliador_id VARCHAR(36),
+    solucao_id BINARY(16),
+    usuario_avaliador_id BINARY(16),
     FOREIGN KEY (solucao_id) REFERENCES solucoes(id),
-    FOREIGN KEY (usuario_avaliador_id) REFERENCES usuario(id)
+    FOREIGN KEY (usuario_avaliador_id) REFERENCES usuario(id),
+    INDEX idx_avaliacoes_data (data_avaliacao),
+    INDEX idx_avaliacoes_solucao_data (solucao_id, data_avaliacao),
+    INDEX idx_avaliacoes_avaliador_data (usuario_avaliador_id, data_avaliacao)
 );
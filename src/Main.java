@@ -6,26 +6,31 @@ import java.sql.Connection;
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 public class Main {
     public static void main(String[] args) {
-        try (Connection connection = new ConnectionFactory().recuperaConexao()) {
-            // Inicialização dos DAOs
-            PerfilUsuarioDAO perfilUsuarioDAO = new PerfilUsuarioDAO(connection);
-            UsuarioDAO usuarioDAO = new UsuarioDAO(connection);
-            ProjetoDAO projetoDAO = new ProjetoDAO(connection);
-            TarefaDAO tarefaDAO = new TarefaDAO(connection);
-            SolucaoDAO solucaoDAO = new SolucaoDAO(connection);
-            AvaliacaoDAO avaliacaoDAO = new AvaliacaoDAO(connection);
+        try {
+            // Inicialização dos DAOs; cada operação empresta uma conexão do pool
+            PerfilUsuarioDAO perfilUsuarioDAO = new PerfilUsuarioDAO();
+            UsuarioDAO usuarioDAO = new UsuarioDAO();
+            ProjetoDAO projetoDAO = new ProjetoDAO();
+            TarefaDAO tarefaDAO = new TarefaDAO();
+            SolucaoDAO solucaoDAO = new SolucaoDAO();
+            AvaliacaoDAO avaliacaoDAO = new AvaliacaoDAO();
 
             try {
-                // Criação das tabelas no banco de dados
-                perfilUsuarioDAO.criarTabela();
-                usuarioDAO.criarTabela();
-                projetoDAO.criarTabela();
-                tarefaDAO.criarTabela();
-                solucaoDAO.criarTabela();
-                avaliacaoDAO.criarTabela();
+                // Criação e atualização das tabelas e índices no banco de dados
+                for (ExecutorMigracoes.Migracao migracao : new ExecutorMigracoes().executar()) {
+                    System.out.println("Migração aplicada: " + migracao.getVersao() + " - " + migracao.getDescricao());
+                }
+
+                // Os contadores do painel e o placar são mantidos pelos DAOs e conferidos com o banco a cada minuto
+                ContadoresPainel.getInstancia().iniciarReconciliacao(new ConnectionFactory(), 60_000);
+                PlacarSolucoes.getInstancia().carregar(new ConnectionFactory());
+                PlacarSolucoes.getInstancia().iniciarReconciliacao(new ConnectionFactory(), 60_000);
+                MotorCompatibilidade.getInstancia().carregar(new ConnectionFactory());
 
                 System.out.println("\n--- Testes de Criação ---");
 
@@ -144,15 +149,46 @@ public class Main {
                 Usuario foundUsuario = (Usuario) usuarioDAO.buscarPorId(usuario1.getId());
                 System.out.println("Usuário encontrado por ID: " + foundUsuario);
 
-                List<Projeto> projetos = projetoDAO.listarTodosLazyLoading();
                 System.out.println("\nTodos os Projetos:");
-                for (Projeto p : projetos) {
-                    System.out.println("  " + p);
-                }
+                RequisicaoPagina requisicaoProjetos = new RequisicaoPagina();
+                Pagina<Projeto> paginaProjetos;
+                do {
+                    paginaProjetos = projetoDAO.listarPagina(requisicaoProjetos);
+                    for (Projeto p : paginaProjetos.getItens()) {
+                        System.out.println("  " + p);
+                    }
+                    requisicaoProjetos = requisicaoProjetos.proxima(paginaProjetos);
+                } while (paginaProjetos.temProxima());
 
                 Solucao foundSolucao = (Solucao) solucaoDAO.buscarPorId(solucao1.getId());
                 System.out.println("\nSolução encontrada por ID: " + foundSolucao);
 
+                Projeto projetoCompleto = new CarregadorGrafo()
+                        .carregarProjeto(projeto1.getId(), CarregadorGrafo.Profundidade.AVALIACOES);
+                System.out.println("Projeto com hierarquia: " + projetoCompleto.getTarefas().size()
+                        + " tarefa(s), progresso " + projetoCompleto.calcularProgresso() + "%");
+
+                Pagina<Solucao> encontradas = solucaoDAO.pesquisar("notificações firebase", new RequisicaoPagina(5));
+                System.out.println("Soluções encontradas pela busca: " + encontradas.getItens());
+
+                System.out.println("Perfis compatíveis com Swift/Kotlin: "
+                        + MotorCompatibilidade.getInstancia().obterMaisCompativeis(List.of("Swift", "Kotlin"), 3));
+
+                // Consultas independentes do painel executadas em paralelo
+                try (ExecutorAssincrono executor = new ExecutorAssincrono()) {
+                    CompletableFuture<Map<String, Object>> estatisticas = executor.para(usuarioDAO)
+                            .executar(dao -> dao.obterEstatisticasUsuario(usuario1.getId()));
+                    CompletableFuture<Pagina<Projeto>> projetosRecentes = executor.para(projetoDAO)
+                            .listarPagina(new RequisicaoPagina());
+                    CompletableFuture<List<Map<String, Object>>> ranking = executor.para(avaliacaoDAO)
+                            .executar(dao -> dao.obterRankingSolucoes(5));
+                    CompletableFuture.allOf(estatisticas, projetosRecentes, ranking).join();
+
+                    System.out.println("Painel: " + estatisticas.join() + ", "
+                            + projetosRecentes.join().getTamanho() + " projeto(s), "
+                            + ranking.join().size() + " solução(ões) no ranking");
+                }
+
                 // Testes de atualização
                 System.out.println("\n--- Testes de Atualização ---");
                 foundUsuario.setNome("Pedro Almeida Silva");
@@ -161,6 +197,17 @@ public class Main {
                 Usuario usuarioAtualizado = (Usuario) usuarioDAO.buscarPorId(usuario1.getId());
                 System.out.println("Usuário atualizado: " + usuarioAtualizado);
 
+                // Aprovação da solução e conclusão da tarefa gravadas em uma única transação
+                try (UnidadeDeTrabalho unidade = new UnidadeDeTrabalho(new ConnectionFactory(),
+                        Connection.TRANSACTION_READ_COMMITTED)) {
+                    solucao1.setTarefa(tarefa1);
+                    solucao1.aprovar(true);
+                    unidade.registrarAlterado(solucao1);
+                    unidade.registrarAlterado(tarefa1);
+                    unidade.confirmar();
+                }
+                System.out.println("Solução aprovada, tarefa " + tarefa1.getStatus());
+
                 // Testes de exclusão
                 System.out.println("\n--- Testes de Deleção ---");
                 avaliacaoDAO.excluir(avaliacao2.getId());
@@ -172,8 +219,15 @@ public class Main {
                 tarefaDAO.excluir(tarefa2.getId());
                 System.out.println("Tarefa excluída");
 
-                projetoDAO.excluir(projeto2.getId());
-                System.out.println("Projeto excluído");
+                ResultadoExclusao exclusaoProjeto = projetoDAO.excluirEmCascata(projeto2.getId());
+                System.out.println("Projeto excluído: " + exclusaoProjeto.getLinhasPorTabela());
+
+                System.out.println("\nTarefas por status: " + tarefaDAO.obterEstatisticasPorStatus());
+                System.out.println("Projetos: " + projetoDAO.obterEstatisticasProjetos());
+                System.out.println("\nCache de usuários: " + UsuarioDAO.getCache().getEstatisticas());
+
+                System.out.println("\nMétricas dos DAOs:");
+                MetricasDAO.getInstancia().obterInstantaneos().values().forEach(System.out::println);
 
             } catch (Exception e) {
                 System.err.println("Erro durante os testes: " + e.getMessage());
@@ -182,6 +236,10 @@ public class Main {
         } catch (Exception e) {
             System.err.println("Erro na conexão com o banco de dados: " + e.getMessage());
             e.printStackTrace();
+        } finally {
+            ContadoresPainel.getInstancia().pararReconciliacao();
+            PlacarSolucoes.getInstancia().pararReconciliacao();
+            ConnectionFactory.encerrarPool();
         }
     }
 }
@@ -0,0 +1,252 @@
+package bd;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cache LRU de PreparedStatements de uma conexão física, indexado pelo texto SQL.
+ *
+ * O close() do statement entregue ao DAO apenas limpa os parâmetros e o devolve ao cache,
+ * evitando que o driver prepare novamente o mesmo SQL a cada chamada. Statements que
+ * tiveram fetchSize, maxRows ou timeout alterados são fechados de verdade, para que a
+ * configuração de um chamador não vaze para o próximo. Statements fora do cache (SQL repetido
+ * enquanto o primeiro está aberto, ou expulsos em uso) ficam em uma lista à parte até serem
+ * fechados, na devolução da conexão ou no fechamento do cache.
+ */
+class CacheStatements {
+    private final Connection fisica;
+    private final PoolConexoes pool;
+    private final LinkedHashMap<String, Entrada> entradas;
+    private final List<Entrada> avulsas = new ArrayList<>();
+
+    CacheStatements(Connection fisica, PoolConexoes pool, int capacidade) {
+        this.fisica = fisica;
+        this.pool = pool;
+        this.entradas = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entrada> maisAntiga) {
+                if (size() <= capacidade) {
+                    return false;
+                }
+                maisAntiga.getValue().remover();
+                pool.registrarRemocaoCacheStatements();
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Retorna um statement para o SQL informado, reaproveitando o que estiver no cache.
+     *
+     * @param sql Texto SQL
+     * @param conexaoEmprestada Proxy da conexão que o DAO recebeu, devolvido por getConnection()
+     */
+    synchronized PreparedStatement preparar(String sql, Connection conexaoEmprestada) throws SQLException {
+        Entrada entrada = entradas.get(sql);
+
+        if (entrada != null && !entrada.emUso) {
+            pool.registrarAcertoCacheStatements();
+            return entrada.emprestar(conexaoEmprestada);
+        }
+
+        pool.registrarFaltaCacheStatements();
+        PreparedStatement real = fisica.prepareStatement(sql);
+        Entrada nova = new Entrada(sql, real);
+
+        // O mesmo SQL já está aberto nesta conexão: o novo statement não entra no cache
+        if (entrada != null) {
+            nova.removida = true;
+            avulsas.add(nova);
+        } else {
+            entradas.put(sql, nova);
+        }
+        return nova.emprestar(conexaoEmprestada);
+    }
+
+    /**
+     * Marca como livres os statements que o último chamador deixou abertos. Os que tiveram a
+     * configuração alterada e os que estão fora do cache são fechados, como no close() do chamador.
+     */
+    synchronized void liberarTodos() {
+        for (Entrada entrada : new ArrayList<>(entradas.values())) {
+            if (!entrada.emUso) {
+                continue;
+            }
+            if (entrada.handleAtual != null && entrada.handleAtual.configuracaoAlterada) {
+                entrada.encerrarHandle();
+                descartar(entrada);
+            } else {
+                entrada.liberar();
+            }
+        }
+
+        for (Entrada avulsa : new ArrayList<>(avulsas)) {
+            avulsa.encerrarHandle();
+            descartar(avulsa);
+        }
+        avulsas.clear();
+    }
+
+    synchronized void fechar() {
+        List<Entrada> todas = new ArrayList<>(entradas.values());
+        todas.addAll(avulsas);
+        entradas.clear();
+        avulsas.clear();
+        for (Entrada entrada : todas) {
+            entrada.encerrarHandle();
+            entrada.fecharReal();
+        }
+    }
+
+    synchronized int getTamanho() {
+        return entradas.size();
+    }
+
+    private synchronized void descartar(Entrada entrada) {
+        entradas.remove(entrada.sql, entrada);
+        avulsas.remove(entrada);
+        entrada.fecharReal();
+    }
+
+    private class Entrada {
+        private final String sql;
+        private final PreparedStatement real;
+        private boolean emUso;
+        private boolean removida;
+        private Handle handleAtual;
+
+        private Entrada(String sql, PreparedStatement real) {
+            this.sql = sql;
+            this.real = real;
+        }
+
+        private PreparedStatement emprestar(Connection conexaoEmprestada) {
+            emUso = true;
+            handleAtual = new Handle(this, conexaoEmprestada);
+            return handleAtual.proxy;
+        }
+
+        private void encerrarHandle() {
+            if (handleAtual != null) {
+                handleAtual.fechado = true;
+                handleAtual = null;
+            }
+        }
+
+        private void liberar() {
+            encerrarHandle();
+            try {
+                ResultSet aberto = real.getResultSet();
+                if (aberto != null) {
+                    aberto.close();
+                }
+                real.clearParameters();
+                real.clearBatch();
+                emUso = false;
+            } catch (SQLException e) {
+                descartar(this);
+            }
+        }
+
+        private void remover() {
+            removida = true;
+            if (emUso) {
+                avulsas.add(this); // Fechado quando o chamador ou a devolução da conexão o liberar
+            } else {
+                fecharReal();
+            }
+        }
+
+        private void fecharReal() {
+            try {
+                real.close();
+            } catch (SQLException e) {
+                System.err.println("Erro ao fechar statement em cache: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Visão do statement entregue a um único uso; fechar a visão devolve o statement ao cache.
+     */
+    private class Handle implements InvocationHandler {
+        private final Entrada entrada;
+        private final Connection conexaoEmprestada;
+        private final PreparedStatement proxy;
+        private boolean fechado;
+        private boolean configuracaoAlterada;
+
+        private Handle(Entrada entrada, Connection conexaoEmprestada) {
+            this.entrada = entrada;
+            this.conexaoEmprestada = conexaoEmprestada;
+            this.proxy = (PreparedStatement) Proxy.newProxyInstance(
+                    PreparedStatement.class.getClassLoader(), new Class<?>[]{PreparedStatement.class}, this);
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method metodo, Object[] args) throws Throwable {
+            switch (metodo.getName()) {
+                case "close":
+                    fechar();
+                    return null;
+                case "isClosed":
+                    return fechado;
+                case "getConnection":
+                    return conexaoEmprestada;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "StatementEmCache{" + entrada.sql + "}";
+                case "setFetchSize":
+                case "setMaxRows":
+                case "setLargeMaxRows":
+                case "setQueryTimeout":
+                case "setFetchDirection":
+                case "setMaxFieldSize":
+                case "setPoolable":
+                case "closeOnCompletion":
+                    configuracaoAlterada = true;
+                    break;
+                default:
+                    break;
+            }
+
+            if (fechado) {
+                throw new SQLException("O statement já foi fechado");
+            }
+
+            try {
+                return metodo.invoke(entrada.real, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        private void fechar() {
+            synchronized (CacheStatements.this) {
+                if (fechado) {
+                    return;
+                }
+                if (entrada.removida || configuracaoAlterada) {
+                    fechado = true;
+                    entrada.handleAtual = null;
+                    descartar(entrada);
+                } else {
+                    entrada.liberar();
+                }
+            }
+        }
+    }
+}
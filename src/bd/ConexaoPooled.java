@@ -0,0 +1,176 @@
+package bd;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Conexão física mantida pelo pool.
+ * Cada empréstimo entrega um proxy próprio; fechar o proxy devolve a conexão ao pool
+ * e invalida o proxy, de modo que referências antigas não usem a conexão de outro chamador.
+ */
+class ConexaoPooled {
+    private final PoolConexoes pool;
+    private final Connection fisica;
+    private final long criadaEm;
+    private final int isolamentoPadrao;
+    private final CacheStatements cacheStatements;
+    private volatile long ultimoUso;
+
+    ConexaoPooled(PoolConexoes pool, Connection fisica, int tamanhoCacheStatements) throws SQLException {
+        this.pool = pool;
+        this.fisica = fisica;
+        this.criadaEm = System.currentTimeMillis();
+        this.isolamentoPadrao = fisica.getTransactionIsolation();
+        this.cacheStatements = tamanhoCacheStatements > 0
+                ? new CacheStatements(fisica, pool, tamanhoCacheStatements)
+                : null;
+        this.ultimoUso = criadaEm;
+    }
+
+    Connection getFisica() {
+        return fisica;
+    }
+
+    long getCriadaEm() {
+        return criadaEm;
+    }
+
+    long getUltimoUso() {
+        return ultimoUso;
+    }
+
+    void marcarUso() {
+        this.ultimoUso = System.currentTimeMillis();
+    }
+
+    /**
+     * Desfaz alterações de estado feitas pelo último chamador
+     * (transação aberta, isolamento) antes de a conexão voltar ao pool.
+     */
+    void restaurarEstado() throws SQLException {
+        if (cacheStatements != null) {
+            cacheStatements.liberarTodos();
+        }
+        if (!fisica.getAutoCommit()) {
+            fisica.rollback();
+            fisica.setAutoCommit(true);
+        }
+        if (fisica.getTransactionIsolation() != isolamentoPadrao) {
+            fisica.setTransactionIsolation(isolamentoPadrao);
+        }
+        if (fisica.isReadOnly()) {
+            fisica.setReadOnly(false);
+        }
+    }
+
+    void fecharFisica() {
+        if (cacheStatements != null) {
+            cacheStatements.fechar();
+        }
+        try {
+            fisica.close();
+        } catch (SQLException e) {
+            System.err.println("Erro ao fechar conexão do pool: " + e.getMessage());
+        }
+    }
+
+    Emprestimo emprestar(boolean registrarOrigem) {
+        return new Emprestimo(registrarOrigem);
+    }
+
+    /**
+     * Um empréstimo da conexão física para um chamador.
+     */
+    class Emprestimo implements InvocationHandler {
+        private final long inicio;
+        private final String thread;
+        private final Throwable origem;
+        private final Connection proxy;
+        private volatile boolean devolvido;
+        private volatile boolean vazamentoReportado;
+
+        private Emprestimo(boolean registrarOrigem) {
+            this.inicio = System.currentTimeMillis();
+            this.thread = Thread.currentThread().getName();
+            this.origem = registrarOrigem ? new Exception("Conexão emprestada aqui") : null;
+            this.proxy = (Connection) Proxy.newProxyInstance(
+                    Connection.class.getClassLoader(), new Class<?>[]{Connection.class}, this);
+        }
+
+        Connection getProxy() {
+            return proxy;
+        }
+
+        ConexaoPooled getConexao() {
+            return ConexaoPooled.this;
+        }
+
+        long getInicio() {
+            return inicio;
+        }
+
+        String getThread() {
+            return thread;
+        }
+
+        Throwable getOrigem() {
+            return origem;
+        }
+
+        boolean isVazamentoReportado() {
+            return vazamentoReportado;
+        }
+
+        void marcarVazamentoReportado() {
+            this.vazamentoReportado = true;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method metodo, Object[] args) throws Throwable {
+            switch (metodo.getName()) {
+                case "close":
+                    devolver();
+                    return null;
+                case "isClosed":
+                    return devolvido || fisica.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "ConexaoPooled{" + fisica + ", devolvida=" + devolvido + "}";
+                default:
+                    break;
+            }
+
+            if (devolvido) {
+                throw new SQLException("A conexão já foi devolvida ao pool");
+            }
+
+            if (cacheStatements != null && "prepareStatement".equals(metodo.getName())
+                    && args.length == 1) {
+                return cacheStatements.preparar((String) args[0], this.proxy);
+            }
+
+            try {
+                return metodo.invoke(fisica, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        private void devolver() {
+            synchronized (this) {
+                if (devolvido) {
+                    return;
+                }
+                devolvido = true;
+            }
+            pool.devolver(this);
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package bd;
+
+/**
+ * Parâmetros do pool de conexões.
+ * Os valores padrão atendem a aplicação local; tempos são expressos em milissegundos.
+ */
+public class ConfiguracaoPool {
+    private String url;
+    private String usuario;
+    private String senha;
+    private int tamanhoMinimo = 2;
+    private int tamanhoMaximo = 10;
+    private long timeoutEmprestimoMs = 30_000;
+    private int timeoutValidacaoSegundos = 2;
+    private long tempoOciosoMaximoMs = 600_000;
+    private long limiteVazamentoMs = 60_000;
+    private boolean registrarOrigemEmprestimo;
+    private long intervaloManutencaoMs = 30_000;
+    private int tamanhoCacheStatements = 64;
+
+    public ConfiguracaoPool() {
+    }
+
+    public ConfiguracaoPool(String url, String usuario, String senha) {
+        this.url = validarUrl(url);
+        this.usuario = usuario;
+        this.senha = senha;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public void setUrl(String url) {
+        this.url = validarUrl(url);
+    }
+
+    private static String validarUrl(String url) {
+        if (url == null || url.trim().isEmpty()) {
+            throw new IllegalArgumentException("A URL de conexão não pode estar vazia");
+        }
+        return url;
+    }
+
+    public String getUsuario() {
+        return usuario;
+    }
+
+    public void setUsuario(String usuario) {
+        this.usuario = usuario;
+    }
+
+    public String getSenha() {
+        return senha;
+    }
+
+    public void setSenha(String senha) {
+        this.senha = senha;
+    }
+
+    public int getTamanhoMinimo() {
+        return tamanhoMinimo;
+    }
+
+    public void setTamanhoMinimo(int tamanhoMinimo) {
+        if (tamanhoMinimo < 0) {
+            throw new IllegalArgumentException("O tamanho mínimo não pode ser negativo");
+        }
+        this.tamanhoMinimo = tamanhoMinimo;
+    }
+
+    public int getTamanhoMaximo() {
+        return tamanhoMaximo;
+    }
+
+    public void setTamanhoMaximo(int tamanhoMaximo) {
+        if (tamanhoMaximo < 1) {
+            throw new IllegalArgumentException("O tamanho máximo deve ser maior que zero");
+        }
+        this.tamanhoMaximo = tamanhoMaximo;
+    }
+
+    public long getTimeoutEmprestimoMs() {
+        return timeoutEmprestimoMs;
+    }
+
+    public void setTimeoutEmprestimoMs(long timeoutEmprestimoMs) {
+        if (timeoutEmprestimoMs < 0) {
+            throw new IllegalArgumentException("O timeout de empréstimo não pode ser negativo");
+        }
+        this.timeoutEmprestimoMs = timeoutEmprestimoMs;
+    }
+
+    public int getTimeoutValidacaoSegundos() {
+        return timeoutValidacaoSegundos;
+    }
+
+    public void setTimeoutValidacaoSegundos(int timeoutValidacaoSegundos) {
+        if (timeoutValidacaoSegundos < 0) {
+            throw new IllegalArgumentException("O timeout de validação não pode ser negativo");
+        }
+        this.timeoutValidacaoSegundos = timeoutValidacaoSegundos;
+    }
+
+    public long getTempoOciosoMaximoMs() {
+        return tempoOciosoMaximoMs;
+    }
+
+    /**
+     * Define por quanto tempo uma conexão pode ficar ociosa antes de ser descartada.
+     * Conexões abaixo do tamanho mínimo nunca são descartadas por ociosidade.
+     *
+     * @param tempoOciosoMaximoMs Tempo em milissegundos; 0 desativa o descarte
+     */
+    public void setTempoOciosoMaximoMs(long tempoOciosoMaximoMs) {
+        if (tempoOciosoMaximoMs < 0) {
+            throw new IllegalArgumentException("O tempo ocioso máximo não pode ser negativo");
+        }
+        this.tempoOciosoMaximoMs = tempoOciosoMaximoMs;
+    }
+
+    public long getLimiteVazamentoMs() {
+        return limiteVazamentoMs;
+    }
+
+    /**
+     * Define por quanto tempo uma conexão pode ficar emprestada antes de ser
+     * reportada como possível vazamento.
+     *
+     * @param limiteVazamentoMs Tempo em milissegundos; 0 desativa a detecção
+     */
+    public void setLimiteVazamentoMs(long limiteVazamentoMs) {
+        if (limiteVazamentoMs < 0) {
+            throw new IllegalArgumentException("O limite de vazamento não pode ser negativo");
+        }
+        this.limiteVazamentoMs = limiteVazamentoMs;
+    }
+
+    public boolean isRegistrarOrigemEmprestimo() {
+        return registrarOrigemEmprestimo;
+    }
+
+    /**
+     * Define se cada empréstimo guarda a pilha de chamadas de quem pediu a conexão, impressa
+     * quando um vazamento é reportado. Capturar a pilha custa a cada empréstimo; sem ela o
+     * vazamento é reportado com a thread e o tempo emprestado.
+     *
+     * @param registrarOrigemEmprestimo true para capturar a pilha (desligado por padrão)
+     */
+    public void setRegistrarOrigemEmprestimo(boolean registrarOrigemEmprestimo) {
+        this.registrarOrigemEmprestimo = registrarOrigemEmprestimo;
+    }
+
+    public long getIntervaloManutencaoMs() {
+        return intervaloManutencaoMs;
+    }
+
+    public void setIntervaloManutencaoMs(long intervaloManutencaoMs) {
+        if (intervaloManutencaoMs <= 0) {
+            throw new IllegalArgumentException("O intervalo de manutenção deve ser maior que zero");
+        }
+        this.intervaloManutencaoMs = intervaloManutencaoMs;
+    }
+
+    public int getTamanhoCacheStatements() {
+        return tamanhoCacheStatements;
+    }
+
+    /**
+     * Define quantos PreparedStatements cada conexão mantém em cache.
+     *
+     * @param tamanhoCacheStatements Quantidade de SQLs distintos; 0 desativa o cache
+     */
+    public void setTamanhoCacheStatements(int tamanhoCacheStatements) {
+        if (tamanhoCacheStatements < 0) {
+            throw new IllegalArgumentException("O tamanho do cache de statements não pode ser negativo");
+        }
+        this.tamanhoCacheStatements = tamanhoCacheStatements;
+    }
+
+    /**
+     * Verifica se a configuração é consistente para criar um pool
+     *
+     * @return true se a configuração for válida, false caso contrário
+     */
+    public boolean isValid() {
+        return url != null && tamanhoMinimo <= tamanhoMaximo;
+    }
+}
@@ -1,26 +1,67 @@
 package bd;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
 
-public class ConnectionFactory {
+public class ConnectionFactory implements ProvedorConexao {
+
+  private static volatile PoolConexoes pool;
 
   public Connection recuperaConexao() {
     try {
-      String sgbd = "mysql";
-      String endereco = "localhost";
-      String bd = "plataforma_de_solucoes_colaborativas";
-      String usuario = "root";
-      String senha = "Bnk03112005@";
-
-      Connection connection = DriverManager.getConnection(
-          "jdbc:" + sgbd + "://" + endereco + "/" + bd, usuario, senha);
-
-      return connection;
+      return obterConexao();
     } catch (SQLException e) {
       throw new RuntimeException(e);
     }
   }
 
-}
\ No newline at end of file
+  @Override
+  public Connection obterConexao() throws SQLException {
+    return getPool().emprestar();
+  }
+
+  /**
+   * Retorna o pool compartilhado pela aplicação, criando-o no primeiro uso.
+   */
+  public static PoolConexoes getPool() {
+    PoolConexoes atual = pool;
+    // Um pool fechado diretamente (sem encerrarPool) também é recriado
+    if (atual == null || atual.isFechado()) {
+      synchronized (ConnectionFactory.class) {
+        atual = pool;
+        if (atual == null || atual.isFechado()) {
+          atual = new PoolConexoes(configuracaoPadrao());
+          pool = atual;
+        }
+      }
+    }
+    return atual;
+  }
+
+  /**
+   * Fecha o pool compartilhado, encerrando as conexões físicas ociosas.
+   */
+  public static void encerrarPool() {
+    synchronized (ConnectionFactory.class) {
+      if (pool != null) {
+        pool.close();
+        pool = null;
+      }
+    }
+  }
+
+  private static ConfiguracaoPool configuracaoPadrao() {
+    String sgbd = "mysql";
+    String endereco = "localhost";
+    String bd = "plataforma_de_solucoes_colaborativas";
+    String usuario = "root";
+    String senha = "Bnk03112005@";
+
+    // Prepares no servidor para que o cache de statements do pool evite o re-parse do SQL;
+    // lotes de INSERT reescritos em um único INSERT com vários VALUES
+    String parametros = "?useServerPrepStmts=true&rewriteBatchedStatements=true";
+
+    return new ConfiguracaoPool("jdbc:" + sgbd + "://" + endereco + "/" + bd + parametros, usuario, senha);
+  }
+
+}
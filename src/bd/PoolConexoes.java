@@ -0,0 +1,402 @@
+package bd;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pool limitado de conexões JDBC.
+ *
+ * Mantém entre {@code tamanhoMinimo} e {@code tamanhoMaximo} conexões físicas,
+ * valida a conexão no empréstimo, descarta conexões ociosas há muito tempo e
+ * reporta conexões que ficam emprestadas além do limite configurado.
+ * Quando todas as conexões estão em uso o chamador aguarda até o timeout de empréstimo.
+ */
+public final class PoolConexoes implements ProvedorConexao, AutoCloseable {
+    // Conexões usadas há menos tempo que isso não são revalidadas no empréstimo
+    private static final long JANELA_SEM_VALIDACAO_MS = 500;
+
+    private final ConfiguracaoPool configuracao;
+    private final Semaphore permissoes;
+    private final Deque<ConexaoPooled> ociosas = new ArrayDeque<>();
+    private final Set<ConexaoPooled.Emprestimo> emprestimosAtivos = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService manutencao;
+    private final LongAdder emprestimos = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder descartadas = new LongAdder();
+    private final LongAdder acertosCacheStatements = new LongAdder();
+    private final LongAdder faltasCacheStatements = new LongAdder();
+    private final LongAdder remocoesCacheStatements = new LongAdder();
+    private int totalConexoes;
+    private volatile boolean fechado;
+
+    public PoolConexoes(ConfiguracaoPool configuracao) {
+        if (configuracao == null || !configuracao.isValid()) {
+            throw new IllegalArgumentException("Configuração de pool inválida");
+        }
+        this.configuracao = configuracao;
+        this.permissoes = new Semaphore(configuracao.getTamanhoMaximo(), true);
+
+        this.manutencao = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "pool-conexoes-manutencao");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalo = configuracao.getIntervaloManutencaoMs();
+        manutencao.scheduleWithFixedDelay(this::executarManutencao, 0, intervalo, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Connection obterConexao() throws SQLException {
+        return emprestar();
+    }
+
+    /**
+     * Empresta uma conexão do pool. O chamador deve fechá-la para devolvê-la.
+     *
+     * @return Conexão válida e exclusiva do chamador até o close()
+     * @throws SQLTimeoutException se nenhuma conexão ficar livre dentro do timeout
+     */
+    public Connection emprestar() throws SQLException {
+        verificarAberto();
+        long prazo = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(configuracao.getTimeoutEmprestimoMs());
+
+        try {
+            if (!permissoes.tryAcquire(configuracao.getTimeoutEmprestimoMs(), TimeUnit.MILLISECONDS)) {
+                timeouts.increment();
+                throw new SQLTimeoutException("Tempo esgotado aguardando conexão do pool ("
+                        + configuracao.getTimeoutEmprestimoMs() + " ms, " + getConexoesAtivas() + " em uso)");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrompido aguardando conexão do pool", e);
+        }
+
+        try {
+            ConexaoPooled conexao = obterConexaoLivre(prazo);
+            ConexaoPooled.Emprestimo emprestimo = conexao.emprestar(
+                    configuracao.getLimiteVazamentoMs() > 0 && configuracao.isRegistrarOrigemEmprestimo());
+            emprestimosAtivos.add(emprestimo);
+            emprestimos.increment();
+            return emprestimo.getProxy();
+        } catch (SQLException | RuntimeException e) {
+            permissoes.release();
+            throw e;
+        }
+    }
+
+    private ConexaoPooled obterConexaoLivre(long prazo) throws SQLException {
+        while (true) {
+            verificarAberto();
+            ConexaoPooled conexao;
+            boolean criar = false;
+
+            synchronized (ociosas) {
+                conexao = ociosas.pollFirst();
+                if (conexao == null) {
+                    if (totalConexoes < configuracao.getTamanhoMaximo()) {
+                        totalConexoes++;
+                        criar = true;
+                    } else {
+                        // Uma conexão está sendo criada pela manutenção e logo ficará ociosa
+                        long restante = TimeUnit.NANOSECONDS.toMillis(prazo - System.nanoTime());
+                        if (restante <= 0) {
+                            timeouts.increment();
+                            throw new SQLTimeoutException("Tempo esgotado aguardando conexão do pool");
+                        }
+                        try {
+                            ociosas.wait(restante);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            throw new SQLException("Interrompido aguardando conexão do pool", e);
+                        }
+                        continue;
+                    }
+                }
+            }
+
+            if (criar) {
+                return criarConexao();
+            }
+            if (validar(conexao)) {
+                return conexao;
+            }
+            descartar(conexao);
+        }
+    }
+
+    private boolean validar(ConexaoPooled conexao) {
+        if (System.currentTimeMillis() - conexao.getUltimoUso() < JANELA_SEM_VALIDACAO_MS) {
+            return true;
+        }
+        try {
+            return conexao.getFisica().isValid(configuracao.getTimeoutValidacaoSegundos());
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Cria uma conexão física; a vaga em {@code totalConexoes} já deve estar reservada.
+     */
+    private ConexaoPooled criarConexao() throws SQLException {
+        try {
+            Connection fisica = DriverManager.getConnection(
+                    configuracao.getUrl(), configuracao.getUsuario(), configuracao.getSenha());
+            return new ConexaoPooled(this, fisica, configuracao.getTamanhoCacheStatements());
+        } catch (SQLException | RuntimeException e) {
+            liberarVaga();
+            throw e;
+        }
+    }
+
+    void devolver(ConexaoPooled.Emprestimo emprestimo) {
+        emprestimosAtivos.remove(emprestimo);
+        ConexaoPooled conexao = emprestimo.getConexao();
+
+        try {
+            if (fechado || conexao.getFisica().isClosed()) {
+                descartar(conexao);
+                return;
+            }
+            conexao.restaurarEstado();
+            conexao.marcarUso();
+
+            synchronized (ociosas) {
+                ociosas.addFirst(conexao);
+                ociosas.notify();
+            }
+        } catch (SQLException e) {
+            descartar(conexao);
+        } finally {
+            permissoes.release();
+        }
+    }
+
+    private void descartar(ConexaoPooled conexao) {
+        conexao.fecharFisica();
+        descartadas.increment();
+        liberarVaga();
+    }
+
+    private void liberarVaga() {
+        synchronized (ociosas) {
+            totalConexoes--;
+            ociosas.notify();
+        }
+    }
+
+    private void executarManutencao() {
+        if (fechado) {
+            return;
+        }
+        try {
+            removerOciosas();
+            completarMinimo();
+            detectarVazamentos();
+        } catch (RuntimeException e) {
+            System.err.println("Erro na manutenção do pool de conexões: " + e.getMessage());
+        }
+    }
+
+    private void removerOciosas() {
+        long tempoMaximo = configuracao.getTempoOciosoMaximoMs();
+        if (tempoMaximo == 0) {
+            return;
+        }
+
+        List<ConexaoPooled> expiradas = new ArrayList<>();
+        long agora = System.currentTimeMillis();
+
+        synchronized (ociosas) {
+            // As conexões menos usadas recentemente ficam no fim da fila
+            Iterator<ConexaoPooled> it = ociosas.descendingIterator();
+            int restantes = totalConexoes;
+            while (it.hasNext() && restantes > configuracao.getTamanhoMinimo()) {
+                ConexaoPooled conexao = it.next();
+                if (agora - conexao.getUltimoUso() < tempoMaximo) {
+                    break;
+                }
+                it.remove();
+                expiradas.add(conexao);
+                restantes--;
+            }
+        }
+
+        for (ConexaoPooled conexao : expiradas) {
+            descartar(conexao);
+        }
+    }
+
+    private void completarMinimo() {
+        while (!fechado) {
+            synchronized (ociosas) {
+                if (totalConexoes >= configuracao.getTamanhoMinimo()) {
+                    return;
+                }
+                totalConexoes++;
+            }
+
+            try {
+                ConexaoPooled conexao = criarConexao();
+                synchronized (ociosas) {
+                    ociosas.addLast(conexao);
+                    ociosas.notify();
+                }
+            } catch (SQLException e) {
+                System.err.println("Não foi possível abrir conexão mínima do pool: " + e.getMessage());
+                return;
+            }
+        }
+    }
+
+    private void detectarVazamentos() {
+        long limite = configuracao.getLimiteVazamentoMs();
+        if (limite == 0) {
+            return;
+        }
+
+        long agora = System.currentTimeMillis();
+        for (ConexaoPooled.Emprestimo emprestimo : emprestimosAtivos) {
+            if (!emprestimo.isVazamentoReportado() && agora - emprestimo.getInicio() > limite) {
+                emprestimo.marcarVazamentoReportado();
+                System.err.println("Possível vazamento de conexão: emprestada há "
+                        + (agora - emprestimo.getInicio()) + " ms pela thread " + emprestimo.getThread());
+                if (emprestimo.getOrigem() != null) {
+                    emprestimo.getOrigem().printStackTrace();
+                }
+            }
+        }
+    }
+
+    void registrarAcertoCacheStatements() {
+        acertosCacheStatements.increment();
+    }
+
+    void registrarFaltaCacheStatements() {
+        faltasCacheStatements.increment();
+    }
+
+    void registrarRemocaoCacheStatements() {
+        remocoesCacheStatements.increment();
+    }
+
+    private void verificarAberto() throws SQLException {
+        if (fechado) {
+            throw new SQLException("O pool de conexões está fechado");
+        }
+    }
+
+    public ConfiguracaoPool getConfiguracao() {
+        return configuracao;
+    }
+
+    public int getConexoesAtivas() {
+        return emprestimosAtivos.size();
+    }
+
+    public int getConexoesOciosas() {
+        synchronized (ociosas) {
+            return ociosas.size();
+        }
+    }
+
+    public int getTotalConexoes() {
+        synchronized (ociosas) {
+            return totalConexoes;
+        }
+    }
+
+    public int getThreadsAguardando() {
+        return permissoes.getQueueLength();
+    }
+
+    public long getTotalEmprestimos() {
+        return emprestimos.sum();
+    }
+
+    public long getTotalTimeouts() {
+        return timeouts.sum();
+    }
+
+    public long getTotalDescartadas() {
+        return descartadas.sum();
+    }
+
+    /**
+     * Quantidade de prepareStatement atendidos pelo cache, sem novo prepare no driver
+     */
+    public long getAcertosCacheStatements() {
+        return acertosCacheStatements.sum();
+    }
+
+    /**
+     * Quantidade de prepareStatement que precisaram preparar o SQL no driver
+     */
+    public long getFaltasCacheStatements() {
+        return faltasCacheStatements.sum();
+    }
+
+    public long getRemocoesCacheStatements() {
+        return remocoesCacheStatements.sum();
+    }
+
+    /**
+     * Calcula a taxa de acerto do cache de statements
+     *
+     * @return Percentual de acertos (0-100)
+     */
+    public double getTaxaAcertoCacheStatements() {
+        long acertos = acertosCacheStatements.sum();
+        long total = acertos + faltasCacheStatements.sum();
+        return total == 0 ? 0.0 : (double) acertos / total * 100;
+    }
+
+    public boolean isFechado() {
+        return fechado;
+    }
+
+    /**
+     * Fecha o pool. Conexões ociosas são encerradas imediatamente;
+     * conexões emprestadas são encerradas quando forem devolvidas.
+     */
+    @Override
+    public void close() {
+        fechado = true;
+        manutencao.shutdownNow();
+
+        List<ConexaoPooled> restantes;
+        synchronized (ociosas) {
+            restantes = new ArrayList<>(ociosas);
+            ociosas.clear();
+            ociosas.notifyAll();
+        }
+        for (ConexaoPooled conexao : restantes) {
+            descartar(conexao);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "PoolConexoes{" +
+                "ativas=" + getConexoesAtivas() +
+                ", ociosas=" + getConexoesOciosas() +
+                ", total=" + getTotalConexoes() +
+                ", aguardando=" + getThreadsAguardando() +
+                ", acertoCacheStatements=" + String.format("%.1f%%", getTaxaAcertoCacheStatements()) +
+                '}';
+    }
+}
@@ -0,0 +1,47 @@
+package bd;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Origem das conexões usadas pelos DAOs.
+ * Cada operação obtém uma conexão, usa e a fecha; o fechamento devolve a conexão
+ * para quem a forneceu (o pool, por exemplo) em vez de encerrar a conexão física.
+ */
+@FunctionalInterface
+public interface ProvedorConexao {
+
+    Connection obterConexao() throws SQLException;
+
+    /**
+     * Cria um provedor que entrega sempre a mesma conexão.
+     * O close() das conexões entregues é ignorado, pois o ciclo de vida da conexão
+     * pertence a quem a criou.
+     *
+     * @param connection Conexão compartilhada
+     * @return Provedor que reutiliza a conexão informada
+     */
+    static ProvedorConexao fixo(Connection connection) {
+        if (connection == null) {
+            throw new IllegalArgumentException("A conexão não pode ser nula");
+        }
+
+        Connection semFechamento = (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, metodo, args) -> {
+                    if ("close".equals(metodo.getName())) {
+                        return null;
+                    }
+                    try {
+                        return metodo.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+
+        return () -> semFechamento;
+    }
+}
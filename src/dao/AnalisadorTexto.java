@@ -0,0 +1,124 @@
+package dao;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Transforma textos em português nos termos usados pelo índice de busca.
+ *
+ * O texto é convertido para minúsculas, os acentos são removidos, as palavras vazias
+ * (artigos, preposições etc.) são descartadas e cada palavra é reduzida a um radical por
+ * regras simples de plural, sufixos derivacionais e terminações verbais. O mesmo
+ * tratamento vale para documentos e consultas, então "notificações" e "notificar"
+ * encontram um ao outro.
+ */
+final class AnalisadorTexto {
+
+    private static final int TAMANHO_MINIMO_RADICAL = 3;
+
+    private static final Set<String> PALAVRAS_VAZIAS = Set.of(
+            "a", "ao", "aos", "as", "com", "como", "da", "das", "de", "do", "dos", "e", "ela", "ele",
+            "em", "entre", "era", "essa", "esse", "esta", "este", "eu", "foi", "ha", "isso", "isto",
+            "ja", "la", "mais", "mas", "me", "mesmo", "na", "nao", "nas", "nem", "no", "nos", "o",
+            "os", "ou", "para", "pela", "pelas", "pelo", "pelos", "por", "qual", "que", "se", "sem",
+            "ser", "seu", "seus", "so", "sua", "suas", "tambem", "te", "tem", "um", "uma", "umas", "uns");
+
+    // Pares {sufixo, substituto} testados em ordem; vale o primeiro que se aplicar
+    private static final String[][] PLURAIS = {
+            {"oes", "ao"}, {"aes", "ao"}, {"ais", "al"}, {"eis", "el"}, {"ois", "ol"},
+            {"res", "r"}, {"zes", "z"}, {"ns", "m"}, {"s", ""}
+    };
+
+    private static final String[] SUFIXOS = {
+            "amentos", "imentos", "amento", "imento", "adoras", "adores", "idades", "amente",
+            "adora", "ador", "idade", "mente", "acao", "icao", "ismo", "ista", "avel", "ivel", "ncia"
+    };
+
+    private static final String[] TERMINACOES_VERBAIS = {
+            "ando", "endo", "indo", "ado", "ido", "ar", "er", "ir"
+    };
+
+    private AnalisadorTexto() {
+    }
+
+    /**
+     * Separa o texto em termos já normalizados, na ordem em que aparecem (com repetições)
+     *
+     * @param texto Texto a analisar; null é tratado como vazio
+     * @return Termos do texto
+     */
+    static List<String> analisar(String texto) {
+        List<String> termos = new ArrayList<>();
+        if (texto == null || texto.isEmpty()) {
+            return termos;
+        }
+
+        String normalizado = Normalizer.normalize(texto.toLowerCase(), Normalizer.Form.NFD);
+        StringBuilder palavra = new StringBuilder();
+        for (int i = 0; i <= normalizado.length(); i++) {
+            char c = i < normalizado.length() ? normalizado.charAt(i) : ' ';
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue; // Acento separado da letra pela decomposição NFD
+            }
+            if (Character.isLetterOrDigit(c)) {
+                palavra.append(c);
+            } else if (palavra.length() > 0) {
+                String termo = palavra.toString();
+                palavra.setLength(0);
+                if (!PALAVRAS_VAZIAS.contains(termo)) {
+                    termos.add(reduzir(termo));
+                }
+            }
+        }
+        return termos;
+    }
+
+    /**
+     * Reduz uma palavra sem acentos ao seu radical
+     */
+    static String reduzir(String palavra) {
+        if (palavra.length() <= TAMANHO_MINIMO_RADICAL || Character.isDigit(palavra.charAt(0))) {
+            return palavra;
+        }
+
+        String radical = palavra;
+        if (!radical.endsWith("ss") && !radical.endsWith("us")) {
+            for (String[] plural : PLURAIS) {
+                if (radical.endsWith(plural[0])) {
+                    radical = trocarSufixo(radical, plural[0], plural[1]);
+                    break;
+                }
+            }
+        }
+
+        String semSufixo = removerPrimeiro(radical, SUFIXOS);
+        radical = semSufixo != null ? semSufixo : radical;
+        if (semSufixo == null) {
+            String semTerminacao = removerPrimeiro(radical, TERMINACOES_VERBAIS);
+            radical = semTerminacao != null ? semTerminacao : radical;
+        }
+
+        // Vogal temática final: "projeto" e "projetar" ficam em "projet"
+        char ultima = radical.charAt(radical.length() - 1);
+        if (radical.length() > TAMANHO_MINIMO_RADICAL + 1 && (ultima == 'a' || ultima == 'e' || ultima == 'o')) {
+            radical = radical.substring(0, radical.length() - 1);
+        }
+        return radical;
+    }
+
+    private static String removerPrimeiro(String palavra, String[] sufixos) {
+        for (String sufixo : sufixos) {
+            if (palavra.endsWith(sufixo) && palavra.length() - sufixo.length() >= TAMANHO_MINIMO_RADICAL) {
+                return palavra.substring(0, palavra.length() - sufixo.length());
+            }
+        }
+        return null;
+    }
+
+    private static String trocarSufixo(String palavra, String sufixo, String substituto) {
+        String radical = palavra.substring(0, palavra.length() - sufixo.length()) + substituto;
+        return radical.length() >= TAMANHO_MINIMO_RADICAL ? radical : palavra;
+    }
+}
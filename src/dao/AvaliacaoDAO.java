@@ -1,64 +1,195 @@
 package dao;
 
+import bd.ConnectionFactory;
+import bd.ProvedorConexao;
+import dao.ContadoresPainel.Categoria;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 import modelo.Avaliacao;
 
 public class AvaliacaoDAO implements BaseDAO<Avaliacao> {
 
-    private Connection connection;
+    private static final String SQL_INSERIR =
+            "INSERT INTO avaliacoes (id, nota, comentario, solucao_id, usuario_avaliador_id) VALUES (?, ?, ?, ?, ?)";
+
+    // Colunas lidas por criarAvaliacao, na ordem dos índices
+    static final String COLUNAS = "id, nota, comentario, solucao_id, usuario_avaliador_id, data_avaliacao";
+    private static final String SQL_SELECIONAR = "SELECT " + COLUNAS + " FROM avaliacoes";
+
+    private static final String SQL_SOMAR_AGREGADOS =
+            "UPDATE solucoes SET total_avaliacoes = total_avaliacoes + ?, soma_notas = soma_notas + ? WHERE id = ?";
+
+    private static final ChavePaginacao<Avaliacao> CHAVE_PAGINACAO =
+            ChavePaginacao.recentesPrimeiro("data_avaliacao", "id", Avaliacao::getDataAvaliacao);
+
+    private static volatile CacheEntidades<Avaliacao> cache = CacheEntidades.desativado();
+
+    private ProvedorConexao provedor;
+
+    public AvaliacaoDAO() {
+        this(new ConnectionFactory());
+    }
 
     public AvaliacaoDAO(Connection connection) {
-        this.connection = connection;
+        this(ProvedorConexao.fixo(connection));
+    }
+
+    public AvaliacaoDAO(ProvedorConexao provedor) {
+        this.provedor = MetricasDAO.instrumentar(provedor);
+    }
+
+    /**
+     * Substitui o cache usado pelo buscarPorId de todos os AvaliacaoDAO
+     *
+     * @param novoCache Cache a ser usado; CacheEntidades.desativado() desliga o cache
+     */
+    public static void configurarCache(CacheEntidades<Avaliacao> novoCache) {
+        if (novoCache == null) {
+            throw new IllegalArgumentException("O cache não pode ser nulo");
+        }
+        cache = novoCache;
+    }
+
+    public static CacheEntidades<Avaliacao> getCache() {
+        return cache;
     }
 
     public void criarTabela() throws SQLException {
         String sql = """
             CREATE TABLE IF NOT EXISTS avaliacoes (
-                id VARCHAR(36) PRIMARY KEY,
+                id BINARY(16) PRIMARY KEY,
                 nota INT NOT NULL CHECK (nota >= 0 AND nota <= 5),
                 comentario TEXT,
                 data_avaliacao TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-                solucao_id VARCHAR(36),
-                usuario_avaliador_id VARCHAR(36),
+                solucao_id BINARY(16),
+                usuario_avaliador_id BINARY(16),
                 FOREIGN KEY (solucao_id) REFERENCES solucoes(id),
                 FOREIGN KEY (usuario_avaliador_id) REFERENCES usuario(id)
             )
         """;
 
-        try (var stmt = connection.createStatement()) {
+        try (Connection connection = provedor.obterConexao();
+             var stmt = connection.createStatement()) {
             stmt.execute(sql);
         }
     }
 
     @Override
     public void salvar(Avaliacao avaliacao) {
-        String sql = "INSERT INTO avaliacoes (id, nota, comentario, solucao_id, usuario_avaliador_id) VALUES (?, ?, ?, ?, ?)";
-
-        try (PreparedStatement pstm = connection.prepareStatement(sql)) {
-            pstm.setString(1, avaliacao.getId());
-            pstm.setInt(2, avaliacao.getNota());
-            pstm.setString(3, avaliacao.getComentario());
-            pstm.setString(4, avaliacao.getSolucaoId());
-            pstm.setString(5, avaliacao.getUsuarioAvaliadorId());
-            pstm.execute();
+        try {
+            Transacao.executar(provedor, connection -> {
+                try (PreparedStatement pstm = connection.prepareStatement(SQL_INSERIR)) {
+                    preencherInsercao(pstm, avaliacao);
+                    pstm.execute();
+                }
+                somarAgregados(connection, avaliacao.getSolucaoId(), 1, avaliacao.getNota());
+                return null;
+            });
+            UnidadeDeTrabalho.aposConfirmar(provedor, () -> {
+                ContadoresPainel.getInstancia().incrementar(Categoria.AVALIACOES_POR_NOTA, String.valueOf(avaliacao.getNota()));
+                PlacarSolucoes.getInstancia().registrarAvaliacao(provedor, avaliacao.getSolucaoId(), 1, avaliacao.getNota());
+            });
         } catch (SQLException e) {
             throw new RuntimeException("Erro ao salvar avaliação: " + e.getMessage());
         }
     }
 
+    @Override
+    public ResultadoLote<Avaliacao> salvarEmLote(Collection<Avaliacao> avaliacoes, int tamanhoLote) {
+        ResultadoLote<Avaliacao> resultado = ExecutorLote.executar(provedor, SQL_INSERIR, avaliacoes, tamanhoLote,
+                this::preencherInsercao, this::somarAgregadosLote);
+        UnidadeDeTrabalho.aposConfirmar(provedor, () -> {
+            Map<String, int[]> porSolucao = new HashMap<>();
+            resultado.paraCadaSalvo(avaliacoes, avaliacao -> {
+                ContadoresPainel.getInstancia().incrementar(Categoria.AVALIACOES_POR_NOTA, String.valueOf(avaliacao.getNota()));
+                if (avaliacao.getSolucaoId() != null) {
+                    int[] agregado = porSolucao.computeIfAbsent(avaliacao.getSolucaoId(), id -> new int[2]);
+                    agregado[0]++;
+                    agregado[1] += avaliacao.getNota();
+                }
+            });
+            porSolucao.forEach((solucaoId, agregado) ->
+                    PlacarSolucoes.getInstancia().registrarAvaliacao(provedor, solucaoId, agregado[0], agregado[1]));
+        });
+        return resultado;
+    }
+
+    /**
+     * Ajusta total_avaliacoes e soma_notas da solução na transação da gravação
+     */
+    private void somarAgregados(Connection connection, String solucaoId, int avaliacoes, int notas) throws SQLException {
+        try (PreparedStatement pstm = connection.prepareStatement(SQL_SOMAR_AGREGADOS)) {
+            pstm.setInt(1, avaliacoes);
+            pstm.setInt(2, notas);
+            ColunaId.definir(pstm, 3, solucaoId);
+            pstm.executeUpdate();
+        }
+    }
+
+    private void somarAgregadosLote(Connection connection, List<Avaliacao> gravadas) throws SQLException {
+        // Um UPDATE por solução, e não por avaliação
+        Map<String, int[]> porSolucao = new HashMap<>();
+        for (Avaliacao avaliacao : gravadas) {
+            if (avaliacao.getSolucaoId() != null) {
+                int[] agregado = porSolucao.computeIfAbsent(avaliacao.getSolucaoId(), id -> new int[2]);
+                agregado[0]++;
+                agregado[1] += avaliacao.getNota();
+            }
+        }
+        if (porSolucao.isEmpty()) {
+            return;
+        }
+
+        try (PreparedStatement pstm = connection.prepareStatement(SQL_SOMAR_AGREGADOS)) {
+            for (Map.Entry<String, int[]> entrada : porSolucao.entrySet()) {
+                pstm.setInt(1, entrada.getValue()[0]);
+                pstm.setInt(2, entrada.getValue()[1]);
+                ColunaId.definir(pstm, 3, entrada.getKey());
+                pstm.addBatch();
+            }
+            pstm.executeBatch();
+        }
+    }
+
+    /**
+     * Lê a avaliação bloqueando a linha até o fim da transação
+     */
+    private Avaliacao buscarParaAlteracao(Connection connection, String id) throws SQLException {
+        try (PreparedStatement pstm = connection.prepareStatement(SQL_SELECIONAR + " WHERE id = ? FOR UPDATE")) {
+            ColunaId.definir(pstm, 1, id);
+            try (ResultSet rs = pstm.executeQuery()) {
+                return rs.next() ? criarAvaliacao(rs) : null;
+            }
+        }
+    }
+
+    private void preencherInsercao(PreparedStatement pstm, Avaliacao avaliacao) throws SQLException {
+        ColunaId.definir(pstm, 1, avaliacao.getId());
+        pstm.setInt(2, avaliacao.getNota());
+        pstm.setString(3, avaliacao.getComentario());
+        ColunaId.definir(pstm, 4, avaliacao.getSolucaoId());
+        ColunaId.definir(pstm, 5, avaliacao.getUsuarioAvaliadorId());
+    }
+
+    /**
+     * @deprecated Carrega todas as linhas de uma vez; use {@link #buscarPorSolucao(String, RequisicaoPagina)}
+     */
+    @Deprecated
     public List<Avaliacao> buscarPorSolucao(String solucaoId) {
         List<Avaliacao> avaliacoes = new ArrayList<>();
-        String sql = "SELECT * FROM avaliacoes WHERE solucao_id = ?";
+        String sql = SQL_SELECIONAR + " WHERE solucao_id = ?";
 
-        try (PreparedStatement pstm = connection.prepareStatement(sql)) {
-            pstm.setString(1, solucaoId);
+        try (Connection connection = provedor.obterConexao();
+             PreparedStatement pstm = connection.prepareStatement(sql)) {
+            ColunaId.definir(pstm, 1, solucaoId);
 
             try (ResultSet rs = pstm.executeQuery()) {
                 while (rs.next()) {
@@ -71,12 +202,23 @@ public class AvaliacaoDAO implements BaseDAO<Avaliacao> {
         return avaliacoes;
     }
 
+    public Pagina<Avaliacao> buscarPorSolucao(String solucaoId, RequisicaoPagina requisicao) {
+        return ConsultaPaginada.buscar(provedor, SQL_SELECIONAR, "solucao_id = ?",
+                pstm -> ColunaId.definir(pstm, 1, solucaoId), CHAVE_PAGINACAO, requisicao,
+                AvaliacaoDAO::criarAvaliacao, "Erro ao buscar avaliações por solução");
+    }
+
+    /**
+     * @deprecated Carrega todas as linhas de uma vez; use {@link #buscarPorAvaliador(String, RequisicaoPagina)}
+     */
+    @Deprecated
     public List<Avaliacao> buscarPorAvaliador(String usuarioId) {
         List<Avaliacao> avaliacoes = new ArrayList<>();
-        String sql = "SELECT * FROM avaliacoes WHERE usuario_avaliador_id = ?";
+        String sql = SQL_SELECIONAR + " WHERE usuario_avaliador_id = ?";
 
-        try (PreparedStatement pstm = connection.prepareStatement(sql)) {
-            pstm.setString(1, usuarioId);
+        try (Connection connection = provedor.obterConexao();
+             PreparedStatement pstm = connection.prepareStatement(sql)) {
+            ColunaId.definir(pstm, 1, usuarioId);
 
             try (ResultSet rs = pstm.executeQuery()) {
                 while (rs.next()) {
@@ -89,12 +231,26 @@ public class AvaliacaoDAO implements BaseDAO<Avaliacao> {
         return avaliacoes;
     }
 
+    public Pagina<Avaliacao> buscarPorAvaliador(String usuarioId, RequisicaoPagina requisicao) {
+        return ConsultaPaginada.buscar(provedor, SQL_SELECIONAR, "usuario_avaliador_id = ?",
+                pstm -> ColunaId.definir(pstm, 1, usuarioId), CHAVE_PAGINACAO, requisicao,
+                AvaliacaoDAO::criarAvaliacao, "Erro ao buscar avaliações por avaliador");
+    }
+
     @Override
     public Object buscarPorId(String id) {
-        String sql = "SELECT * FROM avaliacoes WHERE id = ?";
+        if (UnidadeDeTrabalho.emTransacao(provedor)) {
+            return buscarPorIdNoBanco(id);
+        }
+        return cache.obter(id, this::buscarPorIdNoBanco, this::copiarAvaliacao);
+    }
 
-        try (PreparedStatement pstm = connection.prepareStatement(sql)) {
-            pstm.setString(1, id);
+    private Avaliacao buscarPorIdNoBanco(String id) {
+        String sql = SQL_SELECIONAR + " WHERE id = ?";
+
+        try (Connection connection = provedor.obterConexao();
+             PreparedStatement pstm = connection.prepareStatement(sql)) {
+            ColunaId.definir(pstm, 1, id);
 
             try (ResultSet rs = pstm.executeQuery()) {
                 if (rs.next()) {
@@ -107,12 +263,23 @@ public class AvaliacaoDAO implements BaseDAO<Avaliacao> {
         return null;
     }
 
+    @Override
+    public Map<String, Avaliacao> buscarPorIds(Collection<String> ids) {
+        return ConsultaPorIds.buscar(provedor, SQL_SELECIONAR, null, "id", ids,
+                AvaliacaoDAO::criarAvaliacao, "Erro ao buscar avaliações");
+    }
+
+    /**
+     * @deprecated Carrega todas as linhas de uma vez; use {@link #listarPagina(RequisicaoPagina)} ou {@link #listarTodosStream()}
+     */
+    @Deprecated
     @Override
     public ArrayList<Avaliacao> listarTodosLazyLoading() {
         ArrayList<Avaliacao> avaliacoes = new ArrayList<>();
-        String sql = "SELECT * FROM avaliacoes";
+        String sql = SQL_SELECIONAR;
 
-        try (PreparedStatement pstm = connection.prepareStatement(sql);
+        try (Connection connection = provedor.obterConexao();
+             PreparedStatement pstm = connection.prepareStatement(sql);
              ResultSet rs = pstm.executeQuery()) {
 
             while (rs.next()) {
@@ -124,19 +291,45 @@ public class AvaliacaoDAO implements BaseDAO<Avaliacao> {
         return avaliacoes;
     }
 
+    @Override
+    public Stream<Avaliacao> listarTodosStream() {
+        String sql = SQL_SELECIONAR;
+        return CursorStream.abrir(provedor, sql, AvaliacaoDAO::criarAvaliacao, "Erro ao listar avaliações");
+    }
+
+    @Override
+    public Pagina<Avaliacao> listarPagina(RequisicaoPagina requisicao) {
+        return ConsultaPaginada.buscar(provedor, SQL_SELECIONAR, CHAVE_PAGINACAO, requisicao,
+                AvaliacaoDAO::criarAvaliacao, "Erro ao listar avaliações");
+    }
+
     @Override
     public void atualizar(Avaliacao avaliacao) {
         String sql = "UPDATE avaliacoes SET nota = ?, comentario = ? WHERE id = ?";
 
-        try (PreparedStatement pstm = connection.prepareStatement(sql)) {
-            pstm.setInt(1, avaliacao.getNota());
-            pstm.setString(2, avaliacao.getComentario());
-            pstm.setString(3, avaliacao.getId());
+        try {
+            Avaliacao anterior = Transacao.executar(provedor, connection -> {
+                Avaliacao atual = buscarParaAlteracao(connection, avaliacao.getId());
+                if (atual == null) {
+                    throw new SQLException("Atualização falhou: avaliação não encontrada.");
+                }
 
-            int rowsAffected = pstm.executeUpdate();
-            if (rowsAffected == 0) {
-                throw new SQLException("Atualização falhou: avaliação não encontrada.");
-            }
+                try (PreparedStatement pstm = connection.prepareStatement(sql)) {
+                    pstm.setInt(1, avaliacao.getNota());
+                    pstm.setString(2, avaliacao.getComentario());
+                    ColunaId.definir(pstm, 3, avaliacao.getId());
+                    pstm.executeUpdate();
+                }
+                somarAgregados(connection, atual.getSolucaoId(), 0, avaliacao.getNota() - atual.getNota());
+                return atual;
+            });
+            UnidadeDeTrabalho.aposConfirmar(provedor, () -> {
+                cache.invalidar(avaliacao.getId());
+                ContadoresPainel.getInstancia().mover(Categoria.AVALIACOES_POR_NOTA,
+                        String.valueOf(anterior.getNota()), String.valueOf(avaliacao.getNota()));
+                PlacarSolucoes.getInstancia().registrarAvaliacao(provedor, anterior.getSolucaoId(), 0,
+                        avaliacao.getNota() - anterior.getNota());
+            });
         } catch (SQLException e) {
             throw new RuntimeException("Erro ao atualizar avaliação: " + e.getMessage());
         }
@@ -146,34 +339,58 @@ public class AvaliacaoDAO implements BaseDAO<Avaliacao> {
     public void excluir(String id) {
         String sql = "DELETE FROM avaliacoes WHERE id = ?";
 
-        try (PreparedStatement pstm = connection.prepareStatement(sql)) {
-            pstm.setString(1, id);
+        try {
+            Avaliacao excluida = Transacao.executar(provedor, connection -> {
+                Avaliacao atual = buscarParaAlteracao(connection, id);
+                if (atual == null) {
+                    throw new SQLException("Exclusão falhou: avaliação não encontrada.");
+                }
 
-            int rowsAffected = pstm.executeUpdate();
-            if (rowsAffected == 0) {
-                throw new SQLException("Exclusão falhou: avaliação não encontrada.");
-            }
+                try (PreparedStatement pstm = connection.prepareStatement(sql)) {
+                    ColunaId.definir(pstm, 1, id);
+                    pstm.executeUpdate();
+                }
+                somarAgregados(connection, atual.getSolucaoId(), -1, -atual.getNota());
+                return atual;
+            });
+            UnidadeDeTrabalho.aposConfirmar(provedor, () -> {
+                cache.invalidar(id);
+                ContadoresPainel.getInstancia().decrementar(Categoria.AVALIACOES_POR_NOTA, String.valueOf(excluida.getNota()));
+                PlacarSolucoes.getInstancia().registrarAvaliacao(provedor, excluida.getSolucaoId(), -1, -excluida.getNota());
+            });
         } catch (SQLException e) {
             throw new RuntimeException("Erro ao excluir avaliação: " + e.getMessage());
         }
     }
 
-    private Avaliacao criarAvaliacao(ResultSet rs) throws SQLException {
+    /**
+     * Cria a avaliação a partir de uma linha lida com COLUNAS, por índice
+     */
+    static Avaliacao criarAvaliacao(ResultSet rs) throws SQLException {
+        Avaliacao avaliacao = new Avaliacao(ColunaId.ler(rs, 1), rs.getInt(2), rs.getString(3),
+                ColunaId.ler(rs, 4), ColunaId.ler(rs, 5));
+        avaliacao.setDataAvaliacao(rs.getTimestamp(6));
+        return avaliacao;
+    }
+
+    private Avaliacao copiarAvaliacao(Avaliacao origem) {
         Avaliacao avaliacao = new Avaliacao();
-        avaliacao.setId(rs.getString("id"));
-        avaliacao.setNota(rs.getInt("nota"));
-        avaliacao.setComentario(rs.getString("comentario"));
-        avaliacao.setSolucaoId(rs.getString("solucao_id"));
-        avaliacao.setUsuarioAvaliadorId(rs.getString("usuario_avaliador_id"));
-        avaliacao.setDataAvaliacao(rs.getTimestamp("data_avaliacao"));
+        avaliacao.setId(origem.getId());
+        avaliacao.setNota(origem.getNota());
+        avaliacao.setComentario(origem.getComentario());
+        avaliacao.setSolucaoId(origem.getSolucaoId());
+        avaliacao.setUsuarioAvaliadorId(origem.getUsuarioAvaliadorId());
+        avaliacao.setDataAvaliacao(origem.getDataAvaliacao());
         return avaliacao;
     }
 
     public double calcularMediaAvaliacoesSolucao(String solucaoId) {
-        String sql = "SELECT AVG(nota) as media FROM avaliacoes WHERE solucao_id = ?";
+        // Média mantida pelas gravações de avaliação, sem percorrer a tabela avaliacoes
+        String sql = "SELECT media_avaliacoes as media FROM solucoes WHERE id = ?";
 
-        try (PreparedStatement pstm = connection.prepareStatement(sql)) {
-            pstm.setString(1, solucaoId);
+        try (Connection connection = provedor.obterConexao();
+             PreparedStatement pstm = connection.prepareStatement(sql)) {
+            ColunaId.definir(pstm, 1, solucaoId);
 
             try (ResultSet rs = pstm.executeQuery()) {
                 if (rs.next()) {
@@ -197,7 +414,8 @@ public class AvaliacaoDAO implements BaseDAO<Avaliacao> {
             FROM avaliacoes
         """;
 
-        try (PreparedStatement pstm = connection.prepareStatement(sql);
+        try (Connection connection = provedor.obterConexao();
+             PreparedStatement pstm = connection.prepareStatement(sql);
              ResultSet rs = pstm.executeQuery()) {
 
             if (rs.next()) {
@@ -212,68 +430,31 @@ public class AvaliacaoDAO implements BaseDAO<Avaliacao> {
         return estatisticas;
     }
 
+    /**
+     * Ranking das soluções com pelo menos {@value PlacarSolucoes#MINIMO_AVALIACOES} avaliações,
+     * lido do placar em memória (carregado do banco apenas no primeiro uso)
+     */
     public List<Map<String, Object>> obterRankingSolucoes(int limite) {
-        List<Map<String, Object>> ranking = new ArrayList<>();
-        String sql = """
-            SELECT 
-                s.id as solucao_id,
-                s.titulo as solucao_titulo,
-                u.nome as autor,
-                COUNT(a.id) as total_avaliacoes,
-                AVG(a.nota) as media_notas
-            FROM solucoes s
-            INNER JOIN usuario u ON s.usuario_id = u.id
-            INNER JOIN avaliacoes a ON s.id = a.solucao_id
-            GROUP BY s.id, s.titulo, u.nome
-            HAVING COUNT(a.id) >= 3
-            ORDER BY media_notas DESC
-            LIMIT ?
-        """;
-
-        try (PreparedStatement pstm = connection.prepareStatement(sql)) {
-            pstm.setInt(1, limite);
+        PlacarSolucoes placar = PlacarSolucoes.getInstancia();
+        if (!placar.isCarregado()) {
+            placar.carregar(provedor);
+        }
 
-            try (ResultSet rs = pstm.executeQuery()) {
-                while (rs.next()) {
-                    Map<String, Object> item = new HashMap<>();
-                    item.put("solucao_id", rs.getString("solucao_id"));
-                    item.put("solucao_titulo", rs.getString("solucao_titulo"));
-                    item.put("autor", rs.getString("autor"));
-                    item.put("total_avaliacoes", rs.getInt("total_avaliacoes"));
-                    item.put("media_notas", rs.getDouble("media_notas"));
-                    ranking.add(item);
-                }
-            }
-        } catch (SQLException e) {
-            throw new RuntimeException("Erro ao obter ranking de soluções: " + e.getMessage());
+        List<Map<String, Object>> ranking = new ArrayList<>();
+        for (PlacarSolucoes.Posicao posicao : placar.obterTop(limite)) {
+            Map<String, Object> item = new HashMap<>();
+            item.put("solucao_id", posicao.getSolucaoId());
+            item.put("solucao_titulo", posicao.getTitulo());
+            item.put("autor", posicao.getAutor());
+            item.put("total_avaliacoes", posicao.getTotalAvaliacoes());
+            item.put("media_notas", posicao.getMedia());
+            ranking.add(item);
         }
         return ranking;
     }
 
     public Map<String, Long> obterDistribuicaoNotas() {
-        Map<String, Long> distribuicao = new HashMap<>();
-        String sql = """
-            SELECT 
-                nota,
-                COUNT(*) as quantidade
-            FROM avaliacoes
-            GROUP BY nota
-            ORDER BY nota
-        """;
-
-        try (PreparedStatement pstm = connection.prepareStatement(sql);
-             ResultSet rs = pstm.executeQuery()) {
-
-            while (rs.next()) {
-                distribuicao.put(
-                    String.valueOf(rs.getInt("nota")),
-                    rs.getLong("quantidade")
-                );
-            }
-        } catch (SQLException e) {
-            throw new RuntimeException("Erro ao obter distribuição de notas: " + e.getMessage());
-        }
-        return distribuicao;
+        return ContadoresPainel.getInstancia().obter(Categoria.AVALIACOES_POR_NOTA, provedor);
     }
 
     public double calcularMediaPorPeriodo(String solucaoId, java.sql.Date dataInicio, java.sql.Date dataFim) {
@@ -284,8 +465,9 @@ public class AvaliacaoDAO implements BaseDAO<Avaliacao> {
             AND data_avaliacao BETWEEN ? AND ?
         """;
 
-        try (PreparedStatement pstm = connection.prepareStatement(sql)) {
-            pstm.setString(1, solucaoId);
+        try (Connection connection = provedor.obterConexao();
+             PreparedStatement pstm = connection.prepareStatement(sql)) {
+            ColunaId.definir(pstm, 1, solucaoId);
             pstm.setDate(2, dataInicio);
             pstm.setDate(3, dataFim);
 
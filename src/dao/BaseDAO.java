@@ -1,11 +1,39 @@
 package dao;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+import java.util.stream.Stream;
 
 public interface BaseDAO<T> {
+    int TAMANHO_LOTE_PADRAO = 500;
+
     void salvar(T objeto);
+    ResultadoLote<T> salvarEmLote(Collection<T> objetos, int tamanhoLote);
     Object buscarPorId(String id);
+    Map<String, T> buscarPorIds(Collection<String> ids);
+    /**
+     * @deprecated Carrega a tabela inteira em memória; use {@link #listarPagina(RequisicaoPagina)}
+     * ou {@link #listarTodosStream()}
+     */
+    @Deprecated
     ArrayList<T> listarTodosLazyLoading();
+    Stream<T> listarTodosStream();
+    Pagina<T> listarPagina(RequisicaoPagina requisicao);
     void atualizar(T objeto);
     void excluir(String id);
-}
\ No newline at end of file
+
+    default ResultadoLote<T> salvarEmLote(Collection<T> objetos) {
+        return salvarEmLote(objetos, TAMANHO_LOTE_PADRAO);
+    }
+
+    /**
+     * Atualiza vários objetos. A implementação padrão chama atualizar() para cada um; DAOs cujo
+     * UPDATE não depende de leituras por linha enviam os comandos em lote, em uma única transação.
+     */
+    default void atualizarEmLote(Collection<T> objetos) {
+        for (T objeto : objetos) {
+            atualizar(objeto);
+        }
+    }
+}
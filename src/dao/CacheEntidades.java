@@ -0,0 +1,59 @@
+package dao;
+
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * Cache de entidades por id usado na frente do buscarPorId dos DAOs.
+ * Implementações podem ser trocadas em cada DAO pelo método configurarCache.
+ *
+ * @param <T> Tipo da entidade
+ */
+public interface CacheEntidades<T> {
+
+    /**
+     * Retorna a entidade do cache ou a carrega com o carregador em caso de falta.
+     * As entidades são devolvidas através do copiador, para que alterações feitas pelo
+     * chamador não afetem a instância armazenada.
+     *
+     * @param id Identificador da entidade
+     * @param carregador Busca a entidade no banco; pode retornar null
+     * @param copiador Cria uma cópia da entidade armazenada
+     * @return Cópia da entidade, ou null se ela não existir
+     */
+    T obter(String id, Function<String, T> carregador, UnaryOperator<T> copiador);
+
+    void invalidar(String id);
+
+    void limpar();
+
+    EstatisticasCache getEstatisticas();
+
+    /**
+     * Cache que não armazena nada e sempre consulta o carregador
+     */
+    static <T> CacheEntidades<T> desativado() {
+        return new CacheEntidades<>() {
+            private final EstatisticasCache estatisticas = new EstatisticasCache();
+
+            @Override
+            public T obter(String id, Function<String, T> carregador, UnaryOperator<T> copiador) {
+                estatisticas.registrarFalta();
+                return carregador.apply(id);
+            }
+
+            @Override
+            public void invalidar(String id) {
+            }
+
+            @Override
+            public void limpar() {
+            }
+
+            @Override
+            public EstatisticasCache getEstatisticas() {
+                return estatisticas;
+            }
+        };
+    }
+}
@@ -0,0 +1,117 @@
+package dao;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * Cache de entidades limitado por tamanho (LRU) e por tempo de vida (TTL).
+ *
+ * O carregamento do banco acontece fora do bloqueio, então leituras concorrentes de ids
+ * diferentes não esperam umas pelas outras. Um contador de invalidações impede que uma
+ * leitura iniciada antes de uma escrita grave no cache um valor que a escrita já tornou obsoleto.
+ *
+ * @param <T> Tipo da entidade
+ */
+public class CacheLRU<T> implements CacheEntidades<T> {
+    private final int capacidade;
+    private final long ttlNanos;
+    private final LinkedHashMap<String, Entrada<T>> entradas;
+    private final EstatisticasCache estatisticas = new EstatisticasCache();
+    private long geracao;
+
+    /**
+     * @param capacidade Quantidade máxima de entidades mantidas
+     * @param ttl Tempo de vida de cada entrada a partir do carregamento
+     */
+    public CacheLRU(int capacidade, Duration ttl) {
+        if (capacidade < 1) {
+            throw new IllegalArgumentException("A capacidade do cache deve ser maior que zero");
+        }
+        if (ttl == null || ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("O tempo de vida do cache deve ser positivo");
+        }
+        this.capacidade = capacidade;
+        this.ttlNanos = ttl.toNanos();
+        this.entradas = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entrada<T>> maisAntiga) {
+                if (size() > CacheLRU.this.capacidade) {
+                    estatisticas.registrarRemocao();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    @Override
+    public T obter(String id, Function<String, T> carregador, UnaryOperator<T> copiador) {
+        long geracaoLeitura;
+
+        synchronized (this) {
+            Entrada<T> entrada = entradas.get(id);
+            if (entrada != null) {
+                if (System.nanoTime() < entrada.expiraEm) {
+                    estatisticas.registrarAcerto();
+                    return copiador.apply(entrada.valor);
+                }
+                entradas.remove(id);
+                estatisticas.registrarExpiracao();
+            }
+            estatisticas.registrarFalta();
+            geracaoLeitura = geracao;
+        }
+
+        T carregado = carregador.apply(id);
+        if (carregado == null) {
+            return null;
+        }
+
+        synchronized (this) {
+            if (geracao == geracaoLeitura) {
+                entradas.put(id, new Entrada<>(carregado, System.nanoTime() + ttlNanos));
+            }
+        }
+        return copiador.apply(carregado);
+    }
+
+    @Override
+    public synchronized void invalidar(String id) {
+        geracao++;
+        if (entradas.remove(id) != null) {
+            estatisticas.registrarInvalidacao();
+        }
+    }
+
+    @Override
+    public synchronized void limpar() {
+        geracao++;
+        entradas.clear();
+    }
+
+    @Override
+    public EstatisticasCache getEstatisticas() {
+        return estatisticas;
+    }
+
+    public synchronized int getTamanho() {
+        return entradas.size();
+    }
+
+    public int getCapacidade() {
+        return capacidade;
+    }
+
+    private static class Entrada<T> {
+        private final T valor;
+        private final long expiraEm;
+
+        private Entrada(T valor, long expiraEm) {
+            this.valor = valor;
+            this.expiraEm = expiraEm;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package dao;
+
+import bd.ConnectionFactory;
+import bd.ProvedorConexao;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import modelo.Avaliacao;
+import modelo.Projeto;
+import modelo.Solucao;
+import modelo.Tarefa;
+
+/**
+ * Carrega projetos com suas tarefas, soluções e avaliações já ligadas nos dois sentidos
+ * (Projeto.tarefas / Tarefa.projeto, Tarefa.solucoes / Solucao.tarefa,
+ * Solucao.avaliacoes / Avaliacao.solucaoAvaliada).
+ *
+ * Cada nível é lido com uma única consulta filtrada pelos ids dos projetos, então o número de
+ * consultas depende da profundidade pedida e não da quantidade de linhas. Todas as consultas
+ * usam a mesma conexão e a mesma transação, para que os níveis sejam lidos de um mesmo estado do banco.
+ */
+public class CarregadorGrafo {
+
+    /**
+     * Até qual nível a hierarquia do projeto é carregada
+     */
+    public enum Profundidade {
+        PROJETO,
+        TAREFAS,
+        SOLUCOES,
+        AVALIACOES
+    }
+
+    private ProvedorConexao provedor;
+
+    public CarregadorGrafo() {
+        this(new ConnectionFactory());
+    }
+
+    public CarregadorGrafo(Connection connection) {
+        this(ProvedorConexao.fixo(connection));
+    }
+
+    public CarregadorGrafo(ProvedorConexao provedor) {
+        this.provedor = provedor;
+    }
+
+    /**
+     * Carrega um projeto e sua hierarquia até a profundidade pedida
+     *
+     * @param projetoId Identificador do projeto
+     * @param profundidade Último nível carregado
+     * @return Projeto com as relações preenchidas, ou null se ele não existir
+     */
+    public Projeto carregarProjeto(String projetoId, Profundidade profundidade) {
+        return carregarProjetos(List.of(projetoId), profundidade).get(projetoId);
+    }
+
+    /**
+     * Carrega vários projetos e suas hierarquias, com uma consulta por nível
+     *
+     * @param projetoIds Identificadores dos projetos
+     * @param profundidade Último nível carregado
+     * @return Projetos encontrados, na ordem em que os ids foram informados
+     */
+    public Map<String, Projeto> carregarProjetos(Collection<String> projetoIds, Profundidade profundidade) {
+        if (profundidade == null) {
+            throw new IllegalArgumentException("A profundidade não pode ser nula");
+        }
+
+        try {
+            return Transacao.executar(provedor,
+                    connection -> carregar(ProvedorConexao.fixo(connection), projetoIds, profundidade));
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao carregar projetos: " + e.getMessage());
+        }
+    }
+
+    private Map<String, Projeto> carregar(ProvedorConexao conexao, Collection<String> projetoIds,
+                                          Profundidade profundidade) {
+        Map<String, Projeto> projetos = new ProjetoDAO(conexao).buscarPorIds(projetoIds);
+        if (projetos.isEmpty() || profundidade == Profundidade.PROJETO) {
+            return projetos;
+        }
+
+        // O mapa devolvido usa os ids do chamador; os filhos apontam para o id canônico do pai
+        Map<String, Projeto> porId = new HashMap<>();
+        for (Projeto projeto : projetos.values()) {
+            porId.put(projeto.getId(), projeto);
+        }
+
+        Map<String, Tarefa> tarefas = new HashMap<>();
+        List<Tarefa> linhasTarefas = ConsultaPorIds.listar(conexao,
+                "SELECT " + TarefaDAO.COLUNAS + " FROM tarefas", null,
+                "projeto_id", projetos.keySet(), "data_criacao, id",
+                TarefaDAO::criarTarefa, "Erro ao carregar tarefas");
+        for (Tarefa tarefa : linhasTarefas) {
+            Projeto projeto = porId.get(tarefa.getProjetoId());
+            if (projeto == null) {
+                continue;
+            }
+            projeto.adicionarTarefa(tarefa);
+            tarefa.setProjeto(projeto);
+            tarefas.put(tarefa.getId(), tarefa);
+        }
+        if (tarefas.isEmpty() || profundidade == Profundidade.TAREFAS) {
+            return projetos;
+        }
+
+        Map<String, Solucao> solucoes = new HashMap<>();
+        List<Solucao> linhasSolucoes = ConsultaPorIds.listar(conexao,
+                "SELECT " + ListaColunas.qualificar("s", SolucaoDAO.COLUNAS)
+                        + " FROM solucoes s INNER JOIN tarefas t ON s.tarefa_id = t.id", null,
+                "t.projeto_id", projetos.keySet(), "s.data_submissao, s.id",
+                SolucaoDAO::criarSolucao, "Erro ao carregar soluções");
+        for (Solucao solucao : linhasSolucoes) {
+            Tarefa tarefa = tarefas.get(solucao.getTarefaId());
+            if (tarefa == null) {
+                continue; // Inserida depois da leitura das tarefas (isolamento READ COMMITTED)
+            }
+            tarefa.adicionarSolucao(solucao);
+            solucao.setTarefa(tarefa);
+            solucoes.put(solucao.getId(), solucao);
+        }
+        if (solucoes.isEmpty() || profundidade == Profundidade.SOLUCOES) {
+            return projetos;
+        }
+
+        List<Avaliacao> linhasAvaliacoes = ConsultaPorIds.listar(conexao,
+                "SELECT " + ListaColunas.qualificar("a", AvaliacaoDAO.COLUNAS)
+                        + " FROM avaliacoes a INNER JOIN solucoes s ON a.solucao_id = s.id"
+                        + " INNER JOIN tarefas t ON s.tarefa_id = t.id", null,
+                "t.projeto_id", projetos.keySet(), "a.data_avaliacao, a.id",
+                AvaliacaoDAO::criarAvaliacao, "Erro ao carregar avaliações");
+        for (Avaliacao avaliacao : linhasAvaliacoes) {
+            Solucao solucao = solucoes.get(avaliacao.getSolucaoId());
+            if (solucao == null) {
+                continue;
+            }
+            solucao.adicionarAvaliacao(avaliacao);
+            avaliacao.setSolucaoAvaliada(solucao);
+        }
+        return projetos;
+    }
+}
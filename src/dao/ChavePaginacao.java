@@ -0,0 +1,65 @@
+package dao;
+
+import java.sql.Timestamp;
+import java.util.function.Function;
+import modelo.InterfaceEntidadeBase;
+
+/**
+ * Colunas usadas na paginação por chave (keyset) de uma consulta.
+ * A ordenação é sempre por (coluna de data, id), e o id desempata linhas com a mesma data.
+ *
+ * @param <T> Tipo da entidade ou do resumo paginado
+ */
+class ChavePaginacao<T extends InterfaceEntidadeBase> {
+    private final String colunaData;
+    private final String colunaId;
+    private final Function<T, Timestamp> dataDe;
+    private final boolean crescente;
+
+    ChavePaginacao(String colunaData, String colunaId, Function<T, Timestamp> dataDe, boolean crescente) {
+        this.colunaData = colunaData;
+        this.colunaId = colunaId;
+        this.dataDe = dataDe;
+        this.crescente = crescente;
+    }
+
+    /**
+     * Chave decrescente por data: os registros mais recentes vêm primeiro
+     */
+    static <T extends InterfaceEntidadeBase> ChavePaginacao<T> recentesPrimeiro(String colunaData, String colunaId,
+                                                                                Function<T, Timestamp> dataDe) {
+        return new ChavePaginacao<>(colunaData, colunaId, dataDe, false);
+    }
+
+    static <T extends InterfaceEntidadeBase> ChavePaginacao<T> crescente(String colunaData, String colunaId,
+                                                                         Function<T, Timestamp> dataDe) {
+        return new ChavePaginacao<>(colunaData, colunaId, dataDe, true);
+    }
+
+    /**
+     * Chave apenas pelo id, para tabelas sem coluna de data
+     */
+    static <T extends InterfaceEntidadeBase> ChavePaginacao<T> porId(String colunaId) {
+        return new ChavePaginacao<>(null, colunaId, null, false);
+    }
+
+    String getColunaData() {
+        return colunaData;
+    }
+
+    String getColunaId() {
+        return colunaId;
+    }
+
+    boolean temData() {
+        return colunaData != null;
+    }
+
+    boolean isCrescente() {
+        return crescente;
+    }
+
+    Timestamp dataDe(T item) {
+        return dataDe != null ? dataDe.apply(item) : null;
+    }
+}
@@ -0,0 +1,48 @@
+package dao;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import modelo.GeradorId;
+
+/**
+ * Leitura e escrita das colunas de id, gravadas como BINARY(16).
+ * Nos modelos e nas assinaturas dos DAOs o id continua sendo o texto do UUID.
+ */
+final class ColunaId {
+
+    private ColunaId() {
+    }
+
+    /**
+     * Define um parâmetro de id; null grava NULL (chaves estrangeiras opcionais)
+     */
+    static void definir(PreparedStatement pstm, int indice, String id) throws SQLException {
+        if (id == null) {
+            pstm.setNull(indice, Types.BINARY);
+        } else {
+            pstm.setBytes(indice, GeradorId.paraBytes(id));
+        }
+    }
+
+    /**
+     * Lê uma coluna de id pelo nome
+     *
+     * @return Texto do id, ou null se a coluna for NULL
+     */
+    static String ler(ResultSet rs, String coluna) throws SQLException {
+        byte[] bytes = rs.getBytes(coluna);
+        return bytes != null ? GeradorId.deBytes(bytes) : null;
+    }
+
+    /**
+     * Lê uma coluna de id pela posição no SELECT
+     *
+     * @return Texto do id, ou null se a coluna for NULL
+     */
+    static String ler(ResultSet rs, int indice) throws SQLException {
+        byte[] bytes = rs.getBytes(indice);
+        return bytes != null ? GeradorId.deBytes(bytes) : null;
+    }
+}
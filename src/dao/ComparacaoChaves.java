@@ -0,0 +1,148 @@
+package dao;
+
+import bd.ConnectionFactory;
+import bd.ProvedorConexao;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import modelo.GeradorId;
+
+/**
+ * Compara a vazão de inserção e o tamanho da tabela e dos índices para três formatos de id:
+ * o contador em texto das versões anteriores, o UUID v7 em texto e o UUID v7 em BINARY(16).
+ *
+ * Cada formato ganha uma tabela temporária com a chave primária, uma referência indexada a uma
+ * linha anterior (como as chaves estrangeiras dos DAOs) e uma carga de texto. As tabelas são
+ * apagadas no fim. Os tamanhos vêm de information_schema.TABLES depois de ANALYZE TABLE e são
+ * aproximados (páginas de 16 KB do InnoDB); para números estáveis use pelo menos 100 mil linhas.
+ *
+ * Uso: java dao.ComparacaoChaves [linhas]
+ */
+public class ComparacaoChaves {
+
+    private static final int LINHAS_PADRAO = 200_000;
+    private static final int TAMANHO_LOTE = 1_000;
+
+    // {descrição, tabela, tipo da coluna}
+    private static final String[][] FORMATOS = {
+            {"contador em VARCHAR(36)", "comparacao_chave_contador", "VARCHAR(36)"},
+            {"UUID v7 em VARCHAR(36)", "comparacao_chave_uuid_texto", "VARCHAR(36)"},
+            {"UUID v7 em BINARY(16)", "comparacao_chave_uuid_binario", "BINARY(16)"}
+    };
+
+    private final ProvedorConexao provedor;
+
+    public ComparacaoChaves(ProvedorConexao provedor) {
+        this.provedor = provedor;
+    }
+
+    /**
+     * Executa a comparação dos três formatos
+     *
+     * @param linhas Linhas inseridas em cada tabela
+     * @return Uma linha de relatório por formato
+     */
+    public List<String> comparar(int linhas) {
+        if (linhas < 1) {
+            throw new IllegalArgumentException("O número de linhas deve ser maior que zero");
+        }
+
+        List<String> relatorio = new ArrayList<>();
+        try (Connection connection = provedor.obterConexao()) {
+            for (int formato = 0; formato < FORMATOS.length; formato++) {
+                String tabela = FORMATOS[formato][1];
+                executar(connection, "DROP TABLE IF EXISTS " + tabela);
+                executar(connection, "CREATE TABLE " + tabela + " ("
+                        + "id " + FORMATOS[formato][2] + " PRIMARY KEY, "
+                        + "referencia " + FORMATOS[formato][2] + ", "
+                        + "carga VARCHAR(100), "
+                        + "INDEX idx_" + tabela + "_referencia (referencia))");
+                try {
+                    long nanos = inserir(connection, tabela, formato, linhas);
+                    relatorio.add(String.format("%-24s %,10.0f linhas/s, %s", FORMATOS[formato][0],
+                            linhas / (nanos / 1_000_000_000.0), medirTamanho(connection, tabela)));
+                } finally {
+                    executar(connection, "DROP TABLE IF EXISTS " + tabela);
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao comparar formatos de chave: " + e.getMessage());
+        }
+        return relatorio;
+    }
+
+    private static long inserir(Connection connection, String tabela, int formato, int linhas) throws SQLException {
+        // Os ids são gerados antes para medir só o banco
+        Object[] ids = new Object[linhas];
+        for (int i = 0; i < linhas; i++) {
+            ids[i] = switch (formato) {
+                case 0 -> String.valueOf(i + 1);
+                case 1 -> GeradorId.novo();
+                default -> GeradorId.paraBytes(GeradorId.novo());
+            };
+        }
+
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        long inicio = System.nanoTime();
+        try (PreparedStatement pstm = connection.prepareStatement(
+                "INSERT INTO " + tabela + " (id, referencia, carga) VALUES (?, ?, ?)")) {
+            ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+            for (int i = 0; i < linhas; i++) {
+                pstm.setObject(1, ids[i]);
+                pstm.setObject(2, i > 0 ? ids[aleatorio.nextInt(i)] : null);
+                pstm.setString(3, "linha " + i);
+                pstm.addBatch();
+                if ((i + 1) % TAMANHO_LOTE == 0 || i == linhas - 1) {
+                    pstm.executeBatch();
+                    connection.commit();
+                }
+            }
+            return System.nanoTime() - inicio;
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    private static String medirTamanho(Connection connection, String tabela) throws SQLException {
+        executar(connection, "ANALYZE TABLE " + tabela);
+        try (PreparedStatement pstm = connection.prepareStatement("""
+                SELECT DATA_LENGTH, INDEX_LENGTH FROM information_schema.TABLES
+                WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ?
+            """)) {
+            pstm.setString(1, tabela);
+            try (ResultSet rs = pstm.executeQuery()) {
+                if (!rs.next()) {
+                    return "tamanho indisponível";
+                }
+                // DATA_LENGTH é o índice clusterizado (a chave primária com as linhas)
+                return String.format("dados+PK %,d KB, índice secundário %,d KB",
+                        rs.getLong("DATA_LENGTH") / 1024, rs.getLong("INDEX_LENGTH") / 1024);
+            }
+        }
+    }
+
+    private static void executar(Connection connection, String sql) throws SQLException {
+        try (PreparedStatement pstm = connection.prepareStatement(sql)) {
+            pstm.execute();
+        }
+    }
+
+    public static void main(String[] args) {
+        int linhas = args.length > 0 ? Integer.parseInt(args[0]) : LINHAS_PADRAO;
+        try {
+            for (String linha : new ComparacaoChaves(new ConnectionFactory()).comparar(linhas)) {
+                System.out.println(linha);
+            }
+        } finally {
+            ConnectionFactory.encerrarPool();
+        }
+    }
+}
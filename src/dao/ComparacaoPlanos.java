@@ -0,0 +1,125 @@
+package dao;
+
+import bd.ConnectionFactory;
+import bd.ProvedorConexao;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compara o plano (EXPLAIN) e o tempo das consultas dos DAOs sem e com os índices da migração 2.
+ *
+ * O "antes" é obtido com IGNORE INDEX sobre os índices criados pela migração, então a comparação
+ * não altera o esquema e pode ser repetida sobre um banco com dados reais. Com tabelas vazias o
+ * otimizador escolhe planos que não dizem nada; o ideal é rodar com alguns milhares de linhas.
+ *
+ * Uso: java dao.ComparacaoPlanos [repeticoes]
+ */
+public class ComparacaoPlanos {
+
+    private static final int REPETICOES_PADRAO = 50;
+
+    // {descrição, tabela, consulta com {t} no lugar da tabela}
+    private static final String[][] CONSULTAS = {
+            {"TarefaDAO.buscarTarefasEmAtraso", "tarefas",
+                    "SELECT * FROM {t} WHERE status != 'CONCLUIDA' AND data_conclusao < CURRENT_TIMESTAMP"},
+            {"TarefaDAO.buscarProximasEntregas", "tarefas",
+                    "SELECT * FROM {t} WHERE status != 'CONCLUIDA' "
+                    + "AND data_conclusao <= DATE_ADD(CURRENT_TIMESTAMP, INTERVAL 7 DAY) ORDER BY data_conclusao ASC"},
+            {"TarefaDAO.buscarTarefasPendentes (página)", "tarefas",
+                    "SELECT * FROM {t} WHERE status = 'PENDENTE' ORDER BY data_criacao DESC, id DESC LIMIT 20"},
+            {"TarefaDAO.buscarPorPrioridade (página)", "tarefas",
+                    "SELECT * FROM {t} WHERE prioridade = 'ALTA' ORDER BY data_criacao DESC, id DESC LIMIT 20"},
+            {"SolucaoDAO.buscarPorStatus (página)", "solucoes",
+                    "SELECT * FROM {t} WHERE status = 'PENDENTE' ORDER BY data_submissao DESC, id DESC LIMIT 20"},
+            {"SolucaoDAO.buscarSolucoesRecentes", "solucoes",
+                    "SELECT * FROM {t} ORDER BY data_submissao DESC LIMIT 10"},
+            {"AvaliacaoDAO.calcularMediaPorPeriodo", "avaliacoes",
+                    "SELECT AVG(nota) FROM {t} WHERE solucao_id = (SELECT MIN(id) FROM solucoes) "
+                    + "AND data_avaliacao BETWEEN DATE_SUB(CURRENT_TIMESTAMP, INTERVAL 30 DAY) AND CURRENT_TIMESTAMP"},
+            {"ProjetoDAO.buscarProjetosPorPeriodo", "projetos",
+                    "SELECT * FROM {t} WHERE data_criacao "
+                    + "BETWEEN DATE_SUB(CURRENT_TIMESTAMP, INTERVAL 30 DAY) AND CURRENT_TIMESTAMP"},
+            {"ProjetoDAO.listarPagina", "projetos",
+                    "SELECT * FROM {t} ORDER BY data_criacao DESC, id DESC LIMIT 20"}
+    };
+
+    private final ProvedorConexao provedor;
+
+    public ComparacaoPlanos(ProvedorConexao provedor) {
+        this.provedor = provedor;
+    }
+
+    /**
+     * Executa a comparação de todas as consultas
+     *
+     * @param repeticoes Execuções de cada consulta usadas para medir o tempo médio
+     * @return Uma linha de relatório por consulta e situação (sem índices / com índices)
+     */
+    public List<String> comparar(int repeticoes) {
+        if (repeticoes < 1) {
+            throw new IllegalArgumentException("Repetições devem ser maiores que zero");
+        }
+
+        List<String> relatorio = new ArrayList<>();
+        try (Connection connection = provedor.obterConexao()) {
+            for (String[] consulta : CONSULTAS) {
+                String tabela = consulta[1];
+                String semIndices = consulta[2].replace("{t}",
+                        tabela + " IGNORE INDEX (" + String.join(", ", ExecutorMigracoes.getIndicesConsultas(tabela)) + ")");
+                String comIndices = consulta[2].replace("{t}", tabela);
+
+                relatorio.add(consulta[0]);
+                relatorio.add("  antes:  " + explicar(connection, semIndices) + ", " + medir(connection, semIndices, repeticoes));
+                relatorio.add("  depois: " + explicar(connection, comIndices) + ", " + medir(connection, comIndices, repeticoes));
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao comparar planos de consulta: " + e.getMessage());
+        }
+        return relatorio;
+    }
+
+    private static String explicar(Connection connection, String sql) throws SQLException {
+        try (PreparedStatement pstm = connection.prepareStatement("EXPLAIN " + sql);
+             ResultSet rs = pstm.executeQuery()) {
+            // A primeira linha é a da tabela principal; as demais são da subconsulta, quando houver
+            if (!rs.next()) {
+                return "sem plano";
+            }
+            return "type=" + rs.getString("type")
+                    + ", key=" + rs.getString("key")
+                    + ", rows=" + rs.getLong("rows")
+                    + ", extra=" + rs.getString("Extra");
+        }
+    }
+
+    private static String medir(Connection connection, String sql, int repeticoes) throws SQLException {
+        try (PreparedStatement pstm = connection.prepareStatement(sql)) {
+            long inicio = System.nanoTime();
+            for (int i = 0; i < repeticoes; i++) {
+                try (ResultSet rs = pstm.executeQuery()) {
+                    while (rs.next()) {
+                        // Consome o resultado, como fariam os DAOs
+                    }
+                }
+            }
+            return String.format("%.3f ms/consulta", (System.nanoTime() - inicio) / 1_000_000.0 / repeticoes);
+        }
+    }
+
+    public static void main(String[] args) {
+        int repeticoes = args.length > 0 ? Integer.parseInt(args[0]) : REPETICOES_PADRAO;
+        try {
+            ConnectionFactory provedor = new ConnectionFactory();
+            new ExecutorMigracoes(provedor).executar();
+            for (String linha : new ComparacaoPlanos(provedor).comparar(repeticoes)) {
+                System.out.println(linha);
+            }
+        } finally {
+            ConnectionFactory.encerrarPool();
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package dao;
+
+import bd.ProvedorConexao;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import modelo.InterfaceEntidadeBase;
+
+/**
+ * Executa consultas paginadas por chave (keyset/seek) em vez de OFFSET.
+ *
+ * A página seguinte é buscada a partir da última linha da anterior
+ * ({@code WHERE (data, id) < (?, ?) ORDER BY data DESC, id DESC LIMIT n}), de modo que
+ * o banco percorre apenas as linhas da página pedida, qualquer que seja sua profundidade.
+ * Uma linha extra é lida para saber se existe próxima página.
+ */
+class ConsultaPaginada {
+
+    @FunctionalInterface
+    interface PreenchedorParametros {
+        void preencher(PreparedStatement pstm) throws SQLException;
+    }
+
+    private ConsultaPaginada() {
+    }
+
+    static <T extends InterfaceEntidadeBase> Pagina<T> buscar(ProvedorConexao provedor, String select,
+                                                              ChavePaginacao<T> chave, RequisicaoPagina requisicao,
+                                                              MapeadorLinha<T> mapeador, String mensagemErro) {
+        return buscar(provedor, select, null, pstm -> { }, chave, requisicao, mapeador, mensagemErro);
+    }
+
+    /**
+     * @param select SELECT ... FROM ... sem WHERE
+     * @param filtro Condição do WHERE (sem a palavra WHERE), ou null
+     * @param parametros Preenche os parâmetros do filtro, a partir do índice 1
+     */
+    static <T extends InterfaceEntidadeBase> Pagina<T> buscar(ProvedorConexao provedor, String select, String filtro,
+                                                              PreenchedorParametros parametros, ChavePaginacao<T> chave,
+                                                              RequisicaoPagina requisicao, MapeadorLinha<T> mapeador,
+                                                              String mensagemErro) {
+        if (requisicao == null) {
+            requisicao = new RequisicaoPagina();
+        }
+        Posicao posicao = requisicao.isPrimeiraPagina() ? null : decodificar(requisicao.getCursor(), chave);
+        String sql = montarSql(select, filtro, chave, posicao != null);
+
+        List<T> itens = new ArrayList<>();
+        try (Connection connection = provedor.obterConexao();
+             PreparedStatement pstm = connection.prepareStatement(sql)) {
+            parametros.preencher(pstm);
+
+            int indice = contarParametros(filtro) + 1;
+            if (posicao != null) {
+                if (chave.temData()) {
+                    pstm.setTimestamp(indice++, posicao.data);
+                    pstm.setTimestamp(indice++, posicao.data);
+                }
+                ColunaId.definir(pstm, indice++, posicao.id);
+            }
+            pstm.setInt(indice, requisicao.getTamanho() + 1);
+
+            try (ResultSet rs = pstm.executeQuery()) {
+                while (rs.next()) {
+                    itens.add(mapeador.mapear(rs));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException(mensagemErro + ": " + e.getMessage());
+        }
+
+        String proximoCursor = null;
+        if (itens.size() > requisicao.getTamanho()) {
+            itens.remove(itens.size() - 1);
+            proximoCursor = codificar(itens.get(itens.size() - 1), chave);
+        }
+        return new Pagina<>(itens, proximoCursor);
+    }
+
+    private static String montarSql(String select, String filtro, ChavePaginacao<?> chave, boolean comCursor) {
+        String comparacao = chave.isCrescente() ? ">" : "<";
+        String direcao = chave.isCrescente() ? "ASC" : "DESC";
+        String data = chave.getColunaData();
+        String id = chave.getColunaId();
+
+        List<String> condicoes = new ArrayList<>();
+        if (filtro != null) {
+            condicoes.add("(" + filtro + ")");
+        }
+        if (comCursor) {
+            if (chave.temData()) {
+                // A primeira condição é um intervalo simples sobre a coluna de data, que o índice atende
+                condicoes.add(data + " " + comparacao + "= ? AND (" + data + " " + comparacao + " ? OR "
+                        + id + " " + comparacao + " ?)");
+            } else {
+                condicoes.add(id + " " + comparacao + " ?");
+            }
+        }
+
+        StringBuilder sql = new StringBuilder(select);
+        if (!condicoes.isEmpty()) {
+            sql.append(" WHERE ").append(String.join(" AND ", condicoes));
+        }
+        sql.append(" ORDER BY ");
+        if (chave.temData()) {
+            sql.append(data).append(' ').append(direcao).append(", ");
+        }
+        sql.append(id).append(' ').append(direcao).append(" LIMIT ?");
+        return sql.toString();
+    }
+
+    private static int contarParametros(String filtro) {
+        if (filtro == null) {
+            return 0;
+        }
+        int quantidade = 0;
+        for (int i = 0; i < filtro.length(); i++) {
+            if (filtro.charAt(i) == '?') {
+                quantidade++;
+            }
+        }
+        return quantidade;
+    }
+
+    private static <T extends InterfaceEntidadeBase> String codificar(T ultimo, ChavePaginacao<T> chave) {
+        Timestamp data = chave.dataDe(ultimo);
+        String texto = (data != null ? data.toInstant().toString() : "") + "|" + ultimo.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(texto.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Posicao decodificar(String cursor, ChavePaginacao<?> chave) {
+        try {
+            String texto = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separador = texto.indexOf('|');
+            if (separador < 0) {
+                throw new IllegalArgumentException("Cursor de paginação inválido");
+            }
+
+            String data = texto.substring(0, separador);
+            String id = texto.substring(separador + 1);
+            if (chave.temData() && data.isEmpty()) {
+                throw new IllegalArgumentException("Cursor de paginação inválido");
+            }
+            return new Posicao(data.isEmpty() ? null : Timestamp.from(Instant.parse(data)), id);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Cursor de paginação inválido");
+        }
+    }
+
+    private static class Posicao {
+        private final Timestamp data;
+        private final String id;
+
+        private Posicao(Timestamp data, String id) {
+            this.data = data;
+            this.id = id;
+        }
+    }
+}
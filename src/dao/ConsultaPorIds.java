@@ -0,0 +1,130 @@
+package dao;
+
+import bd.ProvedorConexao;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import modelo.EntidadeBase;
+import modelo.GeradorId;
+
+/**
+ * Busca várias linhas com {@code WHERE coluna IN (...)}, em blocos.
+ *
+ * A quantidade de marcadores de cada bloco é arredondada para a próxima potência de dois
+ * (repetindo o último valor), para que poucos SQLs distintos sejam gerados e o cache de
+ * statements do pool seja reaproveitado. O maior bloco fica bem abaixo do limite de
+ * parâmetros do protocolo do MySQL e do max_allowed_packet padrão.
+ */
+class ConsultaPorIds {
+
+    static final int TAMANHO_MAXIMO_BLOCO = 512;
+
+    private ConsultaPorIds() {
+    }
+
+    /**
+     * @param select SELECT ... FROM ... sem WHERE
+     * @param filtro Condição adicional do WHERE (sem parâmetros), ou null
+     * @param colunaId Coluna comparada com os ids
+     * @return Entidades encontradas, na ordem em que os ids foram informados e com os ids
+     *         informados como chave
+     */
+    static <T extends EntidadeBase> Map<String, T> buscar(ProvedorConexao provedor, String select, String filtro,
+                                                          String colunaId, Collection<String> ids,
+                                                          MapeadorLinha<T> mapeador, String mensagemErro) {
+        Map<String, T> encontrados = new HashMap<>();
+        for (T entidade : listar(provedor, select, filtro, colunaId, ids, null, mapeador, mensagemErro)) {
+            encontrados.put(entidade.getId(), entidade);
+        }
+
+        Map<String, T> resultado = new LinkedHashMap<>();
+        if (encontrados.isEmpty()) {
+            return resultado;
+        }
+        for (String id : ids) {
+            if (id == null) {
+                continue;
+            }
+            // O id lido do banco está no formato canônico: UUID em minúsculas e, para ids numéricos
+            // antigos, o UUID formado pelo MD5 do texto. A chave devolvida continua sendo a informada.
+            T entidade = encontrados.get(GeradorId.deBytes(GeradorId.paraBytes(id)));
+            if (entidade != null) {
+                resultado.put(id, entidade);
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Lista todas as linhas cuja coluna contenha um dos valores informados.
+     *
+     * @param coluna Coluna comparada com os valores (não precisa ser única)
+     * @param ordem Conteúdo do ORDER BY, aplicado dentro de cada bloco, ou null
+     */
+    static <T> List<T> listar(ProvedorConexao provedor, String select, String filtro, String coluna,
+                              Collection<String> valores, String ordem, MapeadorLinha<T> mapeador,
+                              String mensagemErro) {
+        List<T> linhas = new ArrayList<>();
+        if (valores == null || valores.isEmpty()) {
+            return linhas;
+        }
+
+        List<String> distintos = new ArrayList<>(new LinkedHashSet<>(valores));
+        distintos.removeIf(valor -> valor == null);
+        if (distintos.isEmpty()) {
+            return linhas;
+        }
+
+        try (Connection connection = provedor.obterConexao()) {
+            for (int inicio = 0; inicio < distintos.size(); inicio += TAMANHO_MAXIMO_BLOCO) {
+                List<String> bloco = distintos.subList(inicio, Math.min(inicio + TAMANHO_MAXIMO_BLOCO, distintos.size()));
+                int marcadores = arredondarTamanho(bloco.size());
+                String sql = montarSql(select, filtro, coluna, marcadores, ordem);
+
+                try (PreparedStatement pstm = connection.prepareStatement(sql)) {
+                    for (int i = 0; i < marcadores; i++) {
+                        ColunaId.definir(pstm, i + 1, bloco.get(Math.min(i, bloco.size() - 1)));
+                    }
+
+                    try (ResultSet rs = pstm.executeQuery()) {
+                        while (rs.next()) {
+                            linhas.add(mapeador.mapear(rs));
+                        }
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException(mensagemErro + ": " + e.getMessage());
+        }
+        return linhas;
+    }
+
+    private static int arredondarTamanho(int tamanho) {
+        int marcadores = Integer.highestOneBit(tamanho);
+        return marcadores == tamanho ? tamanho : Math.min(marcadores << 1, TAMANHO_MAXIMO_BLOCO);
+    }
+
+    private static String montarSql(String select, String filtro, String coluna, int marcadores, String ordem) {
+        StringBuilder sql = new StringBuilder(select).append(" WHERE ");
+        if (filtro != null) {
+            sql.append('(').append(filtro).append(") AND ");
+        }
+        sql.append(coluna).append(" IN (");
+        for (int i = 0; i < marcadores; i++) {
+            sql.append(i == 0 ? "?" : ", ?");
+        }
+        sql.append(')');
+        if (ordem != null) {
+            sql.append(" ORDER BY ").append(ordem);
+        }
+        return sql.toString();
+    }
+}
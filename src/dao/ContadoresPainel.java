@@ -0,0 +1,238 @@
+package dao;
+
+import bd.ProvedorConexao;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contadores em memória usados pelas estatísticas do painel, no lugar de um GROUP BY
+ * sobre a tabela inteira a cada consulta.
+ *
+ * Cada categoria é carregada do banco no primeiro uso e depois mantida pelos DAOs a cada
+ * gravação. Operações cujo efeito não é conhecido linha a linha (exclusões em cascata)
+ * apenas invalidam a categoria, que é recontada na próxima leitura. Gravações feitas por
+ * outros processos, ou desfeitas por rollback depois da contagem, causam diferenças que a
+ * reconciliação periódica corrige.
+ */
+public class ContadoresPainel {
+
+    public enum Categoria {
+        TAREFAS_POR_STATUS("SELECT status, COUNT(*) FROM tarefas GROUP BY status"),
+        TAREFAS_POR_PRIORIDADE("SELECT prioridade, COUNT(*) FROM tarefas GROUP BY prioridade"),
+        PROJETOS_POR_STATUS("SELECT status, COUNT(*) FROM projetos GROUP BY status"),
+        AVALIACOES_POR_NOTA("SELECT nota, COUNT(*) FROM avaliacoes GROUP BY nota");
+
+        private final String sqlContagem;
+
+        Categoria(String sqlContagem) {
+            this.sqlContagem = sqlContagem;
+        }
+    }
+
+    // ConcurrentHashMap não aceita chave nula, e colunas como status podem ser NULL
+    private static final String CHAVE_NULA = "\u0000";
+
+    private static final ContadoresPainel INSTANCIA = new ContadoresPainel();
+
+    private final Map<Categoria, Contagem> contagens = new EnumMap<>(Categoria.class);
+    private final LongAdder reconciliacoes = new LongAdder();
+    private final LongAdder correcoes = new LongAdder();
+    private ScheduledExecutorService agendador;
+
+    private ContadoresPainel() {
+        for (Categoria categoria : Categoria.values()) {
+            contagens.put(categoria, new Contagem());
+        }
+    }
+
+    public static ContadoresPainel getInstancia() {
+        return INSTANCIA;
+    }
+
+    /**
+     * Retorna a quantidade de linhas por valor da categoria, carregando-a do banco se necessário
+     *
+     * @param categoria Categoria desejada
+     * @param provedor Usado apenas se a categoria precisar ser contada
+     * @return Cópia dos contadores, sem os valores zerados
+     */
+    public Map<String, Long> obter(Categoria categoria, ProvedorConexao provedor) {
+        Contagem contagem = contagens.get(categoria);
+        ConcurrentHashMap<String, LongAdder> valores = contagem.valores;
+        if (valores == null) {
+            synchronized (contagem) {
+                valores = contagem.valores;
+                if (valores == null) {
+                    valores = contar(categoria, provedor);
+                    contagem.valores = valores;
+                }
+            }
+        }
+
+        Map<String, Long> copia = new HashMap<>();
+        valores.forEach((chave, quantidade) -> {
+            long total = quantidade.sum();
+            if (total != 0) {
+                copia.put(CHAVE_NULA.equals(chave) ? null : chave, total);
+            }
+        });
+        return copia;
+    }
+
+    /**
+     * Indica se a categoria está em memória; enquanto não estiver, os DAOs não precisam
+     * ler o valor anterior das linhas que alteram
+     */
+    boolean isCarregada(Categoria categoria) {
+        return contagens.get(categoria).valores != null;
+    }
+
+    void incrementar(Categoria categoria, String chave) {
+        somar(categoria, chave, 1);
+    }
+
+    void decrementar(Categoria categoria, String chave) {
+        somar(categoria, chave, -1);
+    }
+
+    /**
+     * Move uma linha de um valor para outro, como na troca de status de uma tarefa
+     */
+    void mover(Categoria categoria, String de, String para) {
+        if (!Objects.equals(de, para)) {
+            somar(categoria, de, -1);
+            somar(categoria, para, 1);
+        }
+    }
+
+    /**
+     * Descarta os contadores das categorias, que serão recontados na próxima leitura
+     */
+    public void invalidar(Categoria... categorias) {
+        for (Categoria categoria : categorias) {
+            contagens.get(categoria).valores = null;
+        }
+    }
+
+    private void somar(Categoria categoria, String chave, long quantidade) {
+        ConcurrentHashMap<String, LongAdder> valores = contagens.get(categoria).valores;
+        if (valores != null) { // Se ainda não foi carregada, a contagem inicial já inclui esta gravação
+            valores.computeIfAbsent(chave == null ? CHAVE_NULA : chave, c -> new LongAdder()).add(quantidade);
+        }
+    }
+
+    /**
+     * Reconta todas as categorias já carregadas e substitui os contadores em memória
+     *
+     * @param provedor Provedor de conexões usado nas contagens
+     */
+    public void reconciliar(ProvedorConexao provedor) {
+        for (Categoria categoria : Categoria.values()) {
+            Contagem contagem = contagens.get(categoria);
+            ConcurrentHashMap<String, LongAdder> atuais = contagem.valores;
+            if (atuais == null) {
+                continue;
+            }
+
+            ConcurrentHashMap<String, LongAdder> recontados = contar(categoria, provedor);
+            if (divergem(atuais, recontados)) {
+                correcoes.increment();
+            }
+            contagem.valores = recontados;
+        }
+        reconciliacoes.increment();
+    }
+
+    /**
+     * Agenda a reconciliação em uma thread em segundo plano
+     *
+     * @param provedor Provedor de conexões usado nas contagens
+     * @param intervaloMs Intervalo entre reconciliações, em milissegundos
+     */
+    public synchronized void iniciarReconciliacao(ProvedorConexao provedor, long intervaloMs) {
+        if (intervaloMs <= 0) {
+            throw new IllegalArgumentException("O intervalo de reconciliação deve ser maior que zero");
+        }
+        pararReconciliacao();
+        agendador = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "contadores-painel-reconciliacao");
+            thread.setDaemon(true);
+            return thread;
+        });
+        agendador.scheduleWithFixedDelay(() -> {
+            try {
+                reconciliar(provedor);
+            } catch (RuntimeException e) {
+                System.err.println("Erro na reconciliação dos contadores do painel: " + e.getMessage());
+            }
+        }, intervaloMs, intervaloMs, TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void pararReconciliacao() {
+        if (agendador != null) {
+            agendador.shutdownNow();
+            agendador = null;
+        }
+    }
+
+    public long getReconciliacoes() {
+        return reconciliacoes.sum();
+    }
+
+    /**
+     * @return Quantas vezes a reconciliação encontrou contadores diferentes do banco
+     */
+    public long getCorrecoes() {
+        return correcoes.sum();
+    }
+
+    private static ConcurrentHashMap<String, LongAdder> contar(Categoria categoria, ProvedorConexao provedor) {
+        ConcurrentHashMap<String, LongAdder> valores = new ConcurrentHashMap<>();
+
+        // Os contadores são compartilhados: contam apenas dados confirmados
+        try (Connection connection = UnidadeDeTrabalho.foraDaTransacao(provedor).obterConexao();
+             PreparedStatement pstm = connection.prepareStatement(categoria.sqlContagem);
+             ResultSet rs = pstm.executeQuery()) {
+
+            while (rs.next()) {
+                String chave = rs.getString(1);
+                LongAdder quantidade = new LongAdder();
+                quantidade.add(rs.getLong(2));
+                valores.put(chave == null ? CHAVE_NULA : chave, quantidade);
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao contar " + categoria + ": " + e.getMessage());
+        }
+        return valores;
+    }
+
+    private static boolean divergem(Map<String, LongAdder> atuais, Map<String, LongAdder> recontados) {
+        for (Map.Entry<String, LongAdder> entrada : atuais.entrySet()) {
+            LongAdder recontado = recontados.get(entrada.getKey());
+            if (entrada.getValue().sum() != (recontado == null ? 0 : recontado.sum())) {
+                return true;
+            }
+        }
+        for (String chave : recontados.keySet()) {
+            if (!atuais.containsKey(chave)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static class Contagem {
+        private volatile ConcurrentHashMap<String, LongAdder> valores;
+    }
+}
@@ -0,0 +1,122 @@
+package dao;
+
+import bd.ProvedorConexao;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Stream sobre um ResultSet lido sob demanda.
+ *
+ * No MySQL o statement usa {@code fetchSize = Integer.MIN_VALUE}, que faz o driver
+ * entregar uma linha por vez em vez de carregar o resultado inteiro na memória.
+ * Em outros bancos é usado um fetch size positivo, que habilita leitura por cursor.
+ * A conexão fica ocupada até o Stream ser fechado, por isso o chamador deve usar
+ * try-with-resources. Fechar o Stream antes do fim faz o MySQL descartar as linhas restantes.
+ */
+class CursorStream {
+    private static final int FETCH_SIZE_CURSOR = 500;
+
+    @FunctionalInterface
+    interface PreenchedorParametros {
+        void preencher(PreparedStatement pstm) throws SQLException;
+    }
+
+    private CursorStream() {
+    }
+
+    static <T> Stream<T> abrir(ProvedorConexao provedor, String sql, MapeadorLinha<T> mapeador,
+                               String mensagemErro) {
+        return abrir(provedor, sql, pstm -> { }, mapeador, mensagemErro);
+    }
+
+    static <T> Stream<T> abrir(ProvedorConexao provedor, String sql, PreenchedorParametros parametros,
+                               MapeadorLinha<T> mapeador, String mensagemErro) {
+        Connection connection = null;
+        PreparedStatement pstm = null;
+
+        try {
+            connection = provedor.obterConexao();
+            pstm = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            pstm.setFetchSize(isMySQL(connection) ? Integer.MIN_VALUE : FETCH_SIZE_CURSOR);
+            parametros.preencher(pstm);
+            ResultSet rs = pstm.executeQuery();
+
+            Cursor<T> cursor = new Cursor<>(connection, pstm, rs, mapeador, mensagemErro);
+            return StreamSupport.stream(cursor, false).onClose(cursor::fechar);
+        } catch (SQLException e) {
+            fecharSilenciosamente(pstm);
+            fecharSilenciosamente(connection);
+            throw new RuntimeException(mensagemErro + ": " + e.getMessage());
+        }
+    }
+
+    private static boolean isMySQL(Connection connection) throws SQLException {
+        String produto = connection.getMetaData().getDatabaseProductName();
+        return produto != null && produto.toLowerCase().contains("mysql");
+    }
+
+    private static void fecharSilenciosamente(AutoCloseable recurso) {
+        if (recurso == null) {
+            return;
+        }
+        try {
+            recurso.close();
+        } catch (Exception e) {
+            System.err.println("Erro ao fechar recurso do cursor: " + e.getMessage());
+        }
+    }
+
+    private static class Cursor<T> extends Spliterators.AbstractSpliterator<T> {
+        private final Connection connection;
+        private final PreparedStatement pstm;
+        private final ResultSet rs;
+        private final MapeadorLinha<T> mapeador;
+        private final String mensagemErro;
+        private boolean fechado;
+
+        private Cursor(Connection connection, PreparedStatement pstm, ResultSet rs,
+                       MapeadorLinha<T> mapeador, String mensagemErro) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.connection = connection;
+            this.pstm = pstm;
+            this.rs = rs;
+            this.mapeador = mapeador;
+            this.mensagemErro = mensagemErro;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> acao) {
+            if (fechado) {
+                return false;
+            }
+            try {
+                if (!rs.next()) {
+                    fechar();
+                    return false;
+                }
+                acao.accept(mapeador.mapear(rs));
+                return true;
+            } catch (SQLException e) {
+                fechar();
+                throw new RuntimeException(mensagemErro + ": " + e.getMessage());
+            }
+        }
+
+        private void fechar() {
+            if (fechado) {
+                return;
+            }
+            fechado = true;
+            fecharSilenciosamente(rs);
+            fecharSilenciosamente(pstm);
+            fecharSilenciosamente(connection);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package dao;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Versão assíncrona de um DAO: cada método agenda a chamada correspondente
+ * no ExecutorAssincrono e devolve um CompletableFuture.
+ * listarTodosStream não tem versão assíncrona, pois o stream mantém a conexão
+ * aberta até ser fechado e deve ser consumido por quem o abriu.
+ *
+ * @param <T> Tipo da entidade
+ * @param <D> Tipo do DAO
+ */
+public class DAOAssincrono<T, D extends BaseDAO<T>> {
+    private final D dao;
+    private final ExecutorAssincrono executor;
+
+    public DAOAssincrono(D dao, ExecutorAssincrono executor) {
+        if (dao == null || executor == null) {
+            throw new IllegalArgumentException("O DAO e o executor não podem ser nulos");
+        }
+        this.dao = dao;
+        this.executor = executor;
+    }
+
+    /**
+     * Executa qualquer método do DAO, inclusive os específicos de cada entidade
+     *
+     * @param operacao Chamada a ser feita no DAO
+     * @return Futuro com o resultado da chamada
+     */
+    public <R> CompletableFuture<R> executar(Function<D, R> operacao) {
+        return executor.submeter(() -> operacao.apply(dao));
+    }
+
+    public CompletableFuture<Void> salvar(T objeto) {
+        return executor.submeter(() -> dao.salvar(objeto));
+    }
+
+    public CompletableFuture<ResultadoLote<T>> salvarEmLote(Collection<T> objetos) {
+        return executar(d -> d.salvarEmLote(objetos));
+    }
+
+    public CompletableFuture<Object> buscarPorId(String id) {
+        return executar(d -> d.buscarPorId(id));
+    }
+
+    public CompletableFuture<Map<String, T>> buscarPorIds(Collection<String> ids) {
+        return executar(d -> d.buscarPorIds(ids));
+    }
+
+    /**
+     * @deprecated Carrega a tabela inteira em memória; use {@link #listarPagina(RequisicaoPagina)}
+     */
+    @Deprecated
+    public CompletableFuture<ArrayList<T>> listarTodosLazyLoading() {
+        return executar(BaseDAO::listarTodosLazyLoading);
+    }
+
+    public CompletableFuture<Pagina<T>> listarPagina(RequisicaoPagina requisicao) {
+        return executar(d -> d.listarPagina(requisicao));
+    }
+
+    public CompletableFuture<Void> atualizar(T objeto) {
+        return executor.submeter(() -> dao.atualizar(objeto));
+    }
+
+    public CompletableFuture<Void> excluir(String id) {
+        return executor.submeter(() -> dao.excluir(id));
+    }
+
+    public D getDao() {
+        return dao;
+    }
+}
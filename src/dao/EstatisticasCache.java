@@ -0,0 +1,80 @@
+package dao;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contadores de uso de um cache de entidades.
+ */
+public class EstatisticasCache {
+    private final LongAdder acertos = new LongAdder();
+    private final LongAdder faltas = new LongAdder();
+    private final LongAdder remocoes = new LongAdder();
+    private final LongAdder expiracoes = new LongAdder();
+    private final LongAdder invalidacoes = new LongAdder();
+
+    void registrarAcerto() {
+        acertos.increment();
+    }
+
+    void registrarFalta() {
+        faltas.increment();
+    }
+
+    void registrarRemocao() {
+        remocoes.increment();
+    }
+
+    void registrarExpiracao() {
+        expiracoes.increment();
+    }
+
+    void registrarInvalidacao() {
+        invalidacoes.increment();
+    }
+
+    public long getAcertos() {
+        return acertos.sum();
+    }
+
+    public long getFaltas() {
+        return faltas.sum();
+    }
+
+    /**
+     * @return Entradas removidas por falta de espaço
+     */
+    public long getRemocoes() {
+        return remocoes.sum();
+    }
+
+    public long getExpiracoes() {
+        return expiracoes.sum();
+    }
+
+    public long getInvalidacoes() {
+        return invalidacoes.sum();
+    }
+
+    /**
+     * Calcula a taxa de acerto do cache
+     *
+     * @return Percentual de consultas atendidas pelo cache (0-100)
+     */
+    public double getTaxaAcerto() {
+        long totalAcertos = acertos.sum();
+        long total = totalAcertos + faltas.sum();
+        return total == 0 ? 0.0 : (double) totalAcertos / total * 100;
+    }
+
+    @Override
+    public String toString() {
+        return "EstatisticasCache{" +
+                "acertos=" + getAcertos() +
+                ", faltas=" + getFaltas() +
+                ", taxaAcerto=" + String.format("%.1f%%", getTaxaAcerto()) +
+                ", remocoes=" + getRemocoes() +
+                ", expiracoes=" + getExpiracoes() +
+                ", invalidacoes=" + getInvalidacoes() +
+                '}';
+    }
+}
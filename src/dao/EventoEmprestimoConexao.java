@@ -0,0 +1,27 @@
+package dao;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Evento do JFR para cada conexão obtida por um método de DAO; a duração é a espera pelo
+ * provedor (normalmente o pool), e não o tempo em que a conexão ficou emprestada.
+ */
+@Name("plataforma.EmprestimoConexao")
+@Label("Empréstimo de conexão")
+@Category({"Plataforma", "Banco de dados"})
+@Description("Conexão obtida do provedor por um método de DAO")
+final class EventoEmprestimoConexao extends Event {
+
+    @Label("DAO")
+    String dao;
+
+    @Label("Método")
+    String metodo;
+
+    @Label("Falhou")
+    boolean falhou;
+}
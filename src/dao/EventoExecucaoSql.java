@@ -0,0 +1,41 @@
+package dao;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Evento do JFR para cada comando SQL executado por um método de DAO.
+ *
+ * A duração vai do execute() ao fechamento do ResultSet, como no registro de consultas lentas,
+ * e o SQL é a impressão digital (sem literais), para que gravações possam ser agrupadas por
+ * consulta no JMC sem expor valores.
+ */
+@Name("plataforma.ExecucaoSql")
+@Label("Execução de SQL")
+@Category({"Plataforma", "Banco de dados"})
+@Description("Comando SQL executado por um método de DAO")
+final class EventoExecucaoSql extends Event {
+
+    @Label("DAO")
+    String dao;
+
+    @Label("Método")
+    String metodo;
+
+    @Label("SQL")
+    @Description("Impressão digital do comando, com literais trocados por ?")
+    String sql;
+
+    @Label("Linhas")
+    @Description("Linhas lidas do ResultSet ou afetadas pelo comando")
+    long linhas;
+
+    @Label("Comandos no lote")
+    int lote;
+
+    @Label("Falhou")
+    boolean falhou;
+}
@@ -0,0 +1,131 @@
+package dao;
+
+import bd.ProvedorConexao;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Exclui uma entidade e todos os seus dependentes com um número fixo de comandos.
+ *
+ * Cada nível da hierarquia projeto → tarefa → solução → avaliação é removido por um único
+ * DELETE baseado em subconsulta, dos filhos para o pai, e todos os comandos rodam na mesma
+ * transação. Se a entidade raiz não existir, nada é removido.
+ * Antes de remover tarefas e soluções, os seus ids são lidos com bloqueio (FOR UPDATE) na
+ * mesma transação, para que os caches e índices em memória descartem só o que saiu.
+ * Quando a conexão já está em uma transação do chamador, a exclusão participa dela.
+ */
+class ExclusaoEmCascata {
+
+    private static final Passo[] CASCATA_PROJETO = {
+            new Passo("avaliacoes", """
+                DELETE FROM avaliacoes WHERE solucao_id IN (
+                    SELECT s.id FROM solucoes s
+                    INNER JOIN tarefas t ON s.tarefa_id = t.id
+                    WHERE t.projeto_id = ?
+                )
+            """),
+            new Passo("solucoes", """
+                DELETE FROM solucoes WHERE tarefa_id IN (
+                    SELECT t.id FROM tarefas t WHERE t.projeto_id = ?
+                )
+            """, """
+                SELECT s.id FROM solucoes s
+                INNER JOIN tarefas t ON s.tarefa_id = t.id
+                WHERE t.projeto_id = ?
+                FOR UPDATE
+            """),
+            new Passo("tarefas", "DELETE FROM tarefas WHERE projeto_id = ?",
+                    "SELECT id FROM tarefas WHERE projeto_id = ? FOR UPDATE"),
+            new Passo("projetos", "DELETE FROM projetos WHERE id = ?")
+    };
+
+    private static final Passo[] CASCATA_TAREFA = {
+            new Passo("avaliacoes", """
+                DELETE FROM avaliacoes WHERE solucao_id IN (
+                    SELECT s.id FROM solucoes s WHERE s.tarefa_id = ?
+                )
+            """),
+            new Passo("solucoes", "DELETE FROM solucoes WHERE tarefa_id = ?",
+                    "SELECT id FROM solucoes WHERE tarefa_id = ? FOR UPDATE"),
+            new Passo("tarefas", "DELETE FROM tarefas WHERE id = ?")
+    };
+
+    private static final Passo[] CASCATA_SOLUCAO = {
+            new Passo("avaliacoes", "DELETE FROM avaliacoes WHERE solucao_id = ?"),
+            new Passo("solucoes", "DELETE FROM solucoes WHERE id = ?")
+    };
+
+    private final ProvedorConexao provedor;
+
+    ExclusaoEmCascata(ProvedorConexao provedor) {
+        this.provedor = provedor;
+    }
+
+    ResultadoExclusao excluirProjeto(String projetoId) throws SQLException {
+        return executar(projetoId, CASCATA_PROJETO, "Exclusão falhou: projeto não encontrado.");
+    }
+
+    ResultadoExclusao excluirTarefa(String tarefaId) throws SQLException {
+        return executar(tarefaId, CASCATA_TAREFA, "Exclusão falhou: tarefa não encontrada.");
+    }
+
+    ResultadoExclusao excluirSolucao(String solucaoId) throws SQLException {
+        return executar(solucaoId, CASCATA_SOLUCAO, "Exclusão falhou: solução não encontrada.");
+    }
+
+    private ResultadoExclusao executar(String id, Passo[] passos, String mensagemNaoEncontrado) throws SQLException {
+        return Transacao.executar(provedor, connection -> {
+            ResultadoExclusao resultado = new ResultadoExclusao();
+            int linhasRaiz = 0;
+            for (Passo passo : passos) {
+                if (passo.sqlIds != null) {
+                    resultado.registrarIds(passo.tabela, lerIds(connection, passo.sqlIds, id));
+                }
+                try (PreparedStatement pstm = connection.prepareStatement(passo.sql)) {
+                    ColunaId.definir(pstm, 1, id);
+                    linhasRaiz = pstm.executeUpdate();
+                    resultado.registrar(passo.tabela, linhasRaiz);
+                }
+            }
+
+            // O último passo remove a própria entidade
+            if (linhasRaiz == 0) {
+                throw new SQLException(mensagemNaoEncontrado);
+            }
+            return resultado;
+        });
+    }
+
+    private static List<String> lerIds(Connection connection, String sql, String id) throws SQLException {
+        List<String> ids = new ArrayList<>();
+        try (PreparedStatement pstm = connection.prepareStatement(sql)) {
+            ColunaId.definir(pstm, 1, id);
+            try (ResultSet rs = pstm.executeQuery()) {
+                while (rs.next()) {
+                    ids.add(ColunaId.ler(rs, 1));
+                }
+            }
+        }
+        return ids;
+    }
+
+    private static class Passo {
+        private final String tabela;
+        private final String sql;
+        private final String sqlIds; // Lê os ids que o passo vai remover; nulo quando não interessam
+
+        private Passo(String tabela, String sql) {
+            this(tabela, sql, null);
+        }
+
+        private Passo(String tabela, String sql, String sqlIds) {
+            this.tabela = tabela;
+            this.sql = sql;
+            this.sqlIds = sqlIds;
+        }
+    }
+}
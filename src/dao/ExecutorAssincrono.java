@@ -0,0 +1,100 @@
+package dao;
+
+import bd.ConnectionFactory;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/**
+ * Executa operações de DAO em threads virtuais, devolvendo CompletableFuture.
+ *
+ * Cada tarefa roda em sua própria thread virtual e usa os DAOs normalmente, emprestando
+ * uma conexão do pool por chamada. Um semáforo limita quantas tarefas acessam o banco ao
+ * mesmo tempo; as demais ficam estacionadas (sem ocupar threads da plataforma) até
+ * haver permissão, em vez de disputar o pool e estourar o timeout de empréstimo.
+ *
+ * Os DAOs usados aqui devem obter conexões do pool (construtor padrão ou ProvedorConexao);
+ * um DAO criado sobre uma Connection fixa não pode ser usado por várias threads.
+ */
+public class ExecutorAssincrono implements AutoCloseable {
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Semaphore permissoes;
+    private final int maximoConcorrente;
+
+    /**
+     * Limita a concorrência ao tamanho máximo do pool compartilhado
+     */
+    public ExecutorAssincrono() {
+        this(ConnectionFactory.getPool().getConfiguracao().getTamanhoMaximo());
+    }
+
+    /**
+     * @param maximoConcorrente Quantidade máxima de tarefas acessando o banco ao mesmo tempo
+     */
+    public ExecutorAssincrono(int maximoConcorrente) {
+        if (maximoConcorrente < 1) {
+            throw new IllegalArgumentException("A concorrência máxima deve ser maior que zero");
+        }
+        this.maximoConcorrente = maximoConcorrente;
+        this.permissoes = new Semaphore(maximoConcorrente, true);
+    }
+
+    /**
+     * Agenda uma operação para execução assíncrona
+     *
+     * @param operacao Operação a executar; exceções lançadas completam o futuro com erro
+     * @return Futuro com o resultado da operação
+     */
+    public <R> CompletableFuture<R> submeter(Supplier<R> operacao) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                permissoes.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CompletionException(e);
+            }
+            try {
+                return operacao.get();
+            } finally {
+                permissoes.release();
+            }
+        }, executor);
+    }
+
+    public CompletableFuture<Void> submeter(Runnable operacao) {
+        return submeter(() -> {
+            operacao.run();
+            return null;
+        });
+    }
+
+    /**
+     * Cria uma fachada assíncrona para um DAO usando este executor
+     */
+    public <T, D extends BaseDAO<T>> DAOAssincrono<T, D> para(D dao) {
+        return new DAOAssincrono<>(dao, this);
+    }
+
+    public int getMaximoConcorrente() {
+        return maximoConcorrente;
+    }
+
+    public int getEmExecucao() {
+        return maximoConcorrente - permissoes.availablePermits();
+    }
+
+    public int getAguardando() {
+        return permissoes.getQueueLength();
+    }
+
+    /**
+     * Para de aceitar tarefas e espera as que já foram agendadas terminarem
+     */
+    @Override
+    public void close() {
+        executor.close();
+    }
+}
@@ -0,0 +1,195 @@
+package dao;
+
+import bd.ProvedorConexao;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Executa um mesmo comando SQL para vários objetos usando addBatch/executeBatch.
+ *
+ * Cada lote roda em sua própria transação. Se o lote falhar, a transação é desfeita e
+ * o lote é refeito linha a linha (com savepoints) na mesma transação, de modo que as
+ * linhas válidas sejam gravadas e apenas as inválidas apareçam como falha no resultado.
+ * Se a conexão já estiver em uma transação aberta pelo chamador, os lotes participam
+ * dela e nenhum commit é feito aqui.
+ */
+class ExecutorLote {
+
+    @FunctionalInterface
+    interface PreenchedorParametros<T> {
+        void preencher(PreparedStatement pstm, T objeto) throws SQLException;
+    }
+
+    /**
+     * Trabalho complementar executado na transação de cada lote, antes do commit,
+     * com os objetos que foram gravados
+     */
+    @FunctionalInterface
+    interface AposGravar<T> {
+        void executar(Connection connection, List<T> gravados) throws SQLException;
+    }
+
+    private ExecutorLote() {
+    }
+
+    static <T> ResultadoLote<T> executar(ProvedorConexao provedor, String sql, Collection<T> objetos,
+                                         int tamanhoLote, PreenchedorParametros<T> preenchedor) {
+        return executar(provedor, sql, objetos, tamanhoLote, preenchedor, (connection, gravados) -> { });
+    }
+
+    static <T> ResultadoLote<T> executar(ProvedorConexao provedor, String sql, Collection<T> objetos,
+                                         int tamanhoLote, PreenchedorParametros<T> preenchedor,
+                                         AposGravar<T> aposGravar) {
+        if (tamanhoLote < 1) {
+            throw new IllegalArgumentException("O tamanho do lote deve ser maior que zero");
+        }
+
+        ResultadoLote<T> resultado = new ResultadoLote<>();
+        if (objetos == null || objetos.isEmpty()) {
+            return resultado;
+        }
+
+        try (Connection connection = provedor.obterConexao()) {
+            boolean controlaTransacao = connection.getAutoCommit();
+            if (controlaTransacao) {
+                connection.setAutoCommit(false);
+            }
+
+            try (PreparedStatement pstm = connection.prepareStatement(sql)) {
+                List<T> lote = new ArrayList<>(Math.min(tamanhoLote, objetos.size()));
+                int posicaoInicial = 0;
+                int posicao = 0;
+
+                for (T objeto : objetos) {
+                    lote.add(objeto);
+                    posicao++;
+                    if (lote.size() == tamanhoLote) {
+                        executarLote(connection, pstm, lote, posicaoInicial, controlaTransacao, preenchedor, aposGravar, resultado);
+                        lote.clear();
+                        posicaoInicial = posicao;
+                    }
+                }
+                if (!lote.isEmpty()) {
+                    executarLote(connection, pstm, lote, posicaoInicial, controlaTransacao, preenchedor, aposGravar, resultado);
+                }
+            } catch (SQLException | RuntimeException e) {
+                // Sem o rollback, a volta ao autocommit confirmaria o lote incompleto
+                if (controlaTransacao) {
+                    connection.rollback();
+                }
+                throw e;
+            } finally {
+                if (controlaTransacao) {
+                    connection.setAutoCommit(true);
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao salvar lote: " + e.getMessage());
+        }
+        return resultado;
+    }
+
+    /**
+     * Executa um UPDATE por objeto, em lotes, na conexão e transação do chamador.
+     * Diferente de executar(), não grava parcialmente: se algum objeto não alterar nenhuma
+     * linha, lança SQLException e cabe ao chamador desfazer a transação.
+     *
+     * @param mensagemNaoEncontrado Mensagem da exceção quando um objeto não é encontrado
+     */
+    static <T> void atualizar(Connection connection, String sql, Collection<T> objetos, int tamanhoLote,
+                              PreenchedorParametros<T> preenchedor, String mensagemNaoEncontrado)
+            throws SQLException {
+        if (tamanhoLote < 1) {
+            throw new IllegalArgumentException("O tamanho do lote deve ser maior que zero");
+        }
+
+        try (PreparedStatement pstm = connection.prepareStatement(sql)) {
+            int pendentes = 0;
+            for (T objeto : objetos) {
+                preenchedor.preencher(pstm, objeto);
+                pstm.addBatch();
+                if (++pendentes == tamanhoLote) {
+                    verificarAlterados(pstm.executeBatch(), mensagemNaoEncontrado);
+                    pendentes = 0;
+                }
+            }
+            if (pendentes > 0) {
+                verificarAlterados(pstm.executeBatch(), mensagemNaoEncontrado);
+            }
+        }
+    }
+
+    private static void verificarAlterados(int[] resultados, String mensagemNaoEncontrado) throws SQLException {
+        for (int resultado : resultados) {
+            // SUCCESS_NO_INFO: o driver não informou a contagem, mas o comando foi executado
+            if (resultado == 0) {
+                throw new SQLException(mensagemNaoEncontrado);
+            }
+        }
+    }
+
+    private static <T> void executarLote(Connection connection, PreparedStatement pstm, List<T> lote,
+                                         int posicaoInicial, boolean controlaTransacao,
+                                         PreenchedorParametros<T> preenchedor, AposGravar<T> aposGravar,
+                                         ResultadoLote<T> resultado) throws SQLException {
+        resultado.registrarLote();
+        Savepoint inicioLote = controlaTransacao ? null : connection.setSavepoint();
+
+        try {
+            for (T objeto : lote) {
+                preenchedor.preencher(pstm, objeto);
+                pstm.addBatch();
+            }
+            pstm.executeBatch();
+            aposGravar.executar(connection, lote);
+            if (controlaTransacao) {
+                connection.commit();
+            } else {
+                connection.releaseSavepoint(inicioLote);
+            }
+            resultado.registrarSucessos(lote.size());
+            return;
+        } catch (SQLException | RuntimeException e) {
+            pstm.clearBatch();
+            if (controlaTransacao) {
+                connection.rollback();
+            } else {
+                connection.rollback(inicioLote);
+            }
+        }
+
+        executarLinhaALinha(connection, pstm, lote, posicaoInicial, controlaTransacao, preenchedor, aposGravar, resultado);
+    }
+
+    private static <T> void executarLinhaALinha(Connection connection, PreparedStatement pstm, List<T> lote,
+                                                int posicaoInicial, boolean controlaTransacao,
+                                                PreenchedorParametros<T> preenchedor, AposGravar<T> aposGravar,
+                                                ResultadoLote<T> resultado) throws SQLException {
+        List<T> gravados = new ArrayList<>(lote.size());
+
+        for (int i = 0; i < lote.size(); i++) {
+            T objeto = lote.get(i);
+            Savepoint antesDaLinha = connection.setSavepoint();
+            try {
+                preenchedor.preencher(pstm, objeto);
+                pstm.executeUpdate();
+                connection.releaseSavepoint(antesDaLinha);
+                gravados.add(objeto);
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback(antesDaLinha);
+                resultado.registrarFalha(posicaoInicial + i, objeto, e.getMessage());
+            }
+        }
+
+        aposGravar.executar(connection, gravados);
+        if (controlaTransacao) {
+            connection.commit();
+        }
+        resultado.registrarSucessos(gravados.size());
+    }
+}
@@ -0,0 +1,444 @@
+package dao;
+
+import bd.ConnectionFactory;
+import bd.ProvedorConexao;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Aplica as migrações versionadas do esquema, em ordem, uma única vez por banco.
+ *
+ * As versões aplicadas ficam na tabela schema_versao. Cada migração é idempotente (tabelas com
+ * IF NOT EXISTS, colunas e índices conferidos nos metadados), de modo que bancos criados pelo
+ * script.sql ou por versões anteriores do sistema, ainda sem schema_versao, são apenas
+ * registrados. Um lock nomeado do MySQL impede que duas instâncias migrem ao mesmo tempo.
+ *
+ * Uma migração registrada não é executada de novo: mudanças de esquema entram como uma nova
+ * versão no fim de MIGRACOES, nunca em uma versão existente. Os criarTabela dos DAOs, usados
+ * pela versão 1, espelham o esquema da última versão para que uma instalação nova já nasça
+ * atualizada; por isso cada mudança também é refletida neles, e as migrações seguintes conferem
+ * os metadados antes de alterar algo, passando direto por tabelas criadas já no formato final.
+ * Tabelas novas ganham um método de criação próprio chamado pela sua migração, como
+ * PerfilUsuarioDAO.criarTabelaHabilidades.
+ */
+public class ExecutorMigracoes {
+
+    private static final String NOME_LOCK = "plataforma_schema_versao";
+    private static final int ESPERA_LOCK_SEGUNDOS = 60;
+
+    /**
+     * Passo de uma migração; recebe o provedor para poder reutilizar os DAOs
+     */
+    @FunctionalInterface
+    interface Passo {
+        void aplicar(ProvedorConexao provedor) throws SQLException;
+    }
+
+    /**
+     * Migração imutável identificada pela versão
+     */
+    public static class Migracao {
+        private final int versao;
+        private final String descricao;
+        private final Passo passo;
+
+        Migracao(int versao, String descricao, Passo passo) {
+            this.versao = versao;
+            this.descricao = descricao;
+            this.passo = passo;
+        }
+
+        public int getVersao() {
+            return versao;
+        }
+
+        public String getDescricao() {
+            return descricao;
+        }
+    }
+
+    // Índices das consultas dos DAOs; o InnoDB acrescenta o id (chave primária) ao fim de cada um,
+    // o que também atende a paginação por (data, id)
+    private static final String[][] INDICES_CONSULTAS = {
+            // listarPagina
+            {"usuario", "idx_usuario_ativo_cadastro", "ativo, data_cadastro"},
+            {"projetos", "idx_projetos_criacao", "data_criacao"},
+            // buscarProjetosAtivos
+            {"projetos", "idx_projetos_status_criacao", "status, data_criacao"},
+            // buscarPorUsuario (também serve à chave estrangeira)
+            {"projetos", "idx_projetos_usuario_criacao", "usuario_id, data_criacao"},
+            {"tarefas", "idx_tarefas_criacao", "data_criacao"},
+            // buscarTarefasPendentes e contadores por status
+            {"tarefas", "idx_tarefas_status_criacao", "status, data_criacao"},
+            // buscarPorPrioridade
+            {"tarefas", "idx_tarefas_prioridade_criacao", "prioridade, data_criacao"},
+            // buscarTarefasEmAtraso e buscarProximasEntregas: status != 'CONCLUIDA' não restringe
+            // as colunas seguintes do índice, então a data vem primeiro e o status é filtrado no índice
+            {"tarefas", "idx_tarefas_conclusao_status", "data_conclusao, status"},
+            {"tarefas", "idx_tarefas_projeto_criacao", "projeto_id, data_criacao"},
+            {"tarefas", "idx_tarefas_responsavel_criacao", "usuario_responsavel_id, data_criacao"},
+            // listarPagina e buscarSolucoesRecentes
+            {"solucoes", "idx_solucoes_submissao", "data_submissao"},
+            // buscarPorStatus
+            {"solucoes", "idx_solucoes_status_submissao", "status, data_submissao"},
+            {"solucoes", "idx_solucoes_tarefa_submissao", "tarefa_id, data_submissao"},
+            {"solucoes", "idx_solucoes_usuario_submissao", "usuario_id, data_submissao"},
+            {"avaliacoes", "idx_avaliacoes_data", "data_avaliacao"},
+            // buscarPorSolucao e calcularMediaPorPeriodo
+            {"avaliacoes", "idx_avaliacoes_solucao_data", "solucao_id, data_avaliacao"},
+            {"avaliacoes", "idx_avaliacoes_avaliador_data", "usuario_avaliador_id, data_avaliacao"}
+    };
+
+    // Colunas de id convertidas de VARCHAR(36) para BINARY(16) pela migração 3: {tabela, coluna}
+    private static final String[][] COLUNAS_ID = {
+            {"usuario", "id"},
+            {"perfil_usuario", "id"},
+            {"perfil_usuario", "usuario_id"},
+            {"perfil_habilidade", "perfil_id"},
+            {"projetos", "id"},
+            {"projetos", "usuario_id"},
+            {"tarefas", "id"},
+            {"tarefas", "projeto_id"},
+            {"tarefas", "usuario_responsavel_id"},
+            {"solucoes", "id"},
+            {"solucoes", "tarefa_id"},
+            {"solucoes", "usuario_id"},
+            {"avaliacoes", "id"},
+            {"avaliacoes", "solucao_id"},
+            {"avaliacoes", "usuario_avaliador_id"}
+    };
+
+    // Chaves estrangeiras entre as colunas de id: {tabela, coluna, tabela referenciada, ação ao excluir}
+    private static final String[][] CHAVES_ESTRANGEIRAS = {
+            {"perfil_usuario", "usuario_id", "usuario", "RESTRICT"},
+            {"perfil_habilidade", "perfil_id", "perfil_usuario", "CASCADE"},
+            {"projetos", "usuario_id", "usuario", "RESTRICT"},
+            {"tarefas", "projeto_id", "projetos", "RESTRICT"},
+            {"tarefas", "usuario_responsavel_id", "usuario", "RESTRICT"},
+            {"solucoes", "tarefa_id", "tarefas", "RESTRICT"},
+            {"solucoes", "usuario_id", "usuario", "RESTRICT"},
+            {"avaliacoes", "solucao_id", "solucoes", "RESTRICT"},
+            {"avaliacoes", "usuario_avaliador_id", "usuario", "RESTRICT"}
+    };
+
+    // Ids que já são UUID perdem os hífens; os demais (o contador numérico das versões anteriores)
+    // viram o MD5 do texto, a mesma regra de GeradorId.paraBytes
+    private static final String HEX_DO_ID =
+            "IF({c} REGEXP '^[0-9a-fA-F]{8}-([0-9a-fA-F]{4}-){3}[0-9a-fA-F]{12}$', "
+            + "LOWER(REPLACE({c}, '-', '')), MD5({c}))";
+
+    private static final List<Migracao> MIGRACOES = List.of(
+            new Migracao(1, "Tabelas iniciais", provedor -> {
+                // Ordem das chaves estrangeiras
+                new UsuarioDAO(provedor).criarTabela();
+                new PerfilUsuarioDAO(provedor).criarTabela();
+                new ProjetoDAO(provedor).criarTabela();
+                new TarefaDAO(provedor).criarTabela();
+                new SolucaoDAO(provedor).criarTabela();
+                new AvaliacaoDAO(provedor).criarTabela();
+            }),
+            new Migracao(2, "Índices das consultas dos DAOs", provedor -> {
+                try (Connection connection = provedor.obterConexao()) {
+                    for (String[] indice : INDICES_CONSULTAS) {
+                        criarIndiceSeAusente(connection, indice[0], indice[1], indice[2]);
+                    }
+                }
+            }),
+            new Migracao(3, "Ids binários (UUID em BINARY(16))", provedor -> {
+                try (Connection connection = provedor.obterConexao()) {
+                    converterIdsParaBinario(connection);
+                }
+            }),
+            new Migracao(4, "Agregados de avaliação em solucoes", provedor -> {
+                try (Connection connection = provedor.obterConexao()) {
+                    if (obterTipoColuna(connection, "solucoes", "total_avaliacoes") == null) {
+                        executarDdl(connection, """
+                            ALTER TABLE solucoes
+                                ADD COLUMN total_avaliacoes INT NOT NULL DEFAULT 0,
+                                ADD COLUMN soma_notas INT NOT NULL DEFAULT 0,
+                                ADD COLUMN media_avaliacoes DECIMAL(7,4)
+                                    AS (IF(total_avaliacoes = 0, NULL, soma_notas / total_avaliacoes)) STORED,
+                                ADD INDEX idx_solucoes_media_avaliacoes (media_avaliacoes, total_avaliacoes)
+                        """);
+                    }
+                }
+                // Também corrige bancos cujas colunas já existiam, mas foram alteradas fora dos DAOs
+                new SolucaoDAO(provedor).recalcularAgregadosAvaliacoes();
+            }),
+            new Migracao(5, "Índice de habilidades dos perfis", provedor -> {
+                PerfilUsuarioDAO perfis = new PerfilUsuarioDAO(provedor);
+                perfis.criarTabelaHabilidades();
+                perfis.migrarHabilidades();
+            }),
+            new Migracao(6, "Usuário dono do perfil", provedor -> {
+                // Bancos do script.sql já têm a coluna; os criados pelas migrações anteriores, não
+                try (Connection connection = provedor.obterConexao()) {
+                    if (obterTipoColuna(connection, "perfil_usuario", "usuario_id") == null) {
+                        executarDdl(connection, "ALTER TABLE perfil_usuario ADD COLUMN usuario_id BINARY(16) NULL");
+                    }
+                    criarIndiceSeAusente(connection, "perfil_usuario", "idx_perfil_usuario_usuario", "usuario_id");
+                    if (!existeChaveEstrangeira(connection, "perfil_usuario", "usuario_id")) {
+                        executarDdl(connection, "ALTER TABLE perfil_usuario ADD CONSTRAINT fk_perfil_usuario_usuario_id"
+                                + " FOREIGN KEY (usuario_id) REFERENCES usuario(id) ON DELETE RESTRICT");
+                    }
+                }
+            })
+    );
+
+    private final ProvedorConexao provedor;
+
+    public ExecutorMigracoes() {
+        this(new ConnectionFactory());
+    }
+
+    public ExecutorMigracoes(Connection connection) {
+        this(ProvedorConexao.fixo(connection));
+    }
+
+    public ExecutorMigracoes(ProvedorConexao provedor) {
+        this.provedor = provedor;
+    }
+
+    public static List<Migracao> getMigracoes() {
+        return MIGRACOES;
+    }
+
+    /**
+     * Aplica as migrações pendentes
+     *
+     * @return Migrações aplicadas nesta execução, em ordem
+     */
+    public List<Migracao> executar() {
+        List<Migracao> aplicadas = new ArrayList<>();
+
+        try (Connection connection = provedor.obterConexao()) {
+            try (PreparedStatement pstm = connection.prepareStatement("""
+                CREATE TABLE IF NOT EXISTS schema_versao (
+                    versao INT PRIMARY KEY,
+                    descricao VARCHAR(200) NOT NULL,
+                    aplicada_em TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+                    duracao_ms BIGINT NOT NULL
+                )
+            """)) {
+                pstm.execute();
+            }
+
+            obterLock(connection);
+            try {
+                Set<Integer> versoes = lerVersoesAplicadas(connection);
+                for (Migracao migracao : MIGRACOES) {
+                    if (versoes.contains(migracao.versao)) {
+                        continue;
+                    }
+
+                    long inicio = System.nanoTime();
+                    migracao.passo.aplicar(provedor);
+                    registrar(connection, migracao, (System.nanoTime() - inicio) / 1_000_000);
+                    aplicadas.add(migracao);
+                }
+            } finally {
+                liberarLock(connection);
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao migrar esquema do banco: " + e.getMessage());
+        }
+        return aplicadas;
+    }
+
+    /**
+     * @return Maior versão aplicada, ou 0 se nenhuma
+     */
+    public int obterVersaoAtual() {
+        try (Connection connection = provedor.obterConexao();
+             PreparedStatement pstm = connection.prepareStatement("SELECT COALESCE(MAX(versao), 0) FROM schema_versao");
+             ResultSet rs = pstm.executeQuery()) {
+            return rs.next() ? rs.getInt(1) : 0;
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao consultar versão do esquema: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Nomes dos índices criados pela migração de índices em uma tabela
+     */
+    static List<String> getIndicesConsultas(String tabela) {
+        List<String> nomes = new ArrayList<>();
+        for (String[] indice : INDICES_CONSULTAS) {
+            if (indice[0].equals(tabela)) {
+                nomes.add(indice[1]);
+            }
+        }
+        return nomes;
+    }
+
+    static void criarIndiceSeAusente(Connection connection, String tabela, String nome, String colunas)
+            throws SQLException {
+        try (ResultSet indices = connection.getMetaData()
+                .getIndexInfo(connection.getCatalog(), null, tabela, false, false)) {
+            while (indices.next()) {
+                if (nome.equalsIgnoreCase(indices.getString("INDEX_NAME"))) {
+                    return;
+                }
+            }
+        }
+        try (PreparedStatement pstm = connection.prepareStatement(
+                "CREATE INDEX " + nome + " ON " + tabela + " (" + colunas + ")")) {
+            pstm.execute();
+        }
+    }
+
+    /**
+     * Converte as colunas de id ainda em texto para BINARY(16).
+     *
+     * ALTER TABLE não é transacional no MySQL, então a conversão é feita para poder ser retomada:
+     * colunas já binárias são puladas e uma coluna que ficou no passo intermediário (VARBINARY com o
+     * hexadecimal do id) continua dali. As chaves estrangeiras são removidas antes, porque as duas
+     * pontas mudam de tipo em momentos diferentes, e recriadas no fim a partir de CHAVES_ESTRANGEIRAS
+     * (as que já existirem são mantidas).
+     * Em bancos grandes convém fazer backup antes: cada ALTER reescreve a tabela inteira.
+     */
+    static void converterIdsParaBinario(Connection connection) throws SQLException {
+        List<String[]> pendentes = new ArrayList<>();
+        for (String[] coluna : COLUNAS_ID) {
+            String tipo = obterTipoColuna(connection, coluna[0], coluna[1]);
+            if (tipo != null && !tipo.equalsIgnoreCase("binary")) {
+                pendentes.add(new String[]{coluna[0], coluna[1], tipo});
+            }
+        }
+        if (!pendentes.isEmpty()) {
+            removerChavesEstrangeiras(connection);
+        }
+
+        for (String[] coluna : pendentes) {
+            String tabela = coluna[0];
+            String nome = coluna[1];
+            // Chaves primárias e perfil_habilidade.perfil_id são NOT NULL
+            String nulidade = nome.equals("id") || tabela.equals("perfil_habilidade") ? " NOT NULL" : " NULL";
+
+            if (!coluna[2].equalsIgnoreCase("varbinary")) {
+                executarDdl(connection, "UPDATE " + tabela + " SET " + nome + " = "
+                        + HEX_DO_ID.replace("{c}", nome) + " WHERE " + nome + " IS NOT NULL");
+                executarDdl(connection, "ALTER TABLE " + tabela + " MODIFY " + nome + " VARBINARY(36)" + nulidade);
+            }
+            executarDdl(connection, "UPDATE " + tabela + " SET " + nome + " = UNHEX(" + nome + ") WHERE LENGTH("
+                    + nome + ") = 32");
+            executarDdl(connection, "ALTER TABLE " + tabela + " MODIFY " + nome + " BINARY(16)" + nulidade);
+        }
+
+        for (String[] chave : CHAVES_ESTRANGEIRAS) {
+            // Também recria as que faltarem se uma execução anterior parou depois da conversão
+            if (obterTipoColuna(connection, chave[0], chave[1]) != null
+                    && !existeChaveEstrangeira(connection, chave[0], chave[1])) {
+                executarDdl(connection, "ALTER TABLE " + chave[0] + " ADD CONSTRAINT fk_" + chave[0] + "_" + chave[1]
+                        + " FOREIGN KEY (" + chave[1] + ") REFERENCES " + chave[2] + "(id) ON DELETE " + chave[3]);
+            }
+        }
+    }
+
+    /**
+     * @return DATA_TYPE da coluna, ou null se a tabela ou a coluna não existir
+     */
+    private static String obterTipoColuna(Connection connection, String tabela, String coluna) throws SQLException {
+        try (PreparedStatement pstm = connection.prepareStatement("""
+                SELECT DATA_TYPE FROM information_schema.COLUMNS
+                WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND COLUMN_NAME = ?
+            """)) {
+            pstm.setString(1, tabela);
+            pstm.setString(2, coluna);
+            try (ResultSet rs = pstm.executeQuery()) {
+                return rs.next() ? rs.getString("DATA_TYPE") : null;
+            }
+        }
+    }
+
+    private static boolean existeChaveEstrangeira(Connection connection, String tabela, String coluna)
+            throws SQLException {
+        try (PreparedStatement pstm = connection.prepareStatement("""
+                SELECT 1 FROM information_schema.KEY_COLUMN_USAGE
+                WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND COLUMN_NAME = ?
+                  AND REFERENCED_TABLE_NAME IS NOT NULL
+            """)) {
+            pstm.setString(1, tabela);
+            pstm.setString(2, coluna);
+            try (ResultSet rs = pstm.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+
+    private static void removerChavesEstrangeiras(Connection connection) throws SQLException {
+        Set<String> tabelas = new HashSet<>();
+        for (String[] coluna : COLUNAS_ID) {
+            tabelas.add(coluna[0]);
+        }
+
+        List<String[]> existentes = new ArrayList<>();
+        try (PreparedStatement pstm = connection.prepareStatement("""
+                SELECT TABLE_NAME, CONSTRAINT_NAME FROM information_schema.REFERENTIAL_CONSTRAINTS
+                WHERE CONSTRAINT_SCHEMA = DATABASE()
+            """);
+             ResultSet rs = pstm.executeQuery()) {
+            while (rs.next()) {
+                if (tabelas.contains(rs.getString("TABLE_NAME"))) {
+                    existentes.add(new String[]{rs.getString("TABLE_NAME"), rs.getString("CONSTRAINT_NAME")});
+                }
+            }
+        }
+
+        for (String[] chave : existentes) {
+            executarDdl(connection, "ALTER TABLE " + chave[0] + " DROP FOREIGN KEY " + chave[1]);
+        }
+    }
+
+    private static void executarDdl(Connection connection, String sql) throws SQLException {
+        try (PreparedStatement pstm = connection.prepareStatement(sql)) {
+            pstm.execute();
+        }
+    }
+
+    private static Set<Integer> lerVersoesAplicadas(Connection connection) throws SQLException {
+        Set<Integer> versoes = new HashSet<>();
+        try (PreparedStatement pstm = connection.prepareStatement("SELECT versao FROM schema_versao");
+             ResultSet rs = pstm.executeQuery()) {
+            while (rs.next()) {
+                versoes.add(rs.getInt("versao"));
+            }
+        }
+        return versoes;
+    }
+
+    private static void registrar(Connection connection, Migracao migracao, long duracaoMs) throws SQLException {
+        try (PreparedStatement pstm = connection.prepareStatement(
+                "INSERT INTO schema_versao (versao, descricao, duracao_ms) VALUES (?, ?, ?)")) {
+            pstm.setInt(1, migracao.versao);
+            pstm.setString(2, migracao.descricao);
+            pstm.setLong(3, duracaoMs);
+            pstm.executeUpdate();
+        }
+    }
+
+    private static void obterLock(Connection connection) throws SQLException {
+        try (PreparedStatement pstm = connection.prepareStatement("SELECT GET_LOCK(?, ?)")) {
+            pstm.setString(1, NOME_LOCK);
+            pstm.setInt(2, ESPERA_LOCK_SEGUNDOS);
+            try (ResultSet rs = pstm.executeQuery()) {
+                if (!rs.next() || rs.getInt(1) != 1) {
+                    throw new SQLException("Tempo esgotado aguardando outra migração em andamento");
+                }
+            }
+        }
+    }
+
+    private static void liberarLock(Connection connection) throws SQLException {
+        try (PreparedStatement pstm = connection.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+            pstm.setString(1, NOME_LOCK);
+            pstm.execute();
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package dao;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histograma de latências em escala log-linear, no estilo do HdrHistogram.
+ *
+ * Cada potência de dois é dividida em 32 faixas iguais, então o erro relativo de um percentil é
+ * de no máximo ~3% em qualquer ordem de grandeza, com um array fixo de contadores. A gravação é
+ * um incremento atômico, sem locks; a leitura percorre os contadores sem parar as gravações, então
+ * um instantâneo pode não incluir as gravações feitas durante a leitura.
+ */
+class HistogramaLatencia {
+
+    private static final int BITS_SUBFAIXA = 5;
+    private static final int SUBFAIXAS = 1 << BITS_SUBFAIXA;
+    private static final int TOTAL_FAIXAS = (64 - BITS_SUBFAIXA + 1) * SUBFAIXAS;
+
+    private final AtomicLongArray contagens = new AtomicLongArray(TOTAL_FAIXAS);
+    private final LongAdder total = new LongAdder();
+    private final LongAdder soma = new LongAdder();
+    private final AtomicLong maximo = new AtomicLong();
+
+    void registrar(long valor) {
+        long positivo = Math.max(0, valor);
+        contagens.incrementAndGet(indice(positivo));
+        total.increment();
+        soma.add(positivo);
+        maximo.accumulateAndGet(positivo, Math::max);
+    }
+
+    long getTotal() {
+        return total.sum();
+    }
+
+    long getSoma() {
+        return soma.sum();
+    }
+
+    long getMaximo() {
+        return maximo.get();
+    }
+
+    /**
+     * Calcula vários percentis em duas passadas pelos contadores, sem copiá-los, para que
+     * leituras frequentes não gerem lixo; gravações feitas durante a leitura podem ou não entrar
+     *
+     * @param percentis Percentis em ordem crescente, entre 0 e 100
+     * @return Valor de cada percentil (ponto médio da faixa), ou 0 se não houver gravações
+     */
+    long[] calcularPercentis(double... percentis) {
+        long quantidade = 0;
+        for (int i = 0; i < TOTAL_FAIXAS; i++) {
+            quantidade += contagens.get(i);
+        }
+
+        long[] valores = new long[percentis.length];
+        if (quantidade == 0) {
+            return valores;
+        }
+
+        int faixa = 0;
+        long acumulado = contagens.get(0);
+        for (int p = 0; p < percentis.length; p++) {
+            long alvo = Math.max(1, (long) Math.ceil(percentis[p] / 100.0 * quantidade));
+            while (acumulado < alvo && faixa < TOTAL_FAIXAS - 1) {
+                acumulado += contagens.get(++faixa);
+            }
+            // O ponto médio nunca passa do máximo observado
+            valores[p] = Math.min(pontoMedio(faixa), maximo.get());
+        }
+        return valores;
+    }
+
+    void limpar() {
+        for (int i = 0; i < TOTAL_FAIXAS; i++) {
+            contagens.set(i, 0);
+        }
+        total.reset();
+        soma.reset();
+        maximo.set(0);
+    }
+
+    /**
+     * Valores abaixo de 64 têm faixa própria; acima, a faixa é dada pela potência de dois
+     * (magnitude) e pelos 5 bits seguintes ao mais significativo
+     */
+    static int indice(long valor) {
+        int magnitude = 63 - Long.numberOfLeadingZeros(valor);
+        if (magnitude <= BITS_SUBFAIXA) {
+            return (int) valor;
+        }
+        int deslocamento = magnitude - BITS_SUBFAIXA;
+        return (deslocamento + 1) * SUBFAIXAS + (int) ((valor >>> deslocamento) & (SUBFAIXAS - 1));
+    }
+
+    static long pontoMedio(int indice) {
+        if (indice < 2 * SUBFAIXAS) {
+            return indice;
+        }
+        int deslocamento = indice / SUBFAIXAS - 1;
+        long inicio = (long) (SUBFAIXAS + indice % SUBFAIXAS) << deslocamento;
+        return inicio + ((1L << deslocamento) >>> 1);
+    }
+}
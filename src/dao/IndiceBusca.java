@@ -0,0 +1,463 @@
+package dao;
+
+import bd.ProvedorConexao;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import modelo.EntidadeBase;
+
+/**
+ * Índice invertido em memória para busca textual em projetos, tarefas e soluções.
+ *
+ * Título e descrição passam pelo AnalisadorTexto e cada termo aponta para os documentos em
+ * que aparece, com a frequência de cada um. As consultas somam a pontuação BM25 dos seus
+ * termos, sem consultar o banco; termos do título valem em dobro.
+ *
+ * As gravações são serializadas no monitor do índice e as buscas só disputam o lock de leitura.
+ * O índice é lido do banco uma vez e depois ajustado pelos DAOs após cada gravação. Exclusões
+ * em cascata removem os documentos pelos ids lidos na própria exclusão. Gravações feitas fora dos DAOs só aparecem depois de um
+ * novo carregar().
+ */
+public class IndiceBusca {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int PESO_TITULO = 2;
+
+    // Ordem de resultados de mesma pontuação, estável entre páginas
+    private static final Comparator<ResultadoBusca> ORDEM = Comparator
+            .comparingDouble(ResultadoBusca::getPontuacao).reversed()
+            .thenComparing(ResultadoBusca::getTipo)
+            .thenComparing(ResultadoBusca::getId);
+
+    /**
+     * Entidades cobertas pela busca, com a tabela de onde são lidas
+     */
+    public enum TipoDocumento {
+        PROJETO("projetos"),
+        TAREFA("tarefas"),
+        SOLUCAO("solucoes");
+
+        private final String tabela;
+
+        TipoDocumento(String tabela) {
+            this.tabela = tabela;
+        }
+    }
+
+    private static final IndiceBusca INSTANCIA = new IndiceBusca();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Integer> numeros = new HashMap<>();
+    private final List<Documento> documentos = new ArrayList<>();
+    private final Deque<Integer> numerosLivres = new ArrayDeque<>();
+    private final Map<String, Ocorrencias> termos = new HashMap<>();
+    private long comprimentoTotal;
+    private volatile boolean carregado;
+
+    private IndiceBusca() {
+    }
+
+    public static IndiceBusca getInstancia() {
+        return INSTANCIA;
+    }
+
+    /**
+     * Lê do banco título e descrição de todos os projetos, tarefas e soluções, substituindo o índice atual
+     *
+     * @param provedor Provedor de conexões usado na leitura
+     */
+    public synchronized void carregar(ProvedorConexao provedor) {
+        List<String[]> lidos = new ArrayList<>();
+        List<TipoDocumento> tipos = new ArrayList<>();
+
+        try (Connection connection = UnidadeDeTrabalho.foraDaTransacao(provedor).obterConexao()) {
+            for (TipoDocumento tipo : TipoDocumento.values()) {
+                try (PreparedStatement pstm = connection.prepareStatement(
+                        "SELECT id, titulo, descricao FROM " + tipo.tabela);
+                     ResultSet rs = pstm.executeQuery()) {
+
+                    while (rs.next()) {
+                        lidos.add(new String[] {ColunaId.ler(rs, "id"), rs.getString("titulo"), rs.getString("descricao")});
+                        tipos.add(tipo);
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao carregar índice de busca: " + e.getMessage());
+        }
+
+        lock.writeLock().lock();
+        try {
+            numeros.clear();
+            documentos.clear();
+            numerosLivres.clear();
+            termos.clear();
+            comprimentoTotal = 0;
+            for (int i = 0; i < lidos.size(); i++) {
+                String[] lido = lidos.get(i);
+                adicionar(tipos.get(i), lido[0], lido[1], lido[2]);
+            }
+            carregado = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Carrega o índice na primeira chamada; as seguintes não consultam o banco
+     */
+    public synchronized void carregarSeNecessario(ProvedorConexao provedor) {
+        if (!carregado) {
+            carregar(provedor);
+        }
+    }
+
+    public boolean isCarregado() {
+        return carregado;
+    }
+
+    public int getQuantidadeDocumentos() {
+        lock.readLock().lock();
+        try {
+            return numeros.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Busca documentos pelos termos da consulta, do mais para o menos relevante.
+     * Basta um termo em comum para o documento entrar no resultado.
+     *
+     * @param consulta Texto livre da consulta
+     * @param tipos Tipos de documento procurados; vazio procura em todos
+     * @param requisicao Página pedida; o cursor é a posição do primeiro resultado da página
+     * @return Página de resultados com a pontuação BM25 de cada documento
+     */
+    public Pagina<ResultadoBusca> buscar(String consulta, Set<TipoDocumento> tipos, RequisicaoPagina requisicao) {
+        int inicio = lerCursor(requisicao);
+        Set<TipoDocumento> procurados = tipos == null || tipos.isEmpty()
+                ? EnumSet.allOf(TipoDocumento.class) : EnumSet.copyOf(tipos);
+        Set<String> termosConsulta = new LinkedHashSet<>(AnalisadorTexto.analisar(consulta));
+
+        int limite = inicio + requisicao.getTamanho();
+        List<ResultadoBusca> pagina = new ArrayList<>();
+        boolean temProxima;
+        lock.readLock().lock();
+        try {
+            if (numeros.isEmpty() || termosConsulta.isEmpty()) {
+                return new Pagina<>(pagina, null);
+            }
+
+            // Pontuação indexada pelo número do documento; tocados guarda quem recebeu alguma
+            int quantidade = numeros.size();
+            double comprimentoMedio = (double) comprimentoTotal / quantidade;
+            double[] pontuacoes = new double[documentos.size()];
+            int[] tocados = new int[16];
+            int totalTocados = 0;
+            for (String termo : termosConsulta) {
+                Ocorrencias ocorrencias = termos.get(termo);
+                if (ocorrencias == null) {
+                    continue;
+                }
+
+                double idf = Math.log(1 + (quantidade - ocorrencias.tamanho + 0.5) / (ocorrencias.tamanho + 0.5));
+                for (int i = 0; i < ocorrencias.tamanho; i++) {
+                    int numero = ocorrencias.documentos[i];
+                    Documento documento = documentos.get(numero);
+                    if (!procurados.contains(documento.tipo)) {
+                        continue;
+                    }
+                    int frequencia = ocorrencias.frequencias[i];
+                    double normalizacao = K1 * (1 - B + B * documento.comprimento / comprimentoMedio);
+                    if (pontuacoes[numero] == 0) {
+                        if (totalTocados == tocados.length) {
+                            tocados = Arrays.copyOf(tocados, totalTocados * 2);
+                        }
+                        tocados[totalTocados++] = numero;
+                    }
+                    pontuacoes[numero] += idf * frequencia * (K1 + 1) / (frequencia + normalizacao);
+                }
+            }
+
+            // Heap com os "limite" melhores; a raiz é o pior deles
+            PriorityQueue<ResultadoBusca> melhores = new PriorityQueue<>(Math.min(limite, Math.max(1, totalTocados)), ORDEM.reversed());
+            for (int i = 0; i < totalTocados; i++) {
+                if (melhores.size() == limite && pontuacoes[tocados[i]] < melhores.peek().getPontuacao()) {
+                    continue; // Descartado sem criar o resultado
+                }
+                Documento documento = documentos.get(tocados[i]);
+                ResultadoBusca resultado = new ResultadoBusca(documento.tipo, documento.id, documento.titulo,
+                        pontuacoes[tocados[i]]);
+                if (melhores.size() < limite) {
+                    melhores.add(resultado);
+                } else if (ORDEM.compare(resultado, melhores.peek()) < 0) {
+                    melhores.poll();
+                    melhores.add(resultado);
+                }
+            }
+            temProxima = totalTocados > limite;
+
+            List<ResultadoBusca> ordenados = new ArrayList<>(melhores);
+            ordenados.sort(ORDEM);
+            if (inicio < ordenados.size()) {
+                pagina.addAll(ordenados.subList(inicio, ordenados.size()));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return new Pagina<>(pagina, temProxima && !pagina.isEmpty() ? String.valueOf(limite) : null);
+    }
+
+    /**
+     * Busca entidades de um tipo e as lê pelo DAO, mantendo a ordem de relevância.
+     * Documentos que não existem mais no banco são omitidos da página.
+     */
+    static <T extends EntidadeBase> Pagina<T> pesquisar(ProvedorConexao provedor, TipoDocumento tipo, BaseDAO<T> dao,
+                                                        String consulta, RequisicaoPagina requisicao) {
+        IndiceBusca indice = getInstancia();
+        indice.carregarSeNecessario(provedor);
+        Pagina<ResultadoBusca> resultados = indice.buscar(consulta, EnumSet.of(tipo), requisicao);
+
+        List<String> ids = new ArrayList<>();
+        for (ResultadoBusca resultado : resultados.getItens()) {
+            ids.add(resultado.getId());
+        }
+        List<T> entidades = new ArrayList<>();
+        for (T entidade : dao.buscarPorIds(ids).values()) {
+            if (entidade != null) {
+                entidades.add(entidade);
+            }
+        }
+        return new Pagina<>(entidades, resultados.getProximoCursor());
+    }
+
+    /**
+     * Inclui ou substitui um documento já gravado no banco
+     */
+    synchronized void indexar(TipoDocumento tipo, String id, String titulo, String descricao) {
+        if (!carregado || id == null) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            removerDocumento(tipo, id);
+            adicionar(tipo, id, titulo, descricao);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    synchronized void remover(TipoDocumento tipo, String id) {
+        if (!carregado) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            removerDocumento(tipo, id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove vários documentos do mesmo tipo com uma única aquisição do lock de escrita;
+     * usado pelas exclusões em cascata
+     */
+    synchronized void remover(TipoDocumento tipo, Collection<String> ids) {
+        if (!carregado || ids.isEmpty()) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            for (String id : ids) {
+                removerDocumento(tipo, id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Chamado com o lock de escrita
+    private void adicionar(TipoDocumento tipo, String id, String titulo, String descricao) {
+        Map<String, Integer> frequencias = new HashMap<>();
+        for (String termo : AnalisadorTexto.analisar(titulo)) {
+            frequencias.merge(termo, PESO_TITULO, Integer::sum);
+        }
+        for (String termo : AnalisadorTexto.analisar(descricao)) {
+            frequencias.merge(termo, 1, Integer::sum);
+        }
+
+        int comprimento = 0;
+        for (int frequencia : frequencias.values()) {
+            comprimento += frequencia;
+        }
+
+        Documento documento = new Documento(tipo, id, titulo, comprimento, frequencias.keySet().toArray(new String[0]));
+        Integer livre = numerosLivres.poll();
+        int numero = livre != null ? livre : documentos.size();
+        if (livre == null) {
+            documentos.add(documento);
+        } else {
+            documentos.set(numero, documento);
+        }
+        numeros.put(chave(tipo, id), numero);
+        comprimentoTotal += comprimento;
+
+        for (Map.Entry<String, Integer> frequencia : frequencias.entrySet()) {
+            termos.computeIfAbsent(frequencia.getKey(), t -> new Ocorrencias()).adicionar(numero, frequencia.getValue());
+        }
+    }
+
+    // Chamado com o lock de escrita
+    private void removerDocumento(TipoDocumento tipo, String id) {
+        Integer numero = numeros.remove(chave(tipo, id));
+        if (numero == null) {
+            return;
+        }
+
+        Documento documento = documentos.get(numero);
+        for (String termo : documento.termos) {
+            Ocorrencias ocorrencias = termos.get(termo);
+            ocorrencias.remover(numero);
+            if (ocorrencias.tamanho == 0) {
+                termos.remove(termo);
+            }
+        }
+        comprimentoTotal -= documento.comprimento;
+        documentos.set(numero, null);
+        numerosLivres.push(numero);
+    }
+
+    private static int lerCursor(RequisicaoPagina requisicao) {
+        if (requisicao == null) {
+            throw new IllegalArgumentException("Requisição de página não pode ser nula");
+        }
+        if (requisicao.isPrimeiraPagina()) {
+            return 0;
+        }
+        try {
+            int inicio = Integer.parseInt(requisicao.getCursor());
+            if (inicio < 0) {
+                throw new IllegalArgumentException("Cursor de página inválido");
+            }
+            return inicio;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Cursor de página inválido");
+        }
+    }
+
+    private static String chave(TipoDocumento tipo, String id) {
+        return tipo.name() + ":" + id;
+    }
+
+    /**
+     * Lista de documentos em que um termo aparece, com a frequência em cada um, em arrays paralelos
+     */
+    private static final class Ocorrencias {
+        private int[] documentos = new int[4];
+        private int[] frequencias = new int[4];
+        private int tamanho;
+
+        void adicionar(int numero, int frequencia) {
+            if (tamanho == documentos.length) {
+                documentos = Arrays.copyOf(documentos, tamanho * 2);
+                frequencias = Arrays.copyOf(frequencias, tamanho * 2);
+            }
+            documentos[tamanho] = numero;
+            frequencias[tamanho++] = frequencia;
+        }
+
+        void remover(int numero) {
+            for (int i = 0; i < tamanho; i++) {
+                if (documentos[i] == numero) {
+                    // O último ocupa o lugar do removido; a ordem não importa
+                    tamanho--;
+                    documentos[i] = documentos[tamanho];
+                    frequencias[i] = frequencias[tamanho];
+                    return;
+                }
+            }
+        }
+    }
+
+    private static final class Documento {
+        private final TipoDocumento tipo;
+        private final String id;
+        private final String titulo;
+        private final int comprimento;
+        private final String[] termos;
+
+        private Documento(TipoDocumento tipo, String id, String titulo, int comprimento, String[] termos) {
+            this.tipo = tipo;
+            this.id = id;
+            this.titulo = titulo;
+            this.comprimento = comprimento;
+            this.termos = termos;
+        }
+    }
+
+    /**
+     * Resultado imutável de uma busca
+     */
+    public static class ResultadoBusca {
+        private final TipoDocumento tipo;
+        private final String id;
+        private final String titulo;
+        private final double pontuacao;
+
+        private ResultadoBusca(TipoDocumento tipo, String id, String titulo, double pontuacao) {
+            this.tipo = tipo;
+            this.id = id;
+            this.titulo = titulo;
+            this.pontuacao = pontuacao;
+        }
+
+        public TipoDocumento getTipo() {
+            return tipo;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public String getTitulo() {
+            return titulo;
+        }
+
+        public double getPontuacao() {
+            return pontuacao;
+        }
+
+        @Override
+        public String toString() {
+            return "ResultadoBusca{" +
+                    "tipo=" + tipo +
+                    ", id='" + id + '\'' +
+                    ", titulo='" + titulo + '\'' +
+                    ", pontuacao=" + String.format("%.3f", pontuacao) +
+                    '}';
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package dao;
+
+/**
+ * Listas explícitas de colunas usadas nos SELECT dos DAOs.
+ *
+ * Os mapeadores de linha leem as colunas por índice, então cada DAO declara a lista na ordem
+ * lida pelo seu mapeador e monta as consultas a partir dela, em vez de SELECT *.
+ */
+final class ListaColunas {
+
+    private ListaColunas() {
+    }
+
+    /**
+     * Prefixa cada coluna com o alias da tabela, para consultas com JOIN
+     *
+     * @param alias Alias da tabela, como "u"
+     * @param colunas Colunas separadas por vírgula, como "id, nome"
+     * @return Colunas qualificadas, como "u.id, u.nome"
+     */
+    static String qualificar(String alias, String colunas) {
+        StringBuilder qualificadas = new StringBuilder();
+        for (String coluna : colunas.split(",")) {
+            if (qualificadas.length() > 0) {
+                qualificadas.append(", ");
+            }
+            qualificadas.append(alias).append('.').append(coluna.trim());
+        }
+        return qualificadas.toString();
+    }
+}
@@ -0,0 +1,14 @@
+package dao;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Converte a linha atual de um ResultSet em um objeto.
+ *
+ * @param <T> Tipo do objeto criado
+ */
+@FunctionalInterface
+public interface MapeadorLinha<T> {
+    T mapear(ResultSet rs) throws SQLException;
+}
@@ -0,0 +1,464 @@
+package dao;
+
+import bd.ProvedorConexao;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Métricas por método dos DAOs: distribuição de latência, chamadas, erros e linhas lidas.
+ *
+ * Os DAOs envolvem o provedor de conexões com instrumentar(), no construtor, e nenhum método
+ * precisa ser alterado: cada conexão emprestada é atribuída ao método de DAO mais externo da
+ * pilha (o chamado pela aplicação, e não os auxiliares internos) e medida do empréstimo ao
+ * close(). A latência, portanto, é o tempo em que o método segurou a conexão; em streams ela
+ * inclui o tempo de consumo. Um método que empresta mais de uma conexão conta uma vez por
+ * empréstimo. Erros são as SQLException lançadas pelo driver, no máximo uma por empréstimo.
+ *
+ * O custo por empréstimo é uma caminhada na pilha e os proxies de conexão, comandos e
+ * resultados; setAtivo(false) desliga a medição sem trocar os provedores. Os mesmos proxies
+ * alimentam o RegistroConsultasLentas e os eventos do JFR (EventoExecucaoSql e
+ * EventoEmprestimoConexao), que dependem desta instrumentação estar ativa.
+ */
+public class MetricasDAO {
+
+    private static final MetricasDAO INSTANCIA = new MetricasDAO();
+
+    private static final StackWalker PILHA = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+
+    private final ConcurrentHashMap<String, Metodo> metodos = new ConcurrentHashMap<>();
+    private volatile boolean ativo = true;
+    private volatile long inicio = System.nanoTime();
+
+    private MetricasDAO() {
+    }
+
+    public static MetricasDAO getInstancia() {
+        return INSTANCIA;
+    }
+
+    /**
+     * Métricas acumuladas de um método
+     */
+    private static class Metodo {
+        private final HistogramaLatencia latencias = new HistogramaLatencia();
+        private final LongAdder erros = new LongAdder();
+        private final LongAdder linhas = new LongAdder();
+    }
+
+    /**
+     * Instantâneo imutável das métricas de um método; latências em microssegundos
+     */
+    public static class Instantaneo {
+        private final String metodo;
+        private final long chamadas;
+        private final long erros;
+        private final long linhas;
+        private final double chamadasPorSegundo;
+        private final double mediaMicros;
+        private final double p50Micros;
+        private final double p99Micros;
+        private final double p999Micros;
+        private final double maximoMicros;
+
+        private Instantaneo(String metodo, Metodo metricas, double segundos) {
+            long[] percentis = metricas.latencias.calcularPercentis(50, 99, 99.9);
+            this.metodo = metodo;
+            this.chamadas = metricas.latencias.getTotal();
+            this.erros = metricas.erros.sum();
+            this.linhas = metricas.linhas.sum();
+            this.chamadasPorSegundo = segundos > 0 ? chamadas / segundos : 0;
+            this.mediaMicros = chamadas > 0 ? metricas.latencias.getSoma() / 1_000.0 / chamadas : 0;
+            this.p50Micros = percentis[0] / 1_000.0;
+            this.p99Micros = percentis[1] / 1_000.0;
+            this.p999Micros = percentis[2] / 1_000.0;
+            this.maximoMicros = metricas.latencias.getMaximo() / 1_000.0;
+        }
+
+        public String getMetodo() {
+            return metodo;
+        }
+
+        public long getChamadas() {
+            return chamadas;
+        }
+
+        public long getErros() {
+            return erros;
+        }
+
+        public long getLinhas() {
+            return linhas;
+        }
+
+        public double getChamadasPorSegundo() {
+            return chamadasPorSegundo;
+        }
+
+        public double getMediaMicros() {
+            return mediaMicros;
+        }
+
+        public double getP50Micros() {
+            return p50Micros;
+        }
+
+        public double getP99Micros() {
+            return p99Micros;
+        }
+
+        public double getP999Micros() {
+            return p999Micros;
+        }
+
+        public double getMaximoMicros() {
+            return maximoMicros;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: %d chamadas (%.1f/s), %d erros, %d linhas, "
+                            + "média %.0f µs, p50 %.0f µs, p99 %.0f µs, p999 %.0f µs, máx %.0f µs",
+                    metodo, chamadas, chamadasPorSegundo, erros, linhas,
+                    mediaMicros, p50Micros, p99Micros, p999Micros, maximoMicros);
+        }
+    }
+
+    public boolean isAtivo() {
+        return ativo;
+    }
+
+    public void setAtivo(boolean ativo) {
+        this.ativo = ativo;
+    }
+
+    /**
+     * @return Instantâneo de cada método já chamado, por nome ("UsuarioDAO.autenticar")
+     */
+    public Map<String, Instantaneo> obterInstantaneos() {
+        double segundos = (System.nanoTime() - inicio) / 1_000_000_000.0;
+        Map<String, Instantaneo> instantaneos = new TreeMap<>();
+        metodos.forEach((nome, metricas) -> instantaneos.put(nome, new Instantaneo(nome, metricas, segundos)));
+        return instantaneos;
+    }
+
+    /**
+     * @param metodo Nome no formato "UsuarioDAO.autenticar"
+     * @return Instantâneo do método, ou null se ele ainda não foi chamado
+     */
+    public Instantaneo obter(String metodo) {
+        Metodo metricas = metodos.get(metodo);
+        return metricas != null
+                ? new Instantaneo(metodo, metricas, (System.nanoTime() - inicio) / 1_000_000_000.0)
+                : null;
+    }
+
+    /**
+     * Zera todas as métricas e reinicia a janela usada no cálculo de chamadas por segundo
+     */
+    public void reiniciar() {
+        metodos.values().forEach(metricas -> {
+            metricas.latencias.limpar();
+            metricas.erros.reset();
+            metricas.linhas.reset();
+        });
+        inicio = System.nanoTime();
+    }
+
+    /**
+     * Envolve o provedor de um DAO para medir as conexões emprestadas por ele
+     */
+    static ProvedorConexao instrumentar(ProvedorConexao provedor) {
+        if (provedor == null || provedor instanceof ProvedorMedido) {
+            return provedor;
+        }
+        return new ProvedorMedido(provedor);
+    }
+
+    /**
+     * @return O provedor envolvido por instrumentar(), ou o próprio provedor
+     */
+    static ProvedorConexao original(ProvedorConexao provedor) {
+        return provedor instanceof ProvedorMedido medido ? medido.origem : provedor;
+    }
+
+    private static final class ProvedorMedido implements ProvedorConexao {
+        private final ProvedorConexao origem;
+
+        private ProvedorMedido(ProvedorConexao origem) {
+            this.origem = origem;
+        }
+
+        @Override
+        public Connection obterConexao() throws SQLException {
+            MetricasDAO metricas = INSTANCIA;
+            if (!metricas.ativo) {
+                return origem.obterConexao();
+            }
+
+            Optional<String> metodo = PILHA.walk(frames -> frames
+                    .filter(frame -> BaseDAO.class.isAssignableFrom(frame.getDeclaringClass()))
+                    .reduce((maisInterno, maisExterno) -> maisExterno)
+                    .map(frame -> frame.getDeclaringClass().getSimpleName() + "." + nomeMetodo(frame.getMethodName())));
+            if (metodo.isEmpty()) {
+                return origem.obterConexao();
+            }
+
+            Metodo destino = metricas.metodos.computeIfAbsent(metodo.get(), nome -> new Metodo());
+            EventoEmprestimoConexao evento = new EventoEmprestimoConexao();
+            long emprestimo = System.nanoTime();
+            evento.begin();
+            try {
+                Connection connection = origem.obterConexao();
+                emitir(evento, metodo.get(), false);
+                return new Medicao(metodo.get(), destino, emprestimo).envolver(connection);
+            } catch (SQLException | RuntimeException e) {
+                emitir(evento, metodo.get(), true);
+                destino.erros.increment();
+                destino.latencias.registrar(System.nanoTime() - emprestimo);
+                throw e;
+            }
+        }
+    }
+
+    private static void emitir(EventoEmprestimoConexao evento, String metodo, boolean falhou) {
+        evento.end();
+        if (evento.shouldCommit()) {
+            evento.dao = metodo.substring(0, metodo.indexOf('.'));
+            evento.metodo = metodo.substring(metodo.indexOf('.') + 1);
+            evento.falhou = falhou;
+            evento.commit();
+        }
+    }
+
+    /**
+     * Lambdas dos DAOs aparecem na pilha como lambda$metodo$N; conta para o método que a declarou
+     */
+    private static String nomeMetodo(String nome) {
+        if (nome.startsWith("lambda$")) {
+            int fim = nome.indexOf('$', 7);
+            return fim > 7 ? nome.substring(7, fim) : nome;
+        }
+        return nome;
+    }
+
+    /**
+     * Um empréstimo de conexão: acompanha a conexão e tudo o que for criado a partir dela até o close()
+     */
+    private static final class Medicao {
+        private final String metodo;
+        private final Metodo destino;
+        private final long emprestimo;
+        private long linhas;
+        private boolean falhou;
+        private boolean encerrada;
+
+        private Medicao(String metodo, Metodo destino, long emprestimo) {
+            this.metodo = metodo;
+            this.destino = destino;
+            this.emprestimo = emprestimo;
+        }
+
+        private Connection envolver(Connection connection) {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class}, (proxy, metodo, args) -> {
+                        if ("close".equals(metodo.getName())) {
+                            encerrar();
+                        }
+                        Object resultado = invocar(connection, metodo, args);
+                        String sql = args != null && args.length > 0 && args[0] instanceof String texto ? texto : null;
+                        if (resultado instanceof CallableStatement chamada) {
+                            return envolver(chamada, CallableStatement.class, sql);
+                        } else if (resultado instanceof PreparedStatement comando) {
+                            return envolver(comando, PreparedStatement.class, sql);
+                        } else if (resultado instanceof Statement comando) {
+                            return envolver(comando, Statement.class, null);
+                        }
+                        return resultado;
+                    });
+        }
+
+        private Object envolver(Statement comando, Class<? extends Statement> tipo, String sql) {
+            // Execuções só são acompanhadas com o registro de consultas lentas ativo ou com o evento do JFR habilitado
+            Execucao execucao = RegistroConsultasLentas.getInstancia().isAtivo() || new EventoExecucaoSql().isEnabled()
+                    ? new Execucao(sql) : null;
+            return Proxy.newProxyInstance(Statement.class.getClassLoader(), new Class<?>[]{tipo},
+                    (proxy, metodo, args) -> {
+                        if (execucao == null) {
+                            Object resultado = invocar(comando, metodo, args);
+                            return resultado instanceof ResultSet rs ? envolver(rs, null) : resultado;
+                        }
+
+                        String nome = metodo.getName();
+                        if (!nome.startsWith("execute")) {
+                            execucao.observar(nome, args);
+                            Object resultado = invocar(comando, metodo, args);
+                            if ("close".equals(nome)) {
+                                execucao.concluir();
+                            }
+                            return resultado instanceof ResultSet rs ? envolver(rs, execucao) : resultado;
+                        }
+
+                        execucao.concluir();
+                        String sqlExecutado = args != null && args.length > 0 && args[0] instanceof String texto
+                                ? texto : execucao.sql;
+                        EventoExecucaoSql evento = new EventoExecucaoSql();
+                        long inicio = System.nanoTime();
+                        evento.begin();
+                        Object resultado;
+                        try {
+                            resultado = invocar(comando, metodo, args);
+                        } catch (Throwable e) {
+                            execucao.registrar(sqlExecutado, 0, System.nanoTime() - inicio, evento, true);
+                            throw e;
+                        }
+                        if (resultado instanceof ResultSet rs) {
+                            execucao.iniciar(sqlExecutado, inicio, evento);
+                            return envolver(rs, execucao);
+                        } else if (Boolean.TRUE.equals(resultado)) {
+                            // execute() com resultado: o tempo segue até o getResultSet() ser fechado
+                            execucao.iniciar(sqlExecutado, inicio, evento);
+                        } else {
+                            execucao.registrar(sqlExecutado, linhasAfetadas(resultado), System.nanoTime() - inicio, evento, false);
+                        }
+                        return resultado;
+                    });
+        }
+
+        private ResultSet envolver(ResultSet rs, Execucao execucao) {
+            return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[]{ResultSet.class},
+                    (proxy, metodo, args) -> {
+                        Object resultado = invocar(rs, metodo, args);
+                        if (Boolean.TRUE.equals(resultado) && "next".equals(metodo.getName())) {
+                            linhas++;
+                            if (execucao != null) {
+                                execucao.linhas++;
+                            }
+                        } else if (execucao != null && "close".equals(metodo.getName())) {
+                            execucao.concluir();
+                        }
+                        return resultado;
+                    });
+        }
+
+        private Object invocar(Object alvo, Method metodo, Object[] args) throws Throwable {
+            try {
+                return metodo.invoke(alvo, args);
+            } catch (InvocationTargetException e) {
+                if (e.getCause() instanceof SQLException) {
+                    falhou = true;
+                }
+                throw e.getCause();
+            }
+        }
+
+        private void encerrar() {
+            if (encerrada) {
+                return;
+            }
+            encerrada = true;
+            destino.latencias.registrar(System.nanoTime() - emprestimo);
+            destino.linhas.add(linhas);
+            if (falhou) {
+                destino.erros.increment();
+            }
+        }
+
+        /**
+         * Execuções de um comando, para o registro de consultas lentas e o JFR: parâmetros
+         * vinculados e a consulta em andamento, cujo tempo só termina quando o ResultSet é fechado
+         */
+        private final class Execucao {
+            private final String sql;
+            private final Map<Integer, Object> parametros = new HashMap<>();
+            private int lote;
+            private String sqlEmAndamento;
+            private EventoExecucaoSql eventoEmAndamento;
+            private long inicio;
+            private long linhas;
+
+            private Execucao(String sql) {
+                this.sql = sql;
+            }
+
+            private void observar(String nome, Object[] args) {
+                if (nome.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer posicao) {
+                    parametros.put(posicao, "setNull".equals(nome) ? null : args[1]);
+                } else if ("clearParameters".equals(nome)) {
+                    parametros.clear();
+                } else if ("addBatch".equals(nome)) {
+                    lote++;
+                } else if ("clearBatch".equals(nome)) {
+                    lote = 0;
+                }
+            }
+
+            private void iniciar(String sqlExecutado, long inicio, EventoExecucaoSql evento) {
+                this.sqlEmAndamento = sqlExecutado;
+                this.eventoEmAndamento = evento;
+                this.inicio = inicio;
+                this.linhas = 0;
+            }
+
+            private void concluir() {
+                if (sqlEmAndamento != null) {
+                    String sqlConcluido = sqlEmAndamento;
+                    sqlEmAndamento = null;
+                    registrar(sqlConcluido, linhas, System.nanoTime() - inicio, eventoEmAndamento, false);
+                }
+            }
+
+            private void registrar(String sqlExecutado, long linhasExecucao, long nanos,
+                                   EventoExecucaoSql evento, boolean falhou) {
+                evento.end();
+                if (evento.shouldCommit()) {
+                    evento.dao = metodo.substring(0, metodo.indexOf('.'));
+                    evento.metodo = metodo.substring(metodo.indexOf('.') + 1);
+                    evento.sql = sqlExecutado != null ? RegistroConsultasLentas.impressaoDigital(sqlExecutado) : null;
+                    evento.linhas = linhasExecucao;
+                    evento.lote = lote;
+                    evento.falhou = falhou;
+                    evento.commit();
+                }
+
+                RegistroConsultasLentas registro = RegistroConsultasLentas.getInstancia();
+                if (!falhou && sqlExecutado != null && registro.isLenta(nanos)) {
+                    registro.registrar(metodo, sqlExecutado, parametros, lote, linhasExecucao, nanos);
+                }
+                lote = 0;
+            }
+        }
+    }
+
+    /**
+     * @return Linhas afetadas por executeUpdate/executeBatch; contagens desconhecidas do lote são ignoradas
+     */
+    private static long linhasAfetadas(Object resultado) {
+        if (resultado instanceof Number quantidade) {
+            return Math.max(0, quantidade.longValue());
+        }
+        long total = 0;
+        if (resultado instanceof int[] quantidades) {
+            for (int quantidade : quantidades) {
+                total += Math.max(0, quantidade);
+            }
+        } else if (resultado instanceof long[] quantidades) {
+            for (long quantidade : quantidades) {
+                total += Math.max(0, quantidade);
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,448 @@
+package dao;
+
+import bd.ProvedorConexao;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+import modelo.PerfilUsuario;
+
+/**
+ * Índice em memória para encontrar os perfis mais compatíveis por habilidades.
+ *
+ * Cada habilidade recebe um id inteiro e cada perfil é guardado como um bitset (long[]), de
+ * modo que a similaridade de Jaccard de PerfilUsuario.calcularCompatibilidade sai de um AND e
+ * de um bitCount por palavra de 64 bits, sem criar conjuntos. A busca percorre todos os perfis,
+ * em partes paralelas quando há muitos, e cada parte guarda apenas os K melhores em arrays
+ * alocados uma vez por busca.
+ *
+ * O índice é lido de perfil_habilidade uma vez e depois ajustado pelo PerfilUsuarioDAO após
+ * cada gravação. As buscas leem um instantâneo imutável, que inclui os ids das habilidades;
+ * cada gravação publica um novo.
+ */
+public class MotorCompatibilidade {
+
+    private static final String SQL_HABILIDADES =
+            "SELECT perfil_id, habilidade FROM perfil_habilidade ORDER BY perfil_id";
+
+    // Abaixo disso dividir a varredura entre threads custa mais do que ela mesma
+    private static final int MINIMO_POR_PARTE = 4_096;
+
+    private static final MotorCompatibilidade INSTANCIA = new MotorCompatibilidade();
+
+    private final Map<String, Integer> posicoes = new HashMap<>();
+    private volatile Indice indice = new Indice(Map.of(), new String[0], new long[0][], new int[0]);
+    private volatile boolean carregado;
+
+    private MotorCompatibilidade() {
+    }
+
+    public static MotorCompatibilidade getInstancia() {
+        return INSTANCIA;
+    }
+
+    /**
+     * Lê do banco as habilidades de todos os perfis, substituindo o índice atual
+     *
+     * @param provedor Provedor de conexões usado na leitura
+     */
+    public synchronized void carregar(ProvedorConexao provedor) {
+        Map<String, Set<String>> habilidadesPorPerfil = new LinkedHashMap<>();
+
+        try (Connection connection = UnidadeDeTrabalho.foraDaTransacao(provedor).obterConexao();
+             PreparedStatement pstm = connection.prepareStatement(SQL_HABILIDADES);
+             ResultSet rs = pstm.executeQuery()) {
+
+            while (rs.next()) {
+                habilidadesPorPerfil.computeIfAbsent(ColunaId.ler(rs, "perfil_id"), id -> new HashSet<>())
+                        .add(rs.getString("habilidade"));
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao carregar índice de compatibilidade: " + e.getMessage());
+        }
+
+        // Mapa novo: buscas em andamento continuam com os ids do instantâneo que leram
+        Map<String, Integer> idsHabilidades = new HashMap<>();
+        posicoes.clear();
+        int quantidade = habilidadesPorPerfil.size();
+        String[] perfilIds = new String[quantidade];
+        long[][] bits = new long[quantidade][];
+        int[] tamanhos = new int[quantidade];
+
+        int posicao = 0;
+        for (Map.Entry<String, Set<String>> entrada : habilidadesPorPerfil.entrySet()) {
+            perfilIds[posicao] = entrada.getKey();
+            bits[posicao] = criarBits(entrada.getValue(), idsHabilidades);
+            tamanhos[posicao] = entrada.getValue().size();
+            posicoes.put(entrada.getKey(), posicao);
+            posicao++;
+        }
+        indice = new Indice(idsHabilidades, perfilIds, bits, tamanhos);
+        carregado = true;
+    }
+
+    public boolean isCarregado() {
+        return carregado;
+    }
+
+    public int getQuantidadePerfis() {
+        return indice.perfilIds.length;
+    }
+
+    public int getQuantidadeHabilidades() {
+        return indice.idsHabilidades.size();
+    }
+
+    /**
+     * Retorna os perfis mais compatíveis com o perfil informado, excluindo ele próprio
+     *
+     * @param perfil Perfil de referência
+     * @param limite Quantidade máxima de perfis retornados
+     * @return Perfis com ao menos uma habilidade em comum, do mais para o menos compatível
+     */
+    public List<Compatibilidade> obterMaisCompativeis(PerfilUsuario perfil, int limite) {
+        if (perfil == null) {
+            throw new IllegalArgumentException("Perfil não pode ser nulo");
+        }
+        return buscar(perfil.getHabilidades(), perfil.getId(), limite);
+    }
+
+    /**
+     * Retorna os perfis mais compatíveis com um conjunto de habilidades, como as exigidas por uma tarefa
+     *
+     * @param habilidades Habilidades procuradas
+     * @param limite Quantidade máxima de perfis retornados
+     * @return Perfis com ao menos uma habilidade em comum, do mais para o menos compatível
+     */
+    public List<Compatibilidade> obterMaisCompativeis(Collection<String> habilidades, int limite) {
+        if (habilidades == null) {
+            throw new IllegalArgumentException("Habilidades não podem ser nulas");
+        }
+        return buscar(habilidades, null, limite);
+    }
+
+    /**
+     * Inclui ou substitui perfis já gravados no banco
+     */
+    synchronized void registrar(Collection<PerfilUsuario> perfis) {
+        if (!carregado || perfis.isEmpty()) {
+            return;
+        }
+
+        Indice atual = indice;
+        int quantidade = atual.perfilIds.length;
+        String[] perfilIds = Arrays.copyOf(atual.perfilIds, quantidade + perfis.size());
+        long[][] bits = Arrays.copyOf(atual.bits, quantidade + perfis.size());
+        int[] tamanhos = Arrays.copyOf(atual.tamanhos, quantidade + perfis.size());
+        Map<String, Integer> idsHabilidades = atual.idsHabilidades;
+
+        for (PerfilUsuario perfil : perfis) {
+            Set<String> habilidades = perfil.getHabilidades();
+            // O mapa publicado não é alterado; habilidades novas vão para uma cópia
+            if (idsHabilidades == atual.idsHabilidades && !idsHabilidades.keySet().containsAll(habilidades)) {
+                idsHabilidades = new HashMap<>(idsHabilidades);
+            }
+            Integer posicao = posicoes.get(perfil.getId());
+            if (posicao == null) {
+                posicao = quantidade++;
+                posicoes.put(perfil.getId(), posicao);
+                perfilIds[posicao] = perfil.getId();
+            }
+            bits[posicao] = criarBits(habilidades, idsHabilidades);
+            tamanhos[posicao] = habilidades.size();
+        }
+        indice = new Indice(idsHabilidades, Arrays.copyOf(perfilIds, quantidade), Arrays.copyOf(bits, quantidade),
+                Arrays.copyOf(tamanhos, quantidade));
+    }
+
+    synchronized void remover(String perfilId) {
+        Integer posicao = posicoes.remove(perfilId);
+        if (posicao == null) {
+            return;
+        }
+
+        // O último perfil ocupa o lugar do removido
+        Indice atual = indice;
+        int ultima = atual.perfilIds.length - 1;
+        String[] perfilIds = Arrays.copyOf(atual.perfilIds, ultima);
+        long[][] bits = Arrays.copyOf(atual.bits, ultima);
+        int[] tamanhos = Arrays.copyOf(atual.tamanhos, ultima);
+        if (posicao != ultima) {
+            perfilIds[posicao] = atual.perfilIds[ultima];
+            bits[posicao] = atual.bits[ultima];
+            tamanhos[posicao] = atual.tamanhos[ultima];
+            posicoes.put(perfilIds[posicao], posicao);
+        }
+        indice = new Indice(atual.idsHabilidades, perfilIds, bits, tamanhos);
+    }
+
+    /**
+     * Recarrega o índice se ele estiver em uso; chamado quando não se sabe quais perfis mudaram
+     */
+    void recarregarSeCarregado(ProvedorConexao provedor) {
+        if (carregado) {
+            carregar(provedor);
+        }
+    }
+
+    private List<Compatibilidade> buscar(Collection<String> habilidades, String perfilExcluido, int limite) {
+        if (limite <= 0) {
+            throw new IllegalArgumentException("Limite deve ser maior que zero");
+        }
+
+        Set<String> normalizadas = new HashSet<>();
+        for (String habilidade : habilidades) {
+            if (habilidade != null && !habilidade.trim().isEmpty()) {
+                normalizadas.add(habilidade.trim().toLowerCase());
+            }
+        }
+        if (normalizadas.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        // Os ids das habilidades e os bitsets vêm do mesmo instantâneo
+        Indice atual = indice;
+        // Habilidades que nenhum perfil tem não entram no bitset, mas contam na união
+        long[] consulta = bitsConsulta(normalizadas, atual.idsHabilidades);
+        int tamanhoConsulta = normalizadas.size();
+        int quantidade = atual.perfilIds.length;
+
+        int partes = Math.max(1, Math.min(ForkJoinPool.getCommonPoolParallelism(), quantidade / MINIMO_POR_PARTE));
+        MelhoresK[] melhores = new MelhoresK[partes];
+        IntStream faixas = IntStream.range(0, partes);
+        (partes > 1 ? faixas.parallel() : faixas).forEach(parte -> {
+            MelhoresK melhoresParte = new MelhoresK(limite);
+            int inicio = (int) ((long) quantidade * parte / partes);
+            int fim = (int) ((long) quantidade * (parte + 1) / partes);
+            for (int i = inicio; i < fim; i++) {
+                int comuns = contarComuns(consulta, atual.bits[i]);
+                if (comuns > 0) {
+                    melhoresParte.oferecer(i, comuns, tamanhoConsulta + atual.tamanhos[i] - comuns,
+                            atual.perfilIds, perfilExcluido);
+                }
+            }
+            melhores[parte] = melhoresParte;
+        });
+
+        MelhoresK resultado = melhores[0];
+        for (int parte = 1; parte < partes; parte++) {
+            MelhoresK outra = melhores[parte];
+            for (int i = 0; i < outra.tamanho; i++) {
+                resultado.oferecer(outra.posicoes[i], outra.comuns[i], outra.unioes[i], atual.perfilIds, null);
+            }
+        }
+        return resultado.extrair(atual.perfilIds);
+    }
+
+    private static int contarComuns(long[] consulta, long[] perfil) {
+        int palavras = Math.min(consulta.length, perfil.length);
+        int comuns = 0;
+        for (int i = 0; i < palavras; i++) {
+            comuns += Long.bitCount(consulta[i] & perfil[i]);
+        }
+        return comuns;
+    }
+
+    // Chamado com o lock, sobre um mapa ainda não publicado: é aqui que habilidades novas recebem id
+    private static long[] criarBits(Set<String> habilidades, Map<String, Integer> idsHabilidades) {
+        int[] ids = new int[habilidades.size()];
+        int maior = -1;
+        int i = 0;
+        for (String habilidade : habilidades) {
+            Integer id = idsHabilidades.get(habilidade);
+            if (id == null) {
+                id = idsHabilidades.size();
+                idsHabilidades.put(habilidade, id);
+            }
+            ids[i] = id;
+            maior = Math.max(maior, ids[i++]);
+        }
+
+        long[] bits = new long[(maior >> 6) + 1];
+        for (int id : ids) {
+            bits[id >> 6] |= 1L << id;
+        }
+        return bits;
+    }
+
+    private static long[] bitsConsulta(Set<String> habilidades, Map<String, Integer> idsHabilidades) {
+        long[] bits = new long[(idsHabilidades.size() >> 6) + 1];
+        for (String habilidade : habilidades) {
+            Integer id = idsHabilidades.get(habilidade);
+            if (id != null && (id >> 6) < bits.length) {
+                bits[id >> 6] |= 1L << id;
+            }
+        }
+        return bits;
+    }
+
+    /**
+     * Instantâneo imutável do índice; a posição i descreve o mesmo perfil nos três arrays e os
+     * bits seguem os ids de idsHabilidades
+     */
+    private static final class Indice {
+        private final Map<String, Integer> idsHabilidades;
+        private final String[] perfilIds;
+        private final long[][] bits;
+        private final int[] tamanhos;
+
+        private Indice(Map<String, Integer> idsHabilidades, String[] perfilIds, long[][] bits, int[] tamanhos) {
+            this.idsHabilidades = idsHabilidades;
+            this.perfilIds = perfilIds;
+            this.bits = bits;
+            this.tamanhos = tamanhos;
+        }
+    }
+
+    /**
+     * Heap de mínimo com os K melhores candidatos; a raiz é o pior deles
+     */
+    private static final class MelhoresK {
+        private final int[] posicoes;
+        private final int[] comuns;
+        private final int[] unioes;
+        private int tamanho;
+
+        private MelhoresK(int limite) {
+            this.posicoes = new int[limite];
+            this.comuns = new int[limite];
+            this.unioes = new int[limite];
+        }
+
+        void oferecer(int posicao, int comunsCandidato, int uniaoCandidato, String[] perfilIds, String excluido) {
+            if (tamanho == posicoes.length && comparar(comunsCandidato, uniaoCandidato, comuns[0], unioes[0]) <= 0) {
+                return;
+            }
+            // Só candidatos que entrariam no heap chegam a comparar o id
+            if (excluido != null && excluido.equals(perfilIds[posicao])) {
+                return;
+            }
+
+            if (tamanho < posicoes.length) {
+                definir(tamanho, posicao, comunsCandidato, uniaoCandidato);
+                subir(tamanho++);
+            } else {
+                definir(0, posicao, comunsCandidato, uniaoCandidato);
+                descer(0);
+            }
+        }
+
+        List<Compatibilidade> extrair(String[] perfilIds) {
+            List<Compatibilidade> resultado = new ArrayList<>(tamanho);
+            while (tamanho > 0) {
+                resultado.add(new Compatibilidade(perfilIds[posicoes[0]], comuns[0], (comuns[0] * 100) / unioes[0]));
+                tamanho--;
+                definir(0, posicoes[tamanho], comuns[tamanho], unioes[tamanho]);
+                descer(0);
+            }
+            // O heap entrega do pior para o melhor
+            Collections.reverse(resultado);
+            return resultado;
+        }
+
+        // Compara comuns1 / uniao1 com comuns2 / uniao2 sem divisão; no empate vence quem tem mais em comum
+        private static int comparar(int comuns1, int uniao1, int comuns2, int uniao2) {
+            int porJaccard = Long.compare((long) comuns1 * uniao2, (long) comuns2 * uniao1);
+            return porJaccard != 0 ? porJaccard : Integer.compare(comuns1, comuns2);
+        }
+
+        private int comparar(int i, int j) {
+            return comparar(comuns[i], unioes[i], comuns[j], unioes[j]);
+        }
+
+        private void subir(int i) {
+            while (i > 0) {
+                int pai = (i - 1) / 2;
+                if (comparar(i, pai) >= 0) {
+                    return;
+                }
+                trocar(i, pai);
+                i = pai;
+            }
+        }
+
+        private void descer(int i) {
+            while (true) {
+                int menor = i;
+                int esquerda = 2 * i + 1;
+                int direita = esquerda + 1;
+                if (esquerda < tamanho && comparar(esquerda, menor) < 0) {
+                    menor = esquerda;
+                }
+                if (direita < tamanho && comparar(direita, menor) < 0) {
+                    menor = direita;
+                }
+                if (menor == i) {
+                    return;
+                }
+                trocar(i, menor);
+                i = menor;
+            }
+        }
+
+        private void definir(int i, int posicao, int comunsCandidato, int uniaoCandidato) {
+            posicoes[i] = posicao;
+            comuns[i] = comunsCandidato;
+            unioes[i] = uniaoCandidato;
+        }
+
+        private void trocar(int i, int j) {
+            int posicao = posicoes[i];
+            int comunsI = comuns[i];
+            int uniaoI = unioes[i];
+            definir(i, posicoes[j], comuns[j], unioes[j]);
+            definir(j, posicao, comunsI, uniaoI);
+        }
+    }
+
+    /**
+     * Compatibilidade imutável de um perfil com a busca
+     */
+    public static class Compatibilidade {
+        private final String perfilId;
+        private final int habilidadesEmComum;
+        private final int percentual;
+
+        private Compatibilidade(String perfilId, int habilidadesEmComum, int percentual) {
+            this.perfilId = perfilId;
+            this.habilidadesEmComum = habilidadesEmComum;
+            this.percentual = percentual;
+        }
+
+        public String getPerfilId() {
+            return perfilId;
+        }
+
+        public int getHabilidadesEmComum() {
+            return habilidadesEmComum;
+        }
+
+        /**
+         * @return Percentual de compatibilidade (0-100), na mesma escala de PerfilUsuario.calcularCompatibilidade
+         */
+        public int getPercentual() {
+            return percentual;
+        }
+
+        @Override
+        public String toString() {
+            return "Compatibilidade{" +
+                    "perfilId='" + perfilId + '\'' +
+                    ", habilidadesEmComum=" + habilidadesEmComum +
+                    ", percentual=" + percentual +
+                    '}';
+        }
+    }
+}
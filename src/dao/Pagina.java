@@ -0,0 +1,50 @@
+package dao;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Página de resultados de uma consulta paginada.
+ *
+ * @param <T> Tipo dos itens
+ */
+public class Pagina<T> {
+    private final List<T> itens;
+    private final String proximoCursor;
+
+    public Pagina(List<T> itens, String proximoCursor) {
+        this.itens = itens != null ? itens : new ArrayList<>();
+        this.proximoCursor = proximoCursor;
+    }
+
+    public List<T> getItens() {
+        return new ArrayList<>(itens); // Retorna uma cópia da lista
+    }
+
+    /**
+     * @return Cursor para pedir a próxima página, ou null se esta for a última
+     */
+    public String getProximoCursor() {
+        return proximoCursor;
+    }
+
+    public boolean temProxima() {
+        return proximoCursor != null;
+    }
+
+    public int getTamanho() {
+        return itens.size();
+    }
+
+    public boolean isVazia() {
+        return itens.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "Pagina{" +
+                "itens=" + itens.size() +
+                ", temProxima=" + temProxima() +
+                '}';
+    }
+}
@@ -1,81 +1,232 @@
 package dao;
 
+import bd.ConnectionFactory;
+import bd.ProvedorConexao;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 import modelo.PerfilUsuario;
 
 public class PerfilUsuarioDAO implements BaseDAO<PerfilUsuario> {
 
-    private Connection connection;
+    private static final String SQL_INSERIR =
+            "INSERT INTO perfil_usuario (id, usuario_id, biografia, foto_perfil_uri, habilidades) VALUES (?, ?, ?, ?, ?)";
+
+    // Colunas lidas por criarPerfil, na ordem dos índices
+    private static final String SQL_SELECIONAR =
+            "SELECT id, biografia, foto_perfil_uri, habilidades, usuario_id FROM perfil_usuario";
+
+    private static final String SQL_INSERIR_HABILIDADE =
+            "INSERT INTO perfil_habilidade (perfil_id, habilidade) VALUES (?, ?)";
+
+    private static final ChavePaginacao<PerfilUsuario> CHAVE_PAGINACAO = ChavePaginacao.porId("id");
+
+    private static volatile CacheEntidades<PerfilUsuario> cache = new CacheLRU<>(1_000, Duration.ofMinutes(5));
+
+    private ProvedorConexao provedor;
+
+    public PerfilUsuarioDAO() {
+        this(new ConnectionFactory());
+    }
 
     public PerfilUsuarioDAO(Connection connection) {
-        this.connection = connection;
+        this(ProvedorConexao.fixo(connection));
+    }
+
+    public PerfilUsuarioDAO(ProvedorConexao provedor) {
+        this.provedor = MetricasDAO.instrumentar(provedor);
+    }
+
+    /**
+     * Substitui o cache usado pelo buscarPorId de todos os PerfilUsuarioDAO
+     *
+     * @param novoCache Cache a ser usado; CacheEntidades.desativado() desliga o cache
+     */
+    public static void configurarCache(CacheEntidades<PerfilUsuario> novoCache) {
+        if (novoCache == null) {
+            throw new IllegalArgumentException("O cache não pode ser nulo");
+        }
+        cache = novoCache;
+    }
+
+    public static CacheEntidades<PerfilUsuario> getCache() {
+        return cache;
     }
 
     public void criarTabela() throws SQLException {
         String sql = """
             CREATE TABLE IF NOT EXISTS perfil_usuario (
-                id VARCHAR(36) PRIMARY KEY,
+                id BINARY(16) PRIMARY KEY,
                 biografia TEXT,
                 foto_perfil_uri VARCHAR(255),
-                habilidades TEXT
+                habilidades TEXT,
+                usuario_id BINARY(16),
+                INDEX idx_perfil_usuario_usuario (usuario_id),
+                FOREIGN KEY (usuario_id) REFERENCES usuario(id)
             )
         """;
 
-        try (java.sql.Statement stmt = connection.createStatement()) {
+        try (Connection connection = provedor.obterConexao();
+             java.sql.Statement stmt = connection.createStatement()) {
             stmt.execute(sql);
         }
     }
 
+    /**
+     * Cria perfil_habilidade, o índice das habilidades: uma linha por perfil e habilidade.
+     * A coluna habilidades continua sendo gravada e é dela que o perfil é montado.
+     * Bancos existentes são preenchidos pela migração que chama migrarHabilidades.
+     */
+    public void criarTabelaHabilidades() throws SQLException {
+        String sql = """
+            CREATE TABLE IF NOT EXISTS perfil_habilidade (
+                perfil_id BINARY(16) NOT NULL,
+                habilidade VARCHAR(100) NOT NULL,
+                PRIMARY KEY (perfil_id, habilidade),
+                INDEX idx_perfil_habilidade_habilidade (habilidade, perfil_id),
+                FOREIGN KEY (perfil_id) REFERENCES perfil_usuario(id) ON DELETE CASCADE
+            )
+        """;
+
+        try (Connection connection = provedor.obterConexao();
+             java.sql.Statement stmt = connection.createStatement()) {
+            stmt.execute(sql);
+        }
+    }
+
+    /**
+     * Preenche perfil_habilidade a partir da coluna habilidades (separada por vírgulas)
+     * de todos os perfis. Habilidades já indexadas são ignoradas.
+     *
+     * Os perfis são lidos uma página por vez e cada página é gravada depois de lida, sem
+     * cursor aberto durante a escrita: com ProvedorConexao.fixo ou dentro de uma
+     * UnidadeDeTrabalho, leitura e escrita usam a mesma conexão física.
+     *
+     * @return Quantidade de habilidades inseridas
+     */
+    public int migrarHabilidades() {
+        String sql = "INSERT IGNORE INTO perfil_habilidade (perfil_id, habilidade) VALUES (?, ?)";
+
+        int inseridas = 0;
+        RequisicaoPagina requisicao = new RequisicaoPagina(RequisicaoPagina.TAMANHO_MAXIMO);
+        while (requisicao != null) {
+            Pagina<PerfilUsuario> pagina = listarPagina(requisicao);
+
+            try (Connection connection = provedor.obterConexao();
+                 PreparedStatement pstm = connection.prepareStatement(sql)) {
+                int pendentes = 0;
+                for (PerfilUsuario perfil : pagina.getItens()) {
+                    for (String habilidade : perfil.getHabilidades()) {
+                        ColunaId.definir(pstm, 1, perfil.getId());
+                        pstm.setString(2, habilidade);
+                        pstm.addBatch();
+                        pendentes++;
+                    }
+                }
+                if (pendentes > 0) {
+                    inseridas += contarInseridas(pstm.executeBatch());
+                }
+            } catch (SQLException e) {
+                throw new RuntimeException("Erro ao migrar habilidades dos perfis: " + e.getMessage());
+            }
+            requisicao = requisicao.proxima(pagina);
+        }
+        return inseridas;
+    }
+
+    private static int contarInseridas(int[] resultados) {
+        int inseridas = 0;
+        for (int resultado : resultados) {
+            // Com rewriteBatchedStatements o driver pode não informar a contagem por linha
+            inseridas += resultado == java.sql.Statement.SUCCESS_NO_INFO ? 1 : resultado;
+        }
+        return inseridas;
+    }
+
     @Override
     public void salvar(PerfilUsuario perfil) {
         try {
-            String sql = "INSERT INTO perfil_usuario (id, biografia, foto_perfil_uri, habilidades) VALUES (?, ?, ?, ?)";
+            Transacao.executar(provedor, connection -> {
+                try (PreparedStatement pstm = connection.prepareStatement(SQL_INSERIR)) {
+                    preencherInsercao(pstm, perfil);
+                    pstm.execute();
+                }
+                inserirHabilidades(connection, List.of(perfil));
+                return null;
+            });
+            UnidadeDeTrabalho.aposConfirmar(provedor, () -> MotorCompatibilidade.getInstancia().registrar(List.of(perfil)));
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
 
-            try (PreparedStatement pstm = connection.prepareStatement(sql)) {
-                pstm.setString(1, perfil.getId());
-                pstm.setString(2, perfil.getBiografia());
-                pstm.setString(3, perfil.getFotoPerfilUri());
-                // Converte o conjunto de habilidades em uma string separada por vírgulas
-                String habilidadesStr = String.join(",", perfil.getHabilidades());
-                pstm.setString(4, habilidadesStr);
+    @Override
+    public ResultadoLote<PerfilUsuario> salvarEmLote(Collection<PerfilUsuario> perfis, int tamanhoLote) {
+        ResultadoLote<PerfilUsuario> resultado = ExecutorLote.executar(provedor, SQL_INSERIR, perfis, tamanhoLote,
+                this::preencherInsercao, this::inserirHabilidades);
 
-                pstm.execute();
+        UnidadeDeTrabalho.aposConfirmar(provedor, () -> {
+            List<PerfilUsuario> salvos = new ArrayList<>();
+            resultado.paraCadaSalvo(perfis, salvos::add);
+            MotorCompatibilidade.getInstancia().registrar(salvos);
+        });
+        return resultado;
+    }
+
+    private void inserirHabilidades(Connection connection, List<PerfilUsuario> perfis) throws SQLException {
+        try (PreparedStatement pstm = connection.prepareStatement(SQL_INSERIR_HABILIDADE)) {
+            int pendentes = 0;
+            for (PerfilUsuario perfil : perfis) {
+                for (String habilidade : perfil.getHabilidades()) {
+                    ColunaId.definir(pstm, 1, perfil.getId());
+                    pstm.setString(2, habilidade);
+                    pstm.addBatch();
+                    pendentes++;
+                }
+            }
+            if (pendentes > 0) {
+                pstm.executeBatch();
             }
-        } catch (SQLException e) {
-            throw new RuntimeException(e);
         }
     }
 
+    private void preencherInsercao(PreparedStatement pstm, PerfilUsuario perfil) throws SQLException {
+        ColunaId.definir(pstm, 1, perfil.getId());
+        ColunaId.definir(pstm, 2, perfil.getUsuarioId());
+        pstm.setString(3, perfil.getBiografia());
+        pstm.setString(4, perfil.getFotoPerfilUri());
+        // Converte o conjunto de habilidades em uma string separada por vírgulas
+        String habilidadesStr = String.join(",", perfil.getHabilidades());
+        pstm.setString(5, habilidadesStr);
+    }
+
     @Override
     public Object buscarPorId(String id) {
+        if (UnidadeDeTrabalho.emTransacao(provedor)) {
+            return buscarPorIdNoBanco(id);
+        }
+        return cache.obter(id, this::buscarPorIdNoBanco, this::copiarPerfil);
+    }
+
+    private PerfilUsuario buscarPorIdNoBanco(String id) {
         try {
-            String sql = "SELECT id, biografia, foto_perfil_uri, habilidades FROM perfil_usuario WHERE id = ?";
+            String sql = SQL_SELECIONAR + " WHERE id = ?";
 
-            try (PreparedStatement pstm = connection.prepareStatement(sql)) {
-                pstm.setString(1, id);
+            try (Connection connection = provedor.obterConexao();
+                 PreparedStatement pstm = connection.prepareStatement(sql)) {
+                ColunaId.definir(pstm, 1, id);
 
                 pstm.execute();
                 ResultSet rst = pstm.getResultSet();
                 while (rst.next()) {
-                    String biografia = rst.getString("biografia");
-                    String fotoPerfilUri = rst.getString("foto_perfil_uri");
-
-                    PerfilUsuario perfil = new PerfilUsuario(id, biografia, fotoPerfilUri);
-
-                    String habilidadesStr = rst.getString("habilidades");
-                    if (habilidadesStr != null && !habilidadesStr.trim().isEmpty()) {
-                        for (String habilidade : habilidadesStr.split(",")) {
-                            if (!habilidade.trim().isEmpty()) {
-                                perfil.adicionarHabilidade(habilidade.trim());
-                            }
-                        }
-                    }
-
-                    return perfil;
+                    return criarPerfil(rst);
                 }
             }
             return null;
@@ -84,31 +235,29 @@ public class PerfilUsuarioDAO implements BaseDAO<PerfilUsuario> {
         }
     }
 
+    @Override
+    public Map<String, PerfilUsuario> buscarPorIds(Collection<String> ids) {
+        return ConsultaPorIds.buscar(provedor, SQL_SELECIONAR, null, "id", ids,
+                PerfilUsuarioDAO::criarPerfil, "Erro ao buscar perfis de usuário");
+    }
+
+    /**
+     * @deprecated Carrega todas as linhas de uma vez; use {@link #listarPagina(RequisicaoPagina)} ou {@link #listarTodosStream()}
+     */
+    @Deprecated
     @Override
     public ArrayList<PerfilUsuario> listarTodosLazyLoading() {
         ArrayList<PerfilUsuario> perfis = new ArrayList<>();
 
         try {
-            String sql = "SELECT id, biografia, foto_perfil_uri, habilidades FROM perfil_usuario";
+            String sql = SQL_SELECIONAR;
 
-            try (PreparedStatement pstm = connection.prepareStatement(sql)) {
+            try (Connection connection = provedor.obterConexao();
+                 PreparedStatement pstm = connection.prepareStatement(sql)) {
                 pstm.execute();
                 ResultSet rst = pstm.getResultSet();
                 while (rst.next()) {
-                    String id = rst.getString("id");
-                    String biografia = rst.getString("biografia");
-                    String fotoPerfilUri = rst.getString("foto_perfil_uri");
-
-                    PerfilUsuario perfil = new PerfilUsuario(id, biografia, fotoPerfilUri);
-
-                    String habilidadesStr = rst.getString("habilidades");
-                    if (habilidadesStr != null && !habilidadesStr.isEmpty()) {
-                        for (String habilidade : habilidadesStr.split(",")) {
-                              perfil.adicionarHabilidade(habilidade);
-                        }
-                    }
-
-                    perfis.add(perfil);
+                    perfis.add(criarPerfil(rst));
                 }
             }
             return perfis;
@@ -117,24 +266,75 @@ public class PerfilUsuarioDAO implements BaseDAO<PerfilUsuario> {
         }
     }
 
+    @Override
+    public Stream<PerfilUsuario> listarTodosStream() {
+        String sql = SQL_SELECIONAR;
+        return CursorStream.abrir(provedor, sql, PerfilUsuarioDAO::criarPerfil, "Erro ao listar perfis de usuário");
+    }
+
+    @Override
+    public Pagina<PerfilUsuario> listarPagina(RequisicaoPagina requisicao) {
+        String sql = SQL_SELECIONAR;
+        return ConsultaPaginada.buscar(provedor, sql, CHAVE_PAGINACAO, requisicao,
+                PerfilUsuarioDAO::criarPerfil, "Erro ao listar perfis de usuário");
+    }
+
+    /**
+     * Cria o perfil a partir de uma linha lida com SQL_SELECIONAR, por índice
+     */
+    private static PerfilUsuario criarPerfil(ResultSet rst) throws SQLException {
+        PerfilUsuario perfil = new PerfilUsuario(ColunaId.ler(rst, 1), rst.getString(2), rst.getString(3));
+        perfil.setUsuarioId(ColunaId.ler(rst, 5));
+
+        String habilidadesStr = rst.getString(4);
+        if (habilidadesStr != null && !habilidadesStr.trim().isEmpty()) {
+            for (String habilidade : habilidadesStr.split(",")) {
+                if (!habilidade.trim().isEmpty()) {
+                    perfil.adicionarHabilidade(habilidade.trim());
+                }
+            }
+        }
+
+        return perfil;
+    }
+
+    private PerfilUsuario copiarPerfil(PerfilUsuario origem) {
+        PerfilUsuario perfil = new PerfilUsuario(origem.getId(), origem.getBiografia(), origem.getFotoPerfilUri());
+        perfil.setHabilidades(origem.getHabilidades());
+        perfil.setUsuarioId(origem.getUsuarioId());
+        return perfil;
+    }
+
     @Override
     public void atualizar(PerfilUsuario perfil) {
         try {
-            String sql = "UPDATE perfil_usuario SET biografia = ?, foto_perfil_uri = ?, habilidades = ? WHERE id = ?";
+            String sql = "UPDATE perfil_usuario SET biografia = ?, foto_perfil_uri = ?, habilidades = ?, usuario_id = ? WHERE id = ?";
 
-            try (PreparedStatement pstm = connection.prepareStatement(sql)) {
-                pstm.setString(1, perfil.getBiografia());
-                pstm.setString(2, perfil.getFotoPerfilUri());
-                String habilidadesStr = perfil.getHabilidades() != null ? String.join(",", perfil.getHabilidades()) : "";
-                pstm.setString(3, habilidadesStr);
-                pstm.setString(4, perfil.getId());
+            Transacao.executar(provedor, connection -> {
+                try (PreparedStatement pstm = connection.prepareStatement(sql)) {
+                    pstm.setString(1, perfil.getBiografia());
+                    pstm.setString(2, perfil.getFotoPerfilUri());
+                    String habilidadesStr = perfil.getHabilidades() != null ? String.join(",", perfil.getHabilidades()) : "";
+                    pstm.setString(3, habilidadesStr);
+                    ColunaId.definir(pstm, 4, perfil.getUsuarioId());
+                    ColunaId.definir(pstm, 5, perfil.getId());
 
-                int linhasAfetadas = pstm.executeUpdate();
+                    int linhasAfetadas = pstm.executeUpdate();
+                    UnidadeDeTrabalho.aposConfirmar(provedor, () -> cache.invalidar(perfil.getId()));
 
-                if (linhasAfetadas == 0) {
-                    throw new SQLException("Falha ao atualizar: nenhuma linha foi afetada.");
+                    if (linhasAfetadas == 0) {
+                        throw new SQLException("Falha ao atualizar: nenhuma linha foi afetada.");
+                    }
                 }
-            }
+
+                try (PreparedStatement pstm = connection.prepareStatement("DELETE FROM perfil_habilidade WHERE perfil_id = ?")) {
+                    ColunaId.definir(pstm, 1, perfil.getId());
+                    pstm.executeUpdate();
+                }
+                inserirHabilidades(connection, List.of(perfil));
+                return null;
+            });
+            UnidadeDeTrabalho.aposConfirmar(provedor, () -> MotorCompatibilidade.getInstancia().registrar(List.of(perfil)));
         } catch (SQLException e) {
             throw new RuntimeException("Erro ao atualizar perfil de usuário: " + e.getMessage());
         }
@@ -145,15 +345,18 @@ public class PerfilUsuarioDAO implements BaseDAO<PerfilUsuario> {
         try {
             String sql = "DELETE FROM perfil_usuario WHERE id = ?";
 
-            try (PreparedStatement pstm = connection.prepareStatement(sql)) {
-                pstm.setString(1, id);
+            try (Connection connection = provedor.obterConexao();
+                 PreparedStatement pstm = connection.prepareStatement(sql)) {
+                ColunaId.definir(pstm, 1, id);
 
                 int linhasAfetadas = pstm.executeUpdate();
+                UnidadeDeTrabalho.aposConfirmar(provedor, () -> cache.invalidar(id));
 
                 if (linhasAfetadas == 0) {
                     throw new SQLException("Falha ao deletar: nenhuma linha foi afetada.");
                 }
             }
+            UnidadeDeTrabalho.aposConfirmar(provedor, () -> MotorCompatibilidade.getInstancia().remover(id));
         } catch (SQLException e) {
             throw new RuntimeException(e);
         }
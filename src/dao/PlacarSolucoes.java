@@ -0,0 +1,351 @@
+package dao;
+
+import bd.ProvedorConexao;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Ranking das soluções por média de notas mantido em memória.
+ *
+ * Guarda o total e a soma das notas de cada solução avaliada e uma skip list ordenada por
+ * média (e, no empate, por quantidade de avaliações) com as soluções que têm o mínimo de
+ * avaliações para entrar no ranking. A leitura das N primeiras posições percorre apenas
+ * N nós da lista e não consulta o banco.
+ *
+ * O placar é carregado do banco uma vez e depois ajustado pelos DAOs após cada gravação de
+ * avaliação. Exclusões em cascata retiram só as soluções removidas. Gravações feitas fora dos DAOs, ou
+ * desfeitas pela transação do chamador, só aparecem depois de um novo carregar().
+ * Uma solução que entra no placar é lida do banco já com as avaliações confirmadas até ali,
+ * e as gravações concorrentes ainda por aplicar são somadas de novo; essas diferenças,
+ * como as de outros processos, são corrigidas pela reconciliação periódica.
+ */
+public class PlacarSolucoes {
+
+    public static final int MINIMO_AVALIACOES = 3;
+
+    private static final String SQL_POSICOES = """
+        SELECT s.id, s.titulo, s.usuario_id, u.nome, s.total_avaliacoes, s.soma_notas
+        FROM solucoes s
+        INNER JOIN usuario u ON s.usuario_id = u.id
+        """;
+
+    // Compara as médias sem divisão: soma1 / total1 > soma2 / total2 <=> soma1 * total2 > soma2 * total1
+    private static final Comparator<Posicao> ORDEM = (a, b) -> {
+        int porMedia = Long.compare((long) b.somaNotas * a.totalAvaliacoes, (long) a.somaNotas * b.totalAvaliacoes);
+        if (porMedia != 0) {
+            return porMedia;
+        }
+        int porTotal = Integer.compare(b.totalAvaliacoes, a.totalAvaliacoes);
+        return porTotal != 0 ? porTotal : a.solucaoId.compareTo(b.solucaoId);
+    };
+
+    private static final PlacarSolucoes INSTANCIA = new PlacarSolucoes();
+
+    private final Map<String, Posicao> posicoes = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListSet<Posicao> ranking = new ConcurrentSkipListSet<>(ORDEM);
+    private final LongAdder reconciliacoes = new LongAdder();
+    private final LongAdder correcoes = new LongAdder();
+    private volatile boolean carregado;
+    private ScheduledExecutorService agendador;
+
+    private PlacarSolucoes() {
+    }
+
+    public static PlacarSolucoes getInstancia() {
+        return INSTANCIA;
+    }
+
+    /**
+     * Lê do banco os agregados de todas as soluções avaliadas, substituindo o placar atual
+     *
+     * @param provedor Provedor de conexões usado na leitura
+     */
+    public synchronized void carregar(ProvedorConexao provedor) {
+        substituir(lerPosicoes(provedor));
+        carregado = true;
+    }
+
+    /**
+     * Relê os agregados do banco e substitui o placar, se ele estiver carregado
+     *
+     * @param provedor Provedor de conexões usado na leitura
+     */
+    public synchronized void reconciliar(ProvedorConexao provedor) {
+        if (!carregado) {
+            return;
+        }
+
+        List<Posicao> lidas = lerPosicoes(provedor);
+        if (divergem(lidas)) {
+            correcoes.increment();
+        }
+        substituir(lidas);
+        reconciliacoes.increment();
+    }
+
+    /**
+     * Agenda a reconciliação em uma thread em segundo plano
+     *
+     * @param provedor Provedor de conexões usado na leitura
+     * @param intervaloMs Intervalo entre reconciliações, em milissegundos
+     */
+    public synchronized void iniciarReconciliacao(ProvedorConexao provedor, long intervaloMs) {
+        if (intervaloMs <= 0) {
+            throw new IllegalArgumentException("O intervalo de reconciliação deve ser maior que zero");
+        }
+        pararReconciliacao();
+        agendador = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "placar-solucoes-reconciliacao");
+            thread.setDaemon(true);
+            return thread;
+        });
+        agendador.scheduleWithFixedDelay(() -> {
+            try {
+                reconciliar(provedor);
+            } catch (RuntimeException e) {
+                System.err.println("Erro na reconciliação do placar de soluções: " + e.getMessage());
+            }
+        }, intervaloMs, intervaloMs, TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void pararReconciliacao() {
+        if (agendador != null) {
+            agendador.shutdownNow();
+            agendador = null;
+        }
+    }
+
+    public long getReconciliacoes() {
+        return reconciliacoes.sum();
+    }
+
+    /**
+     * @return Quantas vezes a reconciliação encontrou agregados diferentes do banco
+     */
+    public long getCorrecoes() {
+        return correcoes.sum();
+    }
+
+    public boolean isCarregado() {
+        return carregado;
+    }
+
+    /**
+     * Retorna as primeiras posições do ranking, sem consultar o banco
+     *
+     * @param limite Quantidade máxima de posições
+     * @return Posições em ordem decrescente de média
+     */
+    public List<Posicao> obterTop(int limite) {
+        List<Posicao> top = new ArrayList<>(Math.max(0, Math.min(limite, 100)));
+        for (Posicao posicao : ranking) {
+            if (top.size() >= limite) {
+                break;
+            }
+            top.add(posicao);
+        }
+        return top;
+    }
+
+    /**
+     * Aplica uma gravação de avaliação já confirmada no banco.
+     * Soluções que ainda não estão no placar são lidas do banco, já com a gravação incluída,
+     * fora do monitor do placar. Como a gravação já foi confirmada, uma falha nessa leitura só
+     * é registrada; a solução entra no placar na próxima reconciliação.
+     */
+    void registrarAvaliacao(ProvedorConexao provedor, String solucaoId, int deltaTotal, int deltaSoma) {
+        if (!carregado || solucaoId == null || aplicarDelta(solucaoId, deltaTotal, deltaSoma)) {
+            return;
+        }
+
+        Posicao lida;
+        try {
+            lida = lerPosicao(provedor, solucaoId);
+        } catch (SQLException e) {
+            System.err.println("Erro ao atualizar placar de soluções: " + e.getMessage());
+            return;
+        }
+        if (lida != null) {
+            incluirSeAusente(lida);
+        }
+    }
+
+    private synchronized boolean aplicarDelta(String solucaoId, int deltaTotal, int deltaSoma) {
+        Posicao atual = posicoes.get(solucaoId);
+        if (atual == null) {
+            return false;
+        }
+        definir(new Posicao(atual.solucaoId, atual.titulo, atual.autorId, atual.autor,
+                atual.totalAvaliacoes + deltaTotal, atual.somaNotas + deltaSoma));
+        return true;
+    }
+
+    // Outra gravação pode ter incluído a solução durante a leitura; a que chegou primeiro fica
+    private synchronized void incluirSeAusente(Posicao lida) {
+        if (!posicoes.containsKey(lida.solucaoId)) {
+            definir(lida);
+        }
+    }
+
+    synchronized void renomearSolucao(String solucaoId, String titulo) {
+        Posicao atual = posicoes.get(solucaoId);
+        if (atual != null) {
+            definir(new Posicao(atual.solucaoId, titulo, atual.autorId, atual.autor,
+                    atual.totalAvaliacoes, atual.somaNotas));
+        }
+    }
+
+    synchronized void renomearAutor(String usuarioId, String nome) {
+        // Cópia, pois definir() remove e reinsere as posições no mapa
+        for (Posicao atual : new ArrayList<>(posicoes.values())) {
+            if (atual.autorId.equals(usuarioId)) {
+                definir(new Posicao(atual.solucaoId, atual.titulo, atual.autorId, nome,
+                        atual.totalAvaliacoes, atual.somaNotas));
+            }
+        }
+    }
+
+    synchronized void remover(String solucaoId) {
+        Posicao atual = posicoes.remove(solucaoId);
+        if (atual != null) {
+            ranking.remove(atual);
+        }
+    }
+
+    /**
+     * Retira do placar as soluções removidas em cascata
+     */
+    synchronized void remover(Collection<String> solucaoIds) {
+        for (String solucaoId : solucaoIds) {
+            remover(solucaoId);
+        }
+    }
+
+    private static List<Posicao> lerPosicoes(ProvedorConexao provedor) {
+        List<Posicao> lidas = new ArrayList<>();
+
+        // O placar é compartilhado: lê apenas dados confirmados
+        try (Connection connection = UnidadeDeTrabalho.foraDaTransacao(provedor).obterConexao();
+             PreparedStatement pstm = connection.prepareStatement(SQL_POSICOES + " WHERE s.total_avaliacoes > 0");
+             ResultSet rs = pstm.executeQuery()) {
+
+            while (rs.next()) {
+                lidas.add(criarPosicao(rs));
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao carregar placar de soluções: " + e.getMessage());
+        }
+        return lidas;
+    }
+
+    private void substituir(List<Posicao> lidas) {
+        posicoes.clear();
+        ranking.clear();
+        for (Posicao posicao : lidas) {
+            definir(posicao);
+        }
+    }
+
+    private boolean divergem(List<Posicao> lidas) {
+        if (lidas.size() != posicoes.size()) {
+            return true;
+        }
+        for (Posicao lida : lidas) {
+            Posicao atual = posicoes.get(lida.solucaoId);
+            if (atual == null || atual.totalAvaliacoes != lida.totalAvaliacoes || atual.somaNotas != lida.somaNotas) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Posicao lerPosicao(ProvedorConexao provedor, String solucaoId) throws SQLException {
+        try (Connection connection = UnidadeDeTrabalho.foraDaTransacao(provedor).obterConexao();
+             PreparedStatement pstm = connection.prepareStatement(SQL_POSICOES + " WHERE s.id = ?")) {
+            ColunaId.definir(pstm, 1, solucaoId);
+
+            try (ResultSet rs = pstm.executeQuery()) {
+                return rs.next() ? criarPosicao(rs) : null;
+            }
+        }
+    }
+
+    private void definir(Posicao nova) {
+        Posicao anterior = posicoes.remove(nova.solucaoId);
+        if (anterior != null) {
+            ranking.remove(anterior);
+        }
+        if (nova.totalAvaliacoes > 0) {
+            posicoes.put(nova.solucaoId, nova);
+            if (nova.totalAvaliacoes >= MINIMO_AVALIACOES) {
+                ranking.add(nova);
+            }
+        }
+    }
+
+    private static Posicao criarPosicao(ResultSet rs) throws SQLException {
+        return new Posicao(ColunaId.ler(rs, "id"), rs.getString("titulo"), ColunaId.ler(rs, "usuario_id"),
+                rs.getString("nome"), rs.getInt("total_avaliacoes"), rs.getInt("soma_notas"));
+    }
+
+    /**
+     * Posição imutável de uma solução no placar
+     */
+    public static class Posicao {
+        private final String solucaoId;
+        private final String titulo;
+        private final String autorId;
+        private final String autor;
+        private final int totalAvaliacoes;
+        private final int somaNotas;
+
+        private Posicao(String solucaoId, String titulo, String autorId, String autor,
+                        int totalAvaliacoes, int somaNotas) {
+            this.solucaoId = solucaoId;
+            this.titulo = titulo;
+            this.autorId = autorId;
+            this.autor = autor;
+            this.totalAvaliacoes = totalAvaliacoes;
+            this.somaNotas = somaNotas;
+        }
+
+        public String getSolucaoId() {
+            return solucaoId;
+        }
+
+        public String getTitulo() {
+            return titulo;
+        }
+
+        public String getAutor() {
+            return autor;
+        }
+
+        public int getTotalAvaliacoes() {
+            return totalAvaliacoes;
+        }
+
+        public double getMedia() {
+            return totalAvaliacoes == 0 ? 0.0 : (double) somaNotas / totalAvaliacoes;
+        }
+
+        @Override
+        public String toString() {
+            return "Posicao{solucao='" + titulo + "', autor='" + autor + "', media="
+                    + String.format("%.2f", getMedia()) + ", avaliacoes=" + totalAvaliacoes + '}';
+        }
+    }
+}
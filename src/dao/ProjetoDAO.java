@@ -1,66 +1,186 @@
 package dao;
 
+import bd.ConnectionFactory;
+import bd.ProvedorConexao;
+import dao.ContadoresPainel.Categoria;
+import dao.IndiceBusca.TipoDocumento;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
+import modelo.GeradorId;
 import modelo.Projeto;
-import modelo.Tarefa;
+import modelo.ResumoProjeto;
 import modelo.Usuario;
 
 public class ProjetoDAO implements BaseDAO<Projeto> {
 
-    private Connection connection;
+    private static final String SQL_INSERIR =
+            "INSERT INTO projetos (id, titulo, descricao, usuario_id, status) VALUES (?, ?, ?, ?, ?)";
+
+    private static final String SQL_ATUALIZAR = "UPDATE projetos SET titulo = ?, descricao = ?, status = ? WHERE id = ?";
+
+    // Colunas lidas por criarProjeto, na ordem dos índices
+    static final String COLUNAS = "id, titulo, descricao, usuario_id, status, data_criacao, data_conclusao";
+    private static final String SQL_SELECIONAR = "SELECT " + COLUNAS + " FROM projetos";
+    // Listagens não trazem a descrição (TEXT)
+    private static final String SQL_SELECIONAR_RESUMO =
+            "SELECT id, titulo, status, usuario_id, data_criacao, data_conclusao FROM projetos";
+
+    private static final ChavePaginacao<Projeto> CHAVE_PAGINACAO =
+            ChavePaginacao.recentesPrimeiro("data_criacao", "id", Projeto::getDataCriacao);
+    private static final ChavePaginacao<ResumoProjeto> CHAVE_PAGINACAO_RESUMO =
+            ChavePaginacao.recentesPrimeiro("data_criacao", "id", ResumoProjeto::getDataCriacao);
+
+    private static volatile CacheEntidades<Projeto> cache = CacheEntidades.desativado();
+
+    private ProvedorConexao provedor;
+
+    public ProjetoDAO() {
+        this(new ConnectionFactory());
+    }
 
     public ProjetoDAO(Connection connection) {
-        this.connection = connection;
+        this(ProvedorConexao.fixo(connection));
+    }
+
+    public ProjetoDAO(ProvedorConexao provedor) {
+        this.provedor = MetricasDAO.instrumentar(provedor);
+    }
+
+    /**
+     * Substitui o cache usado pelo buscarPorId de todos os ProjetoDAO
+     *
+     * @param novoCache Cache a ser usado; CacheEntidades.desativado() desliga o cache
+     */
+    public static void configurarCache(CacheEntidades<Projeto> novoCache) {
+        if (novoCache == null) {
+            throw new IllegalArgumentException("O cache não pode ser nulo");
+        }
+        cache = novoCache;
+    }
+
+    public static CacheEntidades<Projeto> getCache() {
+        return cache;
     }
 
     public void criarTabela() throws SQLException {
         String sql = """
             CREATE TABLE IF NOT EXISTS projetos (
-                id VARCHAR(36) PRIMARY KEY,
+                id BINARY(16) PRIMARY KEY,
                 titulo VARCHAR(100) NOT NULL,
                 descricao TEXT,
                 data_criacao TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
                 data_conclusao TIMESTAMP,
-                usuario_id VARCHAR(36),
+                usuario_id BINARY(16),
                 status VARCHAR(20) DEFAULT 'EM_ANDAMENTO',
                 FOREIGN KEY (usuario_id) REFERENCES usuario(id)
             )
         """;
 
-        try (var stmt = connection.createStatement()) {
+        try (Connection connection = provedor.obterConexao();
+             var stmt = connection.createStatement()) {
             stmt.execute(sql);
         }
     }
 
     @Override
     public void salvar(Projeto projeto) {
-        String sql = "INSERT INTO projetos (id, titulo, descricao, usuario_id, status) VALUES (?, ?, ?, ?, ?)";
-
-        try (PreparedStatement pstm = connection.prepareStatement(sql)) {
-            pstm.setString(1, projeto.getId());
-            pstm.setString(2, projeto.getTitulo());
-            pstm.setString(3, projeto.getDescricao());
-            pstm.setString(4, projeto.getUsuarioId());
-            pstm.setString(5, projeto.getStatus());
+        try (Connection connection = provedor.obterConexao();
+             PreparedStatement pstm = connection.prepareStatement(SQL_INSERIR)) {
+            preencherInsercao(pstm, projeto);
             pstm.execute();
+            UnidadeDeTrabalho.aposConfirmar(provedor, () -> {
+                ContadoresPainel.getInstancia().incrementar(Categoria.PROJETOS_POR_STATUS, projeto.getStatus());
+                indexar(projeto);
+            });
         } catch (SQLException e) {
             throw new RuntimeException("Erro ao salvar projeto: " + e.getMessage());
         }
     }
 
+    @Override
+    public ResultadoLote<Projeto> salvarEmLote(Collection<Projeto> projetos, int tamanhoLote) {
+        ResultadoLote<Projeto> resultado =
+                ExecutorLote.executar(provedor, SQL_INSERIR, projetos, tamanhoLote, this::preencherInsercao);
+        UnidadeDeTrabalho.aposConfirmar(provedor, () -> resultado.paraCadaSalvo(projetos, projeto -> {
+            ContadoresPainel.getInstancia().incrementar(Categoria.PROJETOS_POR_STATUS, projeto.getStatus());
+            indexar(projeto);
+        }));
+        return resultado;
+    }
+
+    private void indexar(Projeto projeto) {
+        IndiceBusca.getInstancia().indexar(TipoDocumento.PROJETO, projeto.getId(), projeto.getTitulo(), projeto.getDescricao());
+    }
+
+    /**
+     * Lê o status atual do projeto, para mover os contadores do painel.
+     * A leitura só é feita se os contadores estiverem carregados.
+     *
+     * @return Status atual, ou null se não houver contadores a atualizar ou o projeto não existir
+     */
+    private String lerStatus(Connection connection, String id) throws SQLException {
+        if (!ContadoresPainel.getInstancia().isCarregada(Categoria.PROJETOS_POR_STATUS)) {
+            return null;
+        }
+
+        try (PreparedStatement pstm = connection.prepareStatement("SELECT status FROM projetos WHERE id = ?")) {
+            ColunaId.definir(pstm, 1, id);
+            try (ResultSet rs = pstm.executeQuery()) {
+                return rs.next() ? rs.getString("status") : null;
+            }
+        }
+    }
+
+    /**
+     * Lê o status atual de vários projetos em uma consulta
+     *
+     * @return Status por id (no formato lido do banco); vazio se os contadores não estiverem em uso
+     */
+    private Map<String, String> lerStatus(Connection connection, Collection<Projeto> projetos) {
+        Map<String, String> status = new HashMap<>();
+        if (!ContadoresPainel.getInstancia().isCarregada(Categoria.PROJETOS_POR_STATUS)) {
+            return status;
+        }
+
+        List<String> ids = new ArrayList<>(projetos.size());
+        for (Projeto projeto : projetos) {
+            ids.add(projeto.getId());
+        }
+        for (String[] linha : ConsultaPorIds.listar(ProvedorConexao.fixo(connection), "SELECT id, status FROM projetos",
+                null, "id", ids, null, rs -> new String[]{ColunaId.ler(rs, 1), rs.getString(2)},
+                "Erro ao ler status dos projetos")) {
+            status.put(linha[0], linha[1]);
+        }
+        return status;
+    }
+
+    private void preencherInsercao(PreparedStatement pstm, Projeto projeto) throws SQLException {
+        ColunaId.definir(pstm, 1, projeto.getId());
+        pstm.setString(2, projeto.getTitulo());
+        pstm.setString(3, projeto.getDescricao());
+        ColunaId.definir(pstm, 4, projeto.getUsuarioId());
+        pstm.setString(5, projeto.getStatus());
+    }
+
+    /**
+     * @deprecated Carrega todas as linhas de uma vez; use {@link #buscarPorUsuario(String, RequisicaoPagina)}
+     */
+    @Deprecated
     public List<Projeto> buscarPorUsuario(String usuarioId) {
         List<Projeto> projetos = new ArrayList<>();
-        String sql = "SELECT * FROM projetos WHERE usuario_id = ?";
+        String sql = SQL_SELECIONAR + " WHERE usuario_id = ?";
 
-        try (PreparedStatement pstm = connection.prepareStatement(sql)) {
-            pstm.setString(1, usuarioId);
+        try (Connection connection = provedor.obterConexao();
+             PreparedStatement pstm = connection.prepareStatement(sql)) {
+            ColunaId.definir(pstm, 1, usuarioId);
 
             try (ResultSet rs = pstm.executeQuery()) {
                 while (rs.next()) {
@@ -73,12 +193,39 @@ public class ProjetoDAO implements BaseDAO<Projeto> {
         return projetos;
     }
 
+    public Pagina<Projeto> buscarPorUsuario(String usuarioId, RequisicaoPagina requisicao) {
+        return ConsultaPaginada.buscar(provedor, SQL_SELECIONAR, "usuario_id = ?",
+                pstm -> ColunaId.definir(pstm, 1, usuarioId), CHAVE_PAGINACAO, requisicao,
+                ProjetoDAO::criarProjeto, "Erro ao buscar projetos por usuário");
+    }
+
+    /**
+     * Lista os resumos dos projetos de um usuário, para telas de listagem
+     *
+     * @param usuarioId Identificador do usuário
+     * @param requisicao Página pedida
+     * @return Página de resumos, dos projetos mais recentes para os mais antigos
+     */
+    public Pagina<ResumoProjeto> buscarResumosPorUsuario(String usuarioId, RequisicaoPagina requisicao) {
+        return ConsultaPaginada.buscar(provedor, SQL_SELECIONAR_RESUMO, "usuario_id = ?",
+                pstm -> ColunaId.definir(pstm, 1, usuarioId), CHAVE_PAGINACAO_RESUMO, requisicao,
+                ProjetoDAO::criarResumo, "Erro ao buscar projetos por usuário");
+    }
+
     @Override
     public Object buscarPorId(String id) {
-        String sql = "SELECT * FROM projetos WHERE id = ?";
+        if (UnidadeDeTrabalho.emTransacao(provedor)) {
+            return buscarPorIdNoBanco(id);
+        }
+        return cache.obter(id, this::buscarPorIdNoBanco, this::copiarProjeto);
+    }
 
-        try (PreparedStatement pstm = connection.prepareStatement(sql)) {
-            pstm.setString(1, id);
+    private Projeto buscarPorIdNoBanco(String id) {
+        String sql = SQL_SELECIONAR + " WHERE id = ?";
+
+        try (Connection connection = provedor.obterConexao();
+             PreparedStatement pstm = connection.prepareStatement(sql)) {
+            ColunaId.definir(pstm, 1, id);
 
             try (ResultSet rs = pstm.executeQuery()) {
                 if (rs.next()) {
@@ -91,12 +238,23 @@ public class ProjetoDAO implements BaseDAO<Projeto> {
         return null;
     }
 
+    @Override
+    public Map<String, Projeto> buscarPorIds(Collection<String> ids) {
+        return ConsultaPorIds.buscar(provedor, SQL_SELECIONAR, null, "id", ids,
+                ProjetoDAO::criarProjeto, "Erro ao buscar projetos");
+    }
+
+    /**
+     * @deprecated Carrega todas as linhas de uma vez; use {@link #listarPagina(RequisicaoPagina)} ou {@link #listarTodosStream()}
+     */
+    @Deprecated
     @Override
     public ArrayList<Projeto> listarTodosLazyLoading() {
         ArrayList<Projeto> projetos = new ArrayList<>();
-        String sql = "SELECT * FROM projetos";
+        String sql = SQL_SELECIONAR;
 
-        try (PreparedStatement pstm = connection.prepareStatement(sql);
+        try (Connection connection = provedor.obterConexao();
+             PreparedStatement pstm = connection.prepareStatement(sql);
              ResultSet rs = pstm.executeQuery()) {
 
             while (rs.next()) {
@@ -109,84 +267,193 @@ public class ProjetoDAO implements BaseDAO<Projeto> {
     }
 
     @Override
-    public void atualizar(Projeto projeto) {
-        String sql = "UPDATE projetos SET titulo = ?, descricao = ?, status = ? WHERE id = ?";
+    public Stream<Projeto> listarTodosStream() {
+        String sql = SQL_SELECIONAR;
+        return CursorStream.abrir(provedor, sql, ProjetoDAO::criarProjeto, "Erro ao listar projetos");
+    }
+
+    @Override
+    public Pagina<Projeto> listarPagina(RequisicaoPagina requisicao) {
+        return ConsultaPaginada.buscar(provedor, SQL_SELECIONAR, CHAVE_PAGINACAO, requisicao,
+                ProjetoDAO::criarProjeto, "Erro ao listar projetos");
+    }
 
-        try (PreparedStatement pstm = connection.prepareStatement(sql)) {
-            pstm.setString(1, projeto.getTitulo());
-            pstm.setString(2, projeto.getDescricao());
-            pstm.setString(3, projeto.getStatus());
-            pstm.setString(4, projeto.getId());
+    /**
+     * Lista os resumos dos projetos, sem a descrição, para telas de listagem
+     *
+     * @param requisicao Página pedida
+     * @return Página de resumos, dos projetos mais recentes para os mais antigos
+     */
+    public Pagina<ResumoProjeto> listarResumos(RequisicaoPagina requisicao) {
+        return ConsultaPaginada.buscar(provedor, SQL_SELECIONAR_RESUMO, CHAVE_PAGINACAO_RESUMO, requisicao,
+                ProjetoDAO::criarResumo, "Erro ao listar projetos");
+    }
 
+    /**
+     * Busca projetos pelo título e pela descrição no índice de busca, do mais para do menos relevante
+     *
+     * @param consulta Texto livre da consulta
+     * @param requisicao Página pedida
+     * @return Página de projetos
+     */
+    public Pagina<Projeto> pesquisar(String consulta, RequisicaoPagina requisicao) {
+        return IndiceBusca.pesquisar(provedor, TipoDocumento.PROJETO, this, consulta, requisicao);
+    }
+
+    @Override
+    public void atualizar(Projeto projeto) {
+        try (Connection connection = provedor.obterConexao();
+             PreparedStatement pstm = connection.prepareStatement(SQL_ATUALIZAR)) {
+            preencherAtualizacao(pstm, projeto);
+
+            String statusAnterior = lerStatus(connection, projeto.getId());
             int rowsAffected = pstm.executeUpdate();
+            UnidadeDeTrabalho.aposConfirmar(provedor, () -> cache.invalidar(projeto.getId()));
             if (rowsAffected == 0) {
                 throw new SQLException("Atualização falhou: projeto não encontrado.");
             }
+            UnidadeDeTrabalho.aposConfirmar(provedor, () -> {
+                if (statusAnterior != null) {
+                    ContadoresPainel.getInstancia().mover(Categoria.PROJETOS_POR_STATUS, statusAnterior, projeto.getStatus());
+                }
+                indexar(projeto);
+            });
         } catch (SQLException e) {
             throw new RuntimeException("Erro ao atualizar projeto: " + e.getMessage());
         }
     }
 
     @Override
-    public void excluir(String id) {
-        // Primeiro, exclui todas as tarefas relacionadas
-        excluirTarefasRelacionadas(id);
+    public void atualizarEmLote(Collection<Projeto> projetos) {
+        if (projetos.isEmpty()) {
+            return;
+        }
+        Map<String, String> statusAnteriores;
+        try {
+            statusAnteriores = Transacao.executar(provedor, connection -> {
+                Map<String, String> anteriores = lerStatus(connection, projetos);
+                ExecutorLote.atualizar(connection, SQL_ATUALIZAR, projetos, TAMANHO_LOTE_PADRAO,
+                        this::preencherAtualizacao, "Atualização falhou: projeto não encontrado.");
+                return anteriores;
+            });
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao atualizar projetos: " + e.getMessage());
+        }
 
-        String sql = "DELETE FROM projetos WHERE id = ?";
+        UnidadeDeTrabalho.aposConfirmar(provedor, () -> {
+            for (Projeto projeto : projetos) {
+                cache.invalidar(projeto.getId());
+                String statusAnterior = statusAnteriores.get(GeradorId.deBytes(GeradorId.paraBytes(projeto.getId())));
+                if (statusAnterior != null) {
+                    ContadoresPainel.getInstancia().mover(Categoria.PROJETOS_POR_STATUS, statusAnterior, projeto.getStatus());
+                }
+                indexar(projeto);
+            }
+        });
+    }
 
-        try (PreparedStatement pstm = connection.prepareStatement(sql)) {
-            pstm.setString(1, id);
+    private void preencherAtualizacao(PreparedStatement pstm, Projeto projeto) throws SQLException {
+        pstm.setString(1, projeto.getTitulo());
+        pstm.setString(2, projeto.getDescricao());
+        pstm.setString(3, projeto.getStatus());
+        ColunaId.definir(pstm, 4, projeto.getId());
+    }
 
-            int rowsAffected = pstm.executeUpdate();
-            if (rowsAffected == 0) {
-                throw new SQLException("Exclusão falhou: projeto não encontrado.");
-            }
+    @Override
+    public void excluir(String id) {
+        excluirEmCascata(id);
+    }
+
+    /**
+     * Exclui o projeto e todas as suas tarefas, soluções e avaliações
+     * em uma única transação, com um comando por tabela.
+     *
+     * @param id Identificador do projeto
+     * @return Quantidade de linhas removidas por tabela
+     */
+    public ResultadoExclusao excluirEmCascata(String id) {
+        try {
+            ResultadoExclusao resultado = new ExclusaoEmCascata(provedor).excluirProjeto(id);
+            UnidadeDeTrabalho.aposConfirmar(provedor, () -> {
+                cache.invalidar(id);
+                ContadoresPainel.getInstancia().invalidar(Categoria.values());
+                List<String> tarefaIds = resultado.getIds("tarefas");
+                List<String> solucaoIds = resultado.getIds("solucoes");
+                PlacarSolucoes.getInstancia().remover(solucaoIds);
+                IndiceBusca.getInstancia().remover(TipoDocumento.PROJETO, id);
+                IndiceBusca.getInstancia().remover(TipoDocumento.TAREFA, tarefaIds);
+                IndiceBusca.getInstancia().remover(TipoDocumento.SOLUCAO, solucaoIds);
+                tarefaIds.forEach(TarefaDAO.getCache()::invalidar);
+                solucaoIds.forEach(SolucaoDAO.getCache()::invalidar);
+                // Os ids das avaliações removidas não são lidos
+                AvaliacaoDAO.getCache().limpar();
+            });
+            return resultado;
         } catch (SQLException e) {
             throw new RuntimeException("Erro ao excluir projeto: " + e.getMessage());
         }
     }
 
-    private void excluirTarefasRelacionadas(String projetoId) {
-        TarefaDAO tarefaDAO = new TarefaDAO(connection);
-        List<Tarefa> tarefas = tarefaDAO.buscarPorProjeto(projetoId);
+    /**
+     * Cria o projeto a partir de uma linha lida com COLUNAS, por índice
+     */
+    static Projeto criarProjeto(ResultSet rs) throws SQLException {
+        Projeto projeto = new Projeto(ColunaId.ler(rs, 1), rs.getString(2), rs.getString(3), ColunaId.ler(rs, 4));
+        projeto.setStatus(rs.getString(5));
+        projeto.setDataCriacao(rs.getTimestamp(6));
+        projeto.setDataConclusao(rs.getTimestamp(7));
+        return projeto;
+    }
 
-        for (Object obj : tarefas) {
-            tarefaDAO.excluir(((Tarefa)obj).getId());
-        }
+    private static ResumoProjeto criarResumo(ResultSet rs) throws SQLException {
+        return new ResumoProjeto(ColunaId.ler(rs, 1), rs.getString(2), rs.getString(3),
+                ColunaId.ler(rs, 4), rs.getTimestamp(5), rs.getTimestamp(6));
     }
 
-    private Projeto criarProjeto(ResultSet rs) throws SQLException {
+    private Projeto copiarProjeto(Projeto origem) {
         Projeto projeto = new Projeto();
-        projeto.setId(rs.getString("id"));
-        projeto.setTitulo(rs.getString("titulo"));
-        projeto.setDescricao(rs.getString("descricao"));
-        projeto.setUsuarioId(rs.getString("usuario_id"));
-        projeto.setStatus(rs.getString("status"));
-        projeto.setDataCriacao(rs.getTimestamp("data_criacao"));
-        projeto.setDataConclusao(rs.getTimestamp("data_conclusao"));
+        projeto.setId(origem.getId());
+        projeto.setTitulo(origem.getTitulo());
+        projeto.setDescricao(origem.getDescricao());
+        projeto.setUsuarioId(origem.getUsuarioId());
+        projeto.setStatus(origem.getStatus());
+        projeto.setDataCriacao(origem.getDataCriacao());
+        projeto.setDataConclusao(origem.getDataConclusao());
         return projeto;
     }
 
     public void concluirProjeto(String id) {
         String sql = "UPDATE projetos SET status = 'CONCLUIDO', data_conclusao = CURRENT_TIMESTAMP WHERE id = ?";
 
-        try (PreparedStatement pstm = connection.prepareStatement(sql)) {
-            pstm.setString(1, id);
+        try (Connection connection = provedor.obterConexao();
+             PreparedStatement pstm = connection.prepareStatement(sql)) {
+            ColunaId.definir(pstm, 1, id);
 
+            String statusAnterior = lerStatus(connection, id);
             int rowsAffected = pstm.executeUpdate();
+            UnidadeDeTrabalho.aposConfirmar(provedor, () -> cache.invalidar(id));
             if (rowsAffected == 0) {
                 throw new SQLException("Conclusão falhou: projeto não encontrado.");
             }
+            if (statusAnterior != null) {
+                UnidadeDeTrabalho.aposConfirmar(provedor, () ->
+                        ContadoresPainel.getInstancia().mover(Categoria.PROJETOS_POR_STATUS, statusAnterior, "CONCLUIDO"));
+            }
         } catch (SQLException e) {
             throw new RuntimeException("Erro ao concluir projeto: " + e.getMessage());
         }
     }
 
+    /**
+     * @deprecated Carrega todas as linhas de uma vez; use {@link #buscarProjetosAtivos(RequisicaoPagina)}
+     */
+    @Deprecated
     public List<Projeto> buscarProjetosAtivos() {
         List<Projeto> projetos = new ArrayList<>();
-        String sql = "SELECT * FROM projetos WHERE status = 'EM_ANDAMENTO'";
+        String sql = SQL_SELECIONAR + " WHERE status = 'EM_ANDAMENTO'";
 
-        try (PreparedStatement pstm = connection.prepareStatement(sql);
+        try (Connection connection = provedor.obterConexao();
+             PreparedStatement pstm = connection.prepareStatement(sql);
              ResultSet rs = pstm.executeQuery()) {
 
             while (rs.next()) {
@@ -198,11 +465,22 @@ public class ProjetoDAO implements BaseDAO<Projeto> {
         return projetos;
     }
 
+    public Pagina<Projeto> buscarProjetosAtivos(RequisicaoPagina requisicao) {
+        return ConsultaPaginada.buscar(provedor, SQL_SELECIONAR, "status = 'EM_ANDAMENTO'",
+                pstm -> { }, CHAVE_PAGINACAO, requisicao,
+                ProjetoDAO::criarProjeto, "Erro ao buscar projetos ativos");
+    }
+
+    /**
+     * @deprecated Carrega todas as linhas de uma vez; use {@link #buscarProjetosPorPeriodo(java.sql.Date, java.sql.Date, RequisicaoPagina)}
+     */
+    @Deprecated
     public List<Projeto> buscarProjetosPorPeriodo(java.sql.Date dataInicio, java.sql.Date dataFim) {
         List<Projeto> projetos = new ArrayList<>();
-        String sql = "SELECT * FROM projetos WHERE data_criacao BETWEEN ? AND ?";
+        String sql = SQL_SELECIONAR + " WHERE data_criacao BETWEEN ? AND ?";
 
-        try (PreparedStatement pstm = connection.prepareStatement(sql)) {
+        try (Connection connection = provedor.obterConexao();
+             PreparedStatement pstm = connection.prepareStatement(sql)) {
             pstm.setDate(1, dataInicio);
             pstm.setDate(2, dataFim);
 
@@ -217,27 +495,23 @@ public class ProjetoDAO implements BaseDAO<Projeto> {
         return projetos;
     }
 
-    public Map<String, Long> obterEstatisticasProjetos() {
-        Map<String, Long> estatisticas = new HashMap<>();
-        String sql = """
-            SELECT 
-                COUNT(*) as total,
-                SUM(CASE WHEN status = 'EM_ANDAMENTO' THEN 1 ELSE 0 END) as em_andamento,
-                SUM(CASE WHEN status = 'CONCLUIDO' THEN 1 ELSE 0 END) as concluidos
-            FROM projetos
-        """;
+    public Pagina<Projeto> buscarProjetosPorPeriodo(java.sql.Date dataInicio, java.sql.Date dataFim,
+                                                     RequisicaoPagina requisicao) {
+        return ConsultaPaginada.buscar(provedor, SQL_SELECIONAR, "data_criacao BETWEEN ? AND ?",
+                pstm -> {
+                    pstm.setDate(1, dataInicio);
+                    pstm.setDate(2, dataFim);
+                }, CHAVE_PAGINACAO, requisicao,
+                ProjetoDAO::criarProjeto, "Erro ao buscar projetos por período");
+    }
 
-        try (PreparedStatement pstm = connection.prepareStatement(sql);
-             ResultSet rs = pstm.executeQuery()) {
+    public Map<String, Long> obterEstatisticasProjetos() {
+        Map<String, Long> porStatus = ContadoresPainel.getInstancia().obter(Categoria.PROJETOS_POR_STATUS, provedor);
 
-            if (rs.next()) {
-                estatisticas.put("total", rs.getLong("total"));
-                estatisticas.put("em_andamento", rs.getLong("em_andamento"));
-                estatisticas.put("concluidos", rs.getLong("concluidos"));
-            }
-        } catch (SQLException e) {
-            throw new RuntimeException("Erro ao obter estatísticas dos projetos: " + e.getMessage());
-        }
+        Map<String, Long> estatisticas = new HashMap<>();
+        estatisticas.put("total", porStatus.values().stream().mapToLong(Long::longValue).sum());
+        estatisticas.put("em_andamento", porStatus.getOrDefault("EM_ANDAMENTO", 0L));
+        estatisticas.put("concluidos", porStatus.getOrDefault("CONCLUIDO", 0L));
         return estatisticas;
     }
 
@@ -250,8 +524,9 @@ public class ProjetoDAO implements BaseDAO<Projeto> {
             WHERE projeto_id = ?
         """;
 
-        try (PreparedStatement pstm = connection.prepareStatement(sql)) {
-            pstm.setString(1, projetoId);
+        try (Connection connection = provedor.obterConexao();
+             PreparedStatement pstm = connection.prepareStatement(sql)) {
+            ColunaId.definir(pstm, 1, projetoId);
 
             try (ResultSet rs = pstm.executeQuery()) {
                 if (rs.next()) {
@@ -272,22 +547,20 @@ public class ProjetoDAO implements BaseDAO<Projeto> {
     public List<Usuario> buscarEquipeProjeto(String projetoId) {
         List<Usuario> equipe = new ArrayList<>();
         String sql = """
-            SELECT DISTINCT u.* 
+            SELECT DISTINCT u.id, u.nome, u.email
             FROM usuario u 
             INNER JOIN tarefas t ON u.id = t.usuario_responsavel_id 
             WHERE t.projeto_id = ?
         """;
 
-        try (PreparedStatement pstm = connection.prepareStatement(sql)) {
-            pstm.setString(1, projetoId);
+        try (Connection connection = provedor.obterConexao();
+             PreparedStatement pstm = connection.prepareStatement(sql)) {
+            ColunaId.definir(pstm, 1, projetoId);
 
             try (ResultSet rs = pstm.executeQuery()) {
                 while (rs.next()) {
-                    Usuario membro = new Usuario();
-                    membro.setId(rs.getString("id"));
-                    membro.setNome(rs.getString("nome"));
-                    membro.setEmail(rs.getString("email"));
-                    equipe.add(membro);
+                    // A equipe é exibida com nome e email; o hash da senha não é lido
+                    equipe.add(new Usuario(ColunaId.ler(rs, 1), rs.getString(2), rs.getString(3), null));
                 }
             }
         } catch (SQLException e) {
@@ -0,0 +1,568 @@
+package dao;
+
+import bd.ConnectionFactory;
+import bd.ProvedorConexao;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Registro das consultas dos DAOs que passam do tempo limite.
+ *
+ * Cada execução lenta é registrada com o método de DAO que a fez, a impressão digital do SQL
+ * (literais trocados por ? e listas IN colapsadas, para agrupar variações da mesma consulta),
+ * os parâmetros vinculados, as linhas e o tempo. Parâmetros de colunas sensíveis, como
+ * senha_criptografada, aparecem como ***; o SQL original nunca é gravado, só a impressão digital.
+ *
+ * Na primeira vez em que uma impressão digital fica lenta, o EXPLAIN dela é executado em segundo
+ * plano, com os mesmos parâmetros, e o plano é guardado. Registros e planos são gravados em um
+ * arquivo local com rotação por tamanho (consultas-lentas.log, .1, .2, ...) pela mesma thread,
+ * então a consulta que ficou lenta não espera pelo disco nem pelo EXPLAIN.
+ *
+ * O tempo de uma consulta vai do execute() ao fechamento do ResultSet, incluindo a leitura das
+ * linhas. A captura é feita pela instrumentação do MetricasDAO e vale para os DAOs instrumentados.
+ */
+public class RegistroConsultasLentas {
+
+    private static final RegistroConsultasLentas INSTANCIA = new RegistroConsultasLentas();
+
+    private static final int MAXIMO_RECENTES = 100;
+    private static final int MAXIMO_PENDENTES = 1_000;
+    private static final int MAXIMO_TEXTO_PARAMETRO = 100;
+    private static final String OCULTO = "***";
+    private static final String PLANO_PENDENTE = "(pendente)";
+
+    private static final Pattern LITERAL_TEXTO = Pattern.compile("'(?:[^'\\\\]|\\\\.|'')*'");
+    private static final Pattern LITERAL_NUMERO = Pattern.compile("(?<![\\w$.])-?\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern LISTA_PARAMETROS = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern LISTA_TUPLAS = Pattern.compile("\\(\\?\\+\\)(?:\\s*,\\s*\\(\\?\\+\\))+");
+    private static final Pattern INSERT = Pattern.compile(
+            "^\\s*(?:INSERT|REPLACE)\\s+(?:IGNORE\\s+)?(?:INTO\\s+)?[\\w.`]+\\s*\\(([^)]*)\\)\\s*VALUES",
+            Pattern.CASE_INSENSITIVE);
+    private static final Pattern COMPARACAO = Pattern.compile(
+            "([\\w.`]+)\\s*(?:=|<>|!=|<=|>=|<|>|\\bLIKE)\\s*$", Pattern.CASE_INSENSITIVE);
+    private static final Pattern LISTA_IN = Pattern.compile(
+            "([\\w.`]+)\\s+IN\\s*\\([^()]*$", Pattern.CASE_INSENSITIVE);
+    private static final Pattern COMANDO_EXPLICAVEL = Pattern.compile(
+            "^\\s*(?:SELECT|UPDATE|DELETE|WITH)\\b", Pattern.CASE_INSENSITIVE);
+
+    private volatile boolean ativo = true;
+    private volatile long limiteNanos = Duration.ofMillis(500).toNanos();
+    private volatile Set<String> colunasSensiveis = Set.of("senha", "senha_criptografada");
+    private volatile ProvedorConexao provedorExplain;
+
+    private volatile Path arquivo = Paths.get("consultas-lentas.log");
+    private volatile long tamanhoMaximoArquivo = 10L * 1024 * 1024;
+    private volatile int arquivosRetidos = 5;
+
+    private final Deque<ConsultaLenta> recentes = new ArrayDeque<>();
+    private final ConcurrentHashMap<String, String> planos = new ConcurrentHashMap<>();
+    private final LongAdder registradas = new LongAdder();
+    private final LongAdder descartadas = new LongAdder();
+
+    // Uma única thread grava o arquivo e roda os EXPLAIN, na ordem em que foram pedidos
+    private final ThreadPoolExecutor segundoPlano = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(MAXIMO_PENDENTES), r -> {
+                Thread thread = new Thread(r, "registro-consultas-lentas");
+                thread.setDaemon(true);
+                return thread;
+            }, (tarefa, executor) -> descartar(tarefa));
+
+    // Estado do arquivo, acessado apenas pela thread de segundo plano
+    private Path arquivoAberto;
+    private BufferedWriter escritor;
+    private long tamanhoAtual;
+
+    private RegistroConsultasLentas() {
+    }
+
+    public static RegistroConsultasLentas getInstancia() {
+        return INSTANCIA;
+    }
+
+    /**
+     * Uma execução que passou do tempo limite
+     */
+    public static class ConsultaLenta {
+        private final LocalDateTime instante;
+        private final String metodo;
+        private final String impressaoDigital;
+        private final String parametros;
+        private final long linhas;
+        private final double duracaoMs;
+
+        private ConsultaLenta(LocalDateTime instante, String metodo, String impressaoDigital,
+                              String parametros, long linhas, double duracaoMs) {
+            this.instante = instante;
+            this.metodo = metodo;
+            this.impressaoDigital = impressaoDigital;
+            this.parametros = parametros;
+            this.linhas = linhas;
+            this.duracaoMs = duracaoMs;
+        }
+
+        public LocalDateTime getInstante() {
+            return instante;
+        }
+
+        public String getMetodo() {
+            return metodo;
+        }
+
+        public String getImpressaoDigital() {
+            return impressaoDigital;
+        }
+
+        /**
+         * @return Parâmetros vinculados já formatados, com os sensíveis ocultos
+         */
+        public String getParametros() {
+            return parametros;
+        }
+
+        public long getLinhas() {
+            return linhas;
+        }
+
+        public double getDuracaoMs() {
+            return duracaoMs;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%s LENTA %.1f ms %s linhas=%d consulta=%s sql=\"%s\" parametros=%s",
+                    instante, duracaoMs, metodo, linhas, identificador(impressaoDigital), impressaoDigital, parametros);
+        }
+    }
+
+    public boolean isAtivo() {
+        return ativo;
+    }
+
+    public void setAtivo(boolean ativo) {
+        this.ativo = ativo;
+    }
+
+    public Duration getLimite() {
+        return Duration.ofNanos(limiteNanos);
+    }
+
+    /**
+     * @param limite Tempo a partir do qual uma execução é registrada
+     */
+    public void setLimite(Duration limite) {
+        if (limite == null || limite.isNegative()) {
+            throw new IllegalArgumentException("O limite de consulta lenta não pode ser negativo");
+        }
+        this.limiteNanos = limite.toNanos();
+    }
+
+    /**
+     * @param colunas Colunas cujos valores nunca aparecem no registro (comparadas sem diferenciar maiúsculas)
+     */
+    public void setColunasSensiveis(Set<String> colunas) {
+        if (colunas == null) {
+            throw new IllegalArgumentException("As colunas sensíveis não podem ser nulas");
+        }
+        Set<String> normalizadas = new HashSet<>();
+        colunas.forEach(coluna -> normalizadas.add(coluna.toLowerCase(Locale.ROOT)));
+        this.colunasSensiveis = Set.copyOf(normalizadas);
+    }
+
+    /**
+     * Provedor usado pelos EXPLAIN; por padrão, o pool compartilhado da ConnectionFactory
+     */
+    public void setProvedorExplain(ProvedorConexao provedor) {
+        this.provedorExplain = provedor;
+    }
+
+    public Path getArquivo() {
+        return arquivo;
+    }
+
+    public void setArquivo(Path arquivo) {
+        if (arquivo == null) {
+            throw new IllegalArgumentException("O arquivo de consultas lentas não pode ser nulo");
+        }
+        this.arquivo = arquivo;
+    }
+
+    /**
+     * @param bytes Tamanho a partir do qual o arquivo é rotacionado
+     */
+    public void setTamanhoMaximoArquivo(long bytes) {
+        if (bytes < 1) {
+            throw new IllegalArgumentException("O tamanho máximo do arquivo deve ser maior que zero");
+        }
+        this.tamanhoMaximoArquivo = bytes;
+    }
+
+    /**
+     * @param quantidade Arquivos antigos mantidos na rotação; 0 descarta o arquivo cheio
+     */
+    public void setArquivosRetidos(int quantidade) {
+        if (quantidade < 0) {
+            throw new IllegalArgumentException("A quantidade de arquivos retidos não pode ser negativa");
+        }
+        this.arquivosRetidos = quantidade;
+    }
+
+    /**
+     * @return As últimas consultas lentas registradas, da mais antiga para a mais recente
+     */
+    public List<ConsultaLenta> obterRecentes() {
+        synchronized (recentes) {
+            return new ArrayList<>(recentes);
+        }
+    }
+
+    /**
+     * @return Plano de cada impressão digital já registrada; "(pendente)" enquanto o EXPLAIN não terminou
+     */
+    public Map<String, String> obterPlanos() {
+        return new TreeMap<>(planos);
+    }
+
+    public String obterPlano(String impressaoDigital) {
+        return planos.get(impressaoDigital);
+    }
+
+    public long getRegistradas() {
+        return registradas.sum();
+    }
+
+    /**
+     * @return Registros e EXPLAIN descartados porque a fila de segundo plano estava cheia
+     */
+    public long getDescartadas() {
+        return descartadas.sum();
+    }
+
+    boolean isLenta(long nanos) {
+        return ativo && nanos >= limiteNanos;
+    }
+
+    /**
+     * Registra uma execução lenta; chamado pela instrumentação dos DAOs
+     *
+     * @param parametros Parâmetros vinculados por posição; usados sem ocultação apenas no EXPLAIN
+     * @param lote Quantidade de comandos do lote, ou 0 se a execução não foi em lote
+     */
+    void registrar(String metodo, String sql, Map<Integer, Object> parametros, int lote, long linhas, long nanos) {
+        String impressaoDigital = impressaoDigital(sql);
+        String formatados = lote > 0
+                ? "(lote de " + lote + " comandos)"
+                : formatarParametros(sql, parametros, colunasSensiveis);
+        ConsultaLenta consulta = new ConsultaLenta(LocalDateTime.now(), metodo, impressaoDigital,
+                formatados, linhas, nanos / 1_000_000.0);
+
+        registradas.increment();
+        synchronized (recentes) {
+            if (recentes.size() == MAXIMO_RECENTES) {
+                recentes.removeFirst();
+            }
+            recentes.addLast(consulta);
+        }
+        segundoPlano.execute(() -> gravar(consulta.toString()));
+
+        if (planos.putIfAbsent(impressaoDigital, PLANO_PENDENTE) == null) {
+            Map<Integer, Object> copia = new TreeMap<>(parametros);
+            segundoPlano.execute(new Explicacao(impressaoDigital, () -> {
+                String plano = explicar(sql, lote > 0 ? Map.of() : copia);
+                planos.put(impressaoDigital, plano);
+                gravar(String.format("%s PLANO consulta=%s sql=\"%s\" plano=%s",
+                        LocalDateTime.now(), identificador(impressaoDigital), impressaoDigital, plano));
+            }));
+        }
+    }
+
+    // Chamado pela thread que encontrou a fila cheia
+    private void descartar(Runnable tarefa) {
+        descartadas.increment();
+        if (tarefa instanceof Explicacao explicacao) {
+            // Sem o marcador, a próxima execução lenta da mesma consulta tenta o EXPLAIN de novo
+            planos.remove(explicacao.impressaoDigital, PLANO_PENDENTE);
+        }
+    }
+
+    /**
+     * Zera as consultas recentes e os planos, para que as próximas impressões digitais lentas
+     * sejam explicadas de novo
+     */
+    public void reiniciar() {
+        synchronized (recentes) {
+            recentes.clear();
+        }
+        planos.clear();
+        registradas.reset();
+        descartadas.reset();
+    }
+
+    /**
+     * Normaliza o SQL para agrupar execuções da mesma consulta: literais viram ?, espaços são
+     * colapsados e listas de parâmetros (IN e VALUES de vários registros) viram (?+)
+     */
+    static String impressaoDigital(String sql) {
+        String normalizado = LITERAL_TEXTO.matcher(sql).replaceAll("?");
+        normalizado = LITERAL_NUMERO.matcher(normalizado).replaceAll("?");
+        normalizado = normalizado.replaceAll("\\s+", " ").trim();
+        normalizado = LISTA_PARAMETROS.matcher(normalizado).replaceAll("(?+)");
+        return LISTA_TUPLAS.matcher(normalizado).replaceAll("(?+), ...");
+    }
+
+    private static String identificador(String impressaoDigital) {
+        return String.format("%08x", impressaoDigital.hashCode());
+    }
+
+    /**
+     * Formata os parâmetros por posição, ocultando os que são vinculados a colunas sensíveis
+     */
+    static String formatarParametros(String sql, Map<Integer, Object> parametros, Set<String> sensiveis) {
+        if (parametros.isEmpty()) {
+            return "[]";
+        }
+        List<String> colunas = colunasDosParametros(sql);
+        StringBuilder texto = new StringBuilder("[");
+        for (Map.Entry<Integer, Object> parametro : new TreeMap<>(parametros).entrySet()) {
+            int posicao = parametro.getKey();
+            String coluna = posicao <= colunas.size() ? colunas.get(posicao - 1) : null;
+            if (texto.length() > 1) {
+                texto.append(", ");
+            }
+            texto.append(posicao).append('=');
+            texto.append(coluna != null && sensiveis.contains(coluna) ? OCULTO : formatarValor(parametro.getValue()));
+        }
+        return texto.append(']').toString();
+    }
+
+    /**
+     * Descobre a coluna de cada ? do SQL: pela lista de colunas em INSERT ... VALUES e pela
+     * comparação ou IN imediatamente anterior nos demais casos
+     *
+     * @return Nome da coluna, em minúsculas e sem tabela, de cada parâmetro; null quando não identificada
+     */
+    private static List<String> colunasDosParametros(String sql) {
+        List<Integer> posicoes = new ArrayList<>();
+        boolean emTexto = false;
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (c == '\'') {
+                emTexto = !emTexto;
+            } else if (c == '?' && !emTexto) {
+                posicoes.add(i);
+            }
+        }
+
+        List<String> colunas = new ArrayList<>();
+        Matcher insert = INSERT.matcher(sql);
+        if (insert.find()) {
+            String[] colunasInsert = insert.group(1).split(",");
+            int indice = 0;
+            for (int posicao : posicoes) {
+                colunas.add(posicao > insert.end()
+                        ? normalizarColuna(colunasInsert[indice++ % colunasInsert.length])
+                        : null);
+            }
+            return colunas;
+        }
+
+        for (int posicao : posicoes) {
+            String anterior = sql.substring(Math.max(0, posicao - 200), posicao);
+            Matcher comparacao = COMPARACAO.matcher(anterior);
+            Matcher lista = LISTA_IN.matcher(anterior);
+            if (comparacao.find()) {
+                colunas.add(normalizarColuna(comparacao.group(1)));
+            } else if (lista.find()) {
+                colunas.add(normalizarColuna(lista.group(1)));
+            } else {
+                colunas.add(null);
+            }
+        }
+        return colunas;
+    }
+
+    private static String normalizarColuna(String coluna) {
+        String nome = coluna.trim().replace("`", "");
+        return nome.substring(nome.lastIndexOf('.') + 1).toLowerCase(Locale.ROOT);
+    }
+
+    private static String formatarValor(Object valor) {
+        if (valor == null) {
+            return "null";
+        }
+        if (valor instanceof byte[] bytes) {
+            // Ids são gravados como BINARY(16)
+            if (bytes.length == 16) {
+                ByteBuffer buffer = ByteBuffer.wrap(bytes);
+                return new UUID(buffer.getLong(), buffer.getLong()).toString();
+            }
+            return "(" + bytes.length + " bytes)";
+        }
+        if (valor instanceof String texto) {
+            return "'" + (texto.length() > MAXIMO_TEXTO_PARAMETRO
+                    ? texto.substring(0, MAXIMO_TEXTO_PARAMETRO) + "..."
+                    : texto) + "'";
+        }
+        return String.valueOf(valor);
+    }
+
+    /**
+     * Executa o EXPLAIN da consulta com os parâmetros originais
+     *
+     * @return Uma entrada por linha do plano, com todas as colunas devolvidas pelo banco
+     */
+    private String explicar(String sql, Map<Integer, Object> parametros) {
+        if (!COMANDO_EXPLICAVEL.matcher(sql).find()) {
+            return "(sem EXPLAIN para este tipo de comando)";
+        }
+        ProvedorConexao provedor = provedorExplain != null ? provedorExplain : new ConnectionFactory();
+        try (Connection connection = provedor.obterConexao();
+             PreparedStatement pstm = connection.prepareStatement("EXPLAIN " + sql)) {
+            for (Map.Entry<Integer, Object> parametro : parametros.entrySet()) {
+                if (parametro.getValue() == null) {
+                    pstm.setNull(parametro.getKey(), Types.NULL);
+                } else {
+                    pstm.setObject(parametro.getKey(), parametro.getValue());
+                }
+            }
+
+            List<String> linhas = new ArrayList<>();
+            try (ResultSet rs = pstm.executeQuery()) {
+                ResultSetMetaData metaDados = rs.getMetaData();
+                while (rs.next()) {
+                    StringBuilder linha = new StringBuilder();
+                    for (int i = 1; i <= metaDados.getColumnCount(); i++) {
+                        if (i > 1) {
+                            linha.append(", ");
+                        }
+                        linha.append(metaDados.getColumnLabel(i)).append('=').append(rs.getString(i));
+                    }
+                    linhas.add(linha.toString());
+                }
+            }
+            return linhas.toString();
+        } catch (SQLException | RuntimeException e) {
+            return "(erro ao executar EXPLAIN: " + e.getMessage() + ")";
+        }
+    }
+
+    private void gravar(String linha) {
+        byte[] bytes = (linha + System.lineSeparator()).getBytes(StandardCharsets.UTF_8);
+        try {
+            Path destino = arquivo;
+            if (!destino.equals(arquivoAberto)) {
+                abrir(destino);
+            }
+            if (tamanhoAtual > 0 && tamanhoAtual + bytes.length > tamanhoMaximoArquivo) {
+                rotacionar();
+            }
+            escritor.write(linha);
+            escritor.newLine();
+            escritor.flush();
+            tamanhoAtual += bytes.length;
+        } catch (IOException e) {
+            System.err.println("Erro ao gravar registro de consultas lentas: " + e.getMessage());
+            fechar();
+        }
+    }
+
+    private void abrir(Path destino) throws IOException {
+        fechar();
+        Path diretorio = destino.toAbsolutePath().getParent();
+        if (diretorio != null) {
+            Files.createDirectories(diretorio);
+        }
+        escritor = Files.newBufferedWriter(destino, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        arquivoAberto = destino;
+        tamanhoAtual = Files.size(destino);
+    }
+
+    /**
+     * Renomeia arquivo.N-1 para arquivo.N, ..., arquivo para arquivo.1 e abre um arquivo vazio
+     */
+    private void rotacionar() throws IOException {
+        Path destino = arquivoAberto;
+        fechar();
+        int retidos = arquivosRetidos;
+        if (retidos == 0) {
+            Files.deleteIfExists(destino);
+        } else {
+            Files.deleteIfExists(rotacionado(destino, retidos));
+            for (int i = retidos - 1; i >= 1; i--) {
+                Path anterior = rotacionado(destino, i);
+                if (Files.exists(anterior)) {
+                    Files.move(anterior, rotacionado(destino, i + 1), StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+            Files.move(destino, rotacionado(destino, 1), StandardCopyOption.REPLACE_EXISTING);
+        }
+        abrir(destino);
+    }
+
+    private static Path rotacionado(Path arquivo, int indice) {
+        return arquivo.resolveSibling(arquivo.getFileName() + "." + indice);
+    }
+
+    private void fechar() {
+        if (escritor != null) {
+            try {
+                escritor.close();
+            } catch (IOException e) {
+                System.err.println("Erro ao fechar registro de consultas lentas: " + e.getMessage());
+            }
+        }
+        escritor = null;
+        arquivoAberto = null;
+        tamanhoAtual = 0;
+    }
+
+    /**
+     * EXPLAIN em segundo plano; identifica a impressão digital se a fila recusar a tarefa
+     */
+    private static final class Explicacao implements Runnable {
+        private final String impressaoDigital;
+        private final Runnable acao;
+
+        private Explicacao(String impressaoDigital, Runnable acao) {
+            this.impressaoDigital = impressaoDigital;
+            this.acao = acao;
+        }
+
+        @Override
+        public void run() {
+            acao.run();
+        }
+    }
+}
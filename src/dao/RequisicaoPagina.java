@@ -0,0 +1,61 @@
+package dao;
+
+/**
+ * Pedido de uma página de resultados.
+ * A primeira página é pedida sem cursor; as seguintes usam o cursor devolvido
+ * na página anterior, o que mantém o custo de cada página constante.
+ */
+public class RequisicaoPagina {
+    public static final int TAMANHO_PADRAO = 20;
+    public static final int TAMANHO_MAXIMO = 100;
+
+    private final int tamanho;
+    private final String cursor;
+
+    public RequisicaoPagina() {
+        this(TAMANHO_PADRAO, null);
+    }
+
+    public RequisicaoPagina(int tamanho) {
+        this(tamanho, null);
+    }
+
+    /**
+     * Construtor completo
+     *
+     * @param tamanho Quantidade de itens por página; valores acima de TAMANHO_MAXIMO são limitados a ele
+     * @param cursor Cursor devolvido pela página anterior, ou null para a primeira página
+     */
+    public RequisicaoPagina(int tamanho, String cursor) {
+        if (tamanho < 1) {
+            throw new IllegalArgumentException("O tamanho da página deve ser maior que zero");
+        }
+        this.tamanho = Math.min(tamanho, TAMANHO_MAXIMO);
+        this.cursor = cursor;
+    }
+
+    /**
+     * Cria o pedido da página seguinte à informada, mantendo o tamanho
+     *
+     * @param pagina Página atual
+     * @return Pedido da próxima página, ou null se não houver próxima
+     */
+    public RequisicaoPagina proxima(Pagina<?> pagina) {
+        if (pagina == null || !pagina.temProxima()) {
+            return null;
+        }
+        return new RequisicaoPagina(tamanho, pagina.getProximoCursor());
+    }
+
+    public int getTamanho() {
+        return tamanho;
+    }
+
+    public String getCursor() {
+        return cursor;
+    }
+
+    public boolean isPrimeiraPagina() {
+        return cursor == null || cursor.isEmpty();
+    }
+}
@@ -0,0 +1,47 @@
+package dao;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Quantidade de linhas removidas por tabela em uma exclusão em cascata,
+ * com os ids das tarefas e soluções removidas.
+ */
+public class ResultadoExclusao {
+    private final Map<String, Integer> linhasPorTabela = new LinkedHashMap<>();
+    private final Map<String, List<String>> idsPorTabela = new LinkedHashMap<>();
+
+    void registrar(String tabela, int linhas) {
+        linhasPorTabela.merge(tabela, linhas, Integer::sum);
+    }
+
+    void registrarIds(String tabela, List<String> ids) {
+        idsPorTabela.computeIfAbsent(tabela, t -> new ArrayList<>()).addAll(ids);
+    }
+
+    public Map<String, Integer> getLinhasPorTabela() {
+        return new LinkedHashMap<>(linhasPorTabela); // Retorna uma cópia do mapa
+    }
+
+    public int getLinhas(String tabela) {
+        return linhasPorTabela.getOrDefault(tabela, 0);
+    }
+
+    /**
+     * Ids removidos da tabela; vazio para as tabelas cujos ids não são lidos na exclusão
+     */
+    public List<String> getIds(String tabela) {
+        return new ArrayList<>(idsPorTabela.getOrDefault(tabela, List.of()));
+    }
+
+    public int getTotal() {
+        return linhasPorTabela.values().stream().mapToInt(Integer::intValue).sum();
+    }
+
+    @Override
+    public String toString() {
+        return "ResultadoExclusao{" + linhasPorTabela + ", total=" + getTotal() + '}';
+    }
+}
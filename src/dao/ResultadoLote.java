@@ -0,0 +1,130 @@
+package dao;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Resultado de uma gravação em lote.
+ * Informa quantos objetos foram gravados e quais falharam, com a posição de cada um
+ * na coleção original e o motivo da falha.
+ *
+ * @param <T> Tipo da entidade gravada
+ */
+public class ResultadoLote<T> {
+    private int totalProcessados;
+    private int totalSalvos;
+    private int totalLotes;
+    private final List<Falha<T>> falhas = new ArrayList<>();
+
+    void registrarLote() {
+        totalLotes++;
+    }
+
+    void registrarSucessos(int quantidade) {
+        totalProcessados += quantidade;
+        totalSalvos += quantidade;
+    }
+
+    void registrarFalha(int posicao, T objeto, String mensagem) {
+        totalProcessados++;
+        falhas.add(new Falha<>(posicao, objeto, mensagem));
+    }
+
+    /**
+     * Percorre os objetos gravados com sucesso
+     *
+     * @param objetos Mesma coleção passada para a gravação em lote
+     */
+    void paraCadaSalvo(Collection<T> objetos, Consumer<T> acao) {
+        if (objetos == null) {
+            return;
+        }
+        Set<Integer> posicoesComFalha = new HashSet<>();
+        for (Falha<T> falha : falhas) {
+            posicoesComFalha.add(falha.getPosicao());
+        }
+
+        int posicao = 0;
+        for (T objeto : objetos) {
+            if (!posicoesComFalha.contains(posicao++)) {
+                acao.accept(objeto);
+            }
+        }
+    }
+
+    public int getTotalProcessados() {
+        return totalProcessados;
+    }
+
+    public int getTotalSalvos() {
+        return totalSalvos;
+    }
+
+    public int getTotalLotes() {
+        return totalLotes;
+    }
+
+    public List<Falha<T>> getFalhas() {
+        return new ArrayList<>(falhas); // Retorna uma cópia da lista
+    }
+
+    /**
+     * Verifica se todos os objetos foram gravados
+     *
+     * @return true se nenhuma falha foi registrada, false caso contrário
+     */
+    public boolean isSucessoTotal() {
+        return falhas.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "ResultadoLote{" +
+                "processados=" + totalProcessados +
+                ", salvos=" + totalSalvos +
+                ", falhas=" + falhas.size() +
+                ", lotes=" + totalLotes +
+                '}';
+    }
+
+    /**
+     * Objeto que não pôde ser gravado.
+     *
+     * @param <T> Tipo da entidade
+     */
+    public static class Falha<T> {
+        private final int posicao;
+        private final T objeto;
+        private final String mensagem;
+
+        Falha(int posicao, T objeto, String mensagem) {
+            this.posicao = posicao;
+            this.objeto = objeto;
+            this.mensagem = mensagem;
+        }
+
+        /**
+         * @return Posição do objeto na coleção recebida, começando em 0
+         */
+        public int getPosicao() {
+            return posicao;
+        }
+
+        public T getObjeto() {
+            return objeto;
+        }
+
+        public String getMensagem() {
+            return mensagem;
+        }
+
+        @Override
+        public String toString() {
+            return "Falha{posicao=" + posicao + ", objeto=" + objeto + ", mensagem='" + mensagem + "'}";
+        }
+    }
+}
@@ -0,0 +1,313 @@
+package dao;
+
+import bd.ConnectionFactory;
+import bd.PoolConexoes;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryUsage;
+import java.lang.management.ThreadMXBean;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Endpoint HTTP com as métricas da camada de dados no formato texto do Prometheus.
+ *
+ * Serve em /metrics a latência, as chamadas, os erros e as linhas de cada método de DAO
+ * (MetricasDAO), o uso do pool de conexões e do cache de statements, os caches de entidades,
+ * o registro de consultas lentas e estatísticas da JVM (memória, threads, GC e classes).
+ *
+ * Usa o servidor HTTP do próprio JDK com uma única thread: o texto é montado em um
+ * StringBuilder e codificado em um buffer que são reaproveitados entre as coletas, então
+ * coletar a cada poucos segundos não gera picos de alocação.
+ */
+public class ServidorMetricas implements AutoCloseable {
+
+    private static final String CAMINHO = "/metrics";
+    private static final String TIPO_CONTEUDO = "text/plain; version=0.0.4; charset=utf-8";
+    private static final double[] QUANTIS = {0.5, 0.99, 0.999};
+    private static final String[] NOMES_QUANTIS = {"0.5", "0.99", "0.999"};
+
+    private final HttpServer servidor;
+    private final ExecutorService executor;
+    private final PoolConexoes pool;
+
+    // Reaproveitados entre as coletas; acessados apenas pela thread do servidor
+    private final StringBuilder texto = new StringBuilder(16 * 1024);
+    private final CharsetEncoder codificador = StandardCharsets.UTF_8.newEncoder();
+    private ByteBuffer bytes = ByteBuffer.allocate(32 * 1024);
+
+    /**
+     * Inicia o servidor apenas na interface de loopback, exportando o pool compartilhado da
+     * ConnectionFactory. Para expor as métricas na rede, informe o endereço explicitamente.
+     *
+     * @param porta Porta HTTP; 0 escolhe uma porta livre
+     */
+    public ServidorMetricas(int porta) throws IOException {
+        this(new InetSocketAddress(InetAddress.getLoopbackAddress(), porta), ConnectionFactory.getPool());
+    }
+
+    /**
+     * @param endereco Endereço e porta em que o servidor escuta; o endereço curinga expõe
+     *                 as métricas em todas as interfaces
+     * @param pool Pool de conexões exportado
+     */
+    public ServidorMetricas(InetSocketAddress endereco, PoolConexoes pool) throws IOException {
+        if (endereco == null || pool == null) {
+            throw new IllegalArgumentException("Endereço e pool de conexões são obrigatórios");
+        }
+        this.pool = pool;
+        this.executor = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "servidor-metricas");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.servidor = HttpServer.create(endereco, 0);
+        servidor.createContext(CAMINHO, this::responder);
+        servidor.setExecutor(executor);
+        servidor.start();
+    }
+
+    public int getPorta() {
+        return servidor.getAddress().getPort();
+    }
+
+    private void responder(HttpExchange troca) throws IOException {
+        try (troca) {
+            if (!"GET".equals(troca.getRequestMethod()) && !"HEAD".equals(troca.getRequestMethod())) {
+                troca.getResponseHeaders().set("Allow", "GET, HEAD");
+                troca.sendResponseHeaders(405, -1);
+                return;
+            }
+
+            texto.setLength(0);
+            escreverDAOs();
+            escreverPool();
+            escreverCaches();
+            escreverConsultasLentas();
+            escreverJvm();
+            codificar();
+
+            troca.getResponseHeaders().set("Content-Type", TIPO_CONTEUDO);
+            if ("HEAD".equals(troca.getRequestMethod())) {
+                troca.sendResponseHeaders(200, -1);
+                return;
+            }
+            troca.sendResponseHeaders(200, bytes.position());
+            try (OutputStream saida = troca.getResponseBody()) {
+                saida.write(bytes.array(), 0, bytes.position());
+            }
+        } catch (RuntimeException e) {
+            System.err.println("Erro ao gerar métricas: " + e.getMessage());
+            if (troca.getResponseCode() == -1) {
+                troca.sendResponseHeaders(500, -1);
+            }
+        }
+    }
+
+    private void escreverDAOs() {
+        Collection<MetricasDAO.Instantaneo> instantaneos = MetricasDAO.getInstancia().obterInstantaneos().values();
+
+        cabecalho("plataforma_dao_latencia_segundos", "summary",
+                "Tempo em que cada método de DAO segurou a conexão");
+        for (MetricasDAO.Instantaneo instantaneo : instantaneos) {
+            double[] valores = {instantaneo.getP50Micros(), instantaneo.getP99Micros(), instantaneo.getP999Micros()};
+            for (int i = 0; i < QUANTIS.length; i++) {
+                texto.append("plataforma_dao_latencia_segundos{metodo=\"");
+                rotulo(instantaneo.getMetodo()).append("\",quantile=\"").append(NOMES_QUANTIS[i]).append("\"} ")
+                        .append(valores[i] / 1_000_000.0).append('\n');
+            }
+            amostra("plataforma_dao_latencia_segundos_sum", "metodo", instantaneo.getMetodo(),
+                    instantaneo.getMediaMicros() * instantaneo.getChamadas() / 1_000_000.0);
+            amostra("plataforma_dao_latencia_segundos_count", "metodo", instantaneo.getMetodo(),
+                    instantaneo.getChamadas());
+        }
+
+        cabecalho("plataforma_dao_latencia_maxima_segundos", "gauge", "Maior latência observada por método de DAO");
+        for (MetricasDAO.Instantaneo instantaneo : instantaneos) {
+            amostra("plataforma_dao_latencia_maxima_segundos", "metodo", instantaneo.getMetodo(),
+                    instantaneo.getMaximoMicros() / 1_000_000.0);
+        }
+
+        cabecalho("plataforma_dao_erros_total", "counter", "Chamadas de DAO que terminaram com SQLException");
+        for (MetricasDAO.Instantaneo instantaneo : instantaneos) {
+            amostra("plataforma_dao_erros_total", "metodo", instantaneo.getMetodo(), instantaneo.getErros());
+        }
+
+        cabecalho("plataforma_dao_linhas_total", "counter", "Linhas lidas dos ResultSet por método de DAO");
+        for (MetricasDAO.Instantaneo instantaneo : instantaneos) {
+            amostra("plataforma_dao_linhas_total", "metodo", instantaneo.getMetodo(), instantaneo.getLinhas());
+        }
+    }
+
+    private void escreverPool() {
+        cabecalho("plataforma_pool_conexoes", "gauge", "Conexões físicas do pool por estado");
+        amostra("plataforma_pool_conexoes", "estado", "ativas", pool.getConexoesAtivas());
+        amostra("plataforma_pool_conexoes", "estado", "ociosas", pool.getConexoesOciosas());
+
+        cabecalho("plataforma_pool_conexoes_maximo", "gauge", "Tamanho máximo configurado do pool");
+        amostra("plataforma_pool_conexoes_maximo", pool.getConfiguracao().getTamanhoMaximo());
+
+        cabecalho("plataforma_pool_threads_aguardando", "gauge", "Threads aguardando uma conexão livre");
+        amostra("plataforma_pool_threads_aguardando", pool.getThreadsAguardando());
+
+        cabecalho("plataforma_pool_emprestimos_total", "counter", "Conexões emprestadas pelo pool");
+        amostra("plataforma_pool_emprestimos_total", pool.getTotalEmprestimos());
+
+        cabecalho("plataforma_pool_timeouts_total", "counter", "Empréstimos que esgotaram o tempo de espera");
+        amostra("plataforma_pool_timeouts_total", pool.getTotalTimeouts());
+
+        cabecalho("plataforma_pool_descartadas_total", "counter", "Conexões descartadas por falha ou ociosidade");
+        amostra("plataforma_pool_descartadas_total", pool.getTotalDescartadas());
+
+        cabecalho("plataforma_pool_cache_statements_total", "counter", "Uso do cache de PreparedStatement do pool");
+        amostra("plataforma_pool_cache_statements_total", "resultado", "acerto", pool.getAcertosCacheStatements());
+        amostra("plataforma_pool_cache_statements_total", "resultado", "falta", pool.getFaltasCacheStatements());
+        amostra("plataforma_pool_cache_statements_total", "resultado", "remocao", pool.getRemocoesCacheStatements());
+    }
+
+    private void escreverCaches() {
+        cabecalho("plataforma_cache_entidades_total", "counter", "Uso dos caches de entidades do buscarPorId");
+        escreverCache("usuario", UsuarioDAO.getCache().getEstatisticas());
+        escreverCache("perfil_usuario", PerfilUsuarioDAO.getCache().getEstatisticas());
+        escreverCache("projeto", ProjetoDAO.getCache().getEstatisticas());
+        escreverCache("tarefa", TarefaDAO.getCache().getEstatisticas());
+        escreverCache("solucao", SolucaoDAO.getCache().getEstatisticas());
+        escreverCache("avaliacao", AvaliacaoDAO.getCache().getEstatisticas());
+    }
+
+    private void escreverCache(String cache, EstatisticasCache estatisticas) {
+        amostraCache(cache, "acerto", estatisticas.getAcertos());
+        amostraCache(cache, "falta", estatisticas.getFaltas());
+        amostraCache(cache, "remocao", estatisticas.getRemocoes());
+        amostraCache(cache, "expiracao", estatisticas.getExpiracoes());
+        amostraCache(cache, "invalidacao", estatisticas.getInvalidacoes());
+    }
+
+    private void amostraCache(String cache, String evento, long valor) {
+        texto.append("plataforma_cache_entidades_total{cache=\"").append(cache)
+                .append("\",evento=\"").append(evento).append("\"} ").append(valor).append('\n');
+    }
+
+    private void escreverConsultasLentas() {
+        RegistroConsultasLentas registro = RegistroConsultasLentas.getInstancia();
+        cabecalho("plataforma_consultas_lentas_total", "counter", "Execuções acima do limite de consulta lenta");
+        amostra("plataforma_consultas_lentas_total", registro.getRegistradas());
+        cabecalho("plataforma_consultas_lentas_descartadas_total", "counter",
+                "Registros de consulta lenta descartados com a fila cheia");
+        amostra("plataforma_consultas_lentas_descartadas_total", registro.getDescartadas());
+    }
+
+    private void escreverJvm() {
+        MemoryMXBean memoria = ManagementFactory.getMemoryMXBean();
+        cabecalho("jvm_memoria_bytes", "gauge", "Memória da JVM por área");
+        escreverMemoria("heap", memoria.getHeapMemoryUsage());
+        escreverMemoria("nao_heap", memoria.getNonHeapMemoryUsage());
+
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        cabecalho("jvm_threads", "gauge", "Threads de plataforma da JVM");
+        amostra("jvm_threads", "tipo", "vivas", threads.getThreadCount());
+        amostra("jvm_threads", "tipo", "daemon", threads.getDaemonThreadCount());
+
+        List<GarbageCollectorMXBean> coletores = ManagementFactory.getGarbageCollectorMXBeans();
+        cabecalho("jvm_gc_coletas_total", "counter", "Coletas de lixo por coletor");
+        for (GarbageCollectorMXBean coletor : coletores) {
+            amostra("jvm_gc_coletas_total", "coletor", coletor.getName(), coletor.getCollectionCount());
+        }
+        cabecalho("jvm_gc_segundos_total", "counter", "Tempo acumulado em coletas de lixo por coletor");
+        for (GarbageCollectorMXBean coletor : coletores) {
+            amostra("jvm_gc_segundos_total", "coletor", coletor.getName(), coletor.getCollectionTime() / 1_000.0);
+        }
+
+        cabecalho("jvm_classes_carregadas", "gauge", "Classes carregadas na JVM");
+        amostra("jvm_classes_carregadas", ManagementFactory.getClassLoadingMXBean().getLoadedClassCount());
+
+        cabecalho("jvm_tempo_atividade_segundos", "gauge", "Tempo desde o início da JVM");
+        amostra("jvm_tempo_atividade_segundos", ManagementFactory.getRuntimeMXBean().getUptime() / 1_000.0);
+    }
+
+    private void escreverMemoria(String area, MemoryUsage uso) {
+        texto.append("jvm_memoria_bytes{area=\"").append(area).append("\",tipo=\"usada\"} ").append(uso.getUsed()).append('\n');
+        texto.append("jvm_memoria_bytes{area=\"").append(area).append("\",tipo=\"comprometida\"} ").append(uso.getCommitted()).append('\n');
+        // -1 quando a área não tem máximo definido
+        if (uso.getMax() >= 0) {
+            texto.append("jvm_memoria_bytes{area=\"").append(area).append("\",tipo=\"maxima\"} ").append(uso.getMax()).append('\n');
+        }
+    }
+
+    private void cabecalho(String nome, String tipo, String ajuda) {
+        texto.append("# HELP ").append(nome).append(' ').append(ajuda).append('\n');
+        texto.append("# TYPE ").append(nome).append(' ').append(tipo).append('\n');
+    }
+
+    private void amostra(String nome, double valor) {
+        texto.append(nome).append(' ').append(valor).append('\n');
+    }
+
+    private void amostra(String nome, long valor) {
+        texto.append(nome).append(' ').append(valor).append('\n');
+    }
+
+    private void amostra(String nome, String rotulo, String valorRotulo, double valor) {
+        texto.append(nome).append('{').append(rotulo).append("=\"");
+        rotulo(valorRotulo).append("\"} ").append(valor).append('\n');
+    }
+
+    private void amostra(String nome, String rotulo, String valorRotulo, long valor) {
+        texto.append(nome).append('{').append(rotulo).append("=\"");
+        rotulo(valorRotulo).append("\"} ").append(valor).append('\n');
+    }
+
+    /**
+     * Escreve o valor de um rótulo escapando barra invertida, aspas e quebras de linha
+     */
+    private StringBuilder rotulo(String valor) {
+        for (int i = 0; i < valor.length(); i++) {
+            char c = valor.charAt(i);
+            switch (c) {
+                case '\\' -> texto.append("\\\\");
+                case '"' -> texto.append("\\\"");
+                case '\n' -> texto.append("\\n");
+                default -> texto.append(c);
+            }
+        }
+        return texto;
+    }
+
+    /**
+     * Codifica o texto em UTF-8 no buffer reaproveitado, dobrando-o quando não couber
+     */
+    private void codificar() {
+        while (true) {
+            bytes.clear();
+            codificador.reset();
+            CoderResult resultado = codificador.encode(CharBuffer.wrap(texto), bytes, true);
+            if (!resultado.isOverflow()) {
+                resultado = codificador.flush(bytes);
+            }
+            if (!resultado.isOverflow()) {
+                return;
+            }
+            bytes = ByteBuffer.allocate(bytes.capacity() * 2);
+        }
+    }
+
+    @Override
+    public void close() {
+        servidor.stop(0);
+        executor.shutdownNow();
+    }
+}
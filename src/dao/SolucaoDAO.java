@@ -1,64 +1,167 @@
 package dao;
 
+import bd.ConnectionFactory;
+import bd.ProvedorConexao;
+import dao.IndiceBusca.TipoDocumento;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import modelo.ResumoSolucao;
 import modelo.Solucao;
 
 public class SolucaoDAO implements BaseDAO<Solucao> {
 
-    private Connection connection;
+    private static final String SQL_INSERIR =
+            "INSERT INTO solucoes (id, titulo, descricao, tarefa_id, usuario_id, status) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final String SQL_ATUALIZAR = "UPDATE solucoes SET titulo = ?, descricao = ?, status = ? WHERE id = ?";
+
+    // Colunas lidas por criarSolucao, na ordem dos índices
+    static final String COLUNAS = "id, titulo, descricao, tarefa_id, usuario_id, status, data_submissao";
+    private static final String SQL_SELECIONAR = "SELECT " + COLUNAS + " FROM solucoes";
+    // Listagens não trazem a descrição (TEXT)
+    private static final String SQL_SELECIONAR_RESUMO =
+            "SELECT id, titulo, status, tarefa_id, usuario_id, data_submissao FROM solucoes";
+
+    private static final ChavePaginacao<Solucao> CHAVE_PAGINACAO =
+            ChavePaginacao.recentesPrimeiro("data_submissao", "id", Solucao::getDataSubmissao);
+    private static final ChavePaginacao<ResumoSolucao> CHAVE_PAGINACAO_RESUMO =
+            ChavePaginacao.recentesPrimeiro("data_submissao", "id", ResumoSolucao::getDataSubmissao);
+
+    private static volatile CacheEntidades<Solucao> cache = CacheEntidades.desativado();
+
+    private ProvedorConexao provedor;
+
+    public SolucaoDAO() {
+        this(new ConnectionFactory());
+    }
 
     public SolucaoDAO(Connection connection) {
-        this.connection = connection;
+        this(ProvedorConexao.fixo(connection));
+    }
+
+    public SolucaoDAO(ProvedorConexao provedor) {
+        this.provedor = MetricasDAO.instrumentar(provedor);
+    }
+
+    /**
+     * Substitui o cache usado pelo buscarPorId de todos os SolucaoDAO
+     *
+     * @param novoCache Cache a ser usado; CacheEntidades.desativado() desliga o cache
+     */
+    public static void configurarCache(CacheEntidades<Solucao> novoCache) {
+        if (novoCache == null) {
+            throw new IllegalArgumentException("O cache não pode ser nulo");
+        }
+        cache = novoCache;
+    }
+
+    public static CacheEntidades<Solucao> getCache() {
+        return cache;
     }
 
     public void criarTabela() throws SQLException {
         String sql = """
             CREATE TABLE IF NOT EXISTS solucoes (
-                id VARCHAR(36) PRIMARY KEY,
+                id BINARY(16) PRIMARY KEY,
                 titulo VARCHAR(100) NOT NULL,
                 descricao TEXT,
                 data_submissao TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-                tarefa_id VARCHAR(36),
-                usuario_id VARCHAR(36),
+                tarefa_id BINARY(16),
+                usuario_id BINARY(16),
                 status VARCHAR(20) DEFAULT 'PENDENTE',
+                total_avaliacoes INT NOT NULL DEFAULT 0,
+                soma_notas INT NOT NULL DEFAULT 0,
+                media_avaliacoes DECIMAL(7,4) AS (IF(total_avaliacoes = 0, NULL, soma_notas / total_avaliacoes)) STORED,
                 FOREIGN KEY (tarefa_id) REFERENCES tarefas(id),
-                FOREIGN KEY (usuario_id) REFERENCES usuario(id)
+                FOREIGN KEY (usuario_id) REFERENCES usuario(id),
+                INDEX idx_solucoes_media_avaliacoes (media_avaliacoes, total_avaliacoes)
             )
         """;
 
-        try (var stmt = connection.createStatement()) {
+        try (Connection connection = provedor.obterConexao();
+             var stmt = connection.createStatement()) {
             stmt.execute(sql);
         }
     }
 
+    /**
+     * Recalcula total_avaliacoes e soma_notas de todas as soluções a partir da tabela avaliacoes.
+     * Os valores são mantidos pelo AvaliacaoDAO a cada gravação; este método serve para
+     * preencher as colunas em bancos antigos ou corrigir alterações feitas fora dos DAOs.
+     *
+     * @return Quantidade de soluções alteradas
+     */
+    public int recalcularAgregadosAvaliacoes() {
+        String sql = """
+            UPDATE solucoes s
+            LEFT JOIN (
+                SELECT solucao_id, COUNT(*) as total, SUM(nota) as soma
+                FROM avaliacoes
+                GROUP BY solucao_id
+            ) a ON a.solucao_id = s.id
+            SET s.total_avaliacoes = COALESCE(a.total, 0),
+                s.soma_notas = COALESCE(a.soma, 0)
+        """;
+
+        try (Connection connection = provedor.obterConexao();
+             PreparedStatement pstm = connection.prepareStatement(sql)) {
+            return pstm.executeUpdate();
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao recalcular agregados de avaliações: " + e.getMessage());
+        }
+    }
+
     @Override
     public void salvar(Solucao solucao) {
-        String sql = "INSERT INTO solucoes (id, titulo, descricao, tarefa_id, usuario_id, status) VALUES (?, ?, ?, ?, ?, ?)";
-
-        try (PreparedStatement pstm = connection.prepareStatement(sql)) {
-            pstm.setString(1, solucao.getId());
-            pstm.setString(2, solucao.getTitulo());
-            pstm.setString(3, solucao.getDescricao());
-            pstm.setString(4, solucao.getTarefaId());
-            pstm.setString(5, solucao.getUsuarioId());
-            pstm.setString(6, solucao.getStatus());
+        try (Connection connection = provedor.obterConexao();
+             PreparedStatement pstm = connection.prepareStatement(SQL_INSERIR)) {
+            preencherInsercao(pstm, solucao);
             pstm.execute();
+            UnidadeDeTrabalho.aposConfirmar(provedor, () -> indexar(solucao));
         } catch (SQLException e) {
             throw new RuntimeException("Erro ao salvar solução: " + e.getMessage());
         }
     }
 
+    @Override
+    public ResultadoLote<Solucao> salvarEmLote(Collection<Solucao> solucoes, int tamanhoLote) {
+        ResultadoLote<Solucao> resultado =
+                ExecutorLote.executar(provedor, SQL_INSERIR, solucoes, tamanhoLote, this::preencherInsercao);
+        UnidadeDeTrabalho.aposConfirmar(provedor, () -> resultado.paraCadaSalvo(solucoes, this::indexar));
+        return resultado;
+    }
+
+    private void indexar(Solucao solucao) {
+        IndiceBusca.getInstancia().indexar(TipoDocumento.SOLUCAO, solucao.getId(), solucao.getTitulo(), solucao.getDescricao());
+    }
+
+    private void preencherInsercao(PreparedStatement pstm, Solucao solucao) throws SQLException {
+        ColunaId.definir(pstm, 1, solucao.getId());
+        pstm.setString(2, solucao.getTitulo());
+        pstm.setString(3, solucao.getDescricao());
+        ColunaId.definir(pstm, 4, solucao.getTarefaId());
+        ColunaId.definir(pstm, 5, solucao.getUsuarioId());
+        pstm.setString(6, solucao.getStatus());
+    }
+
+    /**
+     * @deprecated Carrega todas as linhas de uma vez; use {@link #buscarPorTarefa(String, RequisicaoPagina)}
+     */
+    @Deprecated
     public List<Solucao> buscarPorTarefa(String tarefaId) {
         List<Solucao> solucoes = new ArrayList<>();
-        String sql = "SELECT * FROM solucoes WHERE tarefa_id = ?";
+        String sql = SQL_SELECIONAR + " WHERE tarefa_id = ?";
 
-        try (PreparedStatement pstm = connection.prepareStatement(sql)) {
-            pstm.setString(1, tarefaId);
+        try (Connection connection = provedor.obterConexao();
+             PreparedStatement pstm = connection.prepareStatement(sql)) {
+            ColunaId.definir(pstm, 1, tarefaId);
 
             try (ResultSet rs = pstm.executeQuery()) {
                 while (rs.next()) {
@@ -71,12 +174,36 @@ public class SolucaoDAO implements BaseDAO<Solucao> {
         return solucoes;
     }
 
+    public Pagina<Solucao> buscarPorTarefa(String tarefaId, RequisicaoPagina requisicao) {
+        return ConsultaPaginada.buscar(provedor, SQL_SELECIONAR, "tarefa_id = ?",
+                pstm -> ColunaId.definir(pstm, 1, tarefaId), CHAVE_PAGINACAO, requisicao,
+                SolucaoDAO::criarSolucao, "Erro ao buscar soluções por tarefa");
+    }
+
+    /**
+     * Lista os resumos das soluções de uma tarefa, para telas de listagem
+     *
+     * @param tarefaId Identificador da tarefa
+     * @param requisicao Página pedida
+     * @return Página de resumos, das soluções mais recentes para as mais antigas
+     */
+    public Pagina<ResumoSolucao> buscarResumosPorTarefa(String tarefaId, RequisicaoPagina requisicao) {
+        return ConsultaPaginada.buscar(provedor, SQL_SELECIONAR_RESUMO, "tarefa_id = ?",
+                pstm -> ColunaId.definir(pstm, 1, tarefaId), CHAVE_PAGINACAO_RESUMO, requisicao,
+                SolucaoDAO::criarResumo, "Erro ao buscar soluções por tarefa");
+    }
+
+    /**
+     * @deprecated Carrega todas as linhas de uma vez; use {@link #buscarPorUsuario(String, RequisicaoPagina)}
+     */
+    @Deprecated
     public List<Solucao> buscarPorUsuario(String usuarioId) {
         List<Solucao> solucoes = new ArrayList<>();
-        String sql = "SELECT * FROM solucoes WHERE usuario_id = ?";
+        String sql = SQL_SELECIONAR + " WHERE usuario_id = ?";
 
-        try (PreparedStatement pstm = connection.prepareStatement(sql)) {
-            pstm.setString(1, usuarioId);
+        try (Connection connection = provedor.obterConexao();
+             PreparedStatement pstm = connection.prepareStatement(sql)) {
+            ColunaId.definir(pstm, 1, usuarioId);
 
             try (ResultSet rs = pstm.executeQuery()) {
                 while (rs.next()) {
@@ -89,12 +216,26 @@ public class SolucaoDAO implements BaseDAO<Solucao> {
         return solucoes;
     }
 
+    public Pagina<Solucao> buscarPorUsuario(String usuarioId, RequisicaoPagina requisicao) {
+        return ConsultaPaginada.buscar(provedor, SQL_SELECIONAR, "usuario_id = ?",
+                pstm -> ColunaId.definir(pstm, 1, usuarioId), CHAVE_PAGINACAO, requisicao,
+                SolucaoDAO::criarSolucao, "Erro ao buscar soluções por usuário");
+    }
+
     @Override
     public Object buscarPorId(String id) {
-        String sql = "SELECT * FROM solucoes WHERE id = ?";
+        if (UnidadeDeTrabalho.emTransacao(provedor)) {
+            return buscarPorIdNoBanco(id);
+        }
+        return cache.obter(id, this::buscarPorIdNoBanco, this::copiarSolucao);
+    }
+
+    private Solucao buscarPorIdNoBanco(String id) {
+        String sql = SQL_SELECIONAR + " WHERE id = ?";
 
-        try (PreparedStatement pstm = connection.prepareStatement(sql)) {
-            pstm.setString(1, id);
+        try (Connection connection = provedor.obterConexao();
+             PreparedStatement pstm = connection.prepareStatement(sql)) {
+            ColunaId.definir(pstm, 1, id);
 
             try (ResultSet rs = pstm.executeQuery()) {
                 if (rs.next()) {
@@ -107,12 +248,23 @@ public class SolucaoDAO implements BaseDAO<Solucao> {
         return null;
     }
 
+    @Override
+    public Map<String, Solucao> buscarPorIds(Collection<String> ids) {
+        return ConsultaPorIds.buscar(provedor, SQL_SELECIONAR, null, "id", ids,
+                SolucaoDAO::criarSolucao, "Erro ao buscar soluções");
+    }
+
+    /**
+     * @deprecated Carrega todas as linhas de uma vez; use {@link #listarPagina(RequisicaoPagina)} ou {@link #listarTodosStream()}
+     */
+    @Deprecated
     @Override
     public ArrayList<Solucao> listarTodosLazyLoading() {
         ArrayList<Solucao> solucoes = new ArrayList<>();
-        String sql = "SELECT * FROM solucoes";
+        String sql = SQL_SELECIONAR;
 
-        try (PreparedStatement pstm = connection.prepareStatement(sql);
+        try (Connection connection = provedor.obterConexao();
+             PreparedStatement pstm = connection.prepareStatement(sql);
              ResultSet rs = pstm.executeQuery()) {
 
             while (rs.next()) {
@@ -125,74 +277,157 @@ public class SolucaoDAO implements BaseDAO<Solucao> {
     }
 
     @Override
-    public void atualizar(Solucao solucao) {
-        String sql = "UPDATE solucoes SET titulo = ?, descricao = ?, status = ? WHERE id = ?";
+    public Stream<Solucao> listarTodosStream() {
+        String sql = SQL_SELECIONAR;
+        return CursorStream.abrir(provedor, sql, SolucaoDAO::criarSolucao, "Erro ao listar soluções");
+    }
 
-        try (PreparedStatement pstm = connection.prepareStatement(sql)) {
-            pstm.setString(1, solucao.getTitulo());
-            pstm.setString(2, solucao.getDescricao());
-            pstm.setString(3, solucao.getStatus());
-            pstm.setString(4, solucao.getId());
+    @Override
+    public Pagina<Solucao> listarPagina(RequisicaoPagina requisicao) {
+        return ConsultaPaginada.buscar(provedor, SQL_SELECIONAR, CHAVE_PAGINACAO, requisicao,
+                SolucaoDAO::criarSolucao, "Erro ao listar soluções");
+    }
+
+    /**
+     * Lista os resumos das soluções, sem a descrição, para telas de listagem
+     *
+     * @param requisicao Página pedida
+     * @return Página de resumos, das soluções mais recentes para as mais antigas
+     */
+    public Pagina<ResumoSolucao> listarResumos(RequisicaoPagina requisicao) {
+        return ConsultaPaginada.buscar(provedor, SQL_SELECIONAR_RESUMO, CHAVE_PAGINACAO_RESUMO, requisicao,
+                SolucaoDAO::criarResumo, "Erro ao listar soluções");
+    }
+
+    /**
+     * Busca soluções pelo título e pela descrição no índice de busca, da mais para da menos relevante
+     *
+     * @param consulta Texto livre da consulta
+     * @param requisicao Página pedida
+     * @return Página de soluções
+     */
+    public Pagina<Solucao> pesquisar(String consulta, RequisicaoPagina requisicao) {
+        return IndiceBusca.pesquisar(provedor, TipoDocumento.SOLUCAO, this, consulta, requisicao);
+    }
+
+    @Override
+    public void atualizar(Solucao solucao) {
+        try (Connection connection = provedor.obterConexao();
+             PreparedStatement pstm = connection.prepareStatement(SQL_ATUALIZAR)) {
+            preencherAtualizacao(pstm, solucao);
 
             int rowsAffected = pstm.executeUpdate();
+            UnidadeDeTrabalho.aposConfirmar(provedor, () -> cache.invalidar(solucao.getId()));
             if (rowsAffected == 0) {
                 throw new SQLException("Atualização falhou: solução não encontrada.");
             }
+            UnidadeDeTrabalho.aposConfirmar(provedor, () -> {
+                PlacarSolucoes.getInstancia().renomearSolucao(solucao.getId(), solucao.getTitulo());
+                indexar(solucao);
+            });
         } catch (SQLException e) {
             throw new RuntimeException("Erro ao atualizar solução: " + e.getMessage());
         }
     }
 
     @Override
-    public void excluir(String id) {
-        // Primeiro, verifica se existem avaliações relacionadas
-        excluirAvaliacoesRelacionadas(id);
+    public void atualizarEmLote(Collection<Solucao> solucoes) {
+        if (solucoes.isEmpty()) {
+            return;
+        }
+        try {
+            Transacao.executar(provedor, connection -> {
+                ExecutorLote.atualizar(connection, SQL_ATUALIZAR, solucoes, TAMANHO_LOTE_PADRAO,
+                        this::preencherAtualizacao, "Atualização falhou: solução não encontrada.");
+                return null;
+            });
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao atualizar soluções: " + e.getMessage());
+        }
 
-        String sql = "DELETE FROM solucoes WHERE id = ?";
+        UnidadeDeTrabalho.aposConfirmar(provedor, () -> {
+            for (Solucao solucao : solucoes) {
+                cache.invalidar(solucao.getId());
+                PlacarSolucoes.getInstancia().renomearSolucao(solucao.getId(), solucao.getTitulo());
+                indexar(solucao);
+            }
+        });
+    }
 
-        try (PreparedStatement pstm = connection.prepareStatement(sql)) {
-            pstm.setString(1, id);
+    private void preencherAtualizacao(PreparedStatement pstm, Solucao solucao) throws SQLException {
+        pstm.setString(1, solucao.getTitulo());
+        pstm.setString(2, solucao.getDescricao());
+        pstm.setString(3, solucao.getStatus());
+        ColunaId.definir(pstm, 4, solucao.getId());
+    }
 
-            int rowsAffected = pstm.executeUpdate();
-            if (rowsAffected == 0) {
-                throw new SQLException("Exclusão falhou: solução não encontrada.");
-            }
+    @Override
+    public void excluir(String id) {
+        excluirEmCascata(id);
+    }
+
+    /**
+     * Exclui a solução e todas as suas avaliações
+     * em uma única transação, com um comando por tabela.
+     *
+     * @param id Identificador da solução
+     * @return Quantidade de linhas removidas por tabela
+     */
+    public ResultadoExclusao excluirEmCascata(String id) {
+        try {
+            ResultadoExclusao resultado = new ExclusaoEmCascata(provedor).excluirSolucao(id);
+            UnidadeDeTrabalho.aposConfirmar(provedor, () -> {
+                cache.invalidar(id);
+                ContadoresPainel.getInstancia().invalidar(ContadoresPainel.Categoria.AVALIACOES_POR_NOTA);
+                PlacarSolucoes.getInstancia().remover(id);
+                IndiceBusca.getInstancia().remover(TipoDocumento.SOLUCAO, id);
+                // Os ids dos filhos removidos não são conhecidos aqui
+                AvaliacaoDAO.getCache().limpar();
+            });
+            return resultado;
         } catch (SQLException e) {
             throw new RuntimeException("Erro ao excluir solução: " + e.getMessage());
         }
     }
 
-    private void excluirAvaliacoesRelacionadas(String solucaoId) {
-        String sql = "DELETE FROM avaliacoes WHERE solucao_id = ?";
+    /**
+     * Cria a solução a partir de uma linha lida com COLUNAS, por índice
+     */
+    static Solucao criarSolucao(ResultSet rs) throws SQLException {
+        Solucao solucao = new Solucao(ColunaId.ler(rs, 1), rs.getString(2), rs.getString(3),
+                ColunaId.ler(rs, 4), ColunaId.ler(rs, 5));
+        solucao.setStatus(rs.getString(6));
+        solucao.setDataSubmissao(rs.getTimestamp(7));
+        return solucao;
+    }
 
-        try (PreparedStatement pstm = connection.prepareStatement(sql)) {
-            pstm.setString(1, solucaoId);
-            pstm.executeUpdate();
-        } catch (SQLException e) {
-            throw new RuntimeException("Erro ao excluir avaliações relacionadas: " + e.getMessage());
-        }
+    private static ResumoSolucao criarResumo(ResultSet rs) throws SQLException {
+        return new ResumoSolucao(ColunaId.ler(rs, 1), rs.getString(2), rs.getString(3),
+                ColunaId.ler(rs, 4), ColunaId.ler(rs, 5), rs.getTimestamp(6));
     }
 
-    private Solucao criarSolucao(ResultSet rs) throws SQLException {
+    private Solucao copiarSolucao(Solucao origem) {
         Solucao solucao = new Solucao();
-        solucao.setId(rs.getString("id"));
-        solucao.setTitulo(rs.getString("titulo"));
-        solucao.setDescricao(rs.getString("descricao"));
-        solucao.setTarefaId(rs.getString("tarefa_id"));
-        solucao.setUsuarioId(rs.getString("usuario_id"));
-        solucao.setStatus(rs.getString("status"));
-        solucao.setDataSubmissao(rs.getTimestamp("data_submissao"));
+        solucao.setId(origem.getId());
+        solucao.setTitulo(origem.getTitulo());
+        solucao.setDescricao(origem.getDescricao());
+        solucao.setTarefaId(origem.getTarefaId());
+        solucao.setUsuarioId(origem.getUsuarioId());
+        solucao.setStatus(origem.getStatus());
+        solucao.setDataSubmissao(origem.getDataSubmissao());
         return solucao;
     }
 
     public void atualizarStatus(String id, String novoStatus) {
         String sql = "UPDATE solucoes SET status = ? WHERE id = ?";
 
-        try (PreparedStatement pstm = connection.prepareStatement(sql)) {
+        try (Connection connection = provedor.obterConexao();
+             PreparedStatement pstm = connection.prepareStatement(sql)) {
             pstm.setString(1, novoStatus);
-            pstm.setString(2, id);
+            ColunaId.definir(pstm, 2, id);
 
             int rowsAffected = pstm.executeUpdate();
+            UnidadeDeTrabalho.aposConfirmar(provedor, () -> cache.invalidar(id));
             if (rowsAffected == 0) {
                 throw new SQLException("Atualização de status falhou: solução não encontrada.");
             }
@@ -201,11 +436,16 @@ public class SolucaoDAO implements BaseDAO<Solucao> {
         }
     }
 
+    /**
+     * @deprecated Carrega todas as linhas de uma vez; use {@link #buscarPorStatus(String, RequisicaoPagina)}
+     */
+    @Deprecated
     public List<Solucao> buscarPorStatus(String status) {
         List<Solucao> solucoes = new ArrayList<>();
-        String sql = "SELECT * FROM solucoes WHERE status = ?";
+        String sql = SQL_SELECIONAR + " WHERE status = ?";
 
-        try (PreparedStatement pstm = connection.prepareStatement(sql)) {
+        try (Connection connection = provedor.obterConexao();
+             PreparedStatement pstm = connection.prepareStatement(sql)) {
             pstm.setString(1, status);
 
             try (ResultSet rs = pstm.executeQuery()) {
@@ -219,11 +459,18 @@ public class SolucaoDAO implements BaseDAO<Solucao> {
         return solucoes;
     }
 
+    public Pagina<Solucao> buscarPorStatus(String status, RequisicaoPagina requisicao) {
+        return ConsultaPaginada.buscar(provedor, SQL_SELECIONAR, "status = ?",
+                pstm -> pstm.setString(1, status), CHAVE_PAGINACAO, requisicao,
+                SolucaoDAO::criarSolucao, "Erro ao buscar soluções por status");
+    }
+
     public long contarSolucoesPorUsuario(String usuarioId) {
         String sql = "SELECT COUNT(*) FROM solucoes WHERE usuario_id = ?";
 
-        try (PreparedStatement pstm = connection.prepareStatement(sql)) {
-            pstm.setString(1, usuarioId);
+        try (Connection connection = provedor.obterConexao();
+             PreparedStatement pstm = connection.prepareStatement(sql)) {
+            ColunaId.definir(pstm, 1, usuarioId);
 
             try (ResultSet rs = pstm.executeQuery()) {
                 if (rs.next()) {
@@ -236,12 +483,19 @@ public class SolucaoDAO implements BaseDAO<Solucao> {
         return 0;
     }
 
+    /**
+     * Lista as soluções mais recentes, limitado a
+     * {@link RequisicaoPagina#TAMANHO_MAXIMO} itens por chamada
+     *
+     * @param limite Quantidade desejada; valores acima do máximo são reduzidos
+     */
     public List<Solucao> buscarSolucoesRecentes(int limite) {
         List<Solucao> solucoes = new ArrayList<>();
-        String sql = "SELECT * FROM solucoes ORDER BY data_submissao DESC LIMIT ?";
+        String sql = SQL_SELECIONAR + " ORDER BY data_submissao DESC LIMIT ?";
 
-        try (PreparedStatement pstm = connection.prepareStatement(sql)) {
-            pstm.setInt(1, limite);
+        try (Connection connection = provedor.obterConexao();
+             PreparedStatement pstm = connection.prepareStatement(sql)) {
+            pstm.setInt(1, Math.min(limite, RequisicaoPagina.TAMANHO_MAXIMO));
 
             try (ResultSet rs = pstm.executeQuery()) {
                 while (rs.next()) {
@@ -254,19 +508,32 @@ public class SolucaoDAO implements BaseDAO<Solucao> {
         return solucoes;
     }
 
+    /**
+     * Lista as soluções mais recentes primeiro, página a página
+     *
+     * @param requisicao Tamanho da página e cursor da página anterior
+     * @return Página de soluções ordenadas por data de submissão decrescente
+     */
+    public Pagina<Solucao> buscarSolucoesRecentes(RequisicaoPagina requisicao) {
+        return listarPagina(requisicao);
+    }
+
+    /**
+     * Lista as soluções com maior média de avaliações, limitado a
+     * {@link RequisicaoPagina#TAMANHO_MAXIMO} itens por chamada
+     *
+     * @param limite Quantidade desejada; valores acima do máximo são reduzidos
+     */
     public List<Solucao> buscarSolucoesPopulares(int limite) {
         List<Solucao> solucoes = new ArrayList<>();
-        String sql = """
-            SELECT s.*, AVG(a.nota) as media_avaliacoes 
-            FROM solucoes s 
-            LEFT JOIN avaliacoes a ON s.id = a.solucao_id 
-            GROUP BY s.id 
+        String sql = SQL_SELECIONAR + """
             ORDER BY media_avaliacoes DESC 
             LIMIT ?
         """;
 
-        try (PreparedStatement pstm = connection.prepareStatement(sql)) {
-            pstm.setInt(1, limite);
+        try (Connection connection = provedor.obterConexao();
+             PreparedStatement pstm = connection.prepareStatement(sql)) {
+            pstm.setInt(1, Math.min(limite, RequisicaoPagina.TAMANHO_MAXIMO));
 
             try (ResultSet rs = pstm.executeQuery()) {
                 while (rs.next()) {
@@ -1,70 +1,214 @@
 package dao;
 
+import bd.ConnectionFactory;
+import bd.ProvedorConexao;
+import dao.ContadoresPainel.Categoria;
+import dao.IndiceBusca.TipoDocumento;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import modelo.Solucao;
+import java.util.stream.Stream;
+import modelo.GeradorId;
+import modelo.ResumoTarefa;
 import modelo.Tarefa;
 
 public class TarefaDAO implements BaseDAO<Tarefa> {
 
-    private Connection connection;
+    private static final String SQL_INSERIR =
+            "INSERT INTO tarefas (id, titulo, descricao, status, projeto_id, usuario_responsavel_id, prioridade) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String SQL_ATUALIZAR =
+            "UPDATE tarefas SET titulo = ?, descricao = ?, status = ?, usuario_responsavel_id = ?, prioridade = ? WHERE id = ?";
+
+    // Colunas lidas por criarTarefa, na ordem dos índices
+    static final String COLUNAS =
+            "id, titulo, descricao, projeto_id, usuario_responsavel_id, status, prioridade, data_criacao, data_conclusao";
+    private static final String SQL_SELECIONAR = "SELECT " + COLUNAS + " FROM tarefas";
+    // Listagens não trazem a descrição (TEXT)
+    private static final String SQL_SELECIONAR_RESUMO =
+            "SELECT id, titulo, status, prioridade, projeto_id, usuario_responsavel_id, data_criacao, data_conclusao FROM tarefas";
+
+    private static final ChavePaginacao<Tarefa> CHAVE_PAGINACAO =
+            ChavePaginacao.recentesPrimeiro("data_criacao", "id", Tarefa::getDataCriacao);
+    private static final ChavePaginacao<Tarefa> CHAVE_PAGINACAO_ENTREGA =
+            ChavePaginacao.crescente("data_conclusao", "id", Tarefa::getDataConclusao);
+    private static final ChavePaginacao<ResumoTarefa> CHAVE_PAGINACAO_RESUMO =
+            ChavePaginacao.recentesPrimeiro("data_criacao", "id", ResumoTarefa::getDataCriacao);
+
+    private static volatile CacheEntidades<Tarefa> cache = CacheEntidades.desativado();
+
+    private ProvedorConexao provedor;
+
+    public TarefaDAO() {
+        this(new ConnectionFactory());
+    }
 
     public TarefaDAO(Connection connection) {
-        this.connection = connection;
+        this(ProvedorConexao.fixo(connection));
+    }
+
+    public TarefaDAO(ProvedorConexao provedor) {
+        this.provedor = MetricasDAO.instrumentar(provedor);
+    }
+
+    /**
+     * Substitui o cache usado pelo buscarPorId de todos os TarefaDAO
+     *
+     * @param novoCache Cache a ser usado; CacheEntidades.desativado() desliga o cache
+     */
+    public static void configurarCache(CacheEntidades<Tarefa> novoCache) {
+        if (novoCache == null) {
+            throw new IllegalArgumentException("O cache não pode ser nulo");
+        }
+        cache = novoCache;
+    }
+
+    public static CacheEntidades<Tarefa> getCache() {
+        return cache;
     }
 
     public void criarTabela() throws SQLException {
         String sql = """
             CREATE TABLE IF NOT EXISTS tarefas (
-                id VARCHAR(36) PRIMARY KEY,
+                id BINARY(16) PRIMARY KEY,
                 titulo VARCHAR(100) NOT NULL,
                 descricao TEXT,
                 status VARCHAR(20) DEFAULT 'PENDENTE',
                 data_criacao TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
                 data_conclusao TIMESTAMP,
-                projeto_id VARCHAR(36),
-                usuario_responsavel_id VARCHAR(36),
+                projeto_id BINARY(16),
+                usuario_responsavel_id BINARY(16),
                 prioridade VARCHAR(20) DEFAULT 'MEDIA',
                 FOREIGN KEY (projeto_id) REFERENCES projetos(id),
                 FOREIGN KEY (usuario_responsavel_id) REFERENCES usuario(id)
             )
         """;
 
-        try (var stmt = connection.createStatement()) {
+        try (Connection connection = provedor.obterConexao();
+             var stmt = connection.createStatement()) {
             stmt.execute(sql);
         }
     }
 
     @Override
     public void salvar(Tarefa tarefa) {
-        String sql = "INSERT INTO tarefas (id, titulo, descricao, status, projeto_id, usuario_responsavel_id, prioridade) VALUES (?, ?, ?, ?, ?, ?, ?)";
-
-        try (PreparedStatement pstm = connection.prepareStatement(sql)) {
-            pstm.setString(1, tarefa.getId());
-            pstm.setString(2, tarefa.getTitulo());
-            pstm.setString(3, tarefa.getDescricao());
-            pstm.setString(4, tarefa.getStatus());
-            pstm.setString(5, tarefa.getProjetoId());
-            pstm.setString(6, tarefa.getUsuarioResponsavelId());
-            pstm.setString(7, tarefa.getPrioridade());
+        try (Connection connection = provedor.obterConexao();
+             PreparedStatement pstm = connection.prepareStatement(SQL_INSERIR)) {
+            preencherInsercao(pstm, tarefa);
             pstm.execute();
+            UnidadeDeTrabalho.aposConfirmar(provedor, () -> {
+                contarInsercao(tarefa);
+                indexar(tarefa);
+            });
         } catch (SQLException e) {
             throw new RuntimeException("Erro ao salvar tarefa: " + e.getMessage());
         }
     }
 
+    @Override
+    public ResultadoLote<Tarefa> salvarEmLote(Collection<Tarefa> tarefas, int tamanhoLote) {
+        ResultadoLote<Tarefa> resultado =
+                ExecutorLote.executar(provedor, SQL_INSERIR, tarefas, tamanhoLote, this::preencherInsercao);
+        UnidadeDeTrabalho.aposConfirmar(provedor, () -> resultado.paraCadaSalvo(tarefas, tarefa -> {
+            contarInsercao(tarefa);
+            indexar(tarefa);
+        }));
+        return resultado;
+    }
+
+    private void indexar(Tarefa tarefa) {
+        IndiceBusca.getInstancia().indexar(TipoDocumento.TAREFA, tarefa.getId(), tarefa.getTitulo(), tarefa.getDescricao());
+    }
+
+    private void contarInsercao(Tarefa tarefa) {
+        ContadoresPainel contadores = ContadoresPainel.getInstancia();
+        contadores.incrementar(Categoria.TAREFAS_POR_STATUS, tarefa.getStatus());
+        contadores.incrementar(Categoria.TAREFAS_POR_PRIORIDADE, tarefa.getPrioridade());
+    }
+
+    /**
+     * Lê status e prioridade atuais da tarefa, para mover os contadores do painel.
+     * A leitura só é feita se os contadores estiverem carregados.
+     *
+     * @return {status, prioridade}, ou null se não houver contadores a atualizar ou a tarefa não existir
+     */
+    private String[] lerClassificacao(Connection connection, String id) throws SQLException {
+        ContadoresPainel contadores = ContadoresPainel.getInstancia();
+        if (!contadores.isCarregada(Categoria.TAREFAS_POR_STATUS)
+                && !contadores.isCarregada(Categoria.TAREFAS_POR_PRIORIDADE)) {
+            return null;
+        }
+
+        try (PreparedStatement pstm = connection.prepareStatement("SELECT status, prioridade FROM tarefas WHERE id = ?")) {
+            ColunaId.definir(pstm, 1, id);
+            try (ResultSet rs = pstm.executeQuery()) {
+                return rs.next() ? new String[] {rs.getString("status"), rs.getString("prioridade")} : null;
+            }
+        }
+    }
+
+    /**
+     * Lê status e prioridade atuais de várias tarefas em uma consulta
+     *
+     * @return {status, prioridade} por id (no formato lido do banco); vazio se os contadores não estiverem em uso
+     */
+    private Map<String, String[]> lerClassificacoes(Connection connection, Collection<Tarefa> tarefas) {
+        Map<String, String[]> classificacoes = new HashMap<>();
+        ContadoresPainel contadores = ContadoresPainel.getInstancia();
+        if (!contadores.isCarregada(Categoria.TAREFAS_POR_STATUS)
+                && !contadores.isCarregada(Categoria.TAREFAS_POR_PRIORIDADE)) {
+            return classificacoes;
+        }
+
+        List<String> ids = new ArrayList<>(tarefas.size());
+        for (Tarefa tarefa : tarefas) {
+            ids.add(tarefa.getId());
+        }
+        for (String[] linha : ConsultaPorIds.listar(ProvedorConexao.fixo(connection),
+                "SELECT id, status, prioridade FROM tarefas", null, "id", ids, null,
+                rs -> new String[]{ColunaId.ler(rs, 1), rs.getString(2), rs.getString(3)},
+                "Erro ao ler classificação das tarefas")) {
+            classificacoes.put(linha[0], new String[]{linha[1], linha[2]});
+        }
+        return classificacoes;
+    }
+
+    private void moverClassificacao(String[] anterior, String novoStatus, String novaPrioridade) {
+        if (anterior == null) {
+            return;
+        }
+        ContadoresPainel contadores = ContadoresPainel.getInstancia();
+        contadores.mover(Categoria.TAREFAS_POR_STATUS, anterior[0], novoStatus);
+        contadores.mover(Categoria.TAREFAS_POR_PRIORIDADE, anterior[1], novaPrioridade);
+    }
+
+    private void preencherInsercao(PreparedStatement pstm, Tarefa tarefa) throws SQLException {
+        ColunaId.definir(pstm, 1, tarefa.getId());
+        pstm.setString(2, tarefa.getTitulo());
+        pstm.setString(3, tarefa.getDescricao());
+        pstm.setString(4, tarefa.getStatus());
+        ColunaId.definir(pstm, 5, tarefa.getProjetoId());
+        ColunaId.definir(pstm, 6, tarefa.getUsuarioResponsavelId());
+        pstm.setString(7, tarefa.getPrioridade());
+    }
+
+    /**
+     * @deprecated Carrega todas as linhas de uma vez; use {@link #buscarPorProjeto(String, RequisicaoPagina)}
+     */
+    @Deprecated
     public List<Tarefa> buscarPorProjeto(String projetoId) {
         List<Tarefa> tarefas = new ArrayList<>();
-        String sql = "SELECT * FROM tarefas WHERE projeto_id = ?";
+        String sql = SQL_SELECIONAR + " WHERE projeto_id = ?";
 
-        try (PreparedStatement pstm = connection.prepareStatement(sql)) {
-            pstm.setString(1, projetoId);
+        try (Connection connection = provedor.obterConexao();
+             PreparedStatement pstm = connection.prepareStatement(sql)) {
+            ColunaId.definir(pstm, 1, projetoId);
 
             try (ResultSet rs = pstm.executeQuery()) {
                 while (rs.next()) {
@@ -77,12 +221,36 @@ public class TarefaDAO implements BaseDAO<Tarefa> {
         return tarefas;
     }
 
+    public Pagina<Tarefa> buscarPorProjeto(String projetoId, RequisicaoPagina requisicao) {
+        return ConsultaPaginada.buscar(provedor, SQL_SELECIONAR, "projeto_id = ?",
+                pstm -> ColunaId.definir(pstm, 1, projetoId), CHAVE_PAGINACAO, requisicao,
+                TarefaDAO::criarTarefa, "Erro ao buscar tarefas por projeto");
+    }
+
+    /**
+     * Lista os resumos das tarefas de um projeto, para telas de listagem
+     *
+     * @param projetoId Identificador do projeto
+     * @param requisicao Página pedida
+     * @return Página de resumos, das tarefas mais recentes para as mais antigas
+     */
+    public Pagina<ResumoTarefa> buscarResumosPorProjeto(String projetoId, RequisicaoPagina requisicao) {
+        return ConsultaPaginada.buscar(provedor, SQL_SELECIONAR_RESUMO, "projeto_id = ?",
+                pstm -> ColunaId.definir(pstm, 1, projetoId), CHAVE_PAGINACAO_RESUMO, requisicao,
+                TarefaDAO::criarResumo, "Erro ao buscar tarefas por projeto");
+    }
+
+    /**
+     * @deprecated Carrega todas as linhas de uma vez; use {@link #buscarPorResponsavel(String, RequisicaoPagina)}
+     */
+    @Deprecated
     public List<Tarefa> buscarPorResponsavel(String usuarioId) {
         List<Tarefa> tarefas = new ArrayList<>();
-        String sql = "SELECT * FROM tarefas WHERE usuario_responsavel_id = ?";
+        String sql = SQL_SELECIONAR + " WHERE usuario_responsavel_id = ?";
 
-        try (PreparedStatement pstm = connection.prepareStatement(sql)) {
-            pstm.setString(1, usuarioId);
+        try (Connection connection = provedor.obterConexao();
+             PreparedStatement pstm = connection.prepareStatement(sql)) {
+            ColunaId.definir(pstm, 1, usuarioId);
 
             try (ResultSet rs = pstm.executeQuery()) {
                 while (rs.next()) {
@@ -95,12 +263,26 @@ public class TarefaDAO implements BaseDAO<Tarefa> {
         return tarefas;
     }
 
+    public Pagina<Tarefa> buscarPorResponsavel(String usuarioId, RequisicaoPagina requisicao) {
+        return ConsultaPaginada.buscar(provedor, SQL_SELECIONAR, "usuario_responsavel_id = ?",
+                pstm -> ColunaId.definir(pstm, 1, usuarioId), CHAVE_PAGINACAO, requisicao,
+                TarefaDAO::criarTarefa, "Erro ao buscar tarefas por responsável");
+    }
+
     @Override
     public Object buscarPorId(String id) {
-        String sql = "SELECT * FROM tarefas WHERE id = ?";
+        if (UnidadeDeTrabalho.emTransacao(provedor)) {
+            return buscarPorIdNoBanco(id);
+        }
+        return cache.obter(id, this::buscarPorIdNoBanco, this::copiarTarefa);
+    }
+
+    private Tarefa buscarPorIdNoBanco(String id) {
+        String sql = SQL_SELECIONAR + " WHERE id = ?";
 
-        try (PreparedStatement pstm = connection.prepareStatement(sql)) {
-            pstm.setString(1, id);
+        try (Connection connection = provedor.obterConexao();
+             PreparedStatement pstm = connection.prepareStatement(sql)) {
+            ColunaId.definir(pstm, 1, id);
 
             try (ResultSet rs = pstm.executeQuery()) {
                 if (rs.next()) {
@@ -113,12 +295,23 @@ public class TarefaDAO implements BaseDAO<Tarefa> {
         return null;
     }
 
+    @Override
+    public Map<String, Tarefa> buscarPorIds(Collection<String> ids) {
+        return ConsultaPorIds.buscar(provedor, SQL_SELECIONAR, null, "id", ids,
+                TarefaDAO::criarTarefa, "Erro ao buscar tarefas");
+    }
+
+    /**
+     * @deprecated Carrega todas as linhas de uma vez; use {@link #listarPagina(RequisicaoPagina)} ou {@link #listarTodosStream()}
+     */
+    @Deprecated
     @Override
     public ArrayList<Tarefa> listarTodosLazyLoading() {
         ArrayList<Tarefa> tarefas = new ArrayList<>();
-        String sql = "SELECT * FROM tarefas";
+        String sql = SQL_SELECIONAR;
 
-        try (PreparedStatement pstm = connection.prepareStatement(sql);
+        try (Connection connection = provedor.obterConexao();
+             PreparedStatement pstm = connection.prepareStatement(sql);
              ResultSet rs = pstm.executeQuery()) {
 
             while (rs.next()) {
@@ -131,88 +324,192 @@ public class TarefaDAO implements BaseDAO<Tarefa> {
     }
 
     @Override
-    public void atualizar(Tarefa tarefa) {
-        String sql = "UPDATE tarefas SET titulo = ?, descricao = ?, status = ?, usuario_responsavel_id = ?, prioridade = ? WHERE id = ?";
+    public Stream<Tarefa> listarTodosStream() {
+        String sql = SQL_SELECIONAR;
+        return CursorStream.abrir(provedor, sql, TarefaDAO::criarTarefa, "Erro ao listar tarefas");
+    }
 
-        try (PreparedStatement pstm = connection.prepareStatement(sql)) {
-            pstm.setString(1, tarefa.getTitulo());
-            pstm.setString(2, tarefa.getDescricao());
-            pstm.setString(3, tarefa.getStatus());
-            pstm.setString(4, tarefa.getUsuarioResponsavelId());
-            pstm.setString(5, tarefa.getPrioridade());
-            pstm.setString(6, tarefa.getId());
+    @Override
+    public Pagina<Tarefa> listarPagina(RequisicaoPagina requisicao) {
+        return ConsultaPaginada.buscar(provedor, SQL_SELECIONAR, CHAVE_PAGINACAO, requisicao,
+                TarefaDAO::criarTarefa, "Erro ao listar tarefas");
+    }
 
+    /**
+     * Lista os resumos das tarefas, sem a descrição, para telas de listagem
+     *
+     * @param requisicao Página pedida
+     * @return Página de resumos, das tarefas mais recentes para as mais antigas
+     */
+    public Pagina<ResumoTarefa> listarResumos(RequisicaoPagina requisicao) {
+        return ConsultaPaginada.buscar(provedor, SQL_SELECIONAR_RESUMO, CHAVE_PAGINACAO_RESUMO, requisicao,
+                TarefaDAO::criarResumo, "Erro ao listar tarefas");
+    }
+
+    /**
+     * Busca tarefas pelo título e pela descrição no índice de busca, da mais para da menos relevante
+     *
+     * @param consulta Texto livre da consulta
+     * @param requisicao Página pedida
+     * @return Página de tarefas
+     */
+    public Pagina<Tarefa> pesquisar(String consulta, RequisicaoPagina requisicao) {
+        return IndiceBusca.pesquisar(provedor, TipoDocumento.TAREFA, this, consulta, requisicao);
+    }
+
+    @Override
+    public void atualizar(Tarefa tarefa) {
+        try (Connection connection = provedor.obterConexao();
+             PreparedStatement pstm = connection.prepareStatement(SQL_ATUALIZAR)) {
+            preencherAtualizacao(pstm, tarefa);
+
+            String[] anterior = lerClassificacao(connection, tarefa.getId());
             int rowsAffected = pstm.executeUpdate();
+            UnidadeDeTrabalho.aposConfirmar(provedor, () -> cache.invalidar(tarefa.getId()));
             if (rowsAffected == 0) {
                 throw new SQLException("Atualização falhou: tarefa não encontrada.");
             }
+            UnidadeDeTrabalho.aposConfirmar(provedor, () -> {
+                moverClassificacao(anterior, tarefa.getStatus(), tarefa.getPrioridade());
+                indexar(tarefa);
+            });
         } catch (SQLException e) {
             throw new RuntimeException("Erro ao atualizar tarefa: " + e.getMessage());
         }
     }
 
     @Override
-    public void excluir(String id) {
-        // Primeiro, exclui todas as soluções relacionadas
-        excluirSolucoesRelacionadas(id);
+    public void atualizarEmLote(Collection<Tarefa> tarefas) {
+        if (tarefas.isEmpty()) {
+            return;
+        }
+        Map<String, String[]> classificacoes;
+        try {
+            classificacoes = Transacao.executar(provedor, connection -> {
+                Map<String, String[]> anteriores = lerClassificacoes(connection, tarefas);
+                ExecutorLote.atualizar(connection, SQL_ATUALIZAR, tarefas, TAMANHO_LOTE_PADRAO,
+                        this::preencherAtualizacao, "Atualização falhou: tarefa não encontrada.");
+                return anteriores;
+            });
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao atualizar tarefas: " + e.getMessage());
+        }
 
-        String sql = "DELETE FROM tarefas WHERE id = ?";
+        UnidadeDeTrabalho.aposConfirmar(provedor, () -> {
+            for (Tarefa tarefa : tarefas) {
+                cache.invalidar(tarefa.getId());
+                moverClassificacao(classificacoes.get(GeradorId.deBytes(GeradorId.paraBytes(tarefa.getId()))),
+                        tarefa.getStatus(), tarefa.getPrioridade());
+                indexar(tarefa);
+            }
+        });
+    }
 
-        try (PreparedStatement pstm = connection.prepareStatement(sql)) {
-            pstm.setString(1, id);
+    private void preencherAtualizacao(PreparedStatement pstm, Tarefa tarefa) throws SQLException {
+        pstm.setString(1, tarefa.getTitulo());
+        pstm.setString(2, tarefa.getDescricao());
+        pstm.setString(3, tarefa.getStatus());
+        ColunaId.definir(pstm, 4, tarefa.getUsuarioResponsavelId());
+        pstm.setString(5, tarefa.getPrioridade());
+        ColunaId.definir(pstm, 6, tarefa.getId());
+    }
 
-            int rowsAffected = pstm.executeUpdate();
-            if (rowsAffected == 0) {
-                throw new SQLException("Exclusão falhou: tarefa não encontrada.");
-            }
+    @Override
+    public void excluir(String id) {
+        excluirEmCascata(id);
+    }
+
+    /**
+     * Exclui a tarefa e todas as suas soluções e avaliações
+     * em uma única transação, com um comando por tabela.
+     *
+     * @param id Identificador da tarefa
+     * @return Quantidade de linhas removidas por tabela
+     */
+    public ResultadoExclusao excluirEmCascata(String id) {
+        try {
+            ResultadoExclusao resultado = new ExclusaoEmCascata(provedor).excluirTarefa(id);
+            UnidadeDeTrabalho.aposConfirmar(provedor, () -> {
+                cache.invalidar(id);
+                ContadoresPainel.getInstancia().invalidar(Categoria.TAREFAS_POR_STATUS,
+                        Categoria.TAREFAS_POR_PRIORIDADE, Categoria.AVALIACOES_POR_NOTA);
+                List<String> solucaoIds = resultado.getIds("solucoes");
+                PlacarSolucoes.getInstancia().remover(solucaoIds);
+                IndiceBusca.getInstancia().remover(TipoDocumento.TAREFA, id);
+                IndiceBusca.getInstancia().remover(TipoDocumento.SOLUCAO, solucaoIds);
+                solucaoIds.forEach(SolucaoDAO.getCache()::invalidar);
+                // Os ids das avaliações removidas não são lidos
+                AvaliacaoDAO.getCache().limpar();
+            });
+            return resultado;
         } catch (SQLException e) {
             throw new RuntimeException("Erro ao excluir tarefa: " + e.getMessage());
         }
     }
 
-    private void excluirSolucoesRelacionadas(String tarefaId) {
-        SolucaoDAO solucaoDAO = new SolucaoDAO(connection);
-        List<Solucao> solucoes = solucaoDAO.buscarPorTarefa(tarefaId);
+    /**
+     * Cria a tarefa a partir de uma linha lida com COLUNAS, por índice
+     */
+    static Tarefa criarTarefa(ResultSet rs) throws SQLException {
+        Tarefa tarefa = new Tarefa(ColunaId.ler(rs, 1), rs.getString(2), rs.getString(3),
+                ColunaId.ler(rs, 4), ColunaId.ler(rs, 5));
+        tarefa.setStatus(rs.getString(6));
+        tarefa.setPrioridade(rs.getString(7));
+        tarefa.setDataCriacao(rs.getTimestamp(8));
+        tarefa.setDataConclusao(rs.getTimestamp(9));
+        return tarefa;
+    }
 
-        for (Solucao solucao : solucoes) {
-            solucaoDAO.excluir(solucao.getId());
-        }
+    private static ResumoTarefa criarResumo(ResultSet rs) throws SQLException {
+        return new ResumoTarefa(ColunaId.ler(rs, 1), rs.getString(2), rs.getString(3), rs.getString(4),
+                ColunaId.ler(rs, 5), ColunaId.ler(rs, 6), rs.getTimestamp(7), rs.getTimestamp(8));
     }
 
-    private Tarefa criarTarefa(ResultSet rs) throws SQLException {
+    private Tarefa copiarTarefa(Tarefa origem) {
         Tarefa tarefa = new Tarefa();
-        tarefa.setId(rs.getString("id"));
-        tarefa.setTitulo(rs.getString("titulo"));
-        tarefa.setDescricao(rs.getString("descricao"));
-        tarefa.setStatus(rs.getString("status"));
-        tarefa.setProjetoId(rs.getString("projeto_id"));
-        tarefa.setUsuarioResponsavelId(rs.getString("usuario_responsavel_id"));
-        tarefa.setPrioridade(rs.getString("prioridade"));
-        tarefa.setDataCriacao(rs.getTimestamp("data_criacao"));
-        tarefa.setDataConclusao(rs.getTimestamp("data_conclusao"));
+        tarefa.setId(origem.getId());
+        tarefa.setTitulo(origem.getTitulo());
+        tarefa.setDescricao(origem.getDescricao());
+        tarefa.setStatus(origem.getStatus());
+        tarefa.setProjetoId(origem.getProjetoId());
+        tarefa.setUsuarioResponsavelId(origem.getUsuarioResponsavelId());
+        tarefa.setPrioridade(origem.getPrioridade());
+        tarefa.setDataCriacao(origem.getDataCriacao());
+        tarefa.setDataConclusao(origem.getDataConclusao());
         return tarefa;
     }
 
     public void concluirTarefa(String id) {
         String sql = "UPDATE tarefas SET status = 'CONCLUIDA', data_conclusao = CURRENT_TIMESTAMP WHERE id = ?";
 
-        try (PreparedStatement pstm = connection.prepareStatement(sql)) {
-            pstm.setString(1, id);
+        try (Connection connection = provedor.obterConexao();
+             PreparedStatement pstm = connection.prepareStatement(sql)) {
+            ColunaId.definir(pstm, 1, id);
 
+            String[] anterior = lerClassificacao(connection, id);
             int rowsAffected = pstm.executeUpdate();
+            UnidadeDeTrabalho.aposConfirmar(provedor, () -> cache.invalidar(id));
             if (rowsAffected == 0) {
                 throw new SQLException("Conclusão falhou: tarefa não encontrada.");
             }
+            if (anterior != null) {
+                UnidadeDeTrabalho.aposConfirmar(provedor, () -> moverClassificacao(anterior, "CONCLUIDA", anterior[1]));
+            }
         } catch (SQLException e) {
             throw new RuntimeException("Erro ao concluir tarefa: " + e.getMessage());
         }
     }
 
+    /**
+     * @deprecated Carrega todas as linhas de uma vez; use {@link #buscarTarefasPendentes(RequisicaoPagina)}
+     */
+    @Deprecated
     public List<Tarefa> buscarTarefasPendentes() {
         List<Tarefa> tarefas = new ArrayList<>();
-        String sql = "SELECT * FROM tarefas WHERE status = 'PENDENTE'";
+        String sql = SQL_SELECIONAR + " WHERE status = 'PENDENTE'";
 
-        try (PreparedStatement pstm = connection.prepareStatement(sql);
+        try (Connection connection = provedor.obterConexao();
+             PreparedStatement pstm = connection.prepareStatement(sql);
              ResultSet rs = pstm.executeQuery()) {
 
             while (rs.next()) {
@@ -224,11 +521,22 @@ public class TarefaDAO implements BaseDAO<Tarefa> {
         return tarefas;
     }
 
+    public Pagina<Tarefa> buscarTarefasPendentes(RequisicaoPagina requisicao) {
+        return ConsultaPaginada.buscar(provedor, SQL_SELECIONAR, "status = 'PENDENTE'",
+                pstm -> { }, CHAVE_PAGINACAO, requisicao,
+                TarefaDAO::criarTarefa, "Erro ao buscar tarefas pendentes");
+    }
+
+    /**
+     * @deprecated Carrega todas as linhas de uma vez; use {@link #buscarPorPrioridade(String, RequisicaoPagina)}
+     */
+    @Deprecated
     public List<Tarefa> buscarPorPrioridade(String prioridade) {
         List<Tarefa> tarefas = new ArrayList<>();
-        String sql = "SELECT * FROM tarefas WHERE prioridade = ?";
+        String sql = SQL_SELECIONAR + " WHERE prioridade = ?";
 
-        try (PreparedStatement pstm = connection.prepareStatement(sql)) {
+        try (Connection connection = provedor.obterConexao();
+             PreparedStatement pstm = connection.prepareStatement(sql)) {
             pstm.setString(1, prioridade);
 
             try (ResultSet rs = pstm.executeQuery()) {
@@ -242,15 +550,25 @@ public class TarefaDAO implements BaseDAO<Tarefa> {
         return tarefas;
     }
 
+    public Pagina<Tarefa> buscarPorPrioridade(String prioridade, RequisicaoPagina requisicao) {
+        return ConsultaPaginada.buscar(provedor, SQL_SELECIONAR, "prioridade = ?",
+                pstm -> pstm.setString(1, prioridade), CHAVE_PAGINACAO, requisicao,
+                TarefaDAO::criarTarefa, "Erro ao buscar tarefas por prioridade");
+    }
+
+    /**
+     * @deprecated Carrega todas as linhas de uma vez; use {@link #buscarTarefasEmAtraso(RequisicaoPagina)}
+     */
+    @Deprecated
     public List<Tarefa> buscarTarefasEmAtraso() {
         List<Tarefa> tarefas = new ArrayList<>();
-        String sql = """
-            SELECT * FROM tarefas 
+        String sql = SQL_SELECIONAR + """
             WHERE status != 'CONCLUIDA' 
             AND data_conclusao < CURRENT_TIMESTAMP
         """;
 
-        try (PreparedStatement pstm = connection.prepareStatement(sql);
+        try (Connection connection = provedor.obterConexao();
+             PreparedStatement pstm = connection.prepareStatement(sql);
              ResultSet rs = pstm.executeQuery()) {
 
             while (rs.next()) {
@@ -262,54 +580,19 @@ public class TarefaDAO implements BaseDAO<Tarefa> {
         return tarefas;
     }
 
-    public Map<String, Long> obterEstatisticasPorPrioridade() {
-        Map<String, Long> estatisticas = new HashMap<>();
-        String sql = """
-            SELECT 
-                prioridade,
-                COUNT(*) as quantidade
-            FROM tarefas
-            GROUP BY prioridade
-        """;
-
-        try (PreparedStatement pstm = connection.prepareStatement(sql);
-             ResultSet rs = pstm.executeQuery()) {
+    public Pagina<Tarefa> buscarTarefasEmAtraso(RequisicaoPagina requisicao) {
+        return ConsultaPaginada.buscar(provedor, SQL_SELECIONAR,
+                "status != 'CONCLUIDA' AND data_conclusao < CURRENT_TIMESTAMP",
+                pstm -> { }, CHAVE_PAGINACAO_ENTREGA, requisicao,
+                TarefaDAO::criarTarefa, "Erro ao buscar tarefas em atraso");
+    }
 
-            while (rs.next()) {
-                estatisticas.put(
-                    rs.getString("prioridade"),
-                    rs.getLong("quantidade")
-                );
-            }
-        } catch (SQLException e) {
-            throw new RuntimeException("Erro ao obter estatísticas por prioridade: " + e.getMessage());
-        }
-        return estatisticas;
+    public Map<String, Long> obterEstatisticasPorPrioridade() {
+        return ContadoresPainel.getInstancia().obter(Categoria.TAREFAS_POR_PRIORIDADE, provedor);
     }
 
     public Map<String, Long> obterEstatisticasPorStatus() {
-        Map<String, Long> estatisticas = new HashMap<>();
-        String sql = """
-            SELECT 
-                status,
-                COUNT(*) as quantidade
-            FROM tarefas
-            GROUP BY status
-        """;
-
-        try (PreparedStatement pstm = connection.prepareStatement(sql);
-             ResultSet rs = pstm.executeQuery()) {
-
-            while (rs.next()) {
-                estatisticas.put(
-                    rs.getString("status"),
-                    rs.getLong("quantidade")
-                );
-            }
-        } catch (SQLException e) {
-            throw new RuntimeException("Erro ao obter estatísticas por status: " + e.getMessage());
-        }
-        return estatisticas;
+        return ContadoresPainel.getInstancia().obter(Categoria.TAREFAS_POR_STATUS, provedor);
     }
 
     public List<Map<String, Object>> obterDesempenhoUsuarios() {
@@ -329,12 +612,13 @@ public class TarefaDAO implements BaseDAO<Tarefa> {
             GROUP BY u.id, u.nome
         """;
 
-        try (PreparedStatement pstm = connection.prepareStatement(sql);
+        try (Connection connection = provedor.obterConexao();
+             PreparedStatement pstm = connection.prepareStatement(sql);
              ResultSet rs = pstm.executeQuery()) {
 
             while (rs.next()) {
                 Map<String, Object> usuario = new HashMap<>();
-                usuario.put("usuario_id", rs.getString("usuario_id"));
+                usuario.put("usuario_id", ColunaId.ler(rs, "usuario_id"));
                 usuario.put("usuario_nome", rs.getString("usuario_nome"));
                 usuario.put("total_tarefas", rs.getLong("total_tarefas"));
                 usuario.put("tarefas_concluidas", rs.getLong("tarefas_concluidas"));
@@ -350,29 +634,39 @@ public class TarefaDAO implements BaseDAO<Tarefa> {
     public void atualizarPrioridade(String id, String novaPrioridade) {
         String sql = "UPDATE tarefas SET prioridade = ? WHERE id = ?";
 
-        try (PreparedStatement pstm = connection.prepareStatement(sql)) {
+        try (Connection connection = provedor.obterConexao();
+             PreparedStatement pstm = connection.prepareStatement(sql)) {
             pstm.setString(1, novaPrioridade);
-            pstm.setString(2, id);
+            ColunaId.definir(pstm, 2, id);
 
+            String[] anterior = lerClassificacao(connection, id);
             int rowsAffected = pstm.executeUpdate();
+            UnidadeDeTrabalho.aposConfirmar(provedor, () -> cache.invalidar(id));
             if (rowsAffected == 0) {
                 throw new SQLException("Atualização de prioridade falhou: tarefa não encontrada.");
             }
+            if (anterior != null) {
+                UnidadeDeTrabalho.aposConfirmar(provedor, () -> moverClassificacao(anterior, anterior[0], novaPrioridade));
+            }
         } catch (SQLException e) {
             throw new RuntimeException("Erro ao atualizar prioridade da tarefa: " + e.getMessage());
         }
     }
 
+    /**
+     * @deprecated Carrega todas as linhas de uma vez; use {@link #buscarProximasEntregas(int, RequisicaoPagina)}
+     */
+    @Deprecated
     public List<Tarefa> buscarProximasEntregas(int dias) {
         List<Tarefa> tarefas = new ArrayList<>();
-        String sql = """
-            SELECT * FROM tarefas 
+        String sql = SQL_SELECIONAR + """
             WHERE status != 'CONCLUIDA' 
             AND data_conclusao <= DATE_ADD(CURRENT_TIMESTAMP, INTERVAL ? DAY)
             ORDER BY data_conclusao ASC
         """;
 
-        try (PreparedStatement pstm = connection.prepareStatement(sql)) {
+        try (Connection connection = provedor.obterConexao();
+             PreparedStatement pstm = connection.prepareStatement(sql)) {
             pstm.setInt(1, dias);
 
             try (ResultSet rs = pstm.executeQuery()) {
@@ -385,4 +679,11 @@ public class TarefaDAO implements BaseDAO<Tarefa> {
         }
         return tarefas;
     }
+
+    public Pagina<Tarefa> buscarProximasEntregas(int dias, RequisicaoPagina requisicao) {
+        return ConsultaPaginada.buscar(provedor, SQL_SELECIONAR,
+                "status != 'CONCLUIDA' AND data_conclusao <= DATE_ADD(CURRENT_TIMESTAMP, INTERVAL ? DAY)",
+                pstm -> pstm.setInt(1, dias), CHAVE_PAGINACAO_ENTREGA, requisicao,
+                TarefaDAO::criarTarefa, "Erro ao buscar próximas entregas");
+    }
 }
@@ -0,0 +1,49 @@
+package dao;
+
+import bd.ProvedorConexao;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Executa um trabalho em uma única conexão e transação.
+ *
+ * Se a conexão estiver em autocommit, a transação é aberta, confirmada ou desfeita aqui.
+ * Se o chamador já tiver uma transação aberta na conexão, o trabalho participa dela e
+ * o commit fica a cargo do chamador.
+ */
+class Transacao {
+
+    @FunctionalInterface
+    interface Trabalho<R> {
+        R executar(Connection connection) throws SQLException;
+    }
+
+    private Transacao() {
+    }
+
+    static <R> R executar(ProvedorConexao provedor, Trabalho<R> trabalho) throws SQLException {
+        try (Connection connection = provedor.obterConexao()) {
+            boolean controlaTransacao = connection.getAutoCommit();
+            if (controlaTransacao) {
+                connection.setAutoCommit(false);
+            }
+
+            try {
+                R resultado = trabalho.executar(connection);
+                if (controlaTransacao) {
+                    connection.commit();
+                }
+                return resultado;
+            } catch (SQLException | RuntimeException e) {
+                if (controlaTransacao) {
+                    connection.rollback();
+                }
+                throw e;
+            } finally {
+                if (controlaTransacao) {
+                    connection.setAutoCommit(true);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,373 @@
+package dao;
+
+import bd.ConnectionFactory;
+import bd.ProvedorConexao;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import modelo.Avaliacao;
+import modelo.EntidadeBase;
+import modelo.PerfilUsuario;
+import modelo.Projeto;
+import modelo.Solucao;
+import modelo.Tarefa;
+import modelo.Usuario;
+
+/**
+ * Unidade de trabalho: uma conexão e uma transação compartilhadas por vários DAOs.
+ *
+ * A unidade é um ProvedorConexao, então qualquer DAO criado com ela (new TarefaDAO(unidade) ou
+ * getTarefaDAO()) grava na mesma transação, e os métodos que já usam transação própria passam a
+ * participar desta. Entidades registradas com registrarNovo e registrarAlterado são gravadas só no
+ * confirmar, em lotes por tipo (salvarEmLote e atualizarEmLote), na ordem das chaves estrangeiras.
+ *
+ * Caches de entidades, contadores do painel, placar, índice de busca e motor de compatibilidade
+ * são compartilhados entre threads; por isso, enquanto a transação está aberta, os DAOs leem
+ * direto do banco e as atualizações dessas estruturas ficam para depois do commit. Se a unidade
+ * for desfeita, elas são descartadas. Uma unidade não deve ser usada por mais de uma thread.
+ *
+ * Uso:
+ * <pre>
+ * try (UnidadeDeTrabalho unidade = new UnidadeDeTrabalho()) {
+ *     unidade.registrarAlterado(solucao);
+ *     unidade.registrarAlterado(tarefa);
+ *     unidade.confirmar();
+ * }
+ * </pre>
+ */
+public class UnidadeDeTrabalho implements ProvedorConexao, AutoCloseable {
+
+    // Ordem das chaves estrangeiras: pais antes dos filhos
+    private static final List<Class<? extends EntidadeBase>> ORDEM_GRAVACAO = List.of(
+            Usuario.class, PerfilUsuario.class, Projeto.class, Tarefa.class, Solucao.class, Avaliacao.class);
+
+    private final ProvedorConexao origem;
+    private final Connection connection;
+    private final ProvedorConexao compartilhada;
+    private final int isolamentoAnterior;
+
+    private final Map<Class<?>, List<EntidadeBase>> novos = new LinkedHashMap<>();
+    private final Map<Class<?>, Map<String, EntidadeBase>> alterados = new LinkedHashMap<>();
+    private final List<Runnable> aposCommit = new ArrayList<>();
+
+    private boolean transacaoAberta;
+    private boolean encerrada;
+
+    public UnidadeDeTrabalho() {
+        this(new ConnectionFactory());
+    }
+
+    public UnidadeDeTrabalho(ProvedorConexao origem) {
+        this(origem, -1);
+    }
+
+    /**
+     * @param origem Provedor de onde vem a conexão da unidade (o pool, normalmente)
+     * @param nivelIsolamento Uma das constantes Connection.TRANSACTION_*, ou -1 para manter o da conexão
+     */
+    public UnidadeDeTrabalho(ProvedorConexao origem, int nivelIsolamento) {
+        if (origem == null) {
+            throw new IllegalArgumentException("O provedor de conexões não pode ser nulo");
+        }
+        if (nivelIsolamento != -1 && nivelIsolamento != Connection.TRANSACTION_READ_UNCOMMITTED
+                && nivelIsolamento != Connection.TRANSACTION_READ_COMMITTED
+                && nivelIsolamento != Connection.TRANSACTION_REPEATABLE_READ
+                && nivelIsolamento != Connection.TRANSACTION_SERIALIZABLE) {
+            throw new IllegalArgumentException("Nível de isolamento inválido: " + nivelIsolamento);
+        }
+
+        this.origem = origem;
+        try {
+            this.connection = origem.obterConexao();
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao iniciar unidade de trabalho: " + e.getMessage());
+        }
+
+        try {
+            this.isolamentoAnterior = connection.getTransactionIsolation();
+            if (nivelIsolamento != -1) {
+                connection.setTransactionIsolation(nivelIsolamento);
+            }
+            connection.setAutoCommit(false);
+        } catch (SQLException e) {
+            fecharConexao();
+            throw new RuntimeException("Erro ao iniciar unidade de trabalho: " + e.getMessage());
+        }
+        this.compartilhada = ProvedorConexao.fixo(connection);
+        this.transacaoAberta = true;
+    }
+
+    /**
+     * Executa o trabalho em uma unidade nova, confirmando ao final ou desfazendo se ele lançar exceção
+     *
+     * @param nivelIsolamento Uma das constantes Connection.TRANSACTION_*, ou -1 para manter o da conexão
+     * @return Valor retornado pelo trabalho
+     */
+    public static <R> R executar(ProvedorConexao origem, int nivelIsolamento, Function<UnidadeDeTrabalho, R> trabalho) {
+        try (UnidadeDeTrabalho unidade = new UnidadeDeTrabalho(origem, nivelIsolamento)) {
+            R resultado = trabalho.apply(unidade);
+            unidade.confirmar();
+            return resultado;
+        }
+    }
+
+    /**
+     * Entrega a conexão da unidade; o close() das conexões entregues é ignorado
+     */
+    @Override
+    public Connection obterConexao() throws SQLException {
+        if (encerrada) {
+            throw new SQLException("A unidade de trabalho já foi encerrada");
+        }
+        return compartilhada.obterConexao();
+    }
+
+    public UsuarioDAO getUsuarioDAO() {
+        return new UsuarioDAO(this);
+    }
+
+    public PerfilUsuarioDAO getPerfilUsuarioDAO() {
+        return new PerfilUsuarioDAO(this);
+    }
+
+    public ProjetoDAO getProjetoDAO() {
+        return new ProjetoDAO(this);
+    }
+
+    public TarefaDAO getTarefaDAO() {
+        return new TarefaDAO(this);
+    }
+
+    public SolucaoDAO getSolucaoDAO() {
+        return new SolucaoDAO(this);
+    }
+
+    public AvaliacaoDAO getAvaliacaoDAO() {
+        return new AvaliacaoDAO(this);
+    }
+
+    /**
+     * Agenda a inserção da entidade para o confirmar
+     */
+    public void registrarNovo(EntidadeBase entidade) {
+        verificarAberta();
+        novos.computeIfAbsent(tipoGravado(entidade), tipo -> new ArrayList<>()).add(entidade);
+    }
+
+    /**
+     * Agenda a atualização da entidade para o confirmar. Registrar a mesma entidade de novo
+     * substitui o registro anterior; entidades registradas como novas já são inseridas com o
+     * estado que tiverem no confirmar e não precisam ser registradas aqui.
+     */
+    public void registrarAlterado(EntidadeBase entidade) {
+        verificarAberta();
+        Class<?> tipo = tipoGravado(entidade);
+        List<EntidadeBase> novosDoTipo = novos.get(tipo);
+        if (novosDoTipo != null && novosDoTipo.contains(entidade)) {
+            return;
+        }
+        alterados.computeIfAbsent(tipo, t -> new LinkedHashMap<>()).put(entidade.getId(), entidade);
+    }
+
+    /**
+     * Grava as entidades registradas, confirma a transação e então atualiza os caches e as
+     * estruturas em memória. Se a gravação ou o commit falhar, a transação é desfeita.
+     */
+    public void confirmar() {
+        verificarAberta();
+        try {
+            gravarRegistradas();
+            connection.commit();
+        } catch (SQLException | RuntimeException e) {
+            try {
+                desfazer();
+            } catch (RuntimeException ignorada) {
+                // Prevalece a falha original
+            }
+            throw new RuntimeException("Erro ao confirmar unidade de trabalho: " + e.getMessage());
+        }
+
+        transacaoAberta = false;
+        restaurarConexao();
+        try {
+            // A conexão continua disponível para as ações que releem o banco, agora em autocommit
+            RuntimeException primeiraFalha = null;
+            for (Runnable acao : aposCommit) {
+                try {
+                    acao.run();
+                } catch (RuntimeException e) {
+                    if (primeiraFalha == null) {
+                        primeiraFalha = e;
+                    }
+                }
+            }
+            if (primeiraFalha != null) {
+                throw new RuntimeException("Transação confirmada, mas houve erro ao atualizar estruturas em memória: "
+                        + primeiraFalha.getMessage());
+            }
+        } finally {
+            aposCommit.clear();
+            encerrar();
+        }
+    }
+
+    /**
+     * Desfaz a transação e descarta as entidades registradas e as ações pendentes
+     */
+    public void desfazer() {
+        if (!transacaoAberta) {
+            return;
+        }
+        transacaoAberta = false;
+        novos.clear();
+        alterados.clear();
+        aposCommit.clear();
+        try {
+            connection.rollback();
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao desfazer unidade de trabalho: " + e.getMessage());
+        } finally {
+            restaurarConexao();
+            encerrar();
+        }
+    }
+
+    public boolean isTransacaoAberta() {
+        return transacaoAberta;
+    }
+
+    /**
+     * Desfaz a transação se ela não tiver sido confirmada
+     */
+    @Override
+    public void close() {
+        if (transacaoAberta) {
+            desfazer();
+        } else {
+            encerrar();
+        }
+    }
+
+    /**
+     * Executa a ação depois do commit se o provedor for uma unidade com transação aberta,
+     * ou imediatamente caso contrário. Usado pelos DAOs para as atualizações de caches e
+     * estruturas compartilhadas que não podem refletir dados ainda não confirmados.
+     */
+    static void aposConfirmar(ProvedorConexao provedor, Runnable acao) {
+        if (MetricasDAO.original(provedor) instanceof UnidadeDeTrabalho unidade && unidade.transacaoAberta) {
+            unidade.aposCommit.add(acao);
+        } else {
+            acao.run();
+        }
+    }
+
+    /**
+     * Indica se o provedor é uma unidade com transação aberta; nesse caso os DAOs não usam o cache
+     */
+    static boolean emTransacao(ProvedorConexao provedor) {
+        return MetricasDAO.original(provedor) instanceof UnidadeDeTrabalho unidade && unidade.transacaoAberta;
+    }
+
+    /**
+     * Provedor para carregar estruturas compartilhadas: fora da transação da unidade, para que
+     * elas só vejam dados confirmados. Depois do commit a própria conexão da unidade já está em
+     * autocommit e é reaproveitada, sem emprestar uma segunda conexão do pool.
+     */
+    static ProvedorConexao foraDaTransacao(ProvedorConexao provedor) {
+        if (MetricasDAO.original(provedor) instanceof UnidadeDeTrabalho unidade
+                && (unidade.transacaoAberta || unidade.encerrada)) {
+            return unidade.origem;
+        }
+        return provedor;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void gravarRegistradas() throws SQLException {
+        for (Class<? extends EntidadeBase> tipo : ORDEM_GRAVACAO) {
+            List<EntidadeBase> entidades = novos.get(tipo);
+            if (entidades == null || entidades.isEmpty()) {
+                continue;
+            }
+            ResultadoLote<EntidadeBase> resultado = ((BaseDAO<EntidadeBase>) criarDAO(tipo)).salvarEmLote(entidades);
+            if (!resultado.isSucessoTotal()) {
+                ResultadoLote.Falha<EntidadeBase> falha = resultado.getFalhas().get(0);
+                throw new SQLException(tipo.getSimpleName() + " " + falha.getObjeto().getId()
+                        + " não foi gravado(a): " + falha.getMensagem());
+            }
+        }
+
+        for (Class<? extends EntidadeBase> tipo : ORDEM_GRAVACAO) {
+            Map<String, EntidadeBase> entidades = alterados.get(tipo);
+            if (entidades == null || entidades.isEmpty()) {
+                continue;
+            }
+            ((BaseDAO<EntidadeBase>) criarDAO(tipo)).atualizarEmLote(entidades.values());
+        }
+
+        novos.clear();
+        alterados.clear();
+    }
+
+    private BaseDAO<?> criarDAO(Class<?> tipo) {
+        if (tipo == Usuario.class) {
+            return getUsuarioDAO();
+        } else if (tipo == PerfilUsuario.class) {
+            return getPerfilUsuarioDAO();
+        } else if (tipo == Projeto.class) {
+            return getProjetoDAO();
+        } else if (tipo == Tarefa.class) {
+            return getTarefaDAO();
+        } else if (tipo == Solucao.class) {
+            return getSolucaoDAO();
+        }
+        return getAvaliacaoDAO();
+    }
+
+    private static Class<?> tipoGravado(EntidadeBase entidade) {
+        if (entidade == null) {
+            throw new IllegalArgumentException("A entidade não pode ser nula");
+        }
+        for (Class<? extends EntidadeBase> tipo : ORDEM_GRAVACAO) {
+            if (tipo.isInstance(entidade)) {
+                return tipo;
+            }
+        }
+        throw new IllegalArgumentException("Tipo de entidade sem DAO: " + entidade.getClass().getSimpleName());
+    }
+
+    private void verificarAberta() {
+        if (!transacaoAberta) {
+            throw new IllegalStateException("A unidade de trabalho já foi confirmada ou desfeita");
+        }
+    }
+
+    private void restaurarConexao() {
+        try {
+            connection.setAutoCommit(true);
+            if (connection.getTransactionIsolation() != isolamentoAnterior) {
+                connection.setTransactionIsolation(isolamentoAnterior);
+            }
+        } catch (SQLException e) {
+            // A conexão será descartada pelo pool se estiver inutilizável
+        }
+    }
+
+    private void encerrar() {
+        if (!encerrada) {
+            encerrada = true;
+            fecharConexao();
+        }
+    }
+
+    private void fecharConexao() {
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            // Nada a fazer: a transação já foi confirmada ou desfeita
+        }
+    }
+}
@@ -1,28 +1,85 @@
 package dao;
 
+import bd.ConnectionFactory;
+import bd.ProvedorConexao;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
+import modelo.GeradorId;
+import modelo.ResumoUsuario;
 import modelo.Usuario;
 import modelo.PerfilUsuario;
 
 public class UsuarioDAO implements BaseDAO<Usuario> {
 
-    private Connection connection;
+    private static final String SQL_INSERIR =
+            "INSERT INTO usuario (id, nome, email, senha_criptografada) VALUES (?, ?, ?, ?)";
+
+    private static final String SQL_ATUALIZAR = "UPDATE usuario SET nome = ?, email = ? WHERE id = ? AND ativo = true";
+
+    // Colunas lidas por criarUsuario, na ordem dos índices
+    private static final String COLUNAS = "id, nome, email, senha_criptografada, data_cadastro";
+    private static final String SQL_SELECIONAR = "SELECT " + COLUNAS + " FROM usuario";
+    private static final String SQL_SELECIONAR_ALIAS =
+            "SELECT " + ListaColunas.qualificar("u", COLUNAS) + " FROM usuario u";
+    // Listagens não trazem o hash da senha
+    private static final String SQL_SELECIONAR_RESUMO =
+            "SELECT u.id, u.nome, u.email, u.data_cadastro FROM usuario u";
+
+    // Subconsulta usada pelas buscas por habilidade; o filtro sobre ph.habilidade é concatenado ao final
+    private static final String SQL_USUARIOS_POR_HABILIDADE =
+            "SELECT pu.usuario_id FROM perfil_habilidade ph "
+            + "INNER JOIN perfil_usuario pu ON pu.id = ph.perfil_id WHERE ";
+
+    private static final ChavePaginacao<Usuario> CHAVE_PAGINACAO =
+            ChavePaginacao.recentesPrimeiro("u.data_cadastro", "u.id", Usuario::getDataCadastro);
+    private static final ChavePaginacao<ResumoUsuario> CHAVE_PAGINACAO_RESUMO =
+            ChavePaginacao.recentesPrimeiro("u.data_cadastro", "u.id", ResumoUsuario::getDataCadastro);
+
+    private static volatile CacheEntidades<Usuario> cache = new CacheLRU<>(1_000, Duration.ofMinutes(5));
+
+    private ProvedorConexao provedor;
+
+    public UsuarioDAO() {
+        this(new ConnectionFactory());
+    }
 
     public UsuarioDAO(Connection connection) {
-        this.connection = connection;
+        this(ProvedorConexao.fixo(connection));
+    }
+
+    public UsuarioDAO(ProvedorConexao provedor) {
+        this.provedor = MetricasDAO.instrumentar(provedor);
+    }
+
+    /**
+     * Substitui o cache usado pelo buscarPorId de todos os UsuarioDAO
+     *
+     * @param novoCache Cache a ser usado; CacheEntidades.desativado() desliga o cache
+     */
+    public static void configurarCache(CacheEntidades<Usuario> novoCache) {
+        if (novoCache == null) {
+            throw new IllegalArgumentException("O cache não pode ser nulo");
+        }
+        cache = novoCache;
+    }
+
+    public static CacheEntidades<Usuario> getCache() {
+        return cache;
     }
 
     public void criarTabela() throws SQLException {
         String sql = """
             CREATE TABLE IF NOT EXISTS usuario (
-                id VARCHAR(36) PRIMARY KEY,
+                id BINARY(16) PRIMARY KEY,
                 nome VARCHAR(100) NOT NULL,
                 email VARCHAR(100) NOT NULL UNIQUE,
                 senha_criptografada VARCHAR(100) NOT NULL,
@@ -31,30 +88,40 @@ public class UsuarioDAO implements BaseDAO<Usuario> {
             )
         """;
 
-        try (var stmt = connection.createStatement()) {
+        try (Connection connection = provedor.obterConexao();
+             var stmt = connection.createStatement()) {
             stmt.execute(sql);
         }
     }
 
     @Override
     public void salvar(Usuario usuario) {
-        String sql = "INSERT INTO usuario (id, nome, email, senha_criptografada) VALUES (?, ?, ?, ?)";
-
-        try (PreparedStatement pstm = connection.prepareStatement(sql)) {
-            pstm.setString(1, usuario.getId());
-            pstm.setString(2, usuario.getNome());
-            pstm.setString(3, usuario.getEmail());
-            pstm.setString(4, usuario.getSenhaCriptografada());
+        try (Connection connection = provedor.obterConexao();
+             PreparedStatement pstm = connection.prepareStatement(SQL_INSERIR)) {
+            preencherInsercao(pstm, usuario);
             pstm.execute();
         } catch (SQLException e) {
             throw new RuntimeException("Erro ao salvar usuário: " + e.getMessage());
         }
     }
 
+    @Override
+    public ResultadoLote<Usuario> salvarEmLote(Collection<Usuario> usuarios, int tamanhoLote) {
+        return ExecutorLote.executar(provedor, SQL_INSERIR, usuarios, tamanhoLote, this::preencherInsercao);
+    }
+
+    private void preencherInsercao(PreparedStatement pstm, Usuario usuario) throws SQLException {
+        ColunaId.definir(pstm, 1, usuario.getId());
+        pstm.setString(2, usuario.getNome());
+        pstm.setString(3, usuario.getEmail());
+        pstm.setString(4, usuario.getSenhaCriptografada());
+    }
+
     public Usuario buscarPorEmail(String email) {
-        String sql = "SELECT * FROM usuario WHERE email = ? AND ativo = true";
+        String sql = SQL_SELECIONAR + " WHERE email = ? AND ativo = true";
 
-        try (PreparedStatement pstm = connection.prepareStatement(sql)) {
+        try (Connection connection = provedor.obterConexao();
+             PreparedStatement pstm = connection.prepareStatement(sql)) {
             pstm.setString(1, email);
 
             try (ResultSet rs = pstm.executeQuery()) {
@@ -70,10 +137,18 @@ public class UsuarioDAO implements BaseDAO<Usuario> {
 
     @Override
     public Object buscarPorId(String id) {
-        String sql = "SELECT * FROM usuario WHERE id = ? AND ativo = true";
+        if (UnidadeDeTrabalho.emTransacao(provedor)) {
+            return buscarPorIdNoBanco(id);
+        }
+        return cache.obter(id, this::buscarPorIdNoBanco, this::copiarUsuario);
+    }
+
+    private Usuario buscarPorIdNoBanco(String id) {
+        String sql = SQL_SELECIONAR + " WHERE id = ? AND ativo = true";
 
-        try (PreparedStatement pstm = connection.prepareStatement(sql)) {
-            pstm.setString(1, id);
+        try (Connection connection = provedor.obterConexao();
+             PreparedStatement pstm = connection.prepareStatement(sql)) {
+            ColunaId.definir(pstm, 1, id);
 
             try (ResultSet rs = pstm.executeQuery()) {
                 if (rs.next()) {
@@ -86,12 +161,23 @@ public class UsuarioDAO implements BaseDAO<Usuario> {
         return null;
     }
 
+    @Override
+    public Map<String, Usuario> buscarPorIds(Collection<String> ids) {
+        return ConsultaPorIds.buscar(provedor, SQL_SELECIONAR, "ativo = true", "id", ids,
+                UsuarioDAO::criarUsuario, "Erro ao buscar usuários");
+    }
+
+    /**
+     * @deprecated Carrega todas as linhas de uma vez; use {@link #listarPagina(RequisicaoPagina)} ou {@link #listarTodosStream()}
+     */
+    @Deprecated
     @Override
     public ArrayList<Usuario> listarTodosLazyLoading() {
         ArrayList<Usuario> usuarios = new ArrayList<>();
-        String sql = "SELECT * FROM usuario WHERE ativo = true";
+        String sql = SQL_SELECIONAR + " WHERE ativo = true";
 
-        try (PreparedStatement pstm = connection.prepareStatement(sql);
+        try (Connection connection = provedor.obterConexao();
+             PreparedStatement pstm = connection.prepareStatement(sql);
              ResultSet rs = pstm.executeQuery()) {
 
             while (rs.next()) {
@@ -104,31 +190,87 @@ public class UsuarioDAO implements BaseDAO<Usuario> {
     }
 
     @Override
-    public void atualizar(Usuario usuario) {
-        String sql = "UPDATE usuario SET nome = ?, email = ? WHERE id = ? AND ativo = true";
+    public Stream<Usuario> listarTodosStream() {
+        String sql = SQL_SELECIONAR + " WHERE ativo = true";
+        return CursorStream.abrir(provedor, sql, UsuarioDAO::criarUsuario, "Erro ao listar usuários");
+    }
+
+    @Override
+    public Pagina<Usuario> listarPagina(RequisicaoPagina requisicao) {
+        return ConsultaPaginada.buscar(provedor, SQL_SELECIONAR_ALIAS, "u.ativo = true",
+                pstm -> { }, CHAVE_PAGINACAO, requisicao,
+                UsuarioDAO::criarUsuario, "Erro ao listar usuários");
+    }
+
+    /**
+     * Lista os resumos dos usuários ativos, sem o hash da senha, para telas de listagem
+     *
+     * @param requisicao Página pedida
+     * @return Página de resumos, dos cadastros mais recentes para os mais antigos
+     */
+    public Pagina<ResumoUsuario> listarResumos(RequisicaoPagina requisicao) {
+        return ConsultaPaginada.buscar(provedor, SQL_SELECIONAR_RESUMO, "u.ativo = true",
+                pstm -> { }, CHAVE_PAGINACAO_RESUMO, requisicao,
+                UsuarioDAO::criarResumo, "Erro ao listar usuários");
+    }
 
-        try (PreparedStatement pstm = connection.prepareStatement(sql)) {
-            pstm.setString(1, usuario.getNome());
-            pstm.setString(2, usuario.getEmail());
-            pstm.setString(3, usuario.getId());
+    @Override
+    public void atualizar(Usuario usuario) {
+        try (Connection connection = provedor.obterConexao();
+             PreparedStatement pstm = connection.prepareStatement(SQL_ATUALIZAR)) {
+            preencherAtualizacao(pstm, usuario);
 
             int rowsAffected = pstm.executeUpdate();
+            UnidadeDeTrabalho.aposConfirmar(provedor, () -> cache.invalidar(usuario.getId()));
             if (rowsAffected == 0) {
                 throw new SQLException("Atualização falhou: usuário não encontrado ou inativo.");
             }
+            UnidadeDeTrabalho.aposConfirmar(provedor, () ->
+                    PlacarSolucoes.getInstancia().renomearAutor(usuario.getId(), usuario.getNome()));
         } catch (SQLException e) {
             throw new RuntimeException("Erro ao atualizar usuário: " + e.getMessage());
         }
     }
 
+    @Override
+    public void atualizarEmLote(Collection<Usuario> usuarios) {
+        if (usuarios.isEmpty()) {
+            return;
+        }
+        try {
+            Transacao.executar(provedor, connection -> {
+                ExecutorLote.atualizar(connection, SQL_ATUALIZAR, usuarios, TAMANHO_LOTE_PADRAO,
+                        this::preencherAtualizacao, "Atualização falhou: usuário não encontrado ou inativo.");
+                return null;
+            });
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao atualizar usuários: " + e.getMessage());
+        }
+
+        UnidadeDeTrabalho.aposConfirmar(provedor, () -> {
+            for (Usuario usuario : usuarios) {
+                cache.invalidar(usuario.getId());
+                PlacarSolucoes.getInstancia().renomearAutor(usuario.getId(), usuario.getNome());
+            }
+        });
+    }
+
+    private void preencherAtualizacao(PreparedStatement pstm, Usuario usuario) throws SQLException {
+        pstm.setString(1, usuario.getNome());
+        pstm.setString(2, usuario.getEmail());
+        ColunaId.definir(pstm, 3, usuario.getId());
+    }
+
     public void atualizarSenha(String id, String novaSenhaCriptografada) {
         String sql = "UPDATE usuario SET senha_criptografada = ? WHERE id = ? AND ativo = true";
 
-        try (PreparedStatement pstm = connection.prepareStatement(sql)) {
+        try (Connection connection = provedor.obterConexao();
+             PreparedStatement pstm = connection.prepareStatement(sql)) {
             pstm.setString(1, novaSenhaCriptografada);
-            pstm.setString(2, id);
+            ColunaId.definir(pstm, 2, id);
 
             int rowsAffected = pstm.executeUpdate();
+            UnidadeDeTrabalho.aposConfirmar(provedor, () -> cache.invalidar(id));
             if (rowsAffected == 0) {
                 throw new SQLException("Atualização de senha falhou: usuário não encontrado ou inativo.");
             }
@@ -142,10 +284,12 @@ public class UsuarioDAO implements BaseDAO<Usuario> {
         // Soft delete - apenas marca o usuário como inativo
         String sql = "UPDATE usuario SET ativo = false WHERE id = ?";
 
-        try (PreparedStatement pstm = connection.prepareStatement(sql)) {
-            pstm.setString(1, id);
+        try (Connection connection = provedor.obterConexao();
+             PreparedStatement pstm = connection.prepareStatement(sql)) {
+            ColunaId.definir(pstm, 1, id);
 
             int rowsAffected = pstm.executeUpdate();
+            UnidadeDeTrabalho.aposConfirmar(provedor, () -> cache.invalidar(id));
             if (rowsAffected == 0) {
                 throw new SQLException("Exclusão falhou: usuário não encontrado.");
             }
@@ -154,19 +298,34 @@ public class UsuarioDAO implements BaseDAO<Usuario> {
         }
     }
 
-    private Usuario criarUsuario(ResultSet rs) throws SQLException {
+    /**
+     * Cria o usuário a partir de uma linha lida com COLUNAS, por índice
+     */
+    private static Usuario criarUsuario(ResultSet rs) throws SQLException {
+        Usuario usuario = new Usuario(ColunaId.ler(rs, 1), rs.getString(2), rs.getString(3), rs.getString(4));
+        usuario.setDataCadastro(rs.getTimestamp(5));
+        return usuario;
+    }
+
+    private static ResumoUsuario criarResumo(ResultSet rs) throws SQLException {
+        return new ResumoUsuario(ColunaId.ler(rs, 1), rs.getString(2), rs.getString(3), rs.getTimestamp(4));
+    }
+
+    private Usuario copiarUsuario(Usuario origem) {
         Usuario usuario = new Usuario();
-        usuario.setId(rs.getString("id"));
-        usuario.setNome(rs.getString("nome"));
-        usuario.setEmail(rs.getString("email"));
-        usuario.setSenhaCriptografada(rs.getString("senha_criptografada"));
+        usuario.setId(origem.getId());
+        usuario.setNome(origem.getNome());
+        usuario.setEmail(origem.getEmail());
+        usuario.setSenhaCriptografada(origem.getSenhaCriptografada());
+        usuario.setDataCadastro(origem.getDataCadastro());
         return usuario;
     }
 
     public boolean autenticar(String email, String senhaCriptografada) {
         String sql = "SELECT COUNT(*) FROM usuario WHERE email = ? AND senha_criptografada = ? AND ativo = true";
 
-        try (PreparedStatement pstm = connection.prepareStatement(sql)) {
+        try (Connection connection = provedor.obterConexao();
+             PreparedStatement pstm = connection.prepareStatement(sql)) {
             pstm.setString(1, email);
             pstm.setString(2, senhaCriptografada);
 
@@ -184,7 +343,8 @@ public class UsuarioDAO implements BaseDAO<Usuario> {
     public boolean emailExiste(String email) {
         String sql = "SELECT COUNT(*) FROM usuario WHERE email = ? AND ativo = true";
 
-        try (PreparedStatement pstm = connection.prepareStatement(sql)) {
+        try (Connection connection = provedor.obterConexao();
+             PreparedStatement pstm = connection.prepareStatement(sql)) {
             pstm.setString(1, email);
 
             try (ResultSet rs = pstm.executeQuery()) {
@@ -199,9 +359,10 @@ public class UsuarioDAO implements BaseDAO<Usuario> {
     }
 
     public Usuario buscarPorEmailESenha(String email, String senhaCriptografada) {
-        String sql = "SELECT * FROM usuario WHERE email = ? AND senha_criptografada = ? AND ativo = true";
+        String sql = SQL_SELECIONAR + " WHERE email = ? AND senha_criptografada = ? AND ativo = true";
 
-        try (PreparedStatement pstm = connection.prepareStatement(sql)) {
+        try (Connection connection = provedor.obterConexao();
+             PreparedStatement pstm = connection.prepareStatement(sql)) {
             pstm.setString(1, email);
             pstm.setString(2, senhaCriptografada);
 
@@ -219,27 +380,128 @@ public class UsuarioDAO implements BaseDAO<Usuario> {
     public boolean redefinirSenha(String email, String novaSenhaCriptografada) {
         String sql = "UPDATE usuario SET senha_criptografada = ? WHERE email = ? AND ativo = true";
 
-        try (PreparedStatement pstm = connection.prepareStatement(sql)) {
+        try (Connection connection = provedor.obterConexao();
+             PreparedStatement pstm = connection.prepareStatement(sql)) {
             pstm.setString(1, novaSenhaCriptografada);
             pstm.setString(2, email);
 
-            return pstm.executeUpdate() > 0;
+            int rowsAffected = pstm.executeUpdate();
+            UnidadeDeTrabalho.aposConfirmar(provedor, cache::limpar); // O cache é indexado por id, não por email
+            return rowsAffected > 0;
         } catch (SQLException e) {
             throw new RuntimeException("Erro ao redefinir senha: " + e.getMessage());
         }
     }
 
+    /**
+     * Busca usuários ativos que possuem exatamente a habilidade informada,
+     * usando o índice perfil_habilidade em vez de varrer a coluna habilidades.
+     *
+     * @deprecated Carrega todas as linhas de uma vez; use {@link #buscarPorHabilidade(String, RequisicaoPagina)}
+     */
+    @Deprecated
     public List<Usuario> buscarPorHabilidade(String habilidade) {
+        return buscarPorFiltroHabilidade("ph.habilidade = ?", List.of(normalizarHabilidade(habilidade)), null,
+                "Erro ao buscar usuários por habilidade");
+    }
+
+    public Pagina<Usuario> buscarPorHabilidade(String habilidade, RequisicaoPagina requisicao) {
+        String valor = normalizarHabilidade(habilidade);
+        return ConsultaPaginada.buscar(provedor, SQL_SELECIONAR_ALIAS,
+                "u.ativo = true AND u.id IN (" + SQL_USUARIOS_POR_HABILIDADE + "ph.habilidade = ?)",
+                pstm -> pstm.setString(1, valor), CHAVE_PAGINACAO, requisicao,
+                UsuarioDAO::criarUsuario, "Erro ao buscar usuários por habilidade");
+    }
+
+    /**
+     * Busca usuários ativos com alguma habilidade que comece pelo prefixo informado.
+     *
+     * @deprecated Carrega todas as linhas de uma vez; use {@link #buscarPorPrefixoHabilidade(String, RequisicaoPagina)}
+     */
+    @Deprecated
+    public List<Usuario> buscarPorPrefixoHabilidade(String prefixo) {
+        return buscarPorFiltroHabilidade("ph.habilidade LIKE ?", List.of(padraoPrefixo(prefixo)), null,
+                "Erro ao buscar usuários por prefixo de habilidade");
+    }
+
+    public Pagina<Usuario> buscarPorPrefixoHabilidade(String prefixo, RequisicaoPagina requisicao) {
+        return paginarPorFiltroHabilidade("ph.habilidade LIKE ?", List.of(padraoPrefixo(prefixo)), null,
+                requisicao, "Erro ao buscar usuários por prefixo de habilidade");
+    }
+
+    private static String padraoPrefixo(String prefixo) {
+        return normalizarHabilidade(prefixo)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_") + "%";
+    }
+
+    /**
+     * Busca usuários ativos pelas habilidades informadas.
+     *
+     * @param habilidades Habilidades procuradas
+     * @param exigirTodas true para exigir todas as habilidades (E), false para qualquer uma (OU)
+     * @deprecated Carrega todas as linhas de uma vez; use {@link #buscarPorHabilidades(Collection, boolean, RequisicaoPagina)}
+     */
+    @Deprecated
+    public List<Usuario> buscarPorHabilidades(Collection<String> habilidades, boolean exigirTodas) {
+        List<String> valores = habilidades.stream()
+                .map(UsuarioDAO::normalizarHabilidade)
+                .distinct()
+                .toList();
+        if (valores.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        String marcadores = String.join(", ", java.util.Collections.nCopies(valores.size(), "?"));
+        String agrupamento = exigirTodas
+                ? " GROUP BY pu.usuario_id HAVING COUNT(DISTINCT ph.habilidade) = " + valores.size()
+                : null;
+        return buscarPorFiltroHabilidade("ph.habilidade IN (" + marcadores + ")", valores, agrupamento,
+                "Erro ao buscar usuários por habilidades");
+    }
+
+    public Pagina<Usuario> buscarPorHabilidades(Collection<String> habilidades, boolean exigirTodas,
+                                                RequisicaoPagina requisicao) {
+        List<String> valores = habilidades.stream()
+                .map(UsuarioDAO::normalizarHabilidade)
+                .distinct()
+                .toList();
+        if (valores.isEmpty()) {
+            return new Pagina<>(new ArrayList<>(), null);
+        }
+
+        String marcadores = String.join(", ", java.util.Collections.nCopies(valores.size(), "?"));
+        String agrupamento = exigirTodas
+                ? " GROUP BY pu.usuario_id HAVING COUNT(DISTINCT ph.habilidade) = " + valores.size()
+                : null;
+        return paginarPorFiltroHabilidade("ph.habilidade IN (" + marcadores + ")", valores, agrupamento,
+                requisicao, "Erro ao buscar usuários por habilidades");
+    }
+
+    private Pagina<Usuario> paginarPorFiltroHabilidade(String filtro, List<String> valores, String agrupamento,
+                                                       RequisicaoPagina requisicao, String mensagemErro) {
+        return ConsultaPaginada.buscar(provedor, SQL_SELECIONAR_ALIAS,
+                "u.ativo = true AND u.id IN (" + SQL_USUARIOS_POR_HABILIDADE + filtro
+                        + (agrupamento != null ? agrupamento : "") + ")",
+                pstm -> {
+                    for (int i = 0; i < valores.size(); i++) {
+                        pstm.setString(i + 1, valores.get(i));
+                    }
+                }, CHAVE_PAGINACAO, requisicao, UsuarioDAO::criarUsuario, mensagemErro);
+    }
+
+    private List<Usuario> buscarPorFiltroHabilidade(String filtro, List<String> valores, String agrupamento,
+                                                    String mensagemErro) {
         List<Usuario> usuarios = new ArrayList<>();
-        String sql = """
-            SELECT u.* 
-            FROM usuario u 
-            INNER JOIN perfil_usuario pu ON u.id = pu.usuario_id 
-            WHERE pu.habilidades LIKE ? AND u.ativo = true
-        """;
+        String sql = SQL_SELECIONAR_ALIAS + " WHERE u.ativo = true AND u.id IN ("
+                + SQL_USUARIOS_POR_HABILIDADE + filtro + (agrupamento != null ? agrupamento : "") + ")";
 
-        try (PreparedStatement pstm = connection.prepareStatement(sql)) {
-            pstm.setString(1, "%" + habilidade + "%");
+        try (Connection connection = provedor.obterConexao();
+             PreparedStatement pstm = connection.prepareStatement(sql)) {
+            for (int i = 0; i < valores.size(); i++) {
+                pstm.setString(i + 1, valores.get(i));
+            }
 
             try (ResultSet rs = pstm.executeQuery()) {
                 while (rs.next()) {
@@ -247,11 +509,18 @@ public class UsuarioDAO implements BaseDAO<Usuario> {
                 }
             }
         } catch (SQLException e) {
-            throw new RuntimeException("Erro ao buscar usuários por habilidade: " + e.getMessage());
+            throw new RuntimeException(mensagemErro + ": " + e.getMessage());
         }
         return usuarios;
     }
 
+    private static String normalizarHabilidade(String habilidade) {
+        if (habilidade == null || habilidade.trim().isEmpty()) {
+            throw new IllegalArgumentException("Habilidade não pode ser vazia");
+        }
+        return habilidade.trim().toLowerCase();
+    }
+
     public Map<String, Object> obterEstatisticasUsuario(String usuarioId) {
         Map<String, Object> estatisticas = new HashMap<>();
         String sql = """
@@ -265,9 +534,10 @@ public class UsuarioDAO implements BaseDAO<Usuario> {
                  WHERE s.usuario_id = ?) as media_avaliacoes_recebidas
         """;
 
-        try (PreparedStatement pstm = connection.prepareStatement(sql)) {
+        try (Connection connection = provedor.obterConexao();
+             PreparedStatement pstm = connection.prepareStatement(sql)) {
             for (int i = 1; i <= 5; i++) {
-                pstm.setString(i, usuarioId);
+                ColunaId.definir(pstm, i, usuarioId);
             }
 
             try (ResultSet rs = pstm.executeQuery()) {
@@ -285,11 +555,13 @@ public class UsuarioDAO implements BaseDAO<Usuario> {
         return estatisticas;
     }
 
+    /**
+     * @deprecated Carrega todas as linhas de uma vez; use {@link #buscarUsuariosAtivos(RequisicaoPagina)}
+     */
+    @Deprecated
     public List<Usuario> buscarUsuariosAtivos() {
         List<Usuario> usuarios = new ArrayList<>();
-        String sql = """
-            SELECT u.* 
-            FROM usuario u 
+        String sql = SQL_SELECIONAR_ALIAS + """
             WHERE u.ativo = true AND EXISTS (
                 SELECT 1 FROM tarefas t 
                 WHERE t.usuario_responsavel_id = u.id 
@@ -297,7 +569,8 @@ public class UsuarioDAO implements BaseDAO<Usuario> {
             )
         """;
 
-        try (PreparedStatement pstm = connection.prepareStatement(sql);
+        try (Connection connection = provedor.obterConexao();
+             PreparedStatement pstm = connection.prepareStatement(sql);
              ResultSet rs = pstm.executeQuery()) {
 
             while (rs.next()) {
@@ -309,22 +582,73 @@ public class UsuarioDAO implements BaseDAO<Usuario> {
         return usuarios;
     }
 
+    public Pagina<Usuario> buscarUsuariosAtivos(RequisicaoPagina requisicao) {
+        return ConsultaPaginada.buscar(provedor, SQL_SELECIONAR_ALIAS,
+                "u.ativo = true AND EXISTS (SELECT 1 FROM tarefas t WHERE t.usuario_responsavel_id = u.id AND t.status = 'EM_ANDAMENTO')",
+                pstm -> { }, CHAVE_PAGINACAO, requisicao,
+                UsuarioDAO::criarUsuario, "Erro ao buscar usuários ativos");
+    }
+
+    /**
+     * Grava o perfil do usuário: atualiza o perfil ligado a ele pela coluna usuario_id ou, se
+     * ainda não houver um, cria um perfil novo. O índice perfil_habilidade é refeito junto.
+     */
     public void atualizarPerfilUsuario(String usuarioId, PerfilUsuario perfil) {
-        String sql = """
-            INSERT INTO perfil_usuario (usuario_id, biografia, foto_perfil_uri, habilidades)
-            VALUES (?, ?, ?, ?)
-            ON DUPLICATE KEY UPDATE
-            biografia = VALUES(biografia),
-            foto_perfil_uri = VALUES(foto_perfil_uri),
-            habilidades = VALUES(habilidades)
+        String sqlBuscarPerfil = "SELECT id FROM perfil_usuario WHERE usuario_id = ? ORDER BY id LIMIT 1 FOR UPDATE";
+        String sqlAtualizar =
+                "UPDATE perfil_usuario SET biografia = ?, foto_perfil_uri = ?, habilidades = ? WHERE id = ?";
+        String sqlInserir = """
+            INSERT INTO perfil_usuario (biografia, foto_perfil_uri, habilidades, id, usuario_id)
+            VALUES (?, ?, ?, ?, ?)
         """;
+        String sqlRemoverHabilidades = "DELETE FROM perfil_habilidade WHERE perfil_id = ?";
+        String sqlInserirHabilidade = "INSERT INTO perfil_habilidade (perfil_id, habilidade) VALUES (?, ?)";
+
+        try {
+            String perfilId = Transacao.executar(provedor, connection -> {
+                String existente = null;
+                try (PreparedStatement pstm = connection.prepareStatement(sqlBuscarPerfil)) {
+                    ColunaId.definir(pstm, 1, usuarioId);
+                    try (ResultSet rs = pstm.executeQuery()) {
+                        if (rs.next()) {
+                            existente = ColunaId.ler(rs, 1);
+                        }
+                    }
+                }
 
-        try (PreparedStatement pstm = connection.prepareStatement(sql)) {
-            pstm.setString(1, usuarioId);
-            pstm.setString(2, perfil.getBiografia());
-            pstm.setString(3, perfil.getFotoPerfilUri());
-            pstm.setString(4, String.join(",", perfil.getHabilidades()));
-            pstm.executeUpdate();
+                String id = existente != null ? existente : GeradorId.novo();
+                try (PreparedStatement pstm = connection.prepareStatement(existente != null ? sqlAtualizar : sqlInserir)) {
+                    pstm.setString(1, perfil.getBiografia());
+                    pstm.setString(2, perfil.getFotoPerfilUri());
+                    pstm.setString(3, String.join(",", perfil.getHabilidades()));
+                    ColunaId.definir(pstm, 4, id);
+                    if (existente == null) {
+                        ColunaId.definir(pstm, 5, usuarioId);
+                    }
+                    pstm.executeUpdate();
+                }
+
+                try (PreparedStatement pstm = connection.prepareStatement(sqlRemoverHabilidades)) {
+                    ColunaId.definir(pstm, 1, id);
+                    pstm.executeUpdate();
+                }
+
+                if (!perfil.getHabilidades().isEmpty()) {
+                    try (PreparedStatement pstm = connection.prepareStatement(sqlInserirHabilidade)) {
+                        for (String habilidade : perfil.getHabilidades()) {
+                            ColunaId.definir(pstm, 1, id);
+                            pstm.setString(2, habilidade);
+                            pstm.addBatch();
+                        }
+                        pstm.executeBatch();
+                    }
+                }
+                return id;
+            });
+            UnidadeDeTrabalho.aposConfirmar(provedor, () -> {
+                PerfilUsuarioDAO.getCache().invalidar(perfilId);
+                MotorCompatibilidade.getInstancia().recarregarSeCarregado(provedor);
+            });
         } catch (SQLException e) {
             throw new RuntimeException("Erro ao atualizar perfil do usuário: " + e.getMessage());
         }
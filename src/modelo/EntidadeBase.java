@@ -1,20 +1,17 @@
 package modelo;
 
 import java.util.Objects;
-import java.util.concurrent.atomic.AtomicInteger;
 
 public abstract class EntidadeBase implements InterfaceEntidadeBase {
     private String id;
-    // Contador estático compartilhado por todas as entidades para gerar IDs incrementais
-    private static final AtomicInteger contador = new AtomicInteger(1);
 
     protected EntidadeBase() {
-        // Gera um ID incremental automaticamente
-        this.id = String.valueOf(contador.getAndIncrement());
+        // Gera um UUID v7, ordenado pelo instante de criação e único entre processos
+        this.id = GeradorId.novo();
     }
 
     protected EntidadeBase(String id) {
-        this.id = id != null ? id : String.valueOf(contador.getAndIncrement());
+        this.id = id != null ? id : GeradorId.novo();
     }
 
     @Override
@@ -0,0 +1,127 @@
+package modelo;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.UUID;
+
+/**
+ * Gera identificadores UUID versão 7 (RFC 9562) e converte entre o texto e os 16 bytes gravados no banco.
+ *
+ * Os 48 bits iniciais são o instante em milissegundos, então ids gerados depois ficam depois na
+ * ordem do índice e as inserções vão para o fim da B-tree. Os 12 bits seguintes são um contador
+ * que mantém a ordem entre ids do mesmo milissegundo neste processo; os 62 bits finais são
+ * aleatórios, o que evita colisões entre reinícios e entre servidores sem coordenação.
+ */
+public final class GeradorId {
+
+    private static final SecureRandom ALEATORIO = new SecureRandom();
+    private static final int CONTADOR_MAXIMO = 0xFFF;
+
+    private static long ultimoInstante;
+    private static int contador;
+
+    private GeradorId() {
+    }
+
+    /**
+     * @return Novo id no formato canônico (36 caracteres com hífens)
+     */
+    public static String novo() {
+        long instante;
+        int sequencia;
+        synchronized (GeradorId.class) {
+            instante = Math.max(System.currentTimeMillis(), ultimoInstante);
+            if (instante == ultimoInstante) {
+                if (contador == CONTADOR_MAXIMO) {
+                    // Contador esgotado neste milissegundo: avança o relógio lógico
+                    instante++;
+                    contador = 0;
+                } else {
+                    contador++;
+                }
+            } else {
+                // Começa na metade inferior para deixar folga ao contador
+                contador = ALEATORIO.nextInt(CONTADOR_MAXIMO / 2);
+            }
+            ultimoInstante = instante;
+            sequencia = contador;
+        }
+
+        long maisSignificativos = (instante << 16) | 0x7000L | sequencia;
+        long menosSignificativos = (ALEATORIO.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(maisSignificativos, menosSignificativos).toString();
+    }
+
+    /**
+     * Converte um id para os 16 bytes gravados no banco.
+     * Ids que não são UUID (como os numéricos gerados por versões anteriores) viram o MD5 do
+     * texto, a mesma conversão feita pela migração do banco, então continuam sendo encontrados.
+     *
+     * @param id Id em texto
+     * @return 16 bytes do id
+     */
+    public static byte[] paraBytes(String id) {
+        if (id == null) {
+            throw new IllegalArgumentException("O ID não pode ser nulo");
+        }
+        if (!isUuid(id)) {
+            return md5(id);
+        }
+
+        UUID uuid = UUID.fromString(id);
+        byte[] bytes = new byte[16];
+        long maisSignificativos = uuid.getMostSignificantBits();
+        long menosSignificativos = uuid.getLeastSignificantBits();
+        for (int i = 0; i < 8; i++) {
+            bytes[i] = (byte) (maisSignificativos >>> (56 - 8 * i));
+            bytes[8 + i] = (byte) (menosSignificativos >>> (56 - 8 * i));
+        }
+        return bytes;
+    }
+
+    /**
+     * Converte os 16 bytes lidos do banco para o texto do id
+     *
+     * @param bytes Bytes do id
+     * @return Id no formato canônico
+     */
+    public static String deBytes(byte[] bytes) {
+        if (bytes == null || bytes.length != 16) {
+            throw new IllegalArgumentException("O ID binário deve ter 16 bytes");
+        }
+        long maisSignificativos = 0;
+        long menosSignificativos = 0;
+        for (int i = 0; i < 8; i++) {
+            maisSignificativos = (maisSignificativos << 8) | (bytes[i] & 0xFF);
+            menosSignificativos = (menosSignificativos << 8) | (bytes[8 + i] & 0xFF);
+        }
+        return new UUID(maisSignificativos, menosSignificativos).toString();
+    }
+
+    /**
+     * Verifica se o texto está no formato canônico de UUID (8-4-4-4-12 dígitos hexadecimais)
+     */
+    public static boolean isUuid(String id) {
+        if (id == null || id.length() != 36) {
+            return false;
+        }
+        for (int i = 0; i < 36; i++) {
+            char c = id.charAt(i);
+            boolean hifen = i == 8 || i == 13 || i == 18 || i == 23;
+            if (hifen ? c != '-' : Character.digit(c, 16) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static byte[] md5(String id) {
+        try {
+            return MessageDigest.getInstance("MD5").digest(id.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("MD5 indisponível", e);
+        }
+    }
+}
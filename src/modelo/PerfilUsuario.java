@@ -164,13 +164,17 @@ public class PerfilUsuario extends EntidadeBase {
             return 0;
         }
 
-        Set<String> habilidadesComuns = new HashSet<>(habilidades);
-        habilidadesComuns.retainAll(outroPerfil.habilidades);
-
-        Set<String> todasHabilidades = new HashSet<>(habilidades);
-        todasHabilidades.addAll(outroPerfil.habilidades);
+        // Percorre o menor conjunto; a união sai do total menos a interseção
+        Set<String> menor = habilidades.size() <= outroPerfil.habilidades.size() ? habilidades : outroPerfil.habilidades;
+        Set<String> maior = menor == habilidades ? outroPerfil.habilidades : habilidades;
+        int comuns = 0;
+        for (String habilidade : menor) {
+            if (maior.contains(habilidade)) {
+                comuns++;
+            }
+        }
 
-        return todasHabilidades.isEmpty() ? 0 : (habilidadesComuns.size() * 100) / todasHabilidades.size();
+        return (comuns * 100) / (habilidades.size() + outroPerfil.habilidades.size() - comuns);
     }
 
     @Override
@@ -0,0 +1,84 @@
+package modelo;
+
+import java.sql.Timestamp;
+import java.util.Objects;
+
+/**
+ * Resumo de um projeto para listagens: os dados exibidos em uma lista, sem a descrição.
+ * Instâncias são criadas pelos DAOs a partir de consultas que leem só essas colunas.
+ */
+public class ResumoProjeto implements InterfaceEntidadeBase {
+    private String id;
+    private final String titulo;
+    private final String status;
+    private final String usuarioId;
+    private final Timestamp dataCriacao;
+    private final Timestamp dataConclusao;
+
+    public ResumoProjeto(String id, String titulo, String status, String usuarioId, Timestamp dataCriacao, Timestamp dataConclusao) {
+        setId(id);
+        this.titulo = titulo;
+        this.status = status;
+        this.usuarioId = usuarioId;
+        this.dataCriacao = dataCriacao;
+        this.dataConclusao = dataConclusao;
+    }
+
+    @Override
+    public String getId() {
+        return id;
+    }
+
+    @Override
+    public final void setId(String id) {
+        if (id == null || id.trim().isEmpty()) {
+            throw new IllegalArgumentException("O ID não pode estar vazio");
+        }
+        this.id = id;
+    }
+
+    public String getTitulo() {
+        return titulo;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public String getUsuarioId() {
+        return usuarioId;
+    }
+
+    public Timestamp getDataCriacao() {
+        return dataCriacao;
+    }
+
+    public Timestamp getDataConclusao() {
+        return dataConclusao;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ResumoProjeto that = (ResumoProjeto) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    @Override
+    public String toString() {
+        return "ResumoProjeto{" +
+                "id='" + id + '\'' +
+                ", titulo='" + titulo + '\'' +
+                ", status='" + status + '\'' +
+                ", usuarioId='" + usuarioId + '\'' +
+                ", dataCriacao=" + dataCriacao +
+                ", dataConclusao=" + dataConclusao +
+                '}';
+    }
+}
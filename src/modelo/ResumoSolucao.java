@@ -0,0 +1,84 @@
+package modelo;
+
+import java.sql.Timestamp;
+import java.util.Objects;
+
+/**
+ * Resumo de uma solução para listagens: os dados exibidos em uma lista, sem a descrição.
+ * Instâncias são criadas pelos DAOs a partir de consultas que leem só essas colunas.
+ */
+public class ResumoSolucao implements InterfaceEntidadeBase {
+    private String id;
+    private final String titulo;
+    private final String status;
+    private final String tarefaId;
+    private final String usuarioId;
+    private final Timestamp dataSubmissao;
+
+    public ResumoSolucao(String id, String titulo, String status, String tarefaId, String usuarioId, Timestamp dataSubmissao) {
+        setId(id);
+        this.titulo = titulo;
+        this.status = status;
+        this.tarefaId = tarefaId;
+        this.usuarioId = usuarioId;
+        this.dataSubmissao = dataSubmissao;
+    }
+
+    @Override
+    public String getId() {
+        return id;
+    }
+
+    @Override
+    public final void setId(String id) {
+        if (id == null || id.trim().isEmpty()) {
+            throw new IllegalArgumentException("O ID não pode estar vazio");
+        }
+        this.id = id;
+    }
+
+    public String getTitulo() {
+        return titulo;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public String getTarefaId() {
+        return tarefaId;
+    }
+
+    public String getUsuarioId() {
+        return usuarioId;
+    }
+
+    public Timestamp getDataSubmissao() {
+        return dataSubmissao;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ResumoSolucao that = (ResumoSolucao) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    @Override
+    public String toString() {
+        return "ResumoSolucao{" +
+                "id='" + id + '\'' +
+                ", titulo='" + titulo + '\'' +
+                ", status='" + status + '\'' +
+                ", tarefaId='" + tarefaId + '\'' +
+                ", usuarioId='" + usuarioId + '\'' +
+                ", dataSubmissao=" + dataSubmissao +
+                '}';
+    }
+}
@@ -0,0 +1,98 @@
+package modelo;
+
+import java.sql.Timestamp;
+import java.util.Objects;
+
+/**
+ * Resumo de uma tarefa para listagens: os dados exibidos em uma lista, sem a descrição.
+ * Instâncias são criadas pelos DAOs a partir de consultas que leem só essas colunas.
+ */
+public class ResumoTarefa implements InterfaceEntidadeBase {
+    private String id;
+    private final String titulo;
+    private final String status;
+    private final String prioridade;
+    private final String projetoId;
+    private final String usuarioResponsavelId;
+    private final Timestamp dataCriacao;
+    private final Timestamp dataConclusao;
+
+    public ResumoTarefa(String id, String titulo, String status, String prioridade, String projetoId, String usuarioResponsavelId, Timestamp dataCriacao, Timestamp dataConclusao) {
+        setId(id);
+        this.titulo = titulo;
+        this.status = status;
+        this.prioridade = prioridade;
+        this.projetoId = projetoId;
+        this.usuarioResponsavelId = usuarioResponsavelId;
+        this.dataCriacao = dataCriacao;
+        this.dataConclusao = dataConclusao;
+    }
+
+    @Override
+    public String getId() {
+        return id;
+    }
+
+    @Override
+    public final void setId(String id) {
+        if (id == null || id.trim().isEmpty()) {
+            throw new IllegalArgumentException("O ID não pode estar vazio");
+        }
+        this.id = id;
+    }
+
+    public String getTitulo() {
+        return titulo;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public String getPrioridade() {
+        return prioridade;
+    }
+
+    public String getProjetoId() {
+        return projetoId;
+    }
+
+    public String getUsuarioResponsavelId() {
+        return usuarioResponsavelId;
+    }
+
+    public Timestamp getDataCriacao() {
+        return dataCriacao;
+    }
+
+    public Timestamp getDataConclusao() {
+        return dataConclusao;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ResumoTarefa that = (ResumoTarefa) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    @Override
+    public String toString() {
+        return "ResumoTarefa{" +
+                "id='" + id + '\'' +
+                ", titulo='" + titulo + '\'' +
+                ", status='" + status + '\'' +
+                ", prioridade='" + prioridade + '\'' +
+                ", projetoId='" + projetoId + '\'' +
+                ", usuarioResponsavelId='" + usuarioResponsavelId + '\'' +
+                ", dataCriacao=" + dataCriacao +
+                ", dataConclusao=" + dataConclusao +
+                '}';
+    }
+}
@@ -0,0 +1,70 @@
+package modelo;
+
+import java.sql.Timestamp;
+import java.util.Objects;
+
+/**
+ * Resumo de um usuário para listagens: os dados exibidos em uma lista, sem a senha.
+ * Instâncias são criadas pelos DAOs a partir de consultas que leem só essas colunas.
+ */
+public class ResumoUsuario implements InterfaceEntidadeBase {
+    private String id;
+    private final String nome;
+    private final String email;
+    private final Timestamp dataCadastro;
+
+    public ResumoUsuario(String id, String nome, String email, Timestamp dataCadastro) {
+        setId(id);
+        this.nome = nome;
+        this.email = email;
+        this.dataCadastro = dataCadastro;
+    }
+
+    @Override
+    public String getId() {
+        return id;
+    }
+
+    @Override
+    public final void setId(String id) {
+        if (id == null || id.trim().isEmpty()) {
+            throw new IllegalArgumentException("O ID não pode estar vazio");
+        }
+        this.id = id;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public Timestamp getDataCadastro() {
+        return dataCadastro;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ResumoUsuario that = (ResumoUsuario) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    @Override
+    public String toString() {
+        return "ResumoUsuario{" +
+                "id='" + id + '\'' +
+                ", nome='" + nome + '\'' +
+                ", email='" + email + '\'' +
+                ", dataCadastro=" + dataCadastro +
+                '}';
+    }
+}